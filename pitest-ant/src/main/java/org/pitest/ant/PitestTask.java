@@ -132,6 +132,26 @@ public class PitestTask extends Task { // NO_UCD (test only)
     this.setOption(ConfigOption.THREADS, value);
   }
 
+  public void setReuseMinions(final String value) {
+    this.setOption(ConfigOption.REUSE_MINIONS, value);
+  }
+
+  public void setGroupMutationsByTests(final String value) {
+    this.setOption(ConfigOption.GROUP_MUTATIONS_BY_TESTS, value);
+  }
+
+  public void setPrioritiseHistoricKillers(final String value) {
+    this.setOption(ConfigOption.PRIORITISE_HISTORIC_KILLERS, value);
+  }
+
+  public void setMinionMutationBudget(final String value) {
+    this.setOption(ConfigOption.MINION_MUTATION_BUDGET, value);
+  }
+
+  public void setMinionHeapBudget(final String value) {
+    this.setOption(ConfigOption.MINION_HEAP_BUDGET, value);
+  }
+
   public void setDetectInlinedCode(final String value) {
     this.setOption(ConfigOption.USE_INLINED_CODE_DETECTION, value);
   }
@@ -220,6 +240,14 @@ public class PitestTask extends Task { // NO_UCD (test only)
     this.setOption(ConfigOption.HISTORY_OUTPUT_LOCATION, value);
   }
 
+  public void setClassMetadataCacheLocation(final String value) {
+    this.setOption(ConfigOption.CLASS_METADATA_CACHE_LOCATION, value);
+  }
+
+  public void setCoverageIndexLocation(final String value) {
+    this.setOption(ConfigOption.COVERAGE_INDEX_LOCATION, value);
+  }
+
   public void setMutationThreshold(final String value) {
     this.setOption(ConfigOption.MUTATION_THRESHOLD, value);
   }
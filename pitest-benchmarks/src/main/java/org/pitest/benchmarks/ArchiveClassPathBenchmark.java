@@ -0,0 +1,146 @@
+package org.pitest.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pitest.classpath.ArchiveClassPathRoot;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.ClassPathRoot;
+
+/**
+ * Compares ArchiveClassPathRoot with the root it replaced, which opened the
+ * archive for every lookup, on a classpath of several hundred jars. Startup
+ * lists every class then reads the first class of each jar, lookups read
+ * classes spread across the classpath plus classes no jar contains.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArchiveClassPathBenchmark {
+
+  private static final int CLASSES_PER_JAR = 100;
+  private static final int LOOKUPS         = 2000;
+
+  @Param({ "300" })
+  private int              numberOfJars;
+
+  private File             dir;
+  private List<File>       jars;
+  private ClassPath        reopening;
+  private ClassPath        cached;
+
+  @Setup
+  public void setUp() throws IOException {
+    this.dir = Files.createTempDirectory("classpath-benchmark").toFile();
+    this.jars = new ArrayList<>();
+    for (int j = 0; j != this.numberOfJars; j++) {
+      this.jars.add(makeJar(j));
+    }
+    this.reopening = reopeningClassPath();
+    this.cached = cachedClassPath();
+    this.reopening.classNames();
+    this.cached.classNames();
+  }
+
+  @TearDown
+  public void tearDown() {
+    for (final File each : this.jars) {
+      each.delete();
+    }
+    this.dir.delete();
+  }
+
+  @Benchmark
+  public void startupReopening(final Blackhole bh) throws IOException {
+    startup(reopeningClassPath(), bh);
+  }
+
+  @Benchmark
+  public void startupCached(final Blackhole bh) throws IOException {
+    startup(cachedClassPath(), bh);
+  }
+
+  @Benchmark
+  public void lookupReopening(final Blackhole bh) throws IOException {
+    lookup(this.reopening, bh);
+  }
+
+  @Benchmark
+  public void lookupCached(final Blackhole bh) throws IOException {
+    lookup(this.cached, bh);
+  }
+
+  private void startup(final ClassPath classPath, final Blackhole bh)
+      throws IOException {
+    bh.consume(classPath.classNames());
+    for (int j = 0; j != this.numberOfJars; j++) {
+      bh.consume(classPath.getClassData(className(j, 0)));
+    }
+  }
+
+  private void lookup(final ClassPath classPath, final Blackhole bh)
+      throws IOException {
+    for (int i = 0; i != LOOKUPS; i++) {
+      final int jar = (i * 7919) % this.numberOfJars;
+      bh.consume(classPath.getClassData(className(jar, i % CLASSES_PER_JAR)));
+      bh.consume(classPath.getClassData("java.lang.Missing" + (i % 10)));
+    }
+  }
+
+  private ClassPath reopeningClassPath() {
+    final List<ClassPathRoot> roots = new ArrayList<>();
+    for (final File each : this.jars) {
+      roots.add(new ReopeningArchiveClassPathRoot(each));
+    }
+    return new ClassPath(roots);
+  }
+
+  private ClassPath cachedClassPath() {
+    final List<ClassPathRoot> roots = new ArrayList<>();
+    for (final File each : this.jars) {
+      roots.add(new ArchiveClassPathRoot(each));
+    }
+    return new ClassPath(roots);
+  }
+
+  private File makeJar(final int jar) throws IOException {
+    final File file = new File(this.dir, "lib" + jar + ".jar");
+    try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+      for (int c = 0; c != CLASSES_PER_JAR; c++) {
+        out.putNextEntry(new ZipEntry(className(jar, c).replace('.', '/')
+            + ".class"));
+        out.write(new byte[512]);
+        out.closeEntry();
+      }
+    }
+    return file;
+  }
+
+  private static String className(final int jar, final int clazz) {
+    return "com.example.lib" + jar + ".Class" + clazz;
+  }
+
+}
@@ -0,0 +1,113 @@
+package org.pitest.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sun.pitest.CodeCoverageStore;
+import sun.pitest.InvokeReceiver;
+
+/**
+ * Measures the calls instrumented code makes into CodeCoverageStore, and the
+ * per test reset and collection of hits, for a suite with many instrumented
+ * classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CodeCoverageStoreBenchmark {
+
+  private static final int CLASSES     = 20000;
+  private static final int PROBES      = 40;
+  private static final int HIT_CLASSES = 200;
+
+  private final boolean[]  probes      = new boolean[PROBES];
+  private int              next;
+
+  @Setup
+  public void setUp() {
+    CodeCoverageStore.init(new InvokeReceiver() {
+      @Override
+      public void registerClass(final int id, final String className) {
+      }
+
+      @Override
+      public void registerProbes(final int classId, final String methodName,
+          final String methodDesc, final int firstProbe, final int lastProbe) {
+      }
+    });
+    for (int i = 0; i != CLASSES; i++) {
+      final int id = CodeCoverageStore.registerClass("com.example.Class" + i);
+      CodeCoverageStore.registerClassProbes(id, PROBES);
+    }
+    for (int i = 0; i < PROBES; i += 3) {
+      this.probes[i] = true;
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    CodeCoverageStore.resetAllStaticState();
+  }
+
+  @Benchmark
+  public void visitSingleProbe() {
+    CodeCoverageStore.visitSingleProbe(nextClass(), 3);
+  }
+
+  @Benchmark
+  public void visitOneProbe() {
+    CodeCoverageStore.visitProbes(nextClass(), 0, true);
+  }
+
+  @Benchmark
+  public void visitFourProbes() {
+    CodeCoverageStore.visitProbes(nextClass(), 4, true, false, true, true);
+  }
+
+  @Benchmark
+  public void visitEightProbes() {
+    CodeCoverageStore.visitProbes(nextClass(), 8, true, false, true, true,
+        false, false, true, true);
+  }
+
+  @Benchmark
+  public void visitFifteenProbes() {
+    CodeCoverageStore.visitProbes(nextClass(), 16, true, false, true, true,
+        false, false, true, true, true, false, true, true, false, false, true);
+  }
+
+  @Benchmark
+  public void visitProbeArray() {
+    CodeCoverageStore.visitProbes(nextClass(), 0, this.probes);
+  }
+
+  @Benchmark
+  public Map<Integer, boolean[]> resetAndCollectHits() {
+    CodeCoverageStore.reset();
+    for (int i = 0; i != HIT_CLASSES; i++) {
+      CodeCoverageStore.visitProbes(i * (CLASSES / HIT_CLASSES), 0, true);
+    }
+    return CodeCoverageStore.getClassHits();
+  }
+
+  private int nextClass() {
+    this.next = (this.next + 7919) % CLASSES;
+    return this.next;
+  }
+
+}
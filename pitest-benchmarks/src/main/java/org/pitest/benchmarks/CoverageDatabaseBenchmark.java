@@ -0,0 +1,234 @@
+package org.pitest.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.CodeSource;
+import org.pitest.classpath.ProjectClassPaths;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.ClassLine;
+import org.pitest.coverage.CoverageData;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.coverage.LineMap;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.testapi.Description;
+
+/**
+ * Compares CoverageData with the map based store it replaced, on a synthetic
+ * suite where every test covers its own class plus a few shared utility
+ * classes. Run the main method to compare the heap retained by each store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CoverageDatabaseBenchmark {
+
+  private static final int      CLASSES          = 500;
+  private static final int      BLOCKS_PER_CLASS = 40;
+  private static final int      SHARED_CLASSES   = 5;
+
+  @Param({ "1000", "10000" })
+  private int                   numberOfTests;
+
+  private List<CoverageResult>  results;
+  private CoverageData          compact;
+  private MapBackedCoverageData mapBacked;
+
+  @Setup
+  public void setUp() {
+    this.results = makeResults(this.numberOfTests);
+    this.compact = populate(new CoverageData(emptyCode(), lines()),
+        this.results);
+    this.mapBacked = populate(new MapBackedCoverageData(emptyCode(), lines()),
+        this.results);
+  }
+
+  @Benchmark
+  public CoverageData buildCompact() {
+    return populate(new CoverageData(emptyCode(), lines()), this.results);
+  }
+
+  @Benchmark
+  public MapBackedCoverageData buildMapBacked() {
+    return populate(new MapBackedCoverageData(emptyCode(), lines()),
+        this.results);
+  }
+
+  @Benchmark
+  public void testsForClassCompact(final Blackhole bh) {
+    testsForEveryClass(this.compact, bh);
+  }
+
+  @Benchmark
+  public void testsForClassMapBacked(final Blackhole bh) {
+    testsForEveryClass(this.mapBacked, bh);
+  }
+
+  @Benchmark
+  public void testsForLineCompact(final Blackhole bh) {
+    testsForEveryLine(this.compact, bh);
+  }
+
+  @Benchmark
+  public void testsForLineMapBacked(final Blackhole bh) {
+    testsForEveryLine(this.mapBacked, bh);
+  }
+
+  public static void main(final String[] args) {
+    final int tests = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+    final List<CoverageResult> results = makeResults(tests);
+
+    final long baseline = usedHeap();
+    final CoverageData compact = populate(new CoverageData(emptyCode(),
+        lines()), results);
+    warmLineCoverage(compact);
+    final long compactBytes = usedHeap() - baseline;
+
+    final MapBackedCoverageData mapBacked = populate(
+        new MapBackedCoverageData(emptyCode(), lines()), results);
+    warmLineCoverage(mapBacked);
+    final long mapBackedBytes = usedHeap() - baseline - compactBytes;
+
+    System.out.println(tests + " tests, " + (CLASSES * BLOCKS_PER_CLASS)
+        + " blocks");
+    System.out.println("compact    : " + (compactBytes / 1024) + " KiB");
+    System.out.println("map backed : " + (mapBackedBytes / 1024) + " KiB");
+    // keep both reachable until measured
+    System.out.println(compact.allTestsGreen() && mapBacked.allTestsGreen());
+  }
+
+  private static void testsForEveryClass(final CoverageDatabase coverage,
+      final Blackhole bh) {
+    for (int c = 0; c != CLASSES; c++) {
+      bh.consume(coverage.getTestsForClass(className(c)));
+    }
+  }
+
+  private static void testsForEveryLine(final CoverageDatabase coverage,
+      final Blackhole bh) {
+    for (int c = 0; c != CLASSES; c++) {
+      for (int b = 0; b != BLOCKS_PER_CLASS; b++) {
+        bh.consume(coverage.getTestsForClassLine(new ClassLine(className(c),
+            lineFor(b))));
+      }
+    }
+  }
+
+  private static void warmLineCoverage(final CoverageDatabase coverage) {
+    for (int c = 0; c != CLASSES; c++) {
+      coverage.getNumberOfCoveredLines(Collections.singleton(className(c)));
+    }
+  }
+
+  private static CoverageData populate(final CoverageData coverage,
+      final List<CoverageResult> results) {
+    for (final CoverageResult each : results) {
+      coverage.calculateClassCoverage(each);
+    }
+    return coverage;
+  }
+
+  private static MapBackedCoverageData populate(
+      final MapBackedCoverageData coverage, final List<CoverageResult> results) {
+    for (final CoverageResult each : results) {
+      coverage.calculateClassCoverage(each);
+    }
+    return coverage;
+  }
+
+  private static List<CoverageResult> makeResults(final int numberOfTests) {
+    final List<CoverageResult> results = new ArrayList<>(numberOfTests);
+    for (int t = 0; t != numberOfTests; t++) {
+      final List<BlockLocation> blocks = new ArrayList<>();
+      addBlocks(blocks, SHARED_CLASSES + (t % (CLASSES - SHARED_CLASSES)));
+      addBlocks(blocks, t % SHARED_CLASSES);
+      final Description description = new Description("test" + t,
+          "com.example.Test" + (t / 10));
+      results.add(new CoverageResult(description, t % 100, true, blocks));
+    }
+    return results;
+  }
+
+  private static void addBlocks(final List<BlockLocation> blocks,
+      final int clazz) {
+    final Location location = Location.location(className(clazz),
+        MethodName.fromString("method"), "()V");
+    for (int b = 0; b != BLOCKS_PER_CLASS; b++) {
+      blocks.add(new BlockLocation(location, b));
+    }
+  }
+
+  private static ClassName className(final int clazz) {
+    return ClassName.fromString("com.example.Class" + clazz);
+  }
+
+  private static int lineFor(final int block) {
+    return 10 + (block / 2);
+  }
+
+  private static LineMap lines() {
+    return new LineMap() {
+      @Override
+      public Map<BlockLocation, Set<Integer>> mapLines(final ClassName clazz) {
+        final Location location = Location.location(clazz,
+            MethodName.fromString("method"), "()V");
+        final Map<BlockLocation, Set<Integer>> map = new HashMap<>();
+        for (int b = 0; b != BLOCKS_PER_CLASS; b++) {
+          map.put(new BlockLocation(location, b),
+              Collections.singleton(lineFor(b)));
+        }
+        return map;
+      }
+    };
+  }
+
+  private static CodeSource emptyCode() {
+    return new CodeSource(new ProjectClassPaths(new ClassPath(), null, null)) {
+      @Override
+      public Collection<ClassInfo> getCode() {
+        return Collections.emptyList();
+      }
+
+      @Override
+      public Option<ClassName> findTestee(final String className) {
+        return Option.none();
+      }
+    };
+  }
+
+  private static long usedHeap() {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i != 5; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+}
@@ -0,0 +1,132 @@
+package org.pitest.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.execute.CoverageCodecs;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+import sun.pitest.CodeCoverageStore;
+
+/**
+ * Compares sending the coverage of one wide integration test (most probes in
+ * a couple of thousand classes hit) from minion to parent as one long per
+ * hit, decoded through a map of boxed longs, with sending per class probe
+ * bitsets decoded through per class block arrays.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CoverageTransportBenchmark {
+
+  private static final int              CLASSES          = 2000;
+  private static final int              PROBES_PER_CLASS = 60;
+
+  private Map<Integer, boolean[]>       classHits;
+  private Collection<Long>              encodedHits;
+  private Map<Long, BlockLocation>      probeToBlock;
+  private Map<Integer, BlockLocation[]> blocksByClass;
+  private ByteArrayOutputStream         buffer;
+
+  @Setup
+  public void setUp() {
+    this.classHits = new HashMap<>();
+    this.encodedHits = new ArrayList<>();
+    this.probeToBlock = new ConcurrentHashMap<>();
+    this.blocksByClass = new ConcurrentHashMap<>();
+    for (int c = 0; c != CLASSES; c++) {
+      final Location location = Location.location(
+          ClassName.fromString("com.example.Class" + c),
+          MethodName.fromString("method"), "()V");
+      final boolean[] probes = new boolean[PROBES_PER_CLASS + 1];
+      final BlockLocation[] blocks = new BlockLocation[PROBES_PER_CLASS];
+      probes[0] = true;
+      for (int p = 0; p != PROBES_PER_CLASS; p++) {
+        blocks[p] = new BlockLocation(location, p);
+        this.probeToBlock.put(CodeCoverageStore.encode(c, p), blocks[p]);
+        if ((p % 5) != 0) {
+          probes[p + 1] = true;
+          this.encodedHits.add(CodeCoverageStore.encode(c, p));
+        }
+      }
+      this.classHits.put(c, probes);
+      this.blocksByClass.put(c, blocks);
+    }
+    this.buffer = new ByteArrayOutputStream(1024 * 1024);
+  }
+
+  @Benchmark
+  public Collection<BlockLocation> longPerHit() {
+    this.buffer.reset();
+    final SafeDataOutputStream out = new SafeDataOutputStream(this.buffer);
+    out.writeInt(this.encodedHits.size());
+    for (final Long each : this.encodedHits) {
+      out.writeLong(each);
+    }
+    out.flush();
+
+    final SafeDataInputStream in = toInput();
+    final int numberOfResults = in.readInt();
+    final Set<BlockLocation> hits = new HashSet<>(numberOfResults);
+    for (int i = 0; i != numberOfResults; i++) {
+      hits.add(this.probeToBlock.get(in.readLong()));
+    }
+    return hits;
+  }
+
+  @Benchmark
+  public Collection<BlockLocation> probeBitsets() {
+    this.buffer.reset();
+    final SafeDataOutputStream out = new SafeDataOutputStream(this.buffer);
+    out.write(this.classHits, CoverageCodecs.PROBE_HITS);
+    out.flush();
+
+    final SafeDataInputStream in = toInput();
+    final Map<Integer, boolean[]> received = in.read(CoverageCodecs.PROBE_HITS);
+    final List<BlockLocation> hits = new ArrayList<>();
+    for (final Entry<Integer, boolean[]> each : received.entrySet()) {
+      final BlockLocation[] blocks = this.blocksByClass.get(each.getKey());
+      final boolean[] probes = each.getValue();
+      for (int slot = 1; slot != probes.length; slot++) {
+        if (probes[slot]) {
+          hits.add(blocks[slot - 1]);
+        }
+      }
+    }
+    return hits;
+  }
+
+  private SafeDataInputStream toInput() {
+    return new SafeDataInputStream(
+        new ByteArrayInputStream(this.buffer.toByteArray()));
+  }
+
+}
@@ -0,0 +1,125 @@
+package org.pitest.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pitest.functional.SideEffect;
+import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.mutationtest.execute.MutationTimeoutDecorator;
+import org.pitest.mutationtest.execute.ReusableTestThread;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.ResultCollector;
+import org.pitest.testapi.TestUnit;
+import org.pitest.testapi.TestResult;
+import org.pitest.testapi.execute.containers.ConcreteResultCollector;
+
+/**
+ * Runs 10k trivial tests through MutationTimeoutDecorator, against running
+ * each of them on a thread of its own as the decorator used to. The test
+ * thread is replaced between mutants, so it is reused by the given number of
+ * tests at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MutationTimeoutDecoratorBenchmark {
+
+  private static final int      TESTS = 10000;
+
+  @Param({ "1", "10", "100" })
+  private int                   testsPerMutant;
+
+  private final ResultCollector rc    = new ConcreteResultCollector(
+                                          new ArrayList<TestResult>());
+  private final TestUnit        test  = new TrivialTest();
+  private ReusableTestThread    testThread;
+  private TestUnit              decorated;
+
+  @Setup
+  public void setUp() {
+    this.testThread = new ReusableTestThread();
+    this.decorated = new MutationTimeoutDecorator(this.test, new SideEffect() {
+      @Override
+      public void apply() {
+        throw new IllegalStateException("Trivial test timed out");
+      }
+    }, new TimeoutLengthStrategy() {
+      @Override
+      public long getAllowedTime(final long normalDuration) {
+        return 4000;
+      }
+    }, 1, this.testThread);
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.testThread.abandon();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TESTS)
+  public void reusedTestThread() {
+    for (int i = 0; i != TESTS; i++) {
+      if ((i % this.testsPerMutant) == 0) {
+        this.testThread.abandon();
+      }
+      this.decorated.execute(this.rc);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TESTS)
+  public void threadPerTest() throws Exception {
+    for (int i = 0; i != TESTS; i++) {
+      final FutureTask<?> future = new FutureTask<>(new Runnable() {
+        @Override
+        public void run() {
+          MutationTimeoutDecoratorBenchmark.this.test
+              .execute(MutationTimeoutDecoratorBenchmark.this.rc);
+        }
+      }, null);
+      final Thread thread = new Thread(future);
+      thread.setDaemon(true);
+      thread.start();
+      try {
+        future.get(4000, TimeUnit.MILLISECONDS);
+      } catch (final TimeoutException | ExecutionException ex) {
+        throw new IllegalStateException(ex);
+      }
+    }
+  }
+
+  private static class TrivialTest implements TestUnit {
+    private final Description description = new Description("trivial");
+
+    @Override
+    public void execute(final ResultCollector rc) {
+      // does nothing, so that only the cost of running it is measured
+    }
+
+    @Override
+    public Description getDescription() {
+      return this.description;
+    }
+  }
+
+}
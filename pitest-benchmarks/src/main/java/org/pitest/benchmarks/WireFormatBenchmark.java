@@ -0,0 +1,95 @@
+package org.pitest.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.execute.MutationCodecs;
+import org.pitest.util.Id;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * Compares the cost of sending and receiving a minion REPORT message (a
+ * mutation identifier followed by its status) using the xml and binary
+ * encodings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+  private MutationIdentifier     id;
+  private MutationStatusTestPair status;
+  private ByteArrayOutputStream  buffer;
+
+  @Setup
+  public void setUp() {
+    final Location location = Location.location(
+        ClassName.fromString("com.example.service.OrderProcessor"),
+        MethodName.fromString("calculateDiscount"),
+        "(Lcom/example/model/Order;I)Ljava/math/BigDecimal;");
+    this.id = new MutationIdentifier(location, Arrays.asList(12, 47),
+        "org.pitest.mutationtest.engine.gregor.mutators.ConditionalsBoundaryMutator");
+    this.status = new MutationStatusTestPair(3, DetectionStatus.KILLED,
+        "com.example.service.OrderProcessorTest.shouldApplyBulkDiscount");
+    this.buffer = new ByteArrayOutputStream(4096);
+  }
+
+  @Benchmark
+  public void xmlReport(final Blackhole bh) {
+    this.buffer.reset();
+    final SafeDataOutputStream out = new SafeDataOutputStream(this.buffer);
+    out.writeByte(Id.REPORT);
+    out.write(this.id);
+    out.write(this.status);
+    out.flush();
+
+    final SafeDataInputStream in = toInput();
+    bh.consume(in.readByte());
+    bh.consume(in.read(MutationIdentifier.class));
+    bh.consume(in.read(MutationStatusTestPair.class));
+  }
+
+  @Benchmark
+  public void binaryReport(final Blackhole bh) {
+    this.buffer.reset();
+    final SafeDataOutputStream out = new SafeDataOutputStream(this.buffer);
+    out.writeByte(Id.REPORT);
+    out.write(this.id, MutationCodecs.MUTATION_IDENTIFIER);
+    out.write(this.status, MutationCodecs.STATUS_TEST_PAIR);
+    out.flush();
+
+    final SafeDataInputStream in = toInput();
+    bh.consume(in.readByte());
+    bh.consume(in.read(MutationCodecs.MUTATION_IDENTIFIER));
+    bh.consume(in.read(MutationCodecs.STATUS_TEST_PAIR));
+  }
+
+  private SafeDataInputStream toInput() {
+    return new SafeDataInputStream(
+        new ByteArrayInputStream(this.buffer.toByteArray()));
+  }
+
+}
@@ -18,7 +18,9 @@ import static org.pitest.mutationtest.config.ConfigOption.AVOID_CALLS;
 import static org.pitest.mutationtest.config.ConfigOption.CHILD_JVM;
 import static org.pitest.mutationtest.config.ConfigOption.CLASSPATH;
 import static org.pitest.mutationtest.config.ConfigOption.CLASSPATH_FILE;
+import static org.pitest.mutationtest.config.ConfigOption.CLASS_METADATA_CACHE_LOCATION;
 import static org.pitest.mutationtest.config.ConfigOption.CODE_PATHS;
+import static org.pitest.mutationtest.config.ConfigOption.COVERAGE_INDEX_LOCATION;
 import static org.pitest.mutationtest.config.ConfigOption.COVERAGE_THRESHOLD;
 import static org.pitest.mutationtest.config.ConfigOption.DEPENDENCY_DISTANCE;
 import static org.pitest.mutationtest.config.ConfigOption.EXCLUDED_CLASSES;
@@ -28,6 +30,7 @@ import static org.pitest.mutationtest.config.ConfigOption.EXCLUDED_TEST_CLASSES;
 import static org.pitest.mutationtest.config.ConfigOption.EXPORT_LINE_COVERAGE;
 import static org.pitest.mutationtest.config.ConfigOption.FAIL_WHEN_NOT_MUTATIONS;
 import static org.pitest.mutationtest.config.ConfigOption.FEATURES;
+import static org.pitest.mutationtest.config.ConfigOption.GROUP_MUTATIONS_BY_TESTS;
 import static org.pitest.mutationtest.config.ConfigOption.HISTORY_INPUT_LOCATION;
 import static org.pitest.mutationtest.config.ConfigOption.HISTORY_OUTPUT_LOCATION;
 import static org.pitest.mutationtest.config.ConfigOption.INCLUDED_GROUPS;
@@ -35,13 +38,17 @@ import static org.pitest.mutationtest.config.ConfigOption.INCLUDE_LAUNCH_CLASSPA
 import static org.pitest.mutationtest.config.ConfigOption.JVM_PATH;
 import static org.pitest.mutationtest.config.ConfigOption.MAX_MUTATIONS_PER_CLASS;
 import static org.pitest.mutationtest.config.ConfigOption.MAX_SURVIVING;
+import static org.pitest.mutationtest.config.ConfigOption.MINION_HEAP_BUDGET;
+import static org.pitest.mutationtest.config.ConfigOption.MINION_MUTATION_BUDGET;
 import static org.pitest.mutationtest.config.ConfigOption.MUTATIONS;
 import static org.pitest.mutationtest.config.ConfigOption.MUTATION_ENGINE;
 import static org.pitest.mutationtest.config.ConfigOption.MUTATION_THRESHOLD;
 import static org.pitest.mutationtest.config.ConfigOption.MUTATION_UNIT_SIZE;
 import static org.pitest.mutationtest.config.ConfigOption.OUTPUT_FORMATS;
 import static org.pitest.mutationtest.config.ConfigOption.PLUGIN_CONFIGURATION;
+import static org.pitest.mutationtest.config.ConfigOption.PRIORITISE_HISTORIC_KILLERS;
 import static org.pitest.mutationtest.config.ConfigOption.REPORT_DIR;
+import static org.pitest.mutationtest.config.ConfigOption.REUSE_MINIONS;
 import static org.pitest.mutationtest.config.ConfigOption.SOURCE_DIR;
 import static org.pitest.mutationtest.config.ConfigOption.TARGET_CLASSES;
 import static org.pitest.mutationtest.config.ConfigOption.TEST_FILTER;
@@ -94,8 +101,13 @@ public class OptionsParser {
   private final OptionSpec<String>                   avoidCallsSpec;
   private final OptionSpec<Integer>                  depth;
   private final OptionSpec<Integer>                  threadsSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> reuseMinionsSpec;
+  private final OptionSpec<Integer>                  minionMutationBudgetSpec;
+  private final OptionSpec<Integer>                  minionHeapBudgetSpec;
   private final OptionSpec<File>                     sourceDirSpec;
   private final OptionSpec<File>                     historyOutputSpec;
+  private final OptionSpec<File>                     classMetadataCacheSpec;
+  private final OptionSpec<File>                     coverageIndexSpec;
   private final OptionSpec<File>                     historyInputSpec;
   private final OptionSpec<String>                   mutators;
   private final OptionSpec<String>                   features;
@@ -114,6 +126,8 @@ public class OptionsParser {
   private final OptionSpec<String>                   excludedGroupsSpec;
   private final OptionSpec<String>                   includedGroupsSpec;
   private final OptionSpec<Integer>                  mutationUnitSizeSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> groupMutationsByTestsSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> prioritiseHistoricKillersSpec;
   private final ArgumentAcceptingOptionSpec<Boolean> timestampedReportsSpec;
   private final ArgumentAcceptingOptionSpec<Boolean> detectInlinedCode;
   private final ArgumentAcceptingOptionSpec<Integer> mutationThreshHoldSpec;
@@ -174,6 +188,20 @@ public class OptionsParser {
         .ofType(Integer.class).defaultsTo(THREADS.getDefault(Integer.class))
         .describedAs("number of threads to use for testing");
 
+    this.reuseMinionsSpec = parserAccepts(REUSE_MINIONS).withOptionalArg()
+        .ofType(Boolean.class).defaultsTo(true)
+        .describedAs("whether or not to reuse minions between mutation test units");
+
+    this.minionMutationBudgetSpec = parserAccepts(MINION_MUTATION_BUDGET)
+        .withRequiredArg().ofType(Integer.class)
+        .defaultsTo(MINION_MUTATION_BUDGET.getDefault(Integer.class))
+        .describedAs("number of mutations a reused minion may process before it is replaced");
+
+    this.minionHeapBudgetSpec = parserAccepts(MINION_HEAP_BUDGET)
+        .withRequiredArg().ofType(Integer.class)
+        .defaultsTo(MINION_HEAP_BUDGET.getDefault(Integer.class))
+        .describedAs("percentage of heap a reused minion may fill before it is replaced");
+
     parserAccepts(MAX_MUTATIONS_PER_CLASS)
         .withRequiredArg().ofType(Integer.class)
         .defaultsTo(MAX_MUTATIONS_PER_CLASS.getDefault(Integer.class))
@@ -293,13 +321,30 @@ public class OptionsParser {
             "Maximum number of mutations to include within a single unit of analysis")
             .defaultsTo(MUTATION_UNIT_SIZE.getDefault(Integer.class));
 
+    this.groupMutationsByTestsSpec = parserAccepts(GROUP_MUTATIONS_BY_TESTS)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(true)
+        .describedAs("whether or not to group mutations covered by the same test classes into units");
+
+    this.prioritiseHistoricKillersSpec = parserAccepts(
+        PRIORITISE_HISTORIC_KILLERS).withOptionalArg().ofType(Boolean.class)
+        .defaultsTo(true)
+        .describedAs("whether or not to run tests that killed nearby mutations in earlier analyses first");
+
     this.historyInputSpec = parserAccepts(HISTORY_INPUT_LOCATION)
         .withRequiredArg().ofType(File.class)
         .describedAs("File to read history from for incremental analysis");
 
     this.historyOutputSpec = parserAccepts(HISTORY_OUTPUT_LOCATION)
         .withRequiredArg().ofType(File.class)
-        .describedAs("File to write history to for incremental analysis");
+        .describedAs("File to write history to for incremental analysis. Written in a binary format earlier versions cannot read");
+
+    this.classMetadataCacheSpec = parserAccepts(CLASS_METADATA_CACHE_LOCATION)
+        .withRequiredArg().ofType(File.class)
+        .describedAs("File to keep the results of analysing classes in between runs");
+
+    this.coverageIndexSpec = parserAccepts(COVERAGE_INDEX_LOCATION)
+        .withRequiredArg().ofType(File.class)
+        .describedAs("File to keep the test classes covering each class in between runs");
 
     this.mutationThreshHoldSpec = parserAccepts(MUTATION_THRESHOLD)
         .withRequiredArg().ofType(Integer.class)
@@ -378,6 +423,10 @@ public class OptionsParser {
     data.setShouldCreateTimestampedReports(userArgs
         .valueOf(this.timestampedReportsSpec));
     data.setNumberOfThreads(this.threadsSpec.value(userArgs));
+    data.setReuseMinions(userArgs.has(this.reuseMinionsSpec)
+        && userArgs.valueOf(this.reuseMinionsSpec));
+    data.setMinionMutationBudget(this.minionMutationBudgetSpec.value(userArgs));
+    data.setMinionHeapBudget(this.minionHeapBudgetSpec.value(userArgs));
     data.setTimeoutFactor(this.timeoutFactorSpec.value(userArgs));
     data.setTimeoutConstant(this.timeoutConstSpec.value(userArgs));
     data.setLoggingClasses(this.avoidCallsSpec.values(userArgs));
@@ -393,9 +442,17 @@ public class OptionsParser {
     data.setFailWhenNoMutations(this.failWhenNoMutations.value(userArgs));
     data.setCodePaths(this.codePaths.values(userArgs));
     data.setMutationUnitSize(this.mutationUnitSizeSpec.value(userArgs));
+    data.setGroupMutationsByTests(userArgs.has(this.groupMutationsByTestsSpec)
+        && userArgs.valueOf(this.groupMutationsByTestsSpec));
+    data.setPrioritiseHistoricKillers(userArgs
+        .has(this.prioritiseHistoricKillersSpec)
+        && userArgs.valueOf(this.prioritiseHistoricKillersSpec));
 
     data.setHistoryInputLocation(this.historyInputSpec.value(userArgs));
     data.setHistoryOutputLocation(this.historyOutputSpec.value(userArgs));
+    data.setClassMetadataCacheLocation(this.classMetadataCacheSpec
+        .value(userArgs));
+    data.setCoverageIndexLocation(this.coverageIndexSpec.value(userArgs));
     data.setMutationThreshold(this.mutationThreshHoldSpec.value(userArgs));
     data.setMaximumAllowedSurvivors(this.maxSurvivingSpec.value(userArgs));
     data.setCoverageThreshold(this.coverageThreshHoldSpec.value(userArgs));
@@ -16,15 +16,18 @@
 package org.pitest.coverage;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.logging.Logger;
 
 import org.pitest.classinfo.ClassInfo;
@@ -34,28 +37,36 @@ import org.pitest.functional.F;
 import org.pitest.functional.F2;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.Option;
-import org.pitest.functional.predicate.Predicate;
 import org.pitest.testapi.Description;
 import org.pitest.util.Log;
 
 public class CoverageData implements CoverageDatabase {
 
-  private static final Logger                                 LOG           = Log
+  private static final Logger                      LOG           = Log
       .getLogger();
 
+  private static final Comparator<TestInfo>        BY_NAME       = new TestInfoNameComparator();
+
+  // Each distinct test is stored once and referred to by its index in this
+  // list. Coverage is held as sets of these ids, indexed by class so that
+  // queries touch only the blocks of the class in question.
+  private final List<TestInfo>                     tests         = new ArrayList<>();
+  private final Map<String, Integer>               testIds       = new HashMap<>();
+  private TestInfo[]                               testsByName;
+  private int[]                                    nameRanks;
+
   // We calculate block coverage, but everything currently runs on line
-  // coverage. Ugly mess of maps below should go when
-  // api changed to work via blocks
-  private final Map<BlockLocation, Set<TestInfo>>             blockCoverage = new LinkedHashMap<>();
-  private final Map<BlockLocation, Set<Integer>>              blocksToLines = new LinkedHashMap<>();
-  private final Map<ClassName, Map<ClassLine, Set<TestInfo>>> lineCoverage  = new LinkedHashMap<>();
-  private final Map<String, Collection<ClassInfo>>            classesForFile;
+  // coverage. Line sets are derived from the block sets on demand.
+  private final Map<BlockLocation, TestIdSet>      blockCoverage = new LinkedHashMap<>();
+  private final Map<ClassName, ClassCoverage>      classCoverage = new HashMap<>();
+  private final Map<BlockLocation, Set<Integer>>   blocksToLines = new HashMap<>();
+  private final Map<String, Collection<ClassInfo>> classesForFile;
 
-  private final CodeSource                                    code;
+  private final CodeSource                         code;
 
-  private final LineMap                                       lm;
+  private final LineMap                            lm;
 
-  private boolean                                             hasFailedTest = false;
+  private boolean                                  hasFailedTest = false;
 
   public CoverageData(final CodeSource code, final LineMap lm) {
     this.code = code;
@@ -66,12 +77,12 @@ public class CoverageData implements CoverageDatabase {
 
   @Override
   public Collection<TestInfo> getTestsForClassLine(final ClassLine classLine) {
-    final Collection<TestInfo> result = getTestsForClassName(
-        classLine.getClassName()).get(classLine);
+    final TestIdSet result = getLineCoverage(classLine.getClassName()).get(
+        classLine.getLineNumber());
     if (result == null) {
       return Collections.emptyList();
     } else {
-      return result;
+      return toTests(result);
     }
   }
 
@@ -91,35 +102,49 @@ public class CoverageData implements CoverageDatabase {
 
   @Override
   public Collection<TestInfo> getTestsForClass(final ClassName clazz) {
-    final Set<TestInfo> tis = new TreeSet<>(
-        new TestInfoNameComparator());
-    tis.addAll(FCollection.filter(this.blockCoverage.entrySet(), isFor(clazz))
-        .flatMap(toTests()));
-    return tis;
+    final ClassCoverage coverage = this.classCoverage.get(clazz);
+    if (coverage == null) {
+      return Collections.emptyList();
+    }
+    return toTests(coverage.tests);
   }
 
   public void calculateClassCoverage(final CoverageResult cr) {
 
     checkForFailedTest(cr);
-    final TestInfo ti = this.createTestInfo(cr.getTestUnitDescription(),
+    final int testId = internTest(cr.getTestUnitDescription(),
         cr.getExecutionTime(), cr.getNumberOfCoveredBlocks());
-    for (BlockLocation each : cr.getCoverage()) {
-      addTestsToBlockMap(ti, each);
+    for (final BlockLocation each : cr.getCoverage()) {
+      addTestToBlock(testId, each);
     }
   }
 
-  private void addTestsToBlockMap(final TestInfo ti, BlockLocation each) {
-    Set<TestInfo> tests = this.blockCoverage.get(each);
+  private void addTestToBlock(final int testId, final BlockLocation block) {
+    final ClassCoverage coverage = classCoverageFor(block.getLocation()
+        .getClassName());
+    TestIdSet tests = this.blockCoverage.get(block);
     if (tests == null) {
-      tests = new TreeSet<>(new TestInfoNameComparator());
-      this.blockCoverage.put(each, tests);
+      tests = new TestIdSet();
+      this.blockCoverage.put(block, tests);
+      coverage.blocks.add(block);
+    }
+    tests.add(testId);
+    coverage.tests.add(testId);
+    coverage.lines = null;
+  }
+
+  private ClassCoverage classCoverageFor(final ClassName clazz) {
+    ClassCoverage coverage = this.classCoverage.get(clazz);
+    if (coverage == null) {
+      coverage = new ClassCoverage();
+      this.classCoverage.put(clazz, coverage);
     }
-    tests.add(ti);
+    return coverage;
   }
 
   @Override
   public BigInteger getCoverageIdForClass(final ClassName clazz) {
-    final Map<ClassLine, Set<TestInfo>> coverage = getTestsForClassName(clazz);
+    final Map<Integer, TestIdSet> coverage = getLineCoverage(clazz);
     if (coverage.isEmpty()) {
       return BigInteger.ZERO;
     }
@@ -131,12 +156,12 @@ public class CoverageData implements CoverageDatabase {
     return FCollection.map(this.blockCoverage.entrySet(), toBlockCoverage());
   }
 
-  private static F<Entry<BlockLocation, Set<TestInfo>>, BlockCoverage> toBlockCoverage() {
-    return new F<Entry<BlockLocation, Set<TestInfo>>, BlockCoverage>() {
+  private F<Entry<BlockLocation, TestIdSet>, BlockCoverage> toBlockCoverage() {
+    return new F<Entry<BlockLocation, TestIdSet>, BlockCoverage>() {
       @Override
-      public BlockCoverage apply(Entry<BlockLocation, Set<TestInfo>> a) {
-        return new BlockCoverage(a.getKey(), FCollection.map(a.getValue(),
-            TestInfo.toName()));
+      public BlockCoverage apply(final Entry<BlockLocation, TestIdSet> a) {
+        return new BlockCoverage(a.getKey(), FCollection.map(
+            toTests(a.getValue()), TestInfo.toName()));
       }
     };
   }
@@ -163,10 +188,16 @@ public class CoverageData implements CoverageDatabase {
   }
 
   private BigInteger generateCoverageNumber(
-      final Map<ClassLine, Set<TestInfo>> coverage) {
+      final Map<Integer, TestIdSet> coverage) {
     BigInteger coverageNumber = BigInteger.ZERO;
+    final TestIdSet allTests = new TestIdSet();
+    for (final TestIdSet each : coverage.values()) {
+      allTests.addAll(each);
+    }
+
     final Set<ClassName> testClasses = new HashSet<>();
-    FCollection.flatMapTo(coverage.values(), testsToClassName(), testClasses);
+    FCollection.mapTo(toTests(allTests), TestInfo.toDefiningClassName(),
+        testClasses);
 
     for (final ClassInfo each : this.code.getClassInfo(testClasses)) {
       coverageNumber = coverageNumber.add(each.getDeepHash());
@@ -175,11 +206,46 @@ public class CoverageData implements CoverageDatabase {
     return coverageNumber;
   }
 
-  private F<Set<TestInfo>, Iterable<ClassName>> testsToClassName() {
-    return new F<Set<TestInfo>, Iterable<ClassName>>() {
+  private List<TestInfo> toTests(final TestIdSet ids) {
+    // sort by precomputed name rank so each query sorts ints, not strings
+    final int[] ranks = ids.toArray();
+    final int[] rankOf = getNameRanks();
+    for (int i = 0; i != ranks.length; i++) {
+      ranks[i] = rankOf[ranks[i]];
+    }
+    Arrays.sort(ranks);
+
+    final List<TestInfo> result = new ArrayList<>(ranks.length);
+    for (final int each : ranks) {
+      result.add(this.testsByName[each]);
+    }
+    return result;
+  }
+
+  private synchronized int[] getNameRanks() {
+    if (this.nameRanks == null) {
+      final Integer[] ids = new Integer[this.tests.size()];
+      for (int i = 0; i != ids.length; i++) {
+        ids[i] = i;
+      }
+      Arrays.sort(ids, byTestName());
+
+      this.testsByName = new TestInfo[ids.length];
+      this.nameRanks = new int[ids.length];
+      for (int rank = 0; rank != ids.length; rank++) {
+        this.testsByName[rank] = this.tests.get(ids[rank]);
+        this.nameRanks[ids[rank]] = rank;
+      }
+    }
+    return this.nameRanks;
+  }
+
+  private Comparator<Integer> byTestName() {
+    return new Comparator<Integer>() {
       @Override
-      public Iterable<ClassName> apply(final Set<TestInfo> a) {
-        return FCollection.map(a, TestInfo.toDefiningClassName());
+      public int compare(final Integer lhs, final Integer rhs) {
+        return BY_NAME.compare(CoverageData.this.tests.get(lhs),
+            CoverageData.this.tests.get(rhs));
       }
     };
   }
@@ -233,6 +299,20 @@ public class CoverageData implements CoverageDatabase {
     }
   }
 
+  private int internTest(final Description description,
+      final int executionTime, final int linesCovered) {
+    final String name = description.getQualifiedName();
+    final Integer existing = this.testIds.get(name);
+    if (existing != null) {
+      return existing;
+    }
+    final int id = this.tests.size();
+    this.tests.add(createTestInfo(description, executionTime, linesCovered));
+    this.testIds.put(name, id);
+    this.nameRanks = null;
+    return id;
+  }
+
   private TestInfo createTestInfo(final Description description,
       final int executionTime, final int linesCovered) {
     final Option<ClassName> testee = this.code.findTestee(description
@@ -253,61 +333,43 @@ public class CoverageData implements CoverageDatabase {
   }
 
   private int getNumberOfCoveredLines(final ClassName clazz) {
-    final Map<ClassLine, Set<TestInfo>> map = getTestsForClassName(clazz);
-    if (map != null) {
-      return map.size();
-    } else {
-      return 0;
-    }
-
+    return getLineCoverage(clazz).size();
   }
 
-  private Map<ClassLine, Set<TestInfo>> getTestsForClassName(
+  // synchronized as line coverage is calculated lazily while mutations for
+  // several classes are created at once
+  private synchronized Map<Integer, TestIdSet> getLineCoverage(
       final ClassName clazz) {
     // Use any test that provided some coverage of the class
     // This fails to consider tests that only accessed a static variable
     // of the class in question as this does not register as coverage.
-    Map<ClassLine, Set<TestInfo>> map = this.lineCoverage.get(clazz);
-    if (map != null) {
-      return map;
+    final ClassCoverage coverage = this.classCoverage.get(clazz);
+    if (coverage == null) {
+      return Collections.emptyMap();
     }
-
-    return convertBlockCoverageToLineCoverageForClass(clazz);
-
-  }
-
-  private Map<ClassLine, Set<TestInfo>> convertBlockCoverageToLineCoverageForClass(
-      ClassName clazz) {
-    List<Entry<BlockLocation, Set<TestInfo>>> tests = FCollection.filter(
-        this.blockCoverage.entrySet(), isFor(clazz));
-
-    Map<ClassLine, Set<TestInfo>> linesToTests = new LinkedHashMap<>(
-        0);
-
-    for (Entry<BlockLocation, Set<TestInfo>> each : tests) {
-      for (int line : getLinesForBlock(each.getKey())) {
-        Set<TestInfo> tis = getLineTestSet(clazz, linesToTests, each, line);
-        tis.addAll(each.getValue());
+    if (coverage.lines == null) {
+      coverage.lines = convertBlockCoverageToLineCoverage(coverage);
+    }
+    return coverage.lines;
+  }
+
+  private Map<Integer, TestIdSet> convertBlockCoverageToLineCoverage(
+      final ClassCoverage coverage) {
+    final Map<Integer, TestIdSet> linesToTests = new HashMap<>();
+    for (final BlockLocation each : coverage.blocks) {
+      final TestIdSet blockTests = this.blockCoverage.get(each);
+      for (final int line : getLinesForBlock(each)) {
+        TestIdSet lineTests = linesToTests.get(line);
+        if (lineTests == null) {
+          lineTests = new TestIdSet();
+          linesToTests.put(line, lineTests);
+        }
+        lineTests.addAll(blockTests);
       }
     }
-
-    this.lineCoverage.put(clazz, linesToTests);
     return linesToTests;
   }
 
-  private static Set<TestInfo> getLineTestSet(ClassName clazz,
-      Map<ClassLine, Set<TestInfo>> linesToTests,
-      Entry<BlockLocation, Set<TestInfo>> each, int line) {
-    ClassLine cl = new ClassLine(clazz, line);
-    Set<TestInfo> tis = linesToTests.get(cl);
-    if (tis == null) {
-      tis = new TreeSet<>(new TestInfoNameComparator());
-      tis.addAll(each.getValue());
-      linesToTests.put(new ClassLine(clazz, line), tis);
-    }
-    return tis;
-  }
-
   private Set<Integer> getLinesForBlock(BlockLocation bl) {
     Set<Integer> lines = this.blocksToLines.get(bl);
     if (lines == null) {
@@ -330,23 +392,10 @@ public class CoverageData implements CoverageDatabase {
     this.hasFailedTest = true;
   }
 
-  private F<Entry<BlockLocation, Set<TestInfo>>, Iterable<TestInfo>> toTests() {
-    return new F<Entry<BlockLocation, Set<TestInfo>>, Iterable<TestInfo>>() {
-      @Override
-      public Iterable<TestInfo> apply(Entry<BlockLocation, Set<TestInfo>> a) {
-        return a.getValue();
-      }
-    };
-  }
-
-  private Predicate<Entry<BlockLocation, Set<TestInfo>>> isFor(
-      final ClassName clazz) {
-    return new Predicate<Entry<BlockLocation, Set<TestInfo>>>() {
-      @Override
-      public Boolean apply(Entry<BlockLocation, Set<TestInfo>> a) {
-        return a.getKey().isFor(clazz);
-      }
-    };
+  private static final class ClassCoverage {
+    private final List<BlockLocation> blocks = new ArrayList<>();
+    private final TestIdSet           tests  = new TestIdSet();
+    private Map<Integer, TestIdSet>   lines;
   }
 
 }
@@ -0,0 +1,268 @@
+package org.pitest.coverage;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassName;
+import org.pitest.functional.Option;
+import org.pitest.util.Log;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.Unchecked;
+
+/**
+ * Keeps, between runs, the classes covered by each test class, so that a run
+ * mutating a few classes need only gather coverage from the tests that reach
+ * them.
+ *
+ * <p>
+ * Each entry records the deep hash of the test class it was gathered from. A
+ * test class that is not in the index, or has changed since, is always run.
+ * Only the classes mutated in a run are measured, so each entry also records
+ * the classes it was measured against. A test is only ruled out for classes
+ * it has been measured against, and entries keep what was recorded for
+ * classes not measured in later runs.
+ *
+ * <p>
+ * The time each test class took to run when last measured is kept too, so
+ * that coverage can be gathered in minions given similar amounts of work.
+ */
+public class TestCoverageIndex {
+
+  private static final Logger           LOG     = Log.getLogger();
+
+  static final int                      MAGIC   = 0x50495443;
+  static final byte                     VERSION = 3;
+
+  private final Option<File>            file;
+  private final Map<ClassName, Covered> tests   = new HashMap<>();
+
+  private boolean                       changed;
+
+  public TestCoverageIndex(final Option<File> file) {
+    this.file = file;
+  }
+
+  public static TestCoverageIndex disabled() {
+    return new TestCoverageIndex(Option.<File> none());
+  }
+
+  /**
+   * Reads the entries stored by a previous run. A missing or unreadable file
+   * leaves the index empty.
+   */
+  public void initialize() {
+    if (this.file.hasNone() || !this.file.value().exists()) {
+      return;
+    }
+    try {
+      read(Files.readAllBytes(this.file.value().toPath()));
+    } catch (final IOException | RuntimeException ex) {
+      LOG.warning("Ignoring unreadable test coverage index "
+          + this.file.value() + " (" + ex + ")");
+      this.tests.clear();
+    }
+  }
+
+  /**
+   * The tests that may cover any of the given classes. These are the tests
+   * recorded as covering one of them, and those that have not been measured
+   * against all of them.
+   */
+  public List<ClassInfo> selectTests(final Collection<ClassInfo> candidates,
+      final Collection<ClassName> classes) {
+    final List<ClassInfo> selected = new ArrayList<>();
+    for (final ClassInfo each : candidates) {
+      final Covered covered = this.tests.get(each.getName());
+      if ((covered == null) || !covered.hash.equals(each.getDeepHash())
+          || !covered.measured.containsAll(classes)
+          || covered.coversAnyOf(classes)) {
+        selected.add(each);
+      }
+    }
+    return selected;
+  }
+
+  /**
+   * @return the time in milliseconds each test class took to run when last
+   *         measured, keyed by internal class name
+   */
+  public Map<String, Long> testTimings() {
+    final Map<String, Long> timings = new HashMap<>();
+    for (final Entry<ClassName, Covered> each : this.tests.entrySet()) {
+      timings.put(each.getKey().asInternalName(), each.getValue().time);
+    }
+    return timings;
+  }
+
+  /**
+   * Records the coverage and running times of the tests that were run,
+   * measured over the given classes. Tests no longer among all tests are
+   * dropped.
+   */
+  public void record(final Collection<ClassInfo> allTests,
+      final Collection<ClassInfo> runTests,
+      final Collection<ClassName> classes, final CoverageDatabase coverage,
+      final Map<ClassName, Long> times) {
+    if (this.file.hasNone()) {
+      return;
+    }
+
+    final Map<ClassName, Set<ClassName>> observed = new HashMap<>();
+    for (final ClassName each : classes) {
+      for (final TestInfo test : coverage.getTestsForClass(each)) {
+        final ClassName testClass = ClassName.fromString(test
+            .getDefiningClass());
+        Set<ClassName> covered = observed.get(testClass);
+        if (covered == null) {
+          covered = new HashSet<>();
+          observed.put(testClass, covered);
+        }
+        covered.add(each);
+      }
+    }
+
+    for (final ClassInfo each : runTests) {
+      final Covered previous = this.tests.get(each.getName());
+      final Set<ClassName> measured = new HashSet<>(classes);
+      final Set<ClassName> covered = new HashSet<>();
+      if ((previous != null) && previous.hash.equals(each.getDeepHash())) {
+        measured.addAll(previous.measured);
+        covered.addAll(previous.classes);
+        covered.removeAll(classes);
+      }
+      final Set<ClassName> now = observed.get(each.getName());
+      if (now != null) {
+        covered.addAll(now);
+      }
+      final Long time = times.get(each.getName());
+      this.tests.put(each.getName(), new Covered(each.getDeepHash(), measured,
+          covered, time != null ? time : 0));
+    }
+
+    final Set<ClassName> current = new HashSet<>();
+    for (final ClassInfo each : allTests) {
+      current.add(each.getName());
+    }
+    this.tests.keySet().retainAll(current);
+    this.changed = true;
+  }
+
+  /**
+   * Writes the index to its file, if it was updated during this run.
+   */
+  public void save() {
+    if (this.file.hasNone() || !this.changed) {
+      return;
+    }
+    final File target = this.file.value();
+    if (target.getAbsoluteFile().getParentFile() != null) {
+      target.getAbsoluteFile().getParentFile().mkdirs();
+    }
+    final File temp = new File(target.getPath() + ".tmp");
+    try {
+      final SafeDataOutputStream out = new SafeDataOutputStream(
+          new BufferedOutputStream(new FileOutputStream(temp)));
+      try {
+        write(out);
+      } finally {
+        out.close();
+      }
+      Files.move(temp.toPath(), target.toPath(),
+          StandardCopyOption.REPLACE_EXISTING);
+      this.changed = false;
+    } catch (final IOException ex) {
+      throw Unchecked.translateCheckedException(ex);
+    }
+  }
+
+  private void read(final byte[] bytes) {
+    final SafeDataInputStream in = new SafeDataInputStream(
+        new ByteArrayInputStream(bytes));
+    if ((in.readInt() != MAGIC) || (in.readByte() != VERSION)) {
+      LOG.info("Ignoring test coverage index written by another version");
+      return;
+    }
+
+    final int testCount = in.readInt();
+    for (int i = 0; i != testCount; i++) {
+      final ClassName test = ClassName.fromString(in.readString());
+      final BigInteger hash = new BigInteger(in.readString(), 16);
+      final Set<ClassName> measured = readClasses(in);
+      final Set<ClassName> classes = readClasses(in);
+      final long time = in.readLong();
+      this.tests.put(test, new Covered(hash, measured, classes, time));
+    }
+  }
+
+  private static Set<ClassName> readClasses(final SafeDataInputStream in) {
+    final int count = in.readInt();
+    final Set<ClassName> classes = new HashSet<>(count);
+    for (int i = 0; i != count; i++) {
+      classes.add(ClassName.fromString(in.readString()));
+    }
+    return classes;
+  }
+
+  private void write(final SafeDataOutputStream out) {
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+    out.writeInt(this.tests.size());
+    for (final Entry<ClassName, Covered> each : this.tests.entrySet()) {
+      out.writeString(each.getKey().asInternalName());
+      out.writeString(each.getValue().hash.toString(16));
+      writeClasses(out, each.getValue().measured);
+      writeClasses(out, each.getValue().classes);
+      out.writeLong(each.getValue().time);
+    }
+  }
+
+  private static void writeClasses(final SafeDataOutputStream out,
+      final Set<ClassName> classes) {
+    out.writeInt(classes.size());
+    for (final ClassName each : classes) {
+      out.writeString(each.asInternalName());
+    }
+  }
+
+  private static final class Covered {
+    private final BigInteger     hash;
+    private final Set<ClassName> measured;
+    private final Set<ClassName> classes;
+    private final long           time;
+
+    Covered(final BigInteger hash, final Set<ClassName> measured,
+        final Set<ClassName> classes, final long time) {
+      this.hash = hash;
+      this.measured = measured;
+      this.classes = classes;
+      this.time = time;
+    }
+
+    boolean coversAnyOf(final Collection<ClassName> others) {
+      for (final ClassName each : others) {
+        if (this.classes.contains(each)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+}
@@ -0,0 +1,117 @@
+package org.pitest.coverage;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Set of interned test ids. Small sets are held as a sorted int array and
+ * switch to a bitmap once the bitmap becomes the cheaper of the two, so a
+ * block hit by a handful of tests costs a few bytes no matter how large the
+ * suite is, while a block hit by most of the suite costs one bit per test.
+ */
+final class TestIdSet {
+
+  private static final int MIN_SIZE_FOR_BITMAP = 8;
+
+  private int[]            ids                 = new int[2];
+  private int              size;
+  private BitSet           bits;
+
+  void add(final int id) {
+    if (this.bits != null) {
+      this.bits.set(id);
+      return;
+    }
+
+    final int index = insertionPoint(id);
+    if (index < 0) {
+      return;
+    }
+
+    if (shouldSwitchToBitmap(id)) {
+      switchToBitmap();
+      this.bits.set(id);
+      return;
+    }
+
+    if (this.size == this.ids.length) {
+      this.ids = Arrays.copyOf(this.ids, this.size * 2);
+    }
+    System.arraycopy(this.ids, index, this.ids, index + 1, this.size - index);
+    this.ids[index] = id;
+    this.size++;
+  }
+
+  void addAll(final TestIdSet other) {
+    if ((this.bits != null) && (other.bits != null)) {
+      this.bits.or(other.bits);
+      return;
+    }
+    for (final int each : other.toArray()) {
+      add(each);
+    }
+  }
+
+  boolean isEmpty() {
+    return size() == 0;
+  }
+
+  int size() {
+    if (this.bits != null) {
+      return this.bits.cardinality();
+    }
+    return this.size;
+  }
+
+  /**
+   * @return the ids in the set in ascending order
+   */
+  int[] toArray() {
+    if (this.bits == null) {
+      return Arrays.copyOf(this.ids, this.size);
+    }
+    final int[] result = new int[this.bits.cardinality()];
+    int i = 0;
+    for (int id = this.bits.nextSetBit(0); id >= 0; id = this.bits
+        .nextSetBit(id + 1)) {
+      result[i] = id;
+      i++;
+    }
+    return result;
+  }
+
+  /**
+   * Returns the index at which the id should be inserted into the sorted
+   * array, or -1 if it is already present. Ids normally arrive in ascending
+   * order, so the common case is a single comparison.
+   */
+  private int insertionPoint(final int id) {
+    if ((this.size == 0) || (this.ids[this.size - 1] < id)) {
+      return this.size;
+    }
+    final int found = Arrays.binarySearch(this.ids, 0, this.size, id);
+    if (found >= 0) {
+      return -1;
+    }
+    return -(found + 1);
+  }
+
+  private boolean shouldSwitchToBitmap(final int id) {
+    if (this.size < MIN_SIZE_FOR_BITMAP) {
+      return false;
+    }
+    final int highest = Math.max(id, this.ids[this.size - 1]);
+    final long arrayBits = (this.size + 1L) * Integer.SIZE;
+    return arrayBits > (highest + 1L);
+  }
+
+  private void switchToBitmap() {
+    this.bits = new BitSet();
+    for (int i = 0; i != this.size; i++) {
+      this.bits.set(this.ids[i]);
+    }
+    this.ids = null;
+    this.size = 0;
+  }
+
+}
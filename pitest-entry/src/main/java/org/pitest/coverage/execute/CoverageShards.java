@@ -0,0 +1,108 @@
+package org.pitest.coverage.execute;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits test classes between coverage minions so that each minion has
+ * roughly the same amount of work.
+ *
+ * Classes are dealt, most expensive first, to whichever shard currently has
+ * the least work. Cost is taken from historic timings where known. Classes
+ * without a timing are assumed to cost the average of those with one. Given
+ * the same inputs the same shards are always produced, and each shard keeps
+ * its classes in the order they were supplied.
+ */
+public final class CoverageShards {
+
+  private CoverageShards() {
+  }
+
+  public static List<List<String>> split(final List<String> testClasses,
+      final int maxShards, final Map<String, Long> timings) {
+    final int numberOfShards = Math.max(1,
+        Math.min(maxShards, testClasses.size()));
+
+    final List<List<String>> shards = new ArrayList<>(numberOfShards);
+    for (int i = 0; i != numberOfShards; i++) {
+      shards.add(new ArrayList<String>());
+    }
+    if (numberOfShards == 1) {
+      shards.get(0).addAll(testClasses);
+      return shards;
+    }
+
+    final Map<String, Long> cost = estimateCosts(testClasses, timings);
+    final Map<String, Integer> position = new HashMap<>();
+    for (final String each : testClasses) {
+      position.put(each, position.size());
+    }
+
+    final List<String> mostExpensiveFirst = new ArrayList<>(testClasses);
+    Collections.sort(mostExpensiveFirst, new Comparator<String>() {
+      @Override
+      public int compare(final String a, final String b) {
+        final int byCost = Long.compare(cost.get(b), cost.get(a));
+        if (byCost != 0) {
+          return byCost;
+        }
+        return Integer.compare(position.get(a), position.get(b));
+      }
+    });
+
+    final long[] load = new long[numberOfShards];
+    for (final String each : mostExpensiveFirst) {
+      final int lightest = lightestShard(load);
+      shards.get(lightest).add(each);
+      load[lightest] += cost.get(each);
+    }
+
+    final Comparator<String> originalOrder = new Comparator<String>() {
+      @Override
+      public int compare(final String a, final String b) {
+        return Integer.compare(position.get(a), position.get(b));
+      }
+    };
+    for (final List<String> each : shards) {
+      Collections.sort(each, originalOrder);
+    }
+    return shards;
+  }
+
+  private static Map<String, Long> estimateCosts(
+      final List<String> testClasses, final Map<String, Long> timings) {
+    long known = 0;
+    int numberKnown = 0;
+    for (final String each : testClasses) {
+      final Long time = timings.get(each);
+      if (time != null) {
+        known += time;
+        numberKnown++;
+      }
+    }
+    final long unknownCost = numberKnown == 0 ? 1 : Math.max(1, known
+        / numberKnown);
+
+    final Map<String, Long> costs = new HashMap<>();
+    for (final String each : testClasses) {
+      final Long time = timings.get(each);
+      costs.put(each, time != null ? Math.max(1, time) : unknownCost);
+    }
+    return costs;
+  }
+
+  private static int lightestShard(final long[] load) {
+    int lightest = 0;
+    for (int i = 1; i != load.length; i++) {
+      if (load[i] < load[lightest]) {
+        lightest = i;
+      }
+    }
+    return lightest;
+  }
+
+}
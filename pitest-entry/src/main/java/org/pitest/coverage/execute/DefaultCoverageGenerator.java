@@ -17,18 +17,24 @@ package org.pitest.coverage.execute;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.ServerSocket;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.logging.Logger;
 
 import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassName;
 import org.pitest.classpath.CodeSource;
 import org.pitest.coverage.CoverageData;
 import org.pitest.coverage.CoverageExporter;
 import org.pitest.coverage.CoverageGenerator;
 import org.pitest.coverage.CoverageResult;
+import org.pitest.coverage.TestCoverageIndex;
 import org.pitest.coverage.analysis.LineMapper;
 import org.pitest.functional.F;
 import org.pitest.functional.FCollection;
@@ -48,20 +54,60 @@ import org.pitest.util.Unchecked;
 
 public class DefaultCoverageGenerator implements CoverageGenerator {
 
-  private static final Logger    LOG = Log.getLogger();
+  private static final Logger     LOG = Log.getLogger();
 
-  private final CoverageOptions  coverageOptions;
-  private final LaunchOptions    launchOptions;
-  private final CodeSource       code;
-  private final Timings          timings;
-  private final File             workingDir;
-  private final CoverageExporter exporter;
-  private final boolean          showProgress;
+  private final CoverageOptions   coverageOptions;
+  private final LaunchOptions     launchOptions;
+  private final CodeSource        code;
+  private final Timings           timings;
+  private final File              workingDir;
+  private final CoverageExporter  exporter;
+  private final boolean           showProgress;
+  private final int               numberOfThreads;
+  private final Map<String, Long> testTimings;
+  private final TestCoverageIndex coverageIndex;
+  private final boolean           onlyTestsReachingCode;
 
   public DefaultCoverageGenerator(final File workingDir,
       final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
       final CodeSource code, final CoverageExporter exporter,
       final Timings timings, final boolean showProgress) {
+    this(workingDir, coverageOptions, launchOptions, code, exporter, timings,
+        showProgress, 1, Collections.<String, Long> emptyMap());
+  }
+
+  /**
+   * @param numberOfThreads
+   *          maximum number of coverage minions to run in parallel
+   * @param testTimings
+   *          historic execution times of test classes, keyed by internal
+   *          class name, used to balance work between minions
+   */
+  public DefaultCoverageGenerator(final File workingDir,
+      final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
+      final CodeSource code, final CoverageExporter exporter,
+      final Timings timings, final boolean showProgress,
+      final int numberOfThreads, final Map<String, Long> testTimings) {
+    this(workingDir, coverageOptions, launchOptions, code, exporter, timings,
+        showProgress, numberOfThreads, testTimings,
+        TestCoverageIndex.disabled(), false);
+  }
+
+  /**
+   * @param coverageIndex
+   *          test classes known to cover each class, updated with the
+   *          coverage gathered by this run
+   * @param onlyTestsReachingCode
+   *          gather coverage only from the tests the index does not rule out
+   *          for the code under test
+   */
+  public DefaultCoverageGenerator(final File workingDir,
+      final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
+      final CodeSource code, final CoverageExporter exporter,
+      final Timings timings, final boolean showProgress,
+      final int numberOfThreads, final Map<String, Long> testTimings,
+      final TestCoverageIndex coverageIndex,
+      final boolean onlyTestsReachingCode) {
     this.coverageOptions = coverageOptions;
     this.code = code;
     this.launchOptions = launchOptions;
@@ -69,6 +115,10 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
     this.workingDir = workingDir;
     this.exporter = exporter;
     this.showProgress = showProgress;
+    this.numberOfThreads = numberOfThreads;
+    this.testTimings = testTimings;
+    this.coverageIndex = coverageIndex;
+    this.onlyTestsReachingCode = onlyTestsReachingCode;
   }
 
   @Override
@@ -77,16 +127,23 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
       final long t0 = System.currentTimeMillis();
 
       this.timings.registerStart(Timings.Stage.SCAN_CLASS_PATH);
-      final Collection<ClassInfo> tests = this.code.getTests();
+      final Collection<ClassInfo> allTests = this.code.getTests();
+      final Set<ClassName> codeClasses = this.code.getCodeUnderTestNames();
       this.timings.registerEnd(Timings.Stage.SCAN_CLASS_PATH);
 
+      final Collection<ClassInfo> tests = selectTests(allTests, codeClasses);
+
       final CoverageData coverage = new CoverageData(this.code, new LineMapper(
-          this.code));
+          this.code, this.code.getMetadataCache()));
 
+      final Map<ClassName, Long> testTimes = new HashMap<>();
       this.timings.registerStart(Timings.Stage.COVERAGE);
-      gatherCoverageData(tests, coverage);
+      gatherCoverageData(tests, coverage, testTimes);
       this.timings.registerEnd(Timings.Stage.COVERAGE);
 
+      this.coverageIndex.record(allTests, tests, codeClasses, coverage,
+          testTimes);
+
       final long time = (System.currentTimeMillis() - t0) / 1000;
 
       LOG.info("Calculated coverage in " + time + " seconds.");
@@ -104,6 +161,18 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
     }
   }
 
+  private Collection<ClassInfo> selectTests(
+      final Collection<ClassInfo> allTests, final Set<ClassName> codeClasses) {
+    if (!this.onlyTestsReachingCode) {
+      return allTests;
+    }
+    final List<ClassInfo> selected = this.coverageIndex.selectTests(allTests,
+        codeClasses);
+    LOG.info("Gathering coverage from " + selected.size() + " of "
+        + allTests.size() + " test classes");
+    return selected;
+  }
+
   private static void verifyBuildSuitableForMutationTesting(final CoverageData coverage) {
     if (!coverage.allTestsGreen()) {
       throw new PitHelpError(Help.FAILING_TESTS);
@@ -111,27 +180,45 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
   }
 
   private void gatherCoverageData(final Collection<ClassInfo> tests,
-      final CoverageData coverage) throws IOException, InterruptedException,
-      ExecutionException {
+      final CoverageData coverage, final Map<ClassName, Long> testTimes)
+      throws IOException, InterruptedException, ExecutionException {
 
     final List<String> filteredTests = FCollection
         .map(tests, classInfoToName());
 
-    final SideEffect1<CoverageResult> handler = resultProcessor(coverage);
-
-    final SocketFinder sf = new SocketFinder();
-    final ServerSocket socket = sf.getNextAvailableServerSocket();
+    final List<List<String>> shards = CoverageShards.split(filteredTests,
+        this.numberOfThreads, this.testTimings);
+    LOG.fine("Gathering coverage in " + shards.size() + " minion(s)");
 
-    final CoverageProcess process = new CoverageProcess(ProcessArgs
-        .withClassPath(this.code.getClassPath()).andBaseDir(this.workingDir)
-        .andLaunchOptions(this.launchOptions).andStderr(logInfo())
-        .andStdout(captureStandardOutIfVerbose()), this.coverageOptions,
-        socket, filteredTests, handler);
+    final OrderedShardMerger merger = new OrderedShardMerger(
+        resultProcessor(coverage, testTimes), shards.size());
 
-    process.start();
+    final SocketFinder sf = new SocketFinder();
+    final List<CoverageProcess> processes = new ArrayList<>(shards.size());
+    try {
+      for (int i = 0; i != shards.size(); i++) {
+        final CoverageProcess process = new CoverageProcess(ProcessArgs
+            .withClassPath(this.code.getClassPath())
+            .andBaseDir(this.workingDir).andLaunchOptions(this.launchOptions)
+            .andStderr(logInfo()).andStdout(captureStandardOutIfVerbose()),
+            this.coverageOptions, sf.getNextAvailableServerSocket(),
+            shards.get(i), merger.handlerFor(i));
+        process.start();
+        processes.add(process);
+      }
 
-    ExitCode exitCode = process.waitToDie();
+      for (int i = 0; i != processes.size(); i++) {
+        checkExitCode(processes.get(i).waitToDie());
+        merger.shardComplete(i);
+      }
+    } finally {
+      for (final CoverageProcess each : processes) {
+        each.destroy();
+      }
+    }
+  }
 
+  private static void checkExitCode(final ExitCode exitCode) {
     if (exitCode == ExitCode.JUNIT_ISSUE) {
       LOG.severe("Error generating coverage. Please check that your classpath contains JUnit 4.6 or above.");
       throw new PitError(
@@ -182,7 +269,7 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
   }
 
   private SideEffect1<CoverageResult> resultProcessor(
-      final CoverageData coverage) {
+      final CoverageData coverage, final Map<ClassName, Long> testTimes) {
     return new SideEffect1<CoverageResult>() {
       private final String[] spinner = new String[] { "\u0008/", "\u0008-",
           "\u0008\\", "\u0008|" };
@@ -191,6 +278,7 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
       @Override
       public void apply(final CoverageResult cr) {
         coverage.calculateClassCoverage(cr);
+        recordTime(cr, testTimes);
         if (DefaultCoverageGenerator.this.showProgress) {
           System.out.printf("%s", this.spinner[this.i % this.spinner.length]);
         }
@@ -200,6 +288,16 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
     };
   }
 
+  private static void recordTime(final CoverageResult cr,
+      final Map<ClassName, Long> testTimes) {
+    final String testClass = cr.getTestUnitDescription().getFirstTestClass();
+    if (testClass != null) {
+      final ClassName name = ClassName.fromString(testClass);
+      final Long sofar = testTimes.get(name);
+      testTimes.put(name, (sofar != null ? sofar : 0) + cr.getExecutionTime());
+    }
+  }
+
   @Override
   public TestPluginArguments getConfiguration() {
     return this.coverageOptions.getPitConfig();
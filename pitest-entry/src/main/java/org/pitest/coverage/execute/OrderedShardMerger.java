@@ -0,0 +1,64 @@
+package org.pitest.coverage.execute;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.pitest.coverage.CoverageResult;
+import org.pitest.functional.SideEffect1;
+
+/**
+ * Passes results from coverage shards running in parallel to a single
+ * handler in shard order, so the merged coverage is the same however the
+ * shards happen to be scheduled.
+ *
+ * Results for the earliest incomplete shard are passed straight through.
+ * Results from later shards are held until every earlier shard is complete.
+ */
+class OrderedShardMerger {
+
+  private final SideEffect1<CoverageResult> target;
+  private final List<List<CoverageResult>>  held;
+  private int                               current = 0;
+
+  OrderedShardMerger(final SideEffect1<CoverageResult> target,
+      final int numberOfShards) {
+    this.target = target;
+    this.held = new ArrayList<>(numberOfShards);
+    for (int i = 0; i != numberOfShards; i++) {
+      this.held.add(new ArrayList<CoverageResult>());
+    }
+  }
+
+  SideEffect1<CoverageResult> handlerFor(final int shard) {
+    return new SideEffect1<CoverageResult>() {
+      @Override
+      public void apply(final CoverageResult result) {
+        accept(shard, result);
+      }
+    };
+  }
+
+  synchronized void shardComplete(final int shard) {
+    if (shard != this.current) {
+      throw new IllegalStateException("Shard " + shard
+          + " completed out of order, expected " + this.current);
+    }
+    this.current++;
+    if (this.current < this.held.size()) {
+      for (final CoverageResult each : this.held.get(this.current)) {
+        this.target.apply(each);
+      }
+      this.held.set(this.current, new ArrayList<CoverageResult>());
+    }
+  }
+
+  private synchronized void accept(final int shard,
+      final CoverageResult result) {
+    if (shard == this.current) {
+      this.target.apply(result);
+    } else {
+      this.held.get(shard).add(result);
+    }
+  }
+
+}
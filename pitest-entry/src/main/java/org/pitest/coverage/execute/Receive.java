@@ -1,9 +1,11 @@
 package org.pitest.coverage.execute;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.pitest.classinfo.ClassName;
@@ -17,14 +19,13 @@ import org.pitest.util.Id;
 import org.pitest.util.ReceiveStrategy;
 import org.pitest.util.SafeDataInputStream;
 
-import sun.pitest.CodeCoverageStore;
-
 final class Receive implements ReceiveStrategy {
 
-  private final Map<Integer, ClassName>     classIdToName = new ConcurrentHashMap<>();
-  private final Map<Long, BlockLocation>    probeToBlock  = new ConcurrentHashMap<>();
+  private final Map<Integer, ClassName>       classIdToName = new ConcurrentHashMap<>();
+  // blocks for each class id, indexed by class wide probe number
+  private final Map<Integer, BlockLocation[]> probeToBlock  = new ConcurrentHashMap<>();
 
-  private final SideEffect1<CoverageResult> handler;
+  private final SideEffect1<CoverageResult>   handler;
 
   Receive(final SideEffect1<CoverageResult> handler) {
     this.handler = handler;
@@ -57,36 +58,54 @@ final class Receive implements ReceiveStrategy {
     final int last = is.readInt();
     Location loc = Location.location(this.classIdToName.get(classId),
         MethodName.fromString(methodName), methodSig);
+    final BlockLocation[] blocks = blocksForClass(classId, last + 1);
     for (int i = first; i != (last + 1); i++) {
       // nb, convert from classwide id to method scoped index within
       // BlockLocation
-      this.probeToBlock.put(CodeCoverageStore.encode(classId, i),
-          new BlockLocation(loc, i - first));
+      blocks[i] = new BlockLocation(loc, i - first);
     }
   }
 
-  private void handleTestEnd(final SafeDataInputStream is) {
-    final Description d = is.read(Description.class);
-    final int numberOfResults = is.readInt();
+  private BlockLocation[] blocksForClass(final int classId,
+      final int numberOfProbes) {
+    BlockLocation[] blocks = this.probeToBlock.get(classId);
+    if (blocks == null) {
+      blocks = new BlockLocation[numberOfProbes];
+      this.probeToBlock.put(classId, blocks);
+    } else if (blocks.length < numberOfProbes) {
+      blocks = Arrays.copyOf(blocks,
+          Math.max(numberOfProbes, blocks.length * 2));
+      this.probeToBlock.put(classId, blocks);
+    }
+    return blocks;
+  }
 
-    final Set<BlockLocation> hits = new HashSet<>(numberOfResults);
+  private void handleTestEnd(final SafeDataInputStream is) {
+    final Description d = is.read(CoverageCodecs.DESCRIPTION);
+    final Map<Integer, boolean[]> classHits = is
+        .read(CoverageCodecs.PROBE_HITS);
 
-    for (int i = 0; i != numberOfResults; i++) {
-      readProbeHit(is, hits);
+    final List<BlockLocation> hits = new ArrayList<>();
+    for (final Entry<Integer, boolean[]> each : classHits.entrySet()) {
+      addHitBlocks(each.getKey(), each.getValue(), hits);
     }
 
     this.handler.apply(createCoverageResult(is, d, hits));
   }
 
-  private void readProbeHit(final SafeDataInputStream is,
-      final Set<BlockLocation> hits) {
-    final long encoded = is.readLong();
-    BlockLocation location = probeToBlock(encoded);
-    hits.add(location);
-  }
-
-  private BlockLocation probeToBlock(long encoded) {
-    return this.probeToBlock.get(encoded);
+  private void addHitBlocks(final int classId, final boolean[] probes,
+      final List<BlockLocation> hits) {
+    final BlockLocation[] blocks = this.probeToBlock.get(classId);
+    if (blocks == null) {
+      return;
+    }
+    // first slot records a hit to the class, probe n is in slot n + 1
+    final int end = Math.min(probes.length, blocks.length + 1);
+    for (int slot = 1; slot < end; slot++) {
+      if (probes[slot] && (blocks[slot - 1] != null)) {
+        hits.add(blocks[slot - 1]);
+      }
+    }
   }
 
   private CoverageResult createCoverageResult(final SafeDataInputStream is,
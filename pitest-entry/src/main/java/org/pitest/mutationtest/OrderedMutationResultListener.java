@@ -0,0 +1,10 @@
+package org.pitest.mutationtest;
+
+/**
+ * Marker for listeners that must receive results in the order in which the
+ * mutation analysis units were scheduled. Other listeners are sent results as
+ * soon as each unit completes.
+ */
+public interface OrderedMutationResultListener extends MutationResultListener {
+
+}
@@ -0,0 +1,65 @@
+package org.pitest.mutationtest.build;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.pitest.bytecode.analysis.ClassTree;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+/**
+ * Mutater handed to the interceptors while they process a class. Each mutant,
+ * and the tree parsed from it, is created once however many interceptors ask
+ * for it. Trees are shared, so must not be modified.
+ */
+public class CachingMutater implements Mutater {
+
+  private final Mutater                            child;
+  private final Map<MutationIdentifier, Mutant>    mutants = new HashMap<>();
+  private final Map<MutationIdentifier, ClassTree> trees   = new HashMap<>();
+
+  public CachingMutater(final Mutater child) {
+    this.child = child;
+  }
+
+  /**
+   * Parses the given mutant, reusing the tree when the mutater is a
+   * CachingMutater.
+   */
+  public static ClassTree mutantTree(final Mutater m,
+      final MutationIdentifier id) {
+    if (m instanceof CachingMutater) {
+      return ((CachingMutater) m).getMutantTree(id);
+    }
+    return ClassTree.fromBytes(m.getMutation(id).getBytes());
+  }
+
+  @Override
+  public Mutant getMutation(final MutationIdentifier id) {
+    Mutant mutant = this.mutants.get(id);
+    if (mutant == null) {
+      mutant = this.child.getMutation(id);
+      this.mutants.put(id, mutant);
+    }
+    return mutant;
+  }
+
+  @Override
+  public List<MutationDetails> findMutations(final ClassName classToMutate) {
+    return this.child.findMutations(classToMutate);
+  }
+
+  public ClassTree getMutantTree(final MutationIdentifier id) {
+    ClassTree tree = this.trees.get(id);
+    if (tree == null) {
+      tree = ClassTree.fromBytes(getMutation(id).getBytes());
+      this.trees.put(id, tree);
+    }
+    return tree;
+  }
+
+}
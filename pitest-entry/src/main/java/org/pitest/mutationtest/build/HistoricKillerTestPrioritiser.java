@@ -0,0 +1,54 @@
+package org.pitest.mutationtest.build;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+/**
+ * Moves the tests that killed the same or nearby mutations in earlier runs to
+ * the front of the order chosen by another prioritiser. As a mutation stops
+ * being tested once a test kills it, running likely killers first means fewer
+ * tests are run. Tests with no record of kills keep their original order.
+ */
+public class HistoricKillerTestPrioritiser implements TestPrioritiser {
+
+  private final TestPrioritiser child;
+  private final KillHistory     history;
+
+  public HistoricKillerTestPrioritiser(final TestPrioritiser child,
+      final KillHistory history) {
+    this.child = child;
+    this.history = history;
+  }
+
+  @Override
+  public List<TestInfo> assignTests(final MutationDetails mutation) {
+    final List<TestInfo> tests = this.child.assignTests(mutation);
+    if (tests.size() < 2) {
+      return tests;
+    }
+    final KillHistory.Kills kills = this.history.near(mutation.getId());
+    if (kills.isEmpty()) {
+      return tests;
+    }
+    final List<TestInfo> sorted = new ArrayList<>(tests);
+    // the sort is stable, so ties keep the order of the child
+    Collections.sort(sorted, killersFirst(kills));
+    return sorted;
+  }
+
+  private static Comparator<TestInfo> killersFirst(
+      final KillHistory.Kills kills) {
+    return new Comparator<TestInfo>() {
+      @Override
+      public int compare(final TestInfo a, final TestInfo b) {
+        return kills.compare(a.getName(), b.getName());
+      }
+    };
+  }
+
+}
@@ -0,0 +1,37 @@
+package org.pitest.mutationtest.build;
+
+import java.util.Properties;
+
+import org.pitest.classpath.CodeSource;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.mutationtest.HistoryStore;
+
+/**
+ * Wraps the prioritisers of another factory so that tests which killed
+ * mutations in earlier runs, as recorded in the history store, are run first.
+ */
+public class HistoricKillerTestPrioritiserFactory implements
+    TestPrioritiserFactory {
+
+  private final TestPrioritiserFactory child;
+  private final KillHistory            kills;
+
+  public HistoricKillerTestPrioritiserFactory(
+      final TestPrioritiserFactory child, final HistoryStore history) {
+    this.child = child;
+    this.kills = new KillHistory(history);
+  }
+
+  @Override
+  public String description() {
+    return "Historic killer first test prioritiser";
+  }
+
+  @Override
+  public TestPrioritiser makeTestPrioritiser(final Properties props,
+      final CodeSource code, final CoverageDatabase coverage) {
+    return new HistoricKillerTestPrioritiser(this.child.makeTestPrioritiser(
+        props, code, coverage), this.kills);
+  }
+
+}
@@ -0,0 +1,189 @@
+package org.pitest.mutationtest.build;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.HistoryStore;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.incremental.BinaryHistoryStore;
+
+/**
+ * Index of the tests that killed mutations in earlier runs. Kills are counted
+ * for the mutation itself, its method, its class and its mutator within the
+ * class, so that tests can be ranked for a mutation that was not seen before.
+ * The kills of a class are only counted when one of its mutations is first
+ * prioritised. A {@link BinaryHistoryStore} is asked for the results of that
+ * class alone, the results of other stores are indexed by class once.
+ */
+public class KillHistory {
+
+  private final HistoryStore                                              store;
+  private final Map<ClassName, ClassKills>                                classes = new HashMap<>();
+  private Map<ClassName, Map<MutationIdentifier, MutationStatusTestPair>> byClass;
+
+  public KillHistory(final HistoryStore store) {
+    this.store = store;
+  }
+
+  /**
+   * The kills recorded near the given mutation.
+   */
+  public Kills near(final MutationIdentifier id) {
+    final ClassKills kills = killsIn(id.getClassName());
+    return new Kills(kills.killers.get(id), countsFor(kills.methods,
+        id.getLocation()), kills.all, countsFor(kills.mutators,
+        id.getMutator()));
+  }
+
+  private synchronized ClassKills killsIn(final ClassName clazz) {
+    ClassKills kills = this.classes.get(clazz);
+    if (kills == null) {
+      kills = new ClassKills();
+      for (final Entry<MutationIdentifier, MutationStatusTestPair> each : resultsFor(
+          clazz).entrySet()) {
+        final MutationStatusTestPair result = each.getValue();
+        if ((result.getStatus() == DetectionStatus.KILLED)
+            && result.getKillingTest().hasSome()) {
+          kills.record(each.getKey(), result.getKillingTest().value());
+        }
+      }
+      this.classes.put(clazz, kills);
+    }
+    return kills;
+  }
+
+  private Map<MutationIdentifier, MutationStatusTestPair> resultsFor(
+      final ClassName clazz) {
+    if (this.store instanceof BinaryHistoryStore) {
+      return ((BinaryHistoryStore) this.store).getHistoricResultsFor(clazz);
+    }
+    if (this.byClass == null) {
+      this.byClass = new HashMap<>();
+      for (final Entry<MutationIdentifier, MutationStatusTestPair> each : this.store
+          .getHistoricResults().entrySet()) {
+        final ClassName owner = each.getKey().getClassName();
+        Map<MutationIdentifier, MutationStatusTestPair> results = this.byClass
+            .get(owner);
+        if (results == null) {
+          results = new HashMap<>();
+          this.byClass.put(owner, results);
+        }
+        results.put(each.getKey(), each.getValue());
+      }
+    }
+    final Map<MutationIdentifier, MutationStatusTestPair> results = this.byClass
+        .get(clazz);
+    if (results == null) {
+      return Collections.emptyMap();
+    }
+    return results;
+  }
+
+  private static <K> Map<String, Integer> countsFor(
+      final Map<K, Map<String, Integer>> counts, final K key) {
+    final Map<String, Integer> tests = counts.get(key);
+    if (tests == null) {
+      return Collections.emptyMap();
+    }
+    return tests;
+  }
+
+  private static final class ClassKills {
+
+    private final Map<MutationIdentifier, String>     killers  = new HashMap<>();
+    private final Map<Location, Map<String, Integer>> methods  = new HashMap<>();
+    private final Map<String, Map<String, Integer>>   mutators = new HashMap<>();
+    private final Map<String, Integer>                all      = new HashMap<>();
+
+    private void record(final MutationIdentifier id, final String test) {
+      this.killers.put(id, test);
+      increment(this.methods, id.getLocation(), test);
+      increment(this.mutators, id.getMutator(), test);
+      increment(this.all, test);
+    }
+
+    private static <K> void increment(
+        final Map<K, Map<String, Integer>> counts, final K key,
+        final String test) {
+      Map<String, Integer> tests = counts.get(key);
+      if (tests == null) {
+        tests = new HashMap<>();
+        counts.put(key, tests);
+      }
+      increment(tests, test);
+    }
+
+    private static void increment(final Map<String, Integer> tests,
+        final String test) {
+      final Integer count = tests.get(test);
+      tests.put(test, count == null ? 1 : count + 1);
+    }
+
+  }
+
+  /**
+   * Kills recorded near one mutation, from the closest to the most distant.
+   */
+  public static final class Kills {
+
+    private final String               killer;
+    private final Map<String, Integer> method;
+    private final Map<String, Integer> clazz;
+    private final Map<String, Integer> mutator;
+
+    Kills(final String killer, final Map<String, Integer> method,
+        final Map<String, Integer> clazz, final Map<String, Integer> mutator) {
+      this.killer = killer;
+      this.method = method;
+      this.clazz = clazz;
+      this.mutator = mutator;
+    }
+
+    /**
+     * True when no kills were recorded near the mutation.
+     */
+    public boolean isEmpty() {
+      return (this.killer == null) && this.clazz.isEmpty();
+    }
+
+    /**
+     * Orders tests with a closer record of kills first. Tests with equal
+     * records compare equal.
+     */
+    public int compare(final String a, final String b) {
+      final int exact = Boolean.compare(b.equals(this.killer),
+          a.equals(this.killer));
+      if (exact != 0) {
+        return exact;
+      }
+      final int inMethod = compareCounts(this.method, a, b);
+      if (inMethod != 0) {
+        return inMethod;
+      }
+      final int inClass = compareCounts(this.clazz, a, b);
+      if (inClass != 0) {
+        return inClass;
+      }
+      return compareCounts(this.mutator, a, b);
+    }
+
+    private static int compareCounts(final Map<String, Integer> counts,
+        final String a, final String b) {
+      return Integer.compare(count(counts, b), count(counts, a));
+    }
+
+    private static int count(final Map<String, Integer> counts,
+        final String test) {
+      final Integer count = counts.get(test);
+      return count == null ? 0 : count;
+    }
+
+  }
+
+}
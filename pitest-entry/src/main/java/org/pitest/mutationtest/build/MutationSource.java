@@ -28,6 +28,10 @@ import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.util.Log;
 
+/**
+ * Creates the mutations for a class. Not thread safe, as the interceptor it
+ * runs keeps state for the class being processed.
+ */
 public class MutationSource {
 
   private static final Logger        LOG = Log.getLogger();
@@ -60,9 +64,11 @@ public class MutationSource {
       ClassTree tree = ClassTree
           .fromBytes(this.source.getBytes(clazz.asJavaName()).value());
 
+      // every interceptor sees the same tree, and shares the mutants
+      // created while filtering this class
       interceptor.begin(tree);
       Collection<MutationDetails> updatedMutations = interceptor
-          .intercept(availableMutations, m);
+          .intercept(availableMutations, new CachingMutater(m));
       interceptor.end();
 
       assignTestsToMutations(updatedMutations);
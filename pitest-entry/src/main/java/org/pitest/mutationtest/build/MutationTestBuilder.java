@@ -21,6 +21,12 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import org.pitest.classinfo.ClassName;
 import org.pitest.coverage.TestInfo;
@@ -31,19 +37,32 @@ import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationAnalyser;
 import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.Unchecked;
 
 public class MutationTestBuilder {
 
-  private final MutationSource   mutationSource;
-  private final MutationAnalyser analyser;
-  private final WorkerFactory    workerFactory;
-  private final MutationGrouper  grouper;
+  private final List<MutationSource> mutationSources;
+  private final MutationAnalyser     analyser;
+  private final WorkerFactory        workerFactory;
+  private final MutationGrouper      grouper;
 
   public MutationTestBuilder(final WorkerFactory workerFactory,
       final MutationAnalyser analyser, final MutationSource mutationSource,
       final MutationGrouper grouper) {
+    this(workerFactory, analyser, Collections.singletonList(mutationSource),
+        grouper);
+  }
 
-    this.mutationSource = mutationSource;
+  /**
+   * Mutations are created for as many classes at once as there are sources.
+   * Sources are not thread safe, so each is used by one thread at a time.
+   */
+  public MutationTestBuilder(final WorkerFactory workerFactory,
+      final MutationAnalyser analyser,
+      final List<MutationSource> mutationSources,
+      final MutationGrouper grouper) {
+
+    this.mutationSources = mutationSources;
     this.analyser = analyser;
     this.workerFactory = workerFactory;
     this.grouper = grouper;
@@ -53,8 +72,7 @@ public class MutationTestBuilder {
       final Collection<ClassName> codeClasses) {
     final List<MutationAnalysisUnit> tus = new ArrayList<>();
 
-    final List<MutationDetails> mutations = FCollection.flatMap(codeClasses,
-        classToMutations());
+    final List<MutationDetails> mutations = createMutations(codeClasses);
 
     Collections.sort(mutations, comparator());
 
@@ -93,11 +111,62 @@ public class MutationTestBuilder {
     };
   }
 
-  private F<ClassName, Iterable<MutationDetails>> classToMutations() {
+  private List<MutationDetails> createMutations(
+      final Collection<ClassName> codeClasses) {
+    if (this.mutationSources.size() == 1) {
+      return FCollection.flatMap(codeClasses,
+          classToMutations(this.mutationSources.get(0)));
+    }
+
+    final BlockingQueue<MutationSource> idle = new LinkedBlockingQueue<>(
+        this.mutationSources);
+    final List<Callable<Collection<MutationDetails>>> tasks = new ArrayList<>();
+    for (final ClassName each : codeClasses) {
+      tasks.add(createMutations(each, idle));
+    }
+
+    final ForkJoinPool pool = new ForkJoinPool(this.mutationSources.size());
+    try {
+      // gathered in class order, whichever class finished first
+      final List<MutationDetails> mutations = new ArrayList<>();
+      for (final Future<Collection<MutationDetails>> each : pool
+          .invokeAll(tasks)) {
+        mutations.addAll(each.get());
+      }
+      return mutations;
+    } catch (final InterruptedException ex) {
+      throw Unchecked.translateCheckedException(ex);
+    } catch (final ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw Unchecked.translateCheckedException(ex.getCause());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static Callable<Collection<MutationDetails>> createMutations(
+      final ClassName clazz, final BlockingQueue<MutationSource> idle) {
+    return new Callable<Collection<MutationDetails>>() {
+      @Override
+      public Collection<MutationDetails> call() throws InterruptedException {
+        final MutationSource source = idle.take();
+        try {
+          return source.createMutations(clazz);
+        } finally {
+          idle.add(source);
+        }
+      }
+    };
+  }
+
+  private static F<ClassName, Iterable<MutationDetails>> classToMutations(
+      final MutationSource source) {
     return new F<ClassName, Iterable<MutationDetails>>() {
       @Override
       public Iterable<MutationDetails> apply(final ClassName a) {
-        return MutationTestBuilder.this.mutationSource.createMutations(a);
+        return source.createMutations(a);
       }
 
     };
@@ -0,0 +1,235 @@
+package org.pitest.mutationtest.build;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+/**
+ * Groups mutations into units that need as few test classes as possible.
+ *
+ * <p>
+ * A minion loads and discovers every test class of its unit, so mutations
+ * covered by the same test classes are placed together, whichever class they
+ * mutate. Mutations are first bucketed by their set of test classes. Each
+ * bucket then joins the unit that already has most of its test classes, or
+ * starts a new one.
+ *
+ * <p>
+ * A mutation is expected to cost the time of all its tests, as a surviving
+ * mutant runs them all. No unit may cost more than a fraction of a thread's
+ * share of the total, so a unit picked up late in the run cannot keep one
+ * thread busy long after the others have finished. Units are not split below
+ * the cost of launching a minion.
+ */
+public class TestAffinityGrouper implements MutationGrouper {
+
+  static final int  UNITS_PER_THREAD = 4;
+
+  // roughly the milliseconds it takes to launch a minion, splitting units
+  // any smaller costs more than it saves
+  static final long MIN_UNIT_COST    = 1000;
+
+  private final int unitSize;
+  private final int numberOfThreads;
+
+  public TestAffinityGrouper(final int unitSize, final int numberOfThreads) {
+    this.unitSize = unitSize;
+    this.numberOfThreads = Math.max(1, numberOfThreads);
+  }
+
+  @Override
+  public List<List<MutationDetails>> groupMutations(
+      final Collection<ClassName> codeClasses,
+      final Collection<MutationDetails> mutations) {
+    final Map<Set<ClassName>, Group> buckets = new LinkedHashMap<>();
+    long totalCost = 0;
+    for (final MutationDetails each : mutations) {
+      final Set<ClassName> testClasses = testClassesOf(each);
+      Group bucket = buckets.get(testClasses);
+      if (bucket == null) {
+        bucket = new Group(testClasses);
+        buckets.put(testClasses, bucket);
+      }
+      final long cost = costOf(each);
+      bucket.add(each, cost);
+      totalCost += cost;
+    }
+
+    final long maxCost = Math.max(MIN_UNIT_COST, totalCost
+        / (this.numberOfThreads * UNITS_PER_THREAD));
+
+    // buckets needing the most test classes go first, so smaller ones can
+    // join the units they start
+    final List<Group> ordered = new ArrayList<>(buckets.values());
+    Collections.sort(ordered, largestFirst());
+
+    final List<Group> units = new ArrayList<>();
+    final Map<ClassName, List<Group>> unitsByTestClass = new HashMap<>();
+    final List<Group> unitsWithoutTests = new ArrayList<>();
+    for (final Group bucket : ordered) {
+      for (final Group chunk : split(bucket, maxCost)) {
+        Group unit = bestUnitFor(chunk, maxCost, unitsByTestClass,
+            unitsWithoutTests);
+        if (unit == null) {
+          unit = new Group(new HashSet<ClassName>());
+          units.add(unit);
+          if (chunk.testClasses.isEmpty()) {
+            unitsWithoutTests.add(unit);
+          }
+        }
+        for (final ClassName each : chunk.testClasses) {
+          if (!unit.testClasses.contains(each)) {
+            indexUnit(unitsByTestClass, each, unit);
+          }
+        }
+        unit.addAll(chunk);
+      }
+    }
+
+    final List<List<MutationDetails>> grouped = new ArrayList<>(units.size());
+    for (final Group each : units) {
+      grouped.add(each.mutations);
+    }
+    return grouped;
+  }
+
+  private List<Group> split(final Group bucket, final long maxCost) {
+    final List<Group> chunks = new ArrayList<>();
+    Group chunk = new Group(bucket.testClasses);
+    for (int i = 0; i != bucket.mutations.size(); i++) {
+      final long cost = bucket.costs.get(i);
+      if (!chunk.mutations.isEmpty() && !fits(chunk, 1, cost, maxCost)) {
+        chunks.add(chunk);
+        chunk = new Group(bucket.testClasses);
+      }
+      chunk.add(bucket.mutations.get(i), cost);
+    }
+    chunks.add(chunk);
+    return chunks;
+  }
+
+  // the unit sharing most test classes with the chunk that has room for it
+  private Group bestUnitFor(final Group chunk, final long maxCost,
+      final Map<ClassName, List<Group>> unitsByTestClass,
+      final List<Group> unitsWithoutTests) {
+    if (chunk.testClasses.isEmpty()) {
+      for (final Group each : unitsWithoutTests) {
+        if (fits(each, chunk.mutations.size(), chunk.cost, maxCost)) {
+          return each;
+        }
+      }
+      return null;
+    }
+
+    final Map<Group, Integer> shared = new LinkedHashMap<>();
+    for (final ClassName each : chunk.testClasses) {
+      final List<Group> candidates = unitsByTestClass.get(each);
+      if (candidates != null) {
+        for (final Group unit : candidates) {
+          final Integer count = shared.get(unit);
+          shared.put(unit, count == null ? 1 : count + 1);
+        }
+      }
+    }
+
+    Group best = null;
+    int bestShared = 0;
+    for (final Entry<Group, Integer> each : shared.entrySet()) {
+      if ((each.getValue() > bestShared)
+          && fits(each.getKey(), chunk.mutations.size(), chunk.cost, maxCost)) {
+        best = each.getKey();
+        bestShared = each.getValue();
+      }
+    }
+    return best;
+  }
+
+  private boolean fits(final Group unit, final int mutations, final long cost,
+      final long maxCost) {
+    if ((this.unitSize > 0)
+        && ((unit.mutations.size() + mutations) > this.unitSize)) {
+      return false;
+    }
+    return (unit.cost + cost) <= maxCost;
+  }
+
+  private static void indexUnit(
+      final Map<ClassName, List<Group>> unitsByTestClass,
+      final ClassName testClass, final Group unit) {
+    List<Group> units = unitsByTestClass.get(testClass);
+    if (units == null) {
+      units = new ArrayList<>();
+      unitsByTestClass.put(testClass, units);
+    }
+    units.add(unit);
+  }
+
+  private static Set<ClassName> testClassesOf(final MutationDetails mutation) {
+    final Set<ClassName> testClasses = new HashSet<>();
+    for (final TestInfo each : mutation.getTestsInOrder()) {
+      testClasses.add(ClassName.fromString(each.getDefiningClass()));
+    }
+    return testClasses;
+  }
+
+  private static long costOf(final MutationDetails mutation) {
+    // every mutation costs something to run, even when its tests were too
+    // quick to time
+    long cost = 1;
+    for (final TestInfo each : mutation.getTestsInOrder()) {
+      cost += Math.max(0, each.getTime());
+    }
+    return cost;
+  }
+
+  private static Comparator<Group> largestFirst() {
+    return new Comparator<Group>() {
+      @Override
+      public int compare(final Group a, final Group b) {
+        final int byTests = Integer.compare(b.testClasses.size(),
+            a.testClasses.size());
+        if (byTests != 0) {
+          return byTests;
+        }
+        return Long.compare(b.cost, a.cost);
+      }
+    };
+  }
+
+  private static final class Group {
+    private final Set<ClassName>        testClasses;
+    private final List<MutationDetails> mutations = new ArrayList<>();
+    private final List<Long>            costs     = new ArrayList<>();
+    private long                        cost;
+
+    Group(final Set<ClassName> testClasses) {
+      this.testClasses = testClasses;
+    }
+
+    void add(final MutationDetails mutation, final long mutationCost) {
+      this.mutations.add(mutation);
+      this.costs.add(mutationCost);
+      this.cost += mutationCost;
+    }
+
+    void addAll(final Group other) {
+      this.testClasses.addAll(other.testClasses);
+      this.mutations.addAll(other.mutations);
+      this.costs.addAll(other.costs);
+      this.cost += other.cost;
+    }
+  }
+
+}
@@ -6,55 +6,134 @@ import java.io.File;
 import java.util.Collection;
 
 import org.pitest.classinfo.ClassName;
+import org.pitest.functional.Option;
 import org.pitest.functional.SideEffect1;
 import org.pitest.functional.prelude.Prelude;
 import org.pitest.mutationtest.MutationConfig;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
 import org.pitest.mutationtest.config.TestPluginArguments;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.execute.AndroidDevicePool;
+import org.pitest.mutationtest.execute.DeviceLeasingMutationTestProcess;
 import org.pitest.mutationtest.execute.MinionArguments;
+import org.pitest.mutationtest.execute.MinionPool;
 import org.pitest.mutationtest.execute.MutationTestProcess;
+import org.pitest.mutationtest.execute.MutationWorkQueue;
+import org.pitest.mutationtest.execute.PooledMutationTestProcess;
+import org.pitest.mutationtest.execute.SingleUseMutationTestProcess;
+import org.pitest.mutationtest.execute.WorkSharing;
 import org.pitest.process.ProcessArgs;
 import org.pitest.util.Log;
 import org.pitest.util.SocketFinder;
+import org.pitest.util.Unchecked;
 
 public class WorkerFactory {
 
-  private final String                classPath;
-  private final File                  baseDir;
-  private final TestPluginArguments   pitConfig;
-  private final TimeoutLengthStrategy timeoutStrategy;
-  private final boolean               verbose;
-  private final MutationConfig        config;
+  // number of mutations handed to a minion each time it asks for work. Kept
+  // small so that little work is lost when a minion dies.
+  private static final int                BATCH_SIZE = 1;
+
+  private final String                    classPath;
+  private final File                      baseDir;
+  private final TestPluginArguments       pitConfig;
+  private final TimeoutLengthStrategy     timeoutStrategy;
+  private final boolean                   verbose;
+  private final MutationConfig            config;
+  private final Option<MinionPool>        pool;
+  private final Option<AndroidDevicePool> devices;
+  // lets a minion whose unit has run out of work help with other units
+  private final WorkSharing               sharing    = new WorkSharing();
 
   public WorkerFactory(final File baseDir, final TestPluginArguments pitConfig,
       final MutationConfig mutationConfig,
       final TimeoutLengthStrategy timeoutStrategy, final boolean verbose,
       final String classPath) {
+    this(baseDir, pitConfig, mutationConfig, timeoutStrategy, verbose,
+        classPath, Option.<MinionPool> none());
+  }
+
+  public WorkerFactory(final File baseDir, final TestPluginArguments pitConfig,
+      final MutationConfig mutationConfig,
+      final TimeoutLengthStrategy timeoutStrategy, final boolean verbose,
+      final String classPath, final Option<MinionPool> pool) {
+    this(baseDir, pitConfig, mutationConfig, timeoutStrategy, verbose,
+        classPath, pool, Option.<AndroidDevicePool> none());
+  }
+
+  public WorkerFactory(final File baseDir, final TestPluginArguments pitConfig,
+      final MutationConfig mutationConfig,
+      final TimeoutLengthStrategy timeoutStrategy, final boolean verbose,
+      final String classPath, final Option<MinionPool> pool,
+      final Option<AndroidDevicePool> devices) {
     this.pitConfig = pitConfig;
     this.timeoutStrategy = timeoutStrategy;
     this.verbose = verbose;
     this.classPath = classPath;
     this.baseDir = baseDir;
     this.config = mutationConfig;
+    this.pool = pool;
+    this.devices = devices;
   }
 
   public MutationTestProcess createWorker(
       final Collection<MutationDetails> remainingMutations,
       final Collection<ClassName> testClasses) {
-    final MinionArguments fileArgs = new MinionArguments(remainingMutations,
+    final MutationWorkQueue work = new MutationWorkQueue(remainingMutations,
+        BATCH_SIZE, testClasses, this.sharing);
+    final String device = leaseDevice();
+    try {
+      final MutationTestProcess worker = createProcess(work, testClasses,
+          MinionArguments.classesOf(remainingMutations), device);
+      if (device != null) {
+        return new DeviceLeasingMutationTestProcess(worker,
+            this.devices.value(), device);
+      }
+      return worker;
+    } catch (final RuntimeException ex) {
+      // nothing will hand the device back, or finish with the work, if the
+      // process was never built
+      work.finish();
+      releaseDevice(device);
+      throw ex;
+    }
+  }
+
+  private MutationTestProcess createProcess(final MutationWorkQueue work,
+      final Collection<ClassName> testClasses,
+      final Collection<ClassName> mutatedClasses, final String device) {
+    final MinionArguments fileArgs = new MinionArguments(work.nextBatch(),
         testClasses, this.config.getEngine(), this.timeoutStrategy,
-        Log.isVerbose(), this.pitConfig);
+        Log.isVerbose(), this.pitConfig, device, mutatedClasses);
 
     final ProcessArgs args = ProcessArgs.withClassPath(this.classPath)
         .andLaunchOptions(this.config.getLaunchOptions())
         .andBaseDir(this.baseDir).andStdout(captureStdOutIfVerbose())
         .andStderr(printWith("stderr "));
 
+    if (this.pool.hasSome()) {
+      return new PooledMutationTestProcess(this.pool.value(), args, fileArgs,
+          work);
+    }
     final SocketFinder sf = new SocketFinder();
-    final MutationTestProcess worker = new MutationTestProcess(
-        sf.getNextAvailableServerSocket(), args, fileArgs);
-    return worker;
+    return new SingleUseMutationTestProcess(sf.getNextAvailableServerSocket(),
+        args, fileArgs, work);
+  }
+
+  private String leaseDevice() {
+    if (this.devices.hasNone()) {
+      return null;
+    }
+    try {
+      return this.devices.value().acquire();
+    } catch (final InterruptedException ex) {
+      throw Unchecked.translateCheckedException(ex);
+    }
+  }
+
+  private void releaseDevice(final String device) {
+    if (device != null) {
+      this.devices.value().release(device);
+    }
   }
 
   private SideEffect1<String> captureStdOutIfVerbose() {
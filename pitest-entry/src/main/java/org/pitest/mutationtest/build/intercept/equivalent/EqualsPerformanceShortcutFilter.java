@@ -21,6 +21,7 @@ import org.pitest.functional.FCollection;
 import org.pitest.functional.FunctionalList;
 import org.pitest.functional.Option;
 import org.pitest.functional.prelude.Prelude;
+import org.pitest.mutationtest.build.CachingMutater;
 import org.pitest.mutationtest.build.InterceptorType;
 import org.pitest.mutationtest.build.MutationInterceptor;
 import org.pitest.mutationtest.engine.Location;
@@ -100,7 +101,7 @@ public class EqualsPerformanceShortcutFilter implements MutationInterceptor {
       return false;
     }
     
-    ClassTree mutant = ClassTree.fromBytes(m.getMutation(a.getId()).getBytes());
+    ClassTree mutant = CachingMutater.mutantTree(m, a.getId());
     MethodTree mutantEquals = mutant.methods().findFirst(MethodMatchers.forLocation(tree.asLocation())).value();
     
     return ALWAYS_FALSE.matches(mutantEquals.instructions());
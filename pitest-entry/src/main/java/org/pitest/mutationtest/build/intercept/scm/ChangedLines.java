@@ -0,0 +1,96 @@
+package org.pitest.mutationtest.build.intercept.scm;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * Lines changed in source control, keyed by the '/' separated path of each
+ * changed file. A file can also be marked as changed as a whole, for example
+ * when it is not yet tracked.
+ */
+public class ChangedLines {
+
+  private final Map<String, Set<Integer>> lines      = new LinkedHashMap<>();
+  private final Set<String>               wholeFiles = new HashSet<>();
+
+  public void addLines(final String path, final int first, final int count) {
+    final Set<Integer> changed = linesOf(normalise(path));
+    for (int i = first; i < first + count; i++) {
+      changed.add(i);
+    }
+  }
+
+  public void addFile(final String path) {
+    final String key = normalise(path);
+    linesOf(key);
+    this.wholeFiles.add(key);
+  }
+
+  public boolean contains(final String path) {
+    return this.lines.containsKey(normalise(path));
+  }
+
+  public boolean isWholeFileChanged(final String path) {
+    return this.wholeFiles.contains(normalise(path));
+  }
+
+  public boolean isChanged(final String path, final int line) {
+    final String key = normalise(path);
+    if (this.wholeFiles.contains(key)) {
+      return true;
+    }
+    final Set<Integer> changed = this.lines.get(key);
+    return (changed != null) && changed.contains(line);
+  }
+
+  public Set<String> files() {
+    return Collections.unmodifiableSet(this.lines.keySet());
+  }
+
+  /**
+   * The changes to files below the given directory, with paths made relative
+   * to it.
+   */
+  public ChangedLines under(final String directory) {
+    String prefix = normalise(directory);
+    if (!prefix.isEmpty() && !prefix.endsWith("/")) {
+      prefix = prefix + "/";
+    }
+    final ChangedLines rooted = new ChangedLines();
+    for (final Entry<String, Set<Integer>> each : this.lines.entrySet()) {
+      if (each.getKey().startsWith(prefix)) {
+        final String path = each.getKey().substring(prefix.length());
+        rooted.linesOf(path).addAll(each.getValue());
+        if (this.wholeFiles.contains(each.getKey())) {
+          rooted.wholeFiles.add(path);
+        }
+      }
+    }
+    return rooted;
+  }
+
+  private Set<Integer> linesOf(final String key) {
+    Set<Integer> changed = this.lines.get(key);
+    if (changed == null) {
+      changed = new HashSet<>();
+      this.lines.put(key, changed);
+    }
+    return changed;
+  }
+
+  // some scms report paths in os specific format
+  private static String normalise(final String path) {
+    return path.replace('\\', '/');
+  }
+
+  @Override
+  public String toString() {
+    return "ChangedLines [lines=" + this.lines + ", wholeFiles="
+        + this.wholeFiles + "]";
+  }
+
+}
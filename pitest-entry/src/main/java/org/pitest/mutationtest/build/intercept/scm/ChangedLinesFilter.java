@@ -0,0 +1,110 @@
+package org.pitest.mutationtest.build.intercept.scm;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.pitest.bytecode.analysis.ClassTree;
+import org.pitest.bytecode.analysis.MethodTree;
+import org.pitest.classinfo.ClassName;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.build.InterceptorType;
+import org.pitest.mutationtest.build.MutationInterceptor;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+/**
+ * Keeps only the mutations in methods containing a changed line. Methods are
+ * kept whole, as a change to one line can alter the behaviour of the rest of
+ * its method.
+ *
+ * <p>
+ * Changed lines are keyed by source file path relative to the source root,
+ * which is worked out from the package of each class and the source file
+ * recorded in its bytecode. Classes that do not record a source file are left
+ * alone.
+ */
+public class ChangedLinesFilter implements MutationInterceptor {
+
+  private final Option<ChangedLines> changes;
+
+  private String                     currentFile;
+  private Set<Location>              changedMethods;
+
+  public ChangedLinesFilter(final Option<ChangedLines> changes) {
+    this.changes = changes;
+  }
+
+  @Override
+  public InterceptorType type() {
+    return InterceptorType.FILTER;
+  }
+
+  @Override
+  public void begin(final ClassTree clazz) {
+    this.currentFile = null;
+    this.changedMethods = new HashSet<>();
+    if (this.changes.hasNone() || (clazz.rawNode().sourceFile == null)) {
+      return;
+    }
+
+    this.currentFile = sourcePath(clazz.name(), clazz.rawNode().sourceFile);
+    final ChangedLines changed = this.changes.value();
+    for (final MethodTree each : clazz.methods()) {
+      if (hasChangedLine(changed, each)) {
+        this.changedMethods.add(each.asLocation());
+      }
+    }
+  }
+
+  @Override
+  public Collection<MutationDetails> intercept(
+      final Collection<MutationDetails> mutations, final Mutater m) {
+    if (this.currentFile == null) {
+      return mutations;
+    }
+
+    final ChangedLines changed = this.changes.value();
+    final List<MutationDetails> kept = new ArrayList<>();
+    for (final MutationDetails each : mutations) {
+      if (this.changedMethods.contains(each.getId().getLocation())
+          || changed.isChanged(this.currentFile, each.getLineNumber())) {
+        kept.add(each);
+      }
+    }
+    return kept;
+  }
+
+  @Override
+  public void end() {
+    this.currentFile = null;
+    this.changedMethods = null;
+  }
+
+  private boolean hasChangedLine(final ChangedLines changed,
+      final MethodTree method) {
+    for (final AbstractInsnNode each : method.instructions()) {
+      if ((each instanceof LineNumberNode)
+          && changed.isChanged(this.currentFile, ((LineNumberNode) each).line)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String sourcePath(final ClassName clazz,
+      final String sourceFile) {
+    final String name = clazz.asInternalName();
+    final int lastSlash = name.lastIndexOf('/');
+    if (lastSlash == -1) {
+      return sourceFile;
+    }
+    return name.substring(0, lastSlash + 1) + sourceFile;
+  }
+
+}
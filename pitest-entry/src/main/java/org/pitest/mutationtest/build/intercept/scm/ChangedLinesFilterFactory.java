@@ -0,0 +1,27 @@
+package org.pitest.mutationtest.build.intercept.scm;
+
+import org.pitest.mutationtest.build.InterceptorParameters;
+import org.pitest.mutationtest.build.MutationInterceptor;
+import org.pitest.mutationtest.build.MutationInterceptorFactory;
+import org.pitest.plugin.Feature;
+
+public class ChangedLinesFilterFactory implements MutationInterceptorFactory {
+
+  @Override
+  public String description() {
+    return "Changed lines filter";
+  }
+
+  @Override
+  public MutationInterceptor createInterceptor(InterceptorParameters params) {
+    return new ChangedLinesFilter(params.data().getChangedLines());
+  }
+
+  @Override
+  public Feature provides() {
+    return Feature.named("FCHANGES")
+        .withOnByDefault(true)
+        .withDescription("Filters mutations in methods with no lines changed in source control, when changed lines are supplied");
+  }
+
+}
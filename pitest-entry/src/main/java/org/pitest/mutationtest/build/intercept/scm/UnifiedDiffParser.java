@@ -0,0 +1,88 @@
+package org.pitest.mutationtest.build.intercept.scm;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the lines added or changed by a unified diff, as produced by
+ * <code>git diff</code>. Only the new side of each hunk is recorded, so the
+ * line numbers match the source that is being mutated.
+ *
+ * <p>
+ * Paths are expected to carry git's default <code>a/</code> and
+ * <code>b/</code> prefixes.
+ */
+public class UnifiedDiffParser {
+
+  private static final Pattern HUNK = Pattern
+      .compile("^@@ -\\d+(?:,\\d+)? \\+(\\d+)(?:,(\\d+))? @@.*");
+
+  private static final String  NEW_FILE  = "+++ ";
+  private static final String  RENAMED   = "rename to ";
+  private static final String  NO_FILE   = "/dev/null";
+  private static final String  NEW_SIDE  = "b/";
+
+  public ChangedLines parse(final Reader diff) throws IOException {
+    final ChangedLines changes = new ChangedLines();
+    final BufferedReader in = new BufferedReader(diff);
+    String file = null;
+    String line;
+    while ((line = in.readLine()) != null) {
+      if (line.startsWith(NEW_FILE)) {
+        file = newFile(unquote(line.substring(NEW_FILE.length())));
+      } else if (line.startsWith(RENAMED)) {
+        // a renamed file declares a new class even when nothing else changed
+        changes.addFile(unquote(line.substring(RENAMED.length())));
+      } else if (line.startsWith("@@") && (file != null)) {
+        addHunk(changes, file, line);
+      }
+    }
+    return changes;
+  }
+
+  private static void addHunk(final ChangedLines changes, final String file,
+      final String header) {
+    final Matcher m = HUNK.matcher(header);
+    if (!m.matches()) {
+      return;
+    }
+    final int start = Integer.parseInt(m.group(1));
+    final int count = m.group(2) == null ? 1 : Integer.parseInt(m.group(2));
+    if (count == 0) {
+      // lines were only removed, after line start. Mark the lines either side
+      // so the method they were removed from is still found.
+      changes.addLines(file, Math.max(1, start), 2);
+    } else {
+      changes.addLines(file, start, count);
+    }
+  }
+
+  private static String newFile(final String path) {
+    if (path.equals(NO_FILE)) {
+      return null;
+    }
+    if (path.startsWith(NEW_SIDE)) {
+      return path.substring(NEW_SIDE.length());
+    }
+    return path;
+  }
+
+  // git quotes paths containing unusual characters, and may add a tab after
+  // the path
+  private static String unquote(final String path) {
+    String p = path;
+    final int tab = p.indexOf('\t');
+    if (tab != -1) {
+      p = p.substring(0, tab);
+    }
+    if ((p.length() > 1) && p.startsWith("\"") && p.endsWith("\"")) {
+      p = p.substring(1, p.length() - 1).replace("\\\"", "\"")
+          .replace("\\\\", "\\");
+    }
+    return p;
+  }
+
+}
@@ -18,6 +18,7 @@ import org.pitest.bytecode.analysis.MethodTree;
 import org.pitest.functional.F;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.Option;
+import org.pitest.mutationtest.build.CachingMutater;
 import org.pitest.mutationtest.build.InterceptorType;
 import org.pitest.mutationtest.build.MutationInterceptor;
 import org.pitest.mutationtest.engine.Location;
@@ -81,7 +82,7 @@ public abstract class InfiniteLoopFilter implements MutationInterceptor {
   }
 
   private boolean isInfiniteLoop(MutationDetails each, Mutater m) {
-    ClassTree mutantClass = ClassTree.fromBytes(m.getMutation(each.getId()).getBytes());
+    ClassTree mutantClass = CachingMutater.mutantTree(m, each.getId());
     Option<MethodTree> mutantMethod = mutantClass.methods().findFirst(forLocation(each.getId().getLocation()));
     return infiniteLoopMatcher().matches(mutantMethod.value().instructions());
   }
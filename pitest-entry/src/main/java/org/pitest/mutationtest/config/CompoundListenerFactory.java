@@ -14,13 +14,16 @@
  */
 package org.pitest.mutationtest.config;
 
+import java.util.List;
 import java.util.Properties;
 
 import org.pitest.functional.F;
 import org.pitest.functional.FCollection;
+import org.pitest.functional.predicate.Predicate;
 import org.pitest.mutationtest.ListenerArguments;
 import org.pitest.mutationtest.MutationResultListener;
 import org.pitest.mutationtest.MutationResultListenerFactory;
+import org.pitest.mutationtest.OrderedMutationResultListener;
 
 public class CompoundListenerFactory implements MutationResultListenerFactory {
 
@@ -34,8 +37,22 @@ public class CompoundListenerFactory implements MutationResultListenerFactory {
   @Override
   public MutationResultListener getListener(final Properties props,
       final ListenerArguments args) {
-    return new CompoundTestListener(FCollection.map(this.children,
-        factoryToListener(props, args)));
+    final List<MutationResultListener> listeners = FCollection.map(
+        this.children, factoryToListener(props, args));
+    // one ordered child means every child must wait for ordered results
+    if (FCollection.contains(listeners, isOrdered())) {
+      return new OrderedCompoundTestListener(listeners);
+    }
+    return new CompoundTestListener(listeners);
+  }
+
+  private static Predicate<MutationResultListener> isOrdered() {
+    return new Predicate<MutationResultListener>() {
+      @Override
+      public Boolean apply(final MutationResultListener a) {
+        return a instanceof OrderedMutationResultListener;
+      }
+    };
   }
 
   private F<MutationResultListenerFactory, MutationResultListener> factoryToListener(
@@ -50,6 +67,15 @@ public class CompoundListenerFactory implements MutationResultListenerFactory {
     };
   }
 
+  private static class OrderedCompoundTestListener extends
+      CompoundTestListener implements OrderedMutationResultListener {
+
+    OrderedCompoundTestListener(final Iterable<MutationResultListener> children) {
+      super(children);
+    }
+
+  }
+
   @Override
   public String name() {
     throw new UnsupportedOperationException();
@@ -66,6 +66,24 @@ public enum ConfigOption {
    * Number of threads to use
    */
   THREADS("threads", 1),
+
+  /**
+   * Reuse minion processes across mutation test units. Each unit loads the
+   * classes under test afresh within the minion.
+   */
+  REUSE_MINIONS("reuseMinions", false),
+
+  /**
+   * Number of mutations a reused minion may process before it is replaced
+   */
+  MINION_MUTATION_BUDGET("minionMutationBudget", 1000),
+
+  /**
+   * Percentage of its maximum heap a reused minion may fill before it is
+   * replaced
+   */
+  MINION_HEAP_BUDGET("minionHeapBudget", 70),
+
   /**
    * Multiple of normal runtime to allow before considering a mutation to have
    * timed out
@@ -145,21 +163,48 @@ public enum ConfigOption {
    */
   MUTATION_UNIT_SIZE("mutationUnitSize", 0),
 
+  /**
+   * Group mutations covered by the same test classes into units, rather than
+   * mutations of the same class
+   */
+  GROUP_MUTATIONS_BY_TESTS("groupMutationsByTests", false),
+
+  /**
+   * Run first the tests that killed the same or nearby mutations in the
+   * history of earlier analyses
+   */
+  PRIORITISE_HISTORIC_KILLERS("prioritiseHistoricKillers", false),
+
   /**
    * Do/don't attempt to detect inlined code from finally blocks
    */
   USE_INLINED_CODE_DETECTION("detectInlinedCode", true),
 
   /**
-   * Location to read history from for incremental analysis
+   * Location to read history from for incremental analysis. History in the
+   * older XML format is still read.
    */
   HISTORY_INPUT_LOCATION("historyInputLocation"),
 
   /**
-   * Location to write history to for incremental analysis
+   * Location to write history to for incremental analysis. History is written
+   * in a binary format, which earlier versions of pitest cannot read, so a
+   * file shared with them is not usable by them once written.
    */
   HISTORY_OUTPUT_LOCATION("historyOutputLocation"),
 
+  /**
+   * Location of a file in which to keep the results of analysing classes
+   * between runs
+   */
+  CLASS_METADATA_CACHE_LOCATION("classMetadataCacheLocation"),
+
+  /**
+   * Location of a file in which to keep the test classes that cover each
+   * class between runs
+   */
+  COVERAGE_INDEX_LOCATION("coverageIndexLocation"),
+
   /**
    * Mutation score below which to throw an error
    */
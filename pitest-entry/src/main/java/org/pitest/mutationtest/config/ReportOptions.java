@@ -21,8 +21,6 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -48,14 +46,11 @@ import org.pitest.functional.prelude.Prelude;
 import org.pitest.help.Help;
 import org.pitest.help.PitHelpError;
 import org.pitest.mutationtest.build.PercentAndConstantTimeoutStrategy;
-import org.pitest.mutationtest.incremental.FileWriterFactory;
-import org.pitest.mutationtest.incremental.NullWriterFactory;
-import org.pitest.mutationtest.incremental.WriterFactory;
+import org.pitest.mutationtest.build.intercept.scm.ChangedLines;
 import org.pitest.testapi.TestGroupConfig;
 import org.pitest.testapi.execute.Pitest;
 import org.pitest.util.Glob;
 import org.pitest.util.ResultOutputStrategy;
-import org.pitest.util.Unchecked;
 
 // FIXME move all logic to SettingsFactory and turn into simple bean
 
@@ -90,6 +85,9 @@ public class ReportOptions {
 
   private File                           historyInputLocation;
   private File                           historyOutputLocation;
+  private File                           classMetadataCacheLocation;
+  private File                           coverageIndexLocation;
+  private ChangedLines                   changedLines;
 
   private Collection<File>               sourceDirs;
   private Collection<String>             classPathElements;
@@ -100,6 +98,11 @@ public class ReportOptions {
 
   private final List<String>             jvmArgs                        = new ArrayList<>();
   private int                            numberOfThreads                = 0;
+  private boolean                        reuseMinions                   = false;
+  private int                            minionMutationBudget           = ConfigOption.MINION_MUTATION_BUDGET
+      .getDefault(Integer.class);
+  private int                            minionHeapBudget               = ConfigOption.MINION_HEAP_BUDGET
+      .getDefault(Integer.class);
   private float                          timeoutFactor                  = PercentAndConstantTimeoutStrategy.DEFAULT_FACTOR;
   private long                           timeoutConstant                = PercentAndConstantTimeoutStrategy.DEFAULT_CONSTANT;
 
@@ -117,6 +120,8 @@ public class ReportOptions {
   private TestGroupConfig                groupConfig;
 
   private int                            mutationUnitSize;
+  private boolean                        groupMutationsByTests          = false;
+  private boolean                        prioritiseHistoricKillers      = false;
   private boolean                        shouldCreateTimestampedReports = true;
   private boolean                        detectInlinedCode              = false;
   private boolean                        exportLineCoverage             = false;
@@ -317,6 +322,30 @@ public class ReportOptions {
     this.numberOfThreads = numberOfThreads;
   }
 
+  public boolean isReuseMinions() {
+    return this.reuseMinions;
+  }
+
+  public void setReuseMinions(final boolean reuseMinions) {
+    this.reuseMinions = reuseMinions;
+  }
+
+  public int getMinionMutationBudget() {
+    return this.minionMutationBudget;
+  }
+
+  public void setMinionMutationBudget(final int minionMutationBudget) {
+    this.minionMutationBudget = minionMutationBudget;
+  }
+
+  public int getMinionHeapBudget() {
+    return this.minionHeapBudget;
+  }
+
+  public void setMinionHeapBudget(final int minionHeapBudget) {
+    this.minionHeapBudget = minionHeapBudget;
+  }
+
   public float getTimeoutFactor() {
     return this.timeoutFactor;
   }
@@ -464,6 +493,23 @@ public class ReportOptions {
     this.mutationUnitSize = size;
   }
 
+  public boolean isGroupMutationsByTests() {
+    return this.groupMutationsByTests;
+  }
+
+  public void setGroupMutationsByTests(final boolean groupMutationsByTests) {
+    this.groupMutationsByTests = groupMutationsByTests;
+  }
+
+  public boolean isPrioritiseHistoricKillers() {
+    return this.prioritiseHistoricKillers;
+  }
+
+  public void setPrioritiseHistoricKillers(
+      final boolean prioritiseHistoricKillers) {
+    this.prioritiseHistoricKillers = prioritiseHistoricKillers;
+  }
+
   public ResultOutputStrategy getReportDirectoryStrategy() {
     return new DirectoryResultOutputStrategy(getReportDir(),
         pickDirectoryStrategy());
@@ -494,31 +540,6 @@ public class ReportOptions {
     this.detectInlinedCode = b;
   }
 
-  public WriterFactory createHistoryWriter() {
-    if (this.historyOutputLocation == null) {
-      return new NullWriterFactory();
-    }
-
-    return new FileWriterFactory(this.historyOutputLocation);
-  }
-
-  public Option<Reader> createHistoryReader() {
-    if (this.historyInputLocation == null) {
-      return Option.none();
-    }
-
-    try {
-      if (this.historyInputLocation.exists()
-          && (this.historyInputLocation.length() > 0)) {
-        return Option.<Reader> some(new InputStreamReader(new FileInputStream(
-            this.historyInputLocation), "UTF-8"));
-      }
-      return Option.none();
-    } catch (final IOException ex) {
-      throw Unchecked.translateCheckedException(ex);
-    }
-  }
-
   public void setHistoryInputLocation(final File historyInputLocation) {
     this.historyInputLocation = historyInputLocation;
   }
@@ -535,6 +556,35 @@ public class ReportOptions {
     return this.historyOutputLocation;
   }
 
+  public void setClassMetadataCacheLocation(
+      final File classMetadataCacheLocation) {
+    this.classMetadataCacheLocation = classMetadataCacheLocation;
+  }
+
+  public File getClassMetadataCacheLocation() {
+    return this.classMetadataCacheLocation;
+  }
+
+  public void setCoverageIndexLocation(final File coverageIndexLocation) {
+    this.coverageIndexLocation = coverageIndexLocation;
+  }
+
+  public File getCoverageIndexLocation() {
+    return this.coverageIndexLocation;
+  }
+
+  /**
+   * Restricts mutation to the methods containing these lines, and coverage to
+   * the tests known to reach the classes being mutated.
+   */
+  public void setChangedLines(final ChangedLines changedLines) {
+    this.changedLines = changedLines;
+  }
+
+  public Option<ChangedLines> getChangedLines() {
+    return Option.some(this.changedLines);
+  }
+
   public void setExportLineCoverage(final boolean value) {
     this.exportLineCoverage = value;
   }
@@ -629,17 +679,24 @@ public class ReportOptions {
         + excludedClasses + ", excludedTestClasses=" + excludedTestClasses
         + ", codePaths=" + codePaths + ", reportDir=" + reportDir
         + ", historyInputLocation=" + historyInputLocation
-        + ", historyOutputLocation=" + historyOutputLocation + ", sourceDirs="
-        + sourceDirs + ", classPathElements=" + classPathElements
+        + ", historyOutputLocation=" + historyOutputLocation
+        + ", classMetadataCacheLocation=" + classMetadataCacheLocation
+        + ", coverageIndexLocation=" + coverageIndexLocation
+        + ", changedLines=" + changedLines
+        + ", sourceDirs=" + sourceDirs + ", classPathElements=" + classPathElements
         + ", mutators=" + mutators + ", features=" + features
         + ", dependencyAnalysisMaxDistance=" + dependencyAnalysisMaxDistance
         + ", jvmArgs=" + jvmArgs + ", numberOfThreads=" + numberOfThreads
+        + ", reuseMinions=" + reuseMinions + ", minionMutationBudget="
+        + minionMutationBudget + ", minionHeapBudget=" + minionHeapBudget
         + ", timeoutFactor=" + timeoutFactor + ", timeoutConstant="
         + timeoutConstant + ", targetTests=" + targetTests + ", loggingClasses="
         + loggingClasses + ", maxMutationsPerClass=" + maxMutationsPerClass
         + ", verbose=" + verbose + ", failWhenNoMutations="
         + failWhenNoMutations + ", outputs=" + outputs + ", groupConfig="
         + groupConfig + ", mutationUnitSize=" + mutationUnitSize
+        + ", groupMutationsByTests=" + groupMutationsByTests
+        + ", prioritiseHistoricKillers=" + prioritiseHistoricKillers
         + ", shouldCreateTimestampedReports=" + shouldCreateTimestampedReports
         + ", detectInlinedCode=" + detectInlinedCode + ", exportLineCoverage="
         + exportLineCoverage + ", mutationThreshold=" + mutationThreshold
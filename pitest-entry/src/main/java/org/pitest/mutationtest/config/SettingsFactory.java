@@ -16,13 +16,16 @@ import org.pitest.functional.FCollection;
 import org.pitest.functional.SideEffect1;
 import org.pitest.functional.predicate.Predicate;
 import org.pitest.functional.prelude.Prelude;
+import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.MutationEngineFactory;
 import org.pitest.mutationtest.MutationResultListenerFactory;
 import org.pitest.mutationtest.build.CompoundInterceptorFactory;
 import org.pitest.mutationtest.build.DefaultMutationGrouperFactory;
 import org.pitest.mutationtest.build.DefaultTestPrioritiserFactory;
+import org.pitest.mutationtest.build.HistoricKillerTestPrioritiserFactory;
 import org.pitest.mutationtest.build.MutationGrouperFactory;
 import org.pitest.mutationtest.build.MutationInterceptorFactory;
+import org.pitest.mutationtest.build.TestAffinityMutationGrouperFactory;
 import org.pitest.mutationtest.build.TestPrioritiserFactory;
 import org.pitest.plugin.Feature;
 import org.pitest.plugin.FeatureParser;
@@ -85,7 +88,14 @@ public class SettingsFactory {
   public MutationGrouperFactory getMutationGrouper() {
     final Collection<? extends MutationGrouperFactory> groupers = this.plugins
         .findGroupers();
-    return firstOrDefault(groupers, new DefaultMutationGrouperFactory());
+    return firstOrDefault(groupers, defaultGrouper());
+  }
+
+  private MutationGrouperFactory defaultGrouper() {
+    if (this.options.isGroupMutationsByTests()) {
+      return new TestAffinityMutationGrouperFactory();
+    }
+    return new DefaultMutationGrouperFactory();
   }
   
   public void describeFeatures(SideEffect1<Feature> enabled, SideEffect1<Feature> disabled) {
@@ -107,10 +117,19 @@ public class SettingsFactory {
   }
 
 
-  public TestPrioritiserFactory getTestPrioritiser() {
+  public TestPrioritiserFactory getTestPrioritiser(final HistoryStore history) {
     final Collection<? extends TestPrioritiserFactory> testPickers = this.plugins
         .findTestPrioritisers();
-    return firstOrDefault(testPickers, new DefaultTestPrioritiserFactory());
+    return firstOrDefault(testPickers, defaultTestPrioritiser(history));
+  }
+
+  private TestPrioritiserFactory defaultTestPrioritiser(
+      final HistoryStore history) {
+    if (this.options.isPrioritiseHistoricKillers()) {
+      return new HistoricKillerTestPrioritiserFactory(
+          new DefaultTestPrioritiserFactory(), history);
+    }
+    return new DefaultTestPrioritiserFactory();
   }
 
   public CoverageOptions createCoverageOptions() {
@@ -0,0 +1,109 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.logging.Logger;
+
+import org.pitest.functional.Option;
+import org.pitest.junit.android.AndroidJUnitTestUnit;
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+/**
+ * Android devices/emulators that minions run instrumented tests on. Each
+ * device is leased to one minion at a time, so mutation units can be analysed
+ * in parallel on as many devices as are available.
+ */
+public class AndroidDevicePool {
+
+  private static final Logger         LOG = Log.getLogger();
+
+  private final BlockingQueue<String> available;
+  private final int                   size;
+
+  public AndroidDevicePool(final Collection<String> serials) {
+    this.available = new LinkedBlockingQueue<>(serials);
+    this.size = serials.size();
+  }
+
+  /**
+   * Creates a pool of the devices listed in PITEST_ANDROID_DEVICES (a comma
+   * separated list of serials) or, for Android projects that do not list
+   * them, of the devices adb reports as connected.
+   */
+  public static Option<AndroidDevicePool> fromEnvironment() {
+    final String listed = System.getenv("PITEST_ANDROID_DEVICES");
+    final List<String> serials;
+    if ((listed != null) && !listed.trim().isEmpty()) {
+      serials = new ArrayList<>();
+      for (final String each : listed.split(",")) {
+        if (!each.trim().isEmpty()) {
+          serials.add(each.trim());
+        }
+      }
+    } else if (System.getenv("PITEST_ANDROID_CLASSFILES_PATH") != null) {
+      serials = discover(AndroidJUnitTestUnit.getAdbBinary());
+    } else {
+      return Option.none();
+    }
+
+    if (serials.isEmpty()) {
+      LOG.warning("No Android devices found, tests will run on adb's default device");
+      return Option.none();
+    }
+    LOG.info("Running Android tests on " + serials.size() + " device(s) "
+        + serials);
+    return Option.some(new AndroidDevicePool(serials));
+  }
+
+  /**
+   * Lists the serials of the devices that 'adb devices' reports as ready
+   */
+  static List<String> discover(final String adbBinary) {
+    final List<String> serials = new ArrayList<>();
+    final ProcessBuilder pb = new ProcessBuilder(adbBinary, "devices");
+    pb.redirectErrorStream(true);
+    try {
+      final Process adb = pb.start();
+      final BufferedReader br = new BufferedReader(new InputStreamReader(
+          adb.getInputStream()));
+      String line;
+      while ((line = br.readLine()) != null) {
+        // serial<TAB>state, after a "List of devices attached" header
+        final String[] fields = line.trim().split("\\s+");
+        if ((fields.length == 2) && fields[1].equals("device")) {
+          serials.add(fields[0]);
+        }
+      }
+      adb.waitFor();
+    } catch (final IOException ex) {
+      LOG.warning("Could not list Android devices: " + ex.getMessage());
+    } catch (final InterruptedException ex) {
+      throw Unchecked.translateCheckedException(ex);
+    }
+    return serials;
+  }
+
+  /**
+   * Takes a device from the pool, waiting until one is released if all are
+   * in use.
+   */
+  public String acquire() throws InterruptedException {
+    return this.available.take();
+  }
+
+  public void release(final String serial) {
+    this.available.add(serial);
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+}
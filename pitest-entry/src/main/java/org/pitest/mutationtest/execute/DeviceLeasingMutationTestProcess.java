@@ -0,0 +1,49 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.util.ExitCode;
+
+/**
+ * Hands the Android device leased to a minion back to the pool once the
+ * minion has finished with it.
+ */
+public class DeviceLeasingMutationTestProcess implements MutationTestProcess {
+
+  private final MutationTestProcess child;
+  private final AndroidDevicePool   devices;
+  private final String              serial;
+
+  public DeviceLeasingMutationTestProcess(final MutationTestProcess child,
+      final AndroidDevicePool devices, final String serial) {
+    this.child = child;
+    this.devices = devices;
+    this.serial = serial;
+  }
+
+  @Override
+  public void start() throws IOException, InterruptedException {
+    try {
+      this.child.start();
+    } catch (final IOException | InterruptedException | RuntimeException ex) {
+      this.devices.release(this.serial);
+      throw ex;
+    }
+  }
+
+  @Override
+  public void results(final MutationStatusMap allmutations) throws IOException {
+    this.child.results(allmutations);
+  }
+
+  @Override
+  public ExitCode waitToDie() {
+    try {
+      return this.child.waitToDie();
+    } finally {
+      this.devices.release(this.serial);
+    }
+  }
+
+}
@@ -0,0 +1,102 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.logging.Logger;
+
+import org.pitest.functional.F;
+import org.pitest.process.ProcessArgs;
+import org.pitest.util.Log;
+import org.pitest.util.SocketFinder;
+import org.pitest.util.Unchecked;
+
+/**
+ * Pool of long lived mutation test minions, so that the cost of launching a
+ * JVM is not paid for every mutation test unit.
+ *
+ * Minions are launched on demand, so the pool never grows beyond the number of
+ * units executing concurrently (i.e. the number of threads). A minion is
+ * replaced when it crashes, times out, reports that it has exceeded its heap
+ * budget, or has processed more mutations than the mutation budget allows.
+ */
+public class MinionPool {
+
+  private static final Logger                  LOG  = Log.getLogger();
+
+  private final Deque<ReusableMinion>          idle = new ArrayDeque<>();
+  private final F<ProcessArgs, ReusableMinion> minionFactory;
+  private final int                            mutationBudget;
+
+  public MinionPool(final int mutationBudget, final int heapBudget) {
+    this(mutationBudget, launchMinion(heapBudget));
+  }
+
+  MinionPool(final int mutationBudget,
+      final F<ProcessArgs, ReusableMinion> minionFactory) {
+    this.mutationBudget = mutationBudget;
+    this.minionFactory = minionFactory;
+  }
+
+  /**
+   * Takes an idle minion from the pool, launching a new one if none is
+   * available. All minions in a pool are assumed to have been launched with
+   * equivalent process arguments.
+   */
+  public ReusableMinion acquire(final ProcessArgs args) {
+    final ReusableMinion minion = takeIdleMinion();
+    if (minion != null) {
+      return minion;
+    }
+    LOG.fine("Launching new pooled minion");
+    return this.minionFactory.apply(args);
+  }
+
+  /**
+   * Returns a minion to the pool once it has finished a batch
+   */
+  public void release(final ReusableMinion minion) {
+    if (minion.isReusable(this.mutationBudget)) {
+      synchronized (this.idle) {
+        this.idle.push(minion);
+      }
+    } else {
+      LOG.fine("Retiring pooled minion");
+      minion.shutdown();
+    }
+  }
+
+  public void shutdown() {
+    synchronized (this.idle) {
+      for (final ReusableMinion each : this.idle) {
+        each.shutdown();
+      }
+      this.idle.clear();
+    }
+  }
+
+  private ReusableMinion takeIdleMinion() {
+    synchronized (this.idle) {
+      return this.idle.poll();
+    }
+  }
+
+  private static F<ProcessArgs, ReusableMinion> launchMinion(
+      final int heapBudget) {
+    return new F<ProcessArgs, ReusableMinion>() {
+      @Override
+      public ReusableMinion apply(final ProcessArgs args) {
+        final SocketFinder sf = new SocketFinder();
+        final ReusableMinion minion = new ReusableMinion(
+            sf.getNextAvailableServerSocket(), args, heapBudget);
+        try {
+          minion.start();
+        } catch (final IOException e) {
+          throw Unchecked.translateCheckedException(e);
+        }
+        return minion;
+      }
+    };
+  }
+
+}
@@ -1,8 +1,13 @@
 package org.pitest.mutationtest.execute;
 
-import java.util.ArrayList;
+import static org.pitest.functional.prelude.Prelude.not;
+
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -12,9 +17,11 @@ import java.util.logging.Logger;
 
 import org.pitest.functional.FCollection;
 import org.pitest.functional.SideEffect1;
+import org.pitest.functional.predicate.Predicate;
 import org.pitest.mutationtest.ClassMutationResults;
 import org.pitest.mutationtest.MutationMetaData;
 import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.mutationtest.OrderedMutationResultListener;
 import org.pitest.mutationtest.build.MutationAnalysisUnit;
 import org.pitest.util.Log;
 import org.pitest.util.Unchecked;
@@ -41,17 +48,18 @@ public class MutationAnalysisExecutor {
 
     signalRunStartToAllListeners();
 
-    List<Future<MutationMetaData>> results = new ArrayList<>(
-        testUnits.size());
+    final CompletionService<MutationMetaData> completed = new ExecutorCompletionService<>(
+        this.executor);
+    final Map<Future<MutationMetaData>, Integer> submissionOrder = new HashMap<>();
 
     for (final MutationAnalysisUnit unit : testUnits) {
-      results.add(this.executor.submit(unit));
+      submissionOrder.put(completed.submit(unit), submissionOrder.size());
     }
 
     this.executor.shutdown();
 
     try {
-      processResult(results);
+      processResults(completed, submissionOrder);
     } catch (InterruptedException e) {
       throw Unchecked.translateCheckedException(e);
     } catch (ExecutionException e) {
@@ -62,18 +70,55 @@ public class MutationAnalysisExecutor {
 
   }
 
-  private void processResult(List<Future<MutationMetaData>> results)
+  private void processResults(final CompletionService<MutationMetaData> completed,
+      final Map<Future<MutationMetaData>, Integer> submissionOrder)
       throws InterruptedException, ExecutionException {
-    for (Future<MutationMetaData> f : results) {
-      MutationMetaData r = f.get();
-      for (MutationResultListener l : this.listeners) {
-        for (final ClassMutationResults cr : r.toClassResults()) {
-          l.handleMutationResult(cr);
+    final List<MutationResultListener> unordered = FCollection.filter(
+        this.listeners, not(isOrdered()));
+    final List<MutationResultListener> ordered = FCollection.filter(
+        this.listeners, isOrdered());
+
+    // results held back for ordered listeners until all earlier units are
+    // complete. Nothing is held when no listener needs ordering.
+    final MutationMetaData[] pending = new MutationMetaData[submissionOrder
+        .size()];
+    int nextInOrder = 0;
+
+    for (int i = 0; i != submissionOrder.size(); i++) {
+      final Future<MutationMetaData> f = completed.take();
+      final MutationMetaData r = f.get();
+      notify(unordered, r);
+
+      if (!ordered.isEmpty()) {
+        pending[submissionOrder.get(f)] = r;
+        while ((nextInOrder < pending.length)
+            && (pending[nextInOrder] != null)) {
+          notify(ordered, pending[nextInOrder]);
+          pending[nextInOrder] = null;
+          nextInOrder++;
         }
       }
     }
   }
 
+  private static void notify(final List<MutationResultListener> listeners,
+      final MutationMetaData r) {
+    for (final MutationResultListener l : listeners) {
+      for (final ClassMutationResults cr : r.toClassResults()) {
+        l.handleMutationResult(cr);
+      }
+    }
+  }
+
+  private static Predicate<MutationResultListener> isOrdered() {
+    return new Predicate<MutationResultListener>() {
+      @Override
+      public Boolean apply(final MutationResultListener a) {
+        return a instanceof OrderedMutationResultListener;
+      }
+    };
+  }
+
   private void signalRunStartToAllListeners() {
     FCollection.forEach(this.listeners,
         new SideEffect1<MutationResultListener>() {
@@ -18,6 +18,7 @@ import java.net.ServerSocket;
 import java.util.Map;
 import java.util.logging.Logger;
 
+import org.pitest.functional.SideEffect;
 import org.pitest.functional.SideEffect1;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationStatusTestPair;
@@ -33,26 +34,50 @@ public class MutationTestCommunicationThread extends CommunicationThread {
 
   private static final Logger LOG = Log.getLogger();
 
-  private static class SendData implements SideEffect1<SafeDataOutputStream> {
-    private final MinionArguments arguments;
+  private static class SendData implements SideEffect1<SafeDataOutputStream>,
+      SideEffect {
+    private final MinionArguments   arguments;
+    private final MutationWorkQueue work;
+    private SafeDataOutputStream    dos;
 
-    SendData(final MinionArguments arguments) {
+    SendData(final MinionArguments arguments, final MutationWorkQueue work) {
       this.arguments = arguments;
+      this.work = work;
     }
 
     @Override
     public void apply(final SafeDataOutputStream dos) {
-      dos.write(this.arguments);
+      this.dos = dos;
+      dos.writeByte(Id.RUN);
+      dos.write(this.arguments, MutationCodecs.MINION_ARGUMENTS);
+      dos.writeInt(MutationTestMinion.NO_HEAP_BUDGET);
+      // the minion runs a single unit, so has nothing to isolate it from
+      dos.writeBoolean(false);
       dos.flush();
     }
+
+    @Override
+    public void apply() {
+      // minion is used for a single run, so once the work runs out tell it
+      // there is nothing more to do
+      if (sendNextBatch(this.dos, this.work) == 0) {
+        this.dos.writeByte(Id.DONE);
+      }
+      this.dos.flush();
+    }
   }
 
-  private static class Receive implements ReceiveStrategy {
+  static class Receive implements ReceiveStrategy {
 
     private final Map<MutationIdentifier, MutationStatusTestPair> idMap;
+    private final MutationWorkQueue                               work;
+    private final SideEffect                                      sendWork;
 
-    Receive(final Map<MutationIdentifier, MutationStatusTestPair> idMap) {
+    Receive(final Map<MutationIdentifier, MutationStatusTestPair> idMap,
+        final MutationWorkQueue work, final SideEffect sendWork) {
       this.idMap = idMap;
+      this.work = work;
+      this.sendWork = sendWork;
     }
 
     @Override
@@ -64,19 +89,23 @@ public class MutationTestCommunicationThread extends CommunicationThread {
       case Id.REPORT:
         handleReport(is);
         break;
+      case Id.NEXT:
+        this.sendWork.apply();
+        break;
       }
     }
 
     private void handleReport(final SafeDataInputStream is) {
-      final MutationIdentifier mutation = is.read(MutationIdentifier.class);
+      final MutationIdentifier mutation = is.read(MutationCodecs.MUTATION_IDENTIFIER);
       final MutationStatusTestPair value = is
-          .read(MutationStatusTestPair.class);
+          .read(MutationCodecs.STATUS_TEST_PAIR);
       this.idMap.put(mutation, value);
+      this.work.reported(mutation, value);
       LOG.fine(mutation + " " + value);
     }
 
     private void handleDescribe(final SafeDataInputStream is) {
-      final MutationIdentifier mutation = is.read(MutationIdentifier.class);
+      final MutationIdentifier mutation = is.read(MutationCodecs.MUTATION_IDENTIFIER);
       this.idMap.put(mutation, new MutationStatusTestPair(1,
           DetectionStatus.STARTED));
     }
@@ -86,12 +115,32 @@ public class MutationTestCommunicationThread extends CommunicationThread {
   private final Map<MutationIdentifier, MutationStatusTestPair> idMap;
 
   public MutationTestCommunicationThread(final ServerSocket socket,
-      final MinionArguments arguments,
+      final MinionArguments arguments, final MutationWorkQueue work,
       final Map<MutationIdentifier, MutationStatusTestPair> idMap) {
-    super(socket, new SendData(arguments), new Receive(idMap));
+    this(socket, new SendData(arguments, work), idMap);
+  }
+
+  private MutationTestCommunicationThread(final ServerSocket socket,
+      final SendData sendData,
+      final Map<MutationIdentifier, MutationStatusTestPair> idMap) {
+    super(socket, sendData, new Receive(idMap, sendData.work, sendData));
     this.idMap = idMap;
   }
 
+  /**
+   * Sends the next batch of work to a minion that has asked for it, along
+   * with the test classes it needs, as the batch may belong to another unit.
+   *
+   * @return the number of mutations sent, zero if there was no work left
+   */
+  static int sendNextBatch(final SafeDataOutputStream dos,
+      final MutationWorkQueue work) {
+    final MutationWorkQueue.Batch batch = work.take();
+    dos.write(batch.testClasses, MutationCodecs.TEST_CLASSES);
+    dos.write(batch.mutations, MutationCodecs.MUTATION_BATCH);
+    return batch.mutations.size();
+  }
+
   public MutationStatusTestPair getStatus(final MutationIdentifier id) {
     return this.idMap.get(id);
   }
@@ -0,0 +1,208 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.Set;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.Unchecked;
+
+/**
+ * Mutations waiting to be analysed. Minions pull small batches from the queue
+ * as they work through them rather than being sent the whole range upfront,
+ * so a minion that dies takes only the batch it was working on with it.
+ *
+ * Once its own mutations run out a minion is handed those of another unit
+ * sharing the same {@link WorkSharing}. Their results are passed back to the
+ * queue they were taken from, which waits for them before its unit completes.
+ * Work taken by a minion that dies before reporting is given back unrun.
+ *
+ * The queue is thread safe, so may be drained by more than one minion.
+ */
+public class MutationWorkQueue {
+
+  private final Queue<MutationDetails>                          remaining;
+  private final int                                             batchSize;
+  private final Collection<ClassName>                           testClasses;
+  private final WorkSharing                                     sharing;
+
+  // taken from this queue by minions of other units
+  private final Set<MutationIdentifier>                         lent        = new HashSet<>();
+  private final Map<MutationIdentifier, MutationStatusTestPair> lentResults = new HashMap<>();
+  // taken from other queues, by the queue they belong to
+  private final Map<MutationIdentifier, MutationWorkQueue>      borrowed    = new HashMap<>();
+  private boolean                                               finished;
+
+  public MutationWorkQueue(final Collection<MutationDetails> mutations,
+      final int batchSize) {
+    this(mutations, batchSize, Collections.<ClassName> emptyList(),
+        new WorkSharing());
+  }
+
+  public MutationWorkQueue(final Collection<MutationDetails> mutations,
+      final int batchSize, final Collection<ClassName> testClasses,
+      final WorkSharing sharing) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be at least 1");
+    }
+    this.remaining = new ArrayDeque<>(mutations);
+    this.batchSize = batchSize;
+    this.testClasses = testClasses;
+    this.sharing = sharing;
+    sharing.join(this);
+  }
+
+  /**
+   * @return up to batch size of this queue's own mutations, or an empty list
+   *         once they are exhausted
+   */
+  public synchronized List<MutationDetails> nextBatch() {
+    final int size = Math.min(this.batchSize, this.remaining.size());
+    final List<MutationDetails> batch = new ArrayList<>(size);
+    for (int i = 0; i != size; i++) {
+      batch.add(this.remaining.poll());
+    }
+    return batch;
+  }
+
+  public synchronized boolean isEmpty() {
+    return this.remaining.isEmpty();
+  }
+
+  /**
+   * @return the next batch of this queue's own mutations or, once they are
+   *         exhausted, of the busiest other queue. The batch is empty when
+   *         no work is left anywhere.
+   */
+  Batch take() {
+    final List<MutationDetails> own = nextBatch();
+    if (!own.isEmpty()) {
+      return new Batch(this.testClasses, own);
+    }
+    MutationWorkQueue victim = this.sharing.busiest(this);
+    while (victim != null) {
+      final List<MutationDetails> taken = victim.lend();
+      if (!taken.isEmpty()) {
+        borrow(victim, taken);
+        return new Batch(victim.testClasses, taken);
+      }
+      victim = this.sharing.busiest(this);
+    }
+    return new Batch(this.testClasses, own);
+  }
+
+  /**
+   * Passes the result of a mutation taken from another queue back to it
+   */
+  void reported(final MutationIdentifier id,
+      final MutationStatusTestPair status) {
+    final MutationWorkQueue owner;
+    synchronized (this) {
+      owner = this.borrowed.remove(id);
+    }
+    if (owner != null) {
+      owner.returned(id, status);
+    }
+  }
+
+  /**
+   * Stops other minions taking work from this queue, and gives back any work
+   * this queue's minion took but did not report on.
+   */
+  public void finish() {
+    this.sharing.leave(this);
+    final List<Entry<MutationIdentifier, MutationWorkQueue>> unreported;
+    synchronized (this) {
+      this.finished = true;
+      unreported = new ArrayList<>(this.borrowed.entrySet());
+      this.borrowed.clear();
+    }
+    for (final Entry<MutationIdentifier, MutationWorkQueue> each : unreported) {
+      each.getValue().givenBack(each.getKey());
+    }
+  }
+
+  /**
+   * Blocks until every mutation taken from this queue has been reported on
+   * or given back
+   */
+  synchronized void awaitLent() {
+    try {
+      while (!this.lent.isEmpty()) {
+        wait();
+      }
+    } catch (final InterruptedException ex) {
+      throw Unchecked.translateCheckedException(ex);
+    }
+  }
+
+  /**
+   * @return the status reported by another minion for a mutation it took
+   *         from this queue, or null if there is none
+   */
+  synchronized MutationStatusTestPair lentResult(final MutationIdentifier id) {
+    return this.lentResults.get(id);
+  }
+
+  synchronized int size() {
+    return this.remaining.size();
+  }
+
+  private synchronized List<MutationDetails> lend() {
+    if (this.finished) {
+      return Collections.emptyList();
+    }
+    final List<MutationDetails> batch = nextBatch();
+    for (final MutationDetails each : batch) {
+      this.lent.add(each.getId());
+    }
+    return batch;
+  }
+
+  private synchronized void borrow(final MutationWorkQueue owner,
+      final List<MutationDetails> batch) {
+    for (final MutationDetails each : batch) {
+      this.borrowed.put(each.getId(), owner);
+    }
+  }
+
+  private synchronized void returned(final MutationIdentifier id,
+      final MutationStatusTestPair status) {
+    if (this.lent.remove(id)) {
+      this.lentResults.put(id, status);
+      notifyAll();
+    }
+  }
+
+  private synchronized void givenBack(final MutationIdentifier id) {
+    if (this.lent.remove(id)) {
+      notifyAll();
+    }
+  }
+
+  /**
+   * Mutations handed to a minion, with the test classes that cover them
+   */
+  static class Batch {
+    final Collection<ClassName> testClasses;
+    final List<MutationDetails> mutations;
+
+    Batch(final Collection<ClassName> testClasses,
+        final List<MutationDetails> mutations) {
+      this.testClasses = testClasses;
+      this.mutations = mutations;
+    }
+  }
+
+}
@@ -0,0 +1,66 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.process.ProcessArgs;
+import org.pitest.util.ExitCode;
+
+/**
+ * Runs mutations from a work queue in a minion borrowed from a pool. The
+ * minion is handed back to the pool once the queue is exhausted.
+ */
+public class PooledMutationTestProcess implements MutationTestProcess {
+
+  private final MinionPool                                      pool;
+  private final ProcessArgs                                     processArgs;
+  private final MinionArguments                                 arguments;
+  private final MutationWorkQueue                               work;
+  private final Map<MutationIdentifier, MutationStatusTestPair> idMap = new HashMap<>();
+
+  private ReusableMinion                                        minion;
+
+  public PooledMutationTestProcess(final MinionPool pool,
+      final ProcessArgs processArgs, final MinionArguments arguments,
+      final MutationWorkQueue work) {
+    this.pool = pool;
+    this.processArgs = processArgs;
+    this.arguments = arguments;
+    this.work = work;
+  }
+
+  @Override
+  public void start() throws IOException, InterruptedException {
+    this.minion = this.pool.acquire(this.processArgs);
+  }
+
+  @Override
+  public void results(final MutationStatusMap allmutations) throws IOException {
+    this.work.awaitLent();
+    for (final MutationDetails each : allmutations.allMutations()) {
+      MutationStatusTestPair status = this.idMap.get(each.getId());
+      if (status == null) {
+        status = this.work.lentResult(each.getId());
+      }
+      if (status != null) {
+        allmutations.setStatusForMutation(each, status);
+      }
+    }
+  }
+
+  @Override
+  public ExitCode waitToDie() {
+    try {
+      return this.minion.run(this.arguments, this.work, this.idMap);
+    } finally {
+      this.work.finish();
+      this.pool.release(this.minion);
+    }
+  }
+
+}
@@ -0,0 +1,159 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.functional.SideEffect;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.process.ProcessArgs;
+import org.pitest.process.WrappingProcess;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Id;
+import org.pitest.util.Log;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * Parent side handle on a long lived mutation test minion that may be handed
+ * many batches of mutations over the same socket.
+ *
+ * Each batch is run in a classloader of its own within the minion, so that
+ * the static state of the classes under test does not leak from one unit to
+ * the next. A minion is only considered reusable while every batch it has run
+ * completed normally. A crash, timeout or memory error leaves the minion in an unknown
+ * state, so it is destroyed rather than returned to the pool.
+ */
+public class ReusableMinion {
+
+  private static final Logger   LOG = Log.getLogger();
+
+  private final ServerSocket    socket;
+  private final WrappingProcess process;
+  private final int             heapBudget;
+
+  private Socket                connection;
+  private SafeDataOutputStream  os;
+  private SafeDataInputStream   is;
+
+  private int                   mutationsRun;
+  private boolean               recycleRequested;
+  private boolean               healthy = true;
+
+  public ReusableMinion(final ServerSocket socket,
+      final ProcessArgs processArgs, final int heapBudget) {
+    this.socket = socket;
+    this.heapBudget = heapBudget;
+    this.process = new WrappingProcess(socket.getLocalPort(), processArgs,
+        MutationTestMinion.class);
+  }
+
+  public void start() throws IOException {
+    this.process.start();
+  }
+
+  public ExitCode run(final MinionArguments arguments,
+      final MutationWorkQueue work,
+      final Map<MutationIdentifier, MutationStatusTestPair> idMap) {
+    try {
+      connectIfRequired();
+
+      this.os.writeByte(Id.RUN);
+      this.os.write(arguments, MutationCodecs.MINION_ARGUMENTS);
+      this.os.writeInt(this.heapBudget);
+      // each unit gets its own copy of the classes under test
+      this.os.writeBoolean(true);
+      this.os.flush();
+
+      this.mutationsRun += arguments.mutations.size();
+
+      final ExitCode exitCode = receiveResults(
+          new MutationTestCommunicationThread.Receive(idMap, work,
+              sendWork(work)));
+      this.healthy = exitCode.isOk();
+      return exitCode;
+    } catch (final IOException | RuntimeException e) {
+      LOG.log(Level.WARNING, "Error while communicating with minion", e);
+      this.healthy = false;
+      return ExitCode.UNKNOWN_ERROR;
+    }
+  }
+
+  /**
+   * @param mutationBudget
+   *          maximum number of mutations a minion may process before being
+   *          replaced
+   * @return true if the minion can safely be handed another batch
+   */
+  public boolean isReusable(final int mutationBudget) {
+    return this.healthy && !this.recycleRequested
+        && (this.mutationsRun < mutationBudget);
+  }
+
+  public void shutdown() {
+    try {
+      if (this.healthy && (this.os != null)) {
+        this.os.writeByte(Id.DONE);
+        this.os.flush();
+      }
+    } catch (final RuntimeException e) {
+      LOG.log(Level.FINE, "Could not ask minion to shut down", e);
+    } finally {
+      this.process.destroy();
+      closeQuietly();
+    }
+  }
+
+  private SideEffect sendWork(final MutationWorkQueue work) {
+    return new SideEffect() {
+      @Override
+      public void apply() {
+        // an empty batch ends the run, but the minion stays alive waiting
+        // for its next command
+        ReusableMinion.this.mutationsRun += MutationTestCommunicationThread
+            .sendNextBatch(ReusableMinion.this.os, work);
+        ReusableMinion.this.os.flush();
+      }
+    };
+  }
+
+  private void connectIfRequired() throws IOException {
+    if (this.connection == null) {
+      this.connection = this.socket.accept();
+      this.os = new SafeDataOutputStream(this.connection.getOutputStream());
+      this.is = new SafeDataInputStream(new BufferedInputStream(
+          this.connection.getInputStream()));
+    }
+  }
+
+  private ExitCode receiveResults(
+      final MutationTestCommunicationThread.Receive receive) {
+    byte control = this.is.readByte();
+    while (control != Id.DONE) {
+      if (control == Id.RECYCLE) {
+        this.recycleRequested = true;
+      } else {
+        receive.apply(control, this.is);
+      }
+      control = this.is.readByte();
+    }
+    return ExitCode.fromCode(this.is.readInt());
+  }
+
+  private void closeQuietly() {
+    try {
+      if (this.connection != null) {
+        this.connection.close();
+      }
+      this.socket.close();
+    } catch (final IOException e) {
+      LOG.log(Level.FINE, "Error closing minion socket", e);
+    }
+  }
+
+}
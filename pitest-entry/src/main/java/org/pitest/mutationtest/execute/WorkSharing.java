@@ -0,0 +1,43 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The work queues of the units being analysed. A minion that has run out of
+ * work for its own unit takes mutations from the queue with the most left, so
+ * that one long unit does not hold up the end of the run.
+ *
+ * Lock order is sharing then queue, so a queue must not call the sharing while
+ * holding its own lock.
+ */
+public class WorkSharing {
+
+  private final Set<MutationWorkQueue> queues = new LinkedHashSet<>();
+
+  synchronized void join(final MutationWorkQueue queue) {
+    this.queues.add(queue);
+  }
+
+  synchronized void leave(final MutationWorkQueue queue) {
+    this.queues.remove(queue);
+  }
+
+  /**
+   * @return the queue other than the thief's with the most work left, or null
+   *         if none has any
+   */
+  synchronized MutationWorkQueue busiest(final MutationWorkQueue thief) {
+    MutationWorkQueue busiest = null;
+    int most = 0;
+    for (final MutationWorkQueue each : this.queues) {
+      final int size = each.size();
+      if ((each != thief) && (size > most)) {
+        busiest = each;
+        most = size;
+      }
+    }
+    return busiest;
+  }
+
+}
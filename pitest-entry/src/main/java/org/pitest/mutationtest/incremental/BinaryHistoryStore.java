@@ -0,0 +1,424 @@
+package org.pitest.mutationtest.incremental;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.HistoryStore;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.execute.MutationCodecs;
+import org.pitest.util.Log;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.Unchecked;
+
+/**
+ * History store using a compact binary format.
+ *
+ * <p>
+ * The file is a header followed by length prefixed records, so a run that
+ * dies part way through leaves a readable file. On initialisation the file is
+ * read in one go and only scanned to index results by class. A class's results
+ * are decoded the first time one of them is looked up.
+ *
+ * <p>
+ * Files in the older XML format are detected and read with
+ * {@link XStreamHistoryStore}. The next run then writes binary history.
+ */
+public class BinaryHistoryStore implements HistoryStore {
+
+  private static final Logger                                   LOG               = Log
+      .getLogger();
+
+  static final int                                              MAGIC             = 0x50495448;
+  static final byte                                             VERSION           = 1;
+
+  private static final int                                      HEADER_LENGTH     = 5;
+  private static final int                                      RECORD_HEADER     = 5;
+  private static final int                                      BUFFER_SIZE       = 64 * 1024;
+
+  private static final byte                                     NAME              = 1;
+  private static final byte                                     CLASS             = 2;
+  private static final byte                                     RESULT            = 3;
+
+  private final Option<File>                                    input;
+  private final Option<File>                                    output;
+
+  private final Map<ClassName, ClassHistory>                    previousClassPath = new HashMap<>();
+  private final Map<MutationIdentifier, MutationStatusTestPair> previousResults   = new HistoricResults();
+  private final Map<ClassName, Map<MutationIdentifier, MutationStatusTestPair>> decodedResults = new HashMap<>();
+
+  // indexes used while reading
+  private final List<ClassName>                                 storedNames       = new ArrayList<>();
+  private final Map<ClassName, Offsets>                         resultOffsets     = new HashMap<>();
+  private byte[]                                                data;
+
+  // state used while writing
+  private final Map<ClassName, Integer>                         writtenNames      = new HashMap<>();
+  private final ByteArrayOutputStream                           record            = new ByteArrayOutputStream();
+  private final SafeDataOutputStream                            recordOut         = new SafeDataOutputStream(
+                                                                                      this.record);
+  private OutputStream                                          out;
+
+  public BinaryHistoryStore(final Option<File> input, final Option<File> output) {
+    this.input = input;
+    this.output = output;
+  }
+
+  @Override
+  public void initialize() {
+    if (this.input.hasNone() || !this.input.value().exists()
+        || (this.input.value().length() == 0)) {
+      return;
+    }
+
+    final byte[] bytes = readFile(this.input.value());
+    if (isBinaryHistory(bytes)) {
+      this.data = bytes;
+      scan();
+    } else {
+      LOG.info("Reading history from XML format file "
+          + this.input.value());
+      restoreFromXml(this.input.value());
+    }
+  }
+
+  @Override
+  public synchronized void recordClassPath(
+      final Collection<HierarchicalClassId> ids,
+      final CoverageDatabase coverageInfo) {
+    for (final HierarchicalClassId each : ids) {
+      recordClassHistory(new ClassHistory(each, coverageInfo
+          .getCoverageIdForClass(each.getName()).toString(16)));
+    }
+  }
+
+  @Override
+  public synchronized void recordResult(final MutationResult result) {
+    recordResult(result.getDetails().getId(), result.getStatusTestPair());
+  }
+
+  @Override
+  public Map<MutationIdentifier, MutationStatusTestPair> getHistoricResults() {
+    return this.previousResults;
+  }
+
+  /**
+   * The historic results for the mutations of one class, decoding only those
+   * rather than the whole history.
+   */
+  public synchronized Map<MutationIdentifier, MutationStatusTestPair> getHistoricResultsFor(
+      final ClassName clazz) {
+    decodeResultsFor(clazz);
+    final Map<MutationIdentifier, MutationStatusTestPair> results = this.decodedResults
+        .get(clazz);
+    if (results == null) {
+      return Collections.emptyMap();
+    }
+    return Collections.unmodifiableMap(results);
+  }
+
+  @Override
+  public Map<ClassName, ClassHistory> getHistoricClassPath() {
+    return this.previousClassPath;
+  }
+
+  /**
+   * Writes any buffered records and closes the output file.
+   */
+  public synchronized void close() {
+    if (this.out != null) {
+      try {
+        this.out.close();
+      } catch (final IOException e) {
+        throw Unchecked.translateCheckedException(e);
+      } finally {
+        this.out = null;
+      }
+    }
+  }
+
+  synchronized void recordClassHistory(final ClassHistory history) {
+    final int nameId = nameIdFor(history.getName());
+    this.recordOut.writeInt(nameId);
+    this.recordOut.writeLong(history.getId().getId().getHash());
+    this.recordOut.writeString(history.getId().getHierarchicalHash());
+    this.recordOut.writeString(history.getCoverageId());
+    writeRecord(CLASS);
+  }
+
+  synchronized void recordResult(final MutationIdentifier id,
+      final MutationStatusTestPair status) {
+    final int nameId = nameIdFor(id.getClassName());
+    this.recordOut.writeInt(nameId);
+    MutationCodecs.MUTATION_IDENTIFIER.write(this.recordOut, id);
+    MutationCodecs.STATUS_TEST_PAIR.write(this.recordOut, status);
+    writeRecord(RESULT);
+  }
+
+  private int nameIdFor(final ClassName name) {
+    Integer id = this.writtenNames.get(name);
+    if (id == null) {
+      id = this.writtenNames.size();
+      this.writtenNames.put(name, id);
+      this.recordOut.writeInt(id);
+      this.recordOut.writeString(name.asInternalName());
+      writeRecord(NAME);
+    }
+    return id;
+  }
+
+  private void writeRecord(final byte type) {
+    this.recordOut.flush();
+    try {
+      final OutputStream target = output();
+      if (target != null) {
+        target.write(type);
+        writeInt(target, this.record.size());
+        this.record.writeTo(target);
+      }
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    } finally {
+      this.record.reset();
+    }
+  }
+
+  private OutputStream output() throws IOException {
+    if ((this.out == null) && this.output.hasSome()) {
+      final File file = this.output.value();
+      if (file.getParentFile() != null) {
+        file.getParentFile().mkdirs();
+      }
+      this.out = new BufferedOutputStream(new FileOutputStream(file),
+          BUFFER_SIZE);
+      writeInt(this.out, MAGIC);
+      this.out.write(VERSION);
+    }
+    return this.out;
+  }
+
+  private static void writeInt(final OutputStream os, final int value)
+      throws IOException {
+    os.write(value >>> 24);
+    os.write(value >>> 16);
+    os.write(value >>> 8);
+    os.write(value);
+  }
+
+  private static byte[] readFile(final File file) {
+    try {
+      return Files.readAllBytes(file.toPath());
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  static boolean isBinaryHistory(final byte[] bytes) {
+    return (bytes.length >= HEADER_LENGTH) && (readInt(bytes, 0) == MAGIC);
+  }
+
+  private void scan() {
+    if (this.data[HEADER_LENGTH - 1] != VERSION) {
+      LOG.warning("Ignoring history file written by an unsupported version");
+      return;
+    }
+
+    int position = HEADER_LENGTH;
+    while (position < this.data.length) {
+      if ((position + RECORD_HEADER) > this.data.length) {
+        LOG.warning("History file is truncated");
+        break;
+      }
+      final byte type = this.data[position];
+      final int length = readInt(this.data, position + 1);
+      final int payload = position + RECORD_HEADER;
+      if ((length < 0) || ((payload + length) > this.data.length)) {
+        LOG.warning("History file is truncated");
+        break;
+      }
+      indexRecord(type, payload, length);
+      position = payload + length;
+    }
+  }
+
+  private void indexRecord(final byte type, final int payload,
+      final int length) {
+    switch (type) {
+    case NAME:
+      final SafeDataInputStream name = recordInput(payload, length);
+      final int id = name.readInt();
+      addStoredName(id, ClassName.fromString(name.readString()));
+      break;
+    case CLASS:
+      final ClassHistory history = readClassHistory(recordInput(payload,
+          length));
+      this.previousClassPath.put(history.getName(), history);
+      break;
+    case RESULT:
+      final ClassName clazz = this.storedNames.get(readInt(this.data, payload));
+      Offsets offsets = this.resultOffsets.get(clazz);
+      if (offsets == null) {
+        offsets = new Offsets();
+        this.resultOffsets.put(clazz, offsets);
+      }
+      offsets.add(payload, length);
+      break;
+    default:
+      // written by a later version, skip
+    }
+  }
+
+  private void addStoredName(final int id, final ClassName name) {
+    while (this.storedNames.size() <= id) {
+      this.storedNames.add(null);
+    }
+    this.storedNames.set(id, name);
+  }
+
+  private ClassHistory readClassHistory(final SafeDataInputStream in) {
+    final ClassName name = this.storedNames.get(in.readInt());
+    final long hash = in.readLong();
+    final String hierarchicalHash = in.readString();
+    return new ClassHistory(new HierarchicalClassId(hash, name,
+        hierarchicalHash), in.readString());
+  }
+
+  private SafeDataInputStream recordInput(final int payload, final int length) {
+    return new SafeDataInputStream(new ByteArrayInputStream(this.data,
+        payload, length));
+  }
+
+  private static int readInt(final byte[] bytes, final int position) {
+    return ((bytes[position] & 0xFF) << 24)
+        | ((bytes[position + 1] & 0xFF) << 16)
+        | ((bytes[position + 2] & 0xFF) << 8) | (bytes[position + 3] & 0xFF);
+  }
+
+  private void restoreFromXml(final File file) {
+    final XStreamHistoryStore xml = new XStreamHistoryStore(
+        new NullWriterFactory(), Option.some(openReader(file)));
+    xml.initialize();
+    this.previousClassPath.putAll(xml.getHistoricClassPath());
+    for (final Entry<MutationIdentifier, MutationStatusTestPair> each : xml
+        .getHistoricResults().entrySet()) {
+      decodedResultsOf(each.getKey().getClassName()).put(each.getKey(),
+          each.getValue());
+    }
+  }
+
+  private static Reader openReader(final File file) {
+    try {
+      return new InputStreamReader(new FileInputStream(file), "UTF-8");
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private synchronized void decodeResultsFor(final ClassName clazz) {
+    final Offsets offsets = this.resultOffsets.remove(clazz);
+    if (offsets == null) {
+      return;
+    }
+    for (int i = 0; i != offsets.size; i++) {
+      final SafeDataInputStream in = recordInput(offsets.positions[i],
+          offsets.lengths[i]);
+      in.readInt(); // class name id
+      final MutationIdentifier id = MutationCodecs.MUTATION_IDENTIFIER.read(in);
+      decodedResultsOf(clazz).put(id, MutationCodecs.STATUS_TEST_PAIR.read(in));
+    }
+  }
+
+  private Map<MutationIdentifier, MutationStatusTestPair> decodedResultsOf(
+      final ClassName clazz) {
+    Map<MutationIdentifier, MutationStatusTestPair> results = this.decodedResults
+        .get(clazz);
+    if (results == null) {
+      results = new HashMap<>();
+      this.decodedResults.put(clazz, results);
+    }
+    return results;
+  }
+
+  /**
+   * Map of previous results that decodes the results for a class when one of
+   * them is first asked for.
+   */
+  private class HistoricResults extends
+      AbstractMap<MutationIdentifier, MutationStatusTestPair> {
+
+    @Override
+    public MutationStatusTestPair get(final Object key) {
+      if (!(key instanceof MutationIdentifier)) {
+        return null;
+      }
+      return getHistoricResultsFor(((MutationIdentifier) key).getClassName())
+          .get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<MutationIdentifier, MutationStatusTestPair>> entrySet() {
+      synchronized (BinaryHistoryStore.this) {
+        for (final ClassName each : new ArrayList<>(
+            BinaryHistoryStore.this.resultOffsets.keySet())) {
+          decodeResultsFor(each);
+        }
+        final Map<MutationIdentifier, MutationStatusTestPair> all = new HashMap<>();
+        for (final Map<MutationIdentifier, MutationStatusTestPair> each : BinaryHistoryStore.this.decodedResults
+            .values()) {
+          all.putAll(each);
+        }
+        return Collections.unmodifiableMap(all).entrySet();
+      }
+    }
+
+  }
+
+  private static final class Offsets {
+    private int[] positions = new int[4];
+    private int[] lengths   = new int[4];
+    private int   size;
+
+    void add(final int position, final int length) {
+      if (this.size == this.positions.length) {
+        this.positions = Arrays.copyOf(this.positions, this.size * 2);
+        this.lengths = Arrays.copyOf(this.lengths, this.size * 2);
+      }
+      this.positions[this.size] = position;
+      this.lengths[this.size] = length;
+      this.size++;
+    }
+  }
+
+}
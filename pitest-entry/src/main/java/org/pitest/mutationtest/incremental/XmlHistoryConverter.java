@@ -0,0 +1,52 @@
+package org.pitest.mutationtest.incremental;
+
+import java.io.File;
+import java.util.Map.Entry;
+
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+/**
+ * Converts a history file written by {@link XStreamHistoryStore} into the
+ * format written by {@link BinaryHistoryStore}.
+ *
+ * <p>
+ * Not required for normal use as the binary store reads XML history files
+ * itself, but avoids parsing a large XML file on the first binary run.
+ */
+public final class XmlHistoryConverter {
+
+  private XmlHistoryConverter() {
+  }
+
+  public static void main(final String[] args) {
+    if (args.length != 2) {
+      System.err.println("Usage: XmlHistoryConverter <xml history> <output>");
+      System.exit(1);
+    }
+    convert(new File(args[0]), new File(args[1]));
+  }
+
+  public static void convert(final File xmlHistory, final File output) {
+    final BinaryHistoryStore xml = new BinaryHistoryStore(
+        Option.some(xmlHistory), Option.<File> none());
+    xml.initialize();
+
+    final BinaryHistoryStore binary = new BinaryHistoryStore(
+        Option.<File> none(), Option.some(output));
+    try {
+      for (final ClassHistory each : xml.getHistoricClassPath().values()) {
+        binary.recordClassHistory(each);
+      }
+      for (final Entry<MutationIdentifier, MutationStatusTestPair> each : xml
+          .getHistoricResults().entrySet()) {
+        binary.recordResult(each.getKey(), each.getValue());
+      }
+    } finally {
+      binary.close();
+    }
+  }
+
+}
@@ -24,13 +24,23 @@ public final class MutationStatistics {
   private final long totalMutations;
   private final long numberOfTestsRun;
   private final long totalDetected;
+  private final long totalKilledByTests;
+  private final long numberOfTestsRunOnKilled;
 
   public MutationStatistics(Iterable<Score> scores, long totalMutations, 
       long totalDetected, long numberOfTestsRun) {
+    this(scores, totalMutations, totalDetected, numberOfTestsRun, 0, 0);
+  }
+
+  public MutationStatistics(Iterable<Score> scores, long totalMutations,
+      long totalDetected, long numberOfTestsRun, long totalKilledByTests,
+      long numberOfTestsRunOnKilled) {
     this.scores = scores;
     this.totalMutations = totalMutations;
     this.totalDetected = totalDetected;
     this.numberOfTestsRun = numberOfTestsRun;
+    this.totalKilledByTests = totalKilledByTests;
+    this.numberOfTestsRunOnKilled = numberOfTestsRunOnKilled;
   }
 
   public Iterable<Score> getScores() {
@@ -68,16 +78,27 @@ public final class MutationStatistics {
         + this.getPercentageDetected() + "%)");
     out.println(">> Ran " + this.numberOfTestsRun + " tests ("
         + getTestsPerMutation() + " tests per mutation)");
+    // killed mutations stop being tested at the first test that kills them, so
+    // this shows how well tests are ordered
+    if (this.totalKilledByTests != 0) {
+      out.println(">> Ran " + this.numberOfTestsRunOnKilled
+          + " tests against killed mutations ("
+          + ratio(this.numberOfTestsRunOnKilled, this.totalKilledByTests)
+          + " tests per killed mutation)");
+    }
 
   }
 
   private String getTestsPerMutation() {
-    if (this.getTotalMutations() == 0) {
+    return ratio(this.numberOfTestsRun, this.getTotalMutations());
+  }
+
+  private static String ratio(final long tests, final long mutations) {
+    if (mutations == 0) {
       return "0";
     }
 
-    final float testsPerMutation = this.numberOfTestsRun
-        / (float) this.getTotalMutations();
+    final float testsPerMutation = tests / (float) mutations;
     return new DecimalFormat("#.##", new DecimalFormatSymbols(Locale.ENGLISH))
         .format(testsPerMutation);
   }
@@ -8,11 +8,14 @@ import org.pitest.functional.F;
 import org.pitest.functional.F2;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.SideEffect1;
+import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationResult;
 
 class MutationStatisticsPrecursor {
   private final Map<String, ScorePrecursor> mutatorTotalMap  = new HashMap<>();
   private long                              numberOfTestsRun = 0;
+  private long                              killedByTests    = 0;
+  private long                              testsRunOnKilled = 0;
 
   public void registerResults(final Collection<MutationResult> results) {
     FCollection.forEach(results, register());
@@ -25,6 +28,13 @@ class MutationStatisticsPrecursor {
       public void apply(final MutationResult mr) {
         MutationStatisticsPrecursor.this.numberOfTestsRun = MutationStatisticsPrecursor.this.numberOfTestsRun
             + mr.getNumberOfTestsRun();
+        // results carried over from history are killed without running tests
+        if ((mr.getStatus() == DetectionStatus.KILLED)
+            && (mr.getNumberOfTestsRun() != 0)) {
+          MutationStatisticsPrecursor.this.killedByTests++;
+          MutationStatisticsPrecursor.this.testsRunOnKilled += mr
+              .getNumberOfTestsRun();
+        }
         final String key = mr.getDetails().getId().getMutator();
         ScorePrecursor total = MutationStatisticsPrecursor.this.mutatorTotalMap
             .get(key);
@@ -44,7 +54,7 @@ class MutationStatisticsPrecursor {
     final long totalDetected = FCollection
         .fold(addDetectedTotals(), 0L, scores);
     return new MutationStatistics(scores, totalMutations, totalDetected,
-        this.numberOfTestsRun);
+        this.numberOfTestsRun, this.killedByTests, this.testsRunOnKilled);
   }
 
   Iterable<Score> getScores() {
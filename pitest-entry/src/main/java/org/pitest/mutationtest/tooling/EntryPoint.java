@@ -2,25 +2,25 @@ package org.pitest.mutationtest.tooling;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.Reader;
 import java.util.Map;
 
+import org.pitest.classinfo.ClassMetadataCache;
+import org.pitest.classpath.ArchiveClassPathRoot;
 import org.pitest.classpath.ClassPath;
 import org.pitest.classpath.ClassPathByteArraySource;
 import org.pitest.classpath.CodeSource;
 import org.pitest.classpath.ProjectClassPaths;
 import org.pitest.coverage.CoverageGenerator;
+import org.pitest.coverage.TestCoverageIndex;
 import org.pitest.coverage.execute.CoverageOptions;
 import org.pitest.coverage.execute.DefaultCoverageGenerator;
 import org.pitest.functional.Option;
 import org.pitest.functional.SideEffect1;
-import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.MutationResultListenerFactory;
 import org.pitest.mutationtest.config.PluginServices;
 import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.config.SettingsFactory;
-import org.pitest.mutationtest.incremental.WriterFactory;
-import org.pitest.mutationtest.incremental.XStreamHistoryStore;
+import org.pitest.mutationtest.incremental.BinaryHistoryStore;
 import org.pitest.plugin.Feature;
 import org.pitest.plugin.FeatureParameter;
 import org.pitest.process.JavaAgent;
@@ -75,9 +75,6 @@ public class EntryPoint {
     
     final ClassPath cp = data.getClassPath();
 
-    final Option<Reader> reader = data.createHistoryReader();
-    final WriterFactory historyWriter = data.createHistoryWriter();
-
     // workaround for apparent java 1.5 JVM bug . . . might not play nicely
     // with distributed testing
     final JavaAgent jac = new JarCreatingJarFinder(
@@ -96,14 +93,26 @@ public class EntryPoint {
         settings.getJavaExecutable(), data.getJvmArgs(), environmentVariables);
     final ProjectClassPaths cps = data.getMutationClassPaths();
 
-    final CodeSource code = new CodeSource(cps);
+    final ClassMetadataCache metadataCache = new ClassMetadataCache(
+        Option.some(data.getClassMetadataCacheLocation()));
+    metadataCache.initialize();
+    final CodeSource code = new CodeSource(cps, metadataCache);
+
+    final TestCoverageIndex coverageIndex = new TestCoverageIndex(
+        Option.some(data.getCoverageIndexLocation()));
+    coverageIndex.initialize();
 
     final Timings timings = new Timings();
     final CoverageGenerator coverageDatabase = new DefaultCoverageGenerator(
         baseDir, coverageOptions, launchOptions, code,
-        settings.createCoverageExporter(), timings, !data.isVerbose());
+        settings.createCoverageExporter(), timings, !data.isVerbose(),
+        Math.max(1, data.getNumberOfThreads()),
+        coverageIndex.testTimings(), coverageIndex, data.getChangedLines()
+            .hasSome());
 
-    final HistoryStore history = new XStreamHistoryStore(historyWriter, reader);
+    final BinaryHistoryStore history = new BinaryHistoryStore(
+        Option.some(data.getHistoryInputLocation()),
+        Option.some(data.getHistoryOutputLocation()));
 
     final MutationStrategies strategies = new MutationStrategies(
         settings.createEngine(), history, coverageDatabase, reportFactory,
@@ -119,7 +128,10 @@ public class EntryPoint {
     } finally {
       jac.close();
       ja.close();
-      historyWriter.close();
+      history.close();
+      metadataCache.save();
+      coverageIndex.save();
+      ArchiveClassPathRoot.closeArchives();
     }
 
   }
@@ -51,10 +51,13 @@ import org.pitest.mutationtest.build.MutationSource;
 import org.pitest.mutationtest.build.MutationTestBuilder;
 import org.pitest.mutationtest.build.PercentAndConstantTimeoutStrategy;
 import org.pitest.mutationtest.build.TestPrioritiser;
+import org.pitest.mutationtest.build.TestPrioritiserFactory;
 import org.pitest.mutationtest.build.WorkerFactory;
 import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.config.SettingsFactory;
 import org.pitest.mutationtest.engine.MutationEngine;
+import org.pitest.mutationtest.execute.AndroidDevicePool;
+import org.pitest.mutationtest.execute.MinionPool;
 import org.pitest.mutationtest.execute.MutationAnalysisExecutor;
 import org.pitest.mutationtest.incremental.DefaultCodeHistory;
 import org.pitest.mutationtest.incremental.HistoryListener;
@@ -129,9 +132,11 @@ public class MutationCoverage {
 
     history().initialize();
 
+    final Option<MinionPool> pool = createMinionPool();
+
     this.timings.registerStart(Timings.Stage.BUILD_MUTATION_TESTS);
     final List<MutationAnalysisUnit> tus = buildMutationTests(coverageData,
-        engine);
+        engine, pool);
     this.timings.registerEnd(Timings.Stage.BUILD_MUTATION_TESTS);
 
     LOG.info("Created  " + tus.size() + " mutation test units");
@@ -147,7 +152,13 @@ public class MutationCoverage {
     final MutationAnalysisExecutor mae = new MutationAnalysisExecutor(
         numberOfThreads(), config);
     this.timings.registerStart(Timings.Stage.RUN_MUTATION_TESTS);
-    mae.run(tus);
+    try {
+      mae.run(tus);
+    } finally {
+      for (final MinionPool each : pool) {
+        each.shutdown();
+      }
+    }
     this.timings.registerEnd(Timings.Stage.RUN_MUTATION_TESTS);
 
     LOG.info("Completed in " + timeSpan(t0));
@@ -172,10 +183,30 @@ public class MutationCoverage {
     }
   }
 
-private int numberOfThreads() {
+  private int numberOfThreads() {
     return Math.max(1, this.data.getNumberOfThreads());
   }
 
+  private Option<MinionPool> createMinionPool() {
+    if (this.data.isReuseMinions()) {
+      return Option.some(new MinionPool(this.data.getMinionMutationBudget(),
+          this.data.getMinionHeapBudget()));
+    }
+    return Option.none();
+  }
+
+  private Option<AndroidDevicePool> createDevicePool() {
+    final Option<AndroidDevicePool> devices = AndroidDevicePool
+        .fromEnvironment();
+    for (final AndroidDevicePool each : devices) {
+      if (numberOfThreads() > each.size()) {
+        LOG.info("Only " + each.size() + " of " + numberOfThreads()
+            + " threads can run Android tests at once, one per device");
+      }
+    }
+    return devices;
+  }
+
   private List<MutationResultListener> createConfig(final long t0,
       final CoverageDatabase coverageData,
       final MutationStatisticsListener stats, final MutationEngine engine) {
@@ -243,7 +274,8 @@ private int numberOfThreads() {
   }
 
   private List<MutationAnalysisUnit> buildMutationTests(
-      final CoverageDatabase coverageData, final MutationEngine engine) {
+      final CoverageDatabase coverageData, final MutationEngine engine,
+      final Option<MinionPool> pool) {
 
     final MutationConfig mutationConfig = new MutationConfig(engine, coverage()
         .getLaunchOptions());
@@ -251,14 +283,20 @@ private int numberOfThreads() {
     ClassByteArraySource bas = fallbackToClassLoader(new ClassPathByteArraySource(
         this.data.getClassPath()));
 
-    TestPrioritiser testPrioritiser = this.settings.getTestPrioritiser()
-        .makeTestPrioritiser(this.data.getFreeFormProperties(), this.code,
-            coverageData);
+    // interceptors are not thread safe, so each thread creating mutations
+    // gets a source of its own
+    final TestPrioritiserFactory prioritisers = this.settings
+        .getTestPrioritiser(history());
+    final List<MutationSource> sources = new ArrayList<>();
+    for (int i = 0; i != numberOfThreads(); i++) {
+      TestPrioritiser testPrioritiser = prioritisers.makeTestPrioritiser(
+          this.data.getFreeFormProperties(), this.code, coverageData);
 
-    MutationInterceptor interceptor = this.settings.getInterceptor()
-        .createInterceptor(this.data, bas);
-    
-    final MutationSource source = new MutationSource(mutationConfig, testPrioritiser, bas, interceptor);
+      MutationInterceptor interceptor = this.settings.getInterceptor()
+          .createInterceptor(this.data, bas);
+
+      sources.add(new MutationSource(mutationConfig, testPrioritiser, bas, interceptor));
+    }
 
     final MutationAnalyser analyser = new IncrementalAnalyser(
         new DefaultCodeHistory(this.code, history()), coverageData);
@@ -267,13 +305,13 @@ private int numberOfThreads() {
         .getConfiguration(), mutationConfig,
         new PercentAndConstantTimeoutStrategy(this.data.getTimeoutFactor(),
             this.data.getTimeoutConstant()), this.data.isVerbose(), this.data
-            .getClassPath().getLocalClassPath());
+            .getClassPath().getLocalClassPath(), pool, createDevicePool());
 
     MutationGrouper grouper = this.settings.getMutationGrouper().makeFactory(
         this.data.getFreeFormProperties(), this.code,
         this.data.getNumberOfThreads(), this.data.getMutationUnitSize());
     final MutationTestBuilder builder = new MutationTestBuilder(wf, analyser,
-        source, grouper);
+        sources, grouper);
 
     return builder.createMutationTestUnits(this.code.getCodeUnderTestNames());
   }
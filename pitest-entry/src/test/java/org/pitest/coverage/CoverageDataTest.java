@@ -260,6 +260,47 @@ public class CoverageDataTest {
     assertEquals(4, actual.getNumberOfCoveredLines());
   }
 
+  @Test
+  public void shouldCombineTestsFromAllBlocksOnALineInNameOrder() {
+    final BlockLocation block1 = makeCoverage("foo", 1).iterator().next();
+    final BlockLocation block2 = makeCoverage("foo", 2).iterator().next();
+    final HashMap<BlockLocation, Set<Integer>> map = new HashMap<>();
+    map.put(block1, Collections.singleton(10));
+    map.put(block2, Collections.singleton(10));
+    when(this.lm.mapLines(any(ClassName.class))).thenReturn(map);
+
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "zTest", 0,
+        1));
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "aTest", 0,
+        2));
+
+    assertEquals(Arrays.asList("aTest", "zTest"), FCollection.map(
+        this.testee.getTestsForClassLine(new ClassLine(this.foo, 10)),
+        testInfoToString()));
+  }
+
+  @Test
+  public void shouldIncludeCoverageRecordedAfterAClassWasQueried() {
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest", 0,
+        1));
+    assertEquals(1, this.testee.getTestsForClass(this.foo).size());
+
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest2", 0,
+        1));
+    assertEquals(Arrays.asList("fooTest", "fooTest2"), FCollection.map(
+        this.testee.getTestsForClass(this.foo), testInfoToString()));
+  }
+
+  @Test
+  public void shouldNotReturnTestsForOtherClasses() {
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest", 0,
+        1));
+    this.testee.calculateClassCoverage(makeCoverageResult("bar", "barTest", 0,
+        1));
+    assertEquals(Arrays.asList("barTest"), FCollection.map(
+        this.testee.getTestsForClass(this.bar), testInfoToString()));
+  }
+
   private static F<TestInfo, Integer> testInfoToExecutionTime() {
     return new F<TestInfo, Integer>() {
       @Override
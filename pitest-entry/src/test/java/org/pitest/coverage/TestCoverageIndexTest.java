@@ -0,0 +1,172 @@
+package org.pitest.coverage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.classinfo.ClassIdentifier;
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassInfoMother;
+import org.pitest.classinfo.ClassName;
+import org.pitest.functional.Option;
+
+public class TestCoverageIndexTest {
+
+  private static final ClassName FOO     = ClassName
+                                             .fromString("com.example.Foo");
+  private static final ClassName BAR     = ClassName
+                                             .fromString("com.example.Bar");
+
+  @Rule
+  public TemporaryFolder         folder  = new TemporaryFolder();
+
+  private final ClassInfo        fooTest = test("com.example.FooTest", 1);
+  private final ClassInfo        barTest = test("com.example.BarTest", 2);
+
+  private File                   file;
+  private CoverageDatabase       coverage;
+  private Map<ClassName, Long>   times;
+
+  @Before
+  public void setUp() {
+    this.file = new File(this.folder.getRoot(), "index.bin");
+    this.coverage = mock(CoverageDatabase.class);
+    when(this.coverage.getTestsForClass(FOO)).thenReturn(
+        Collections.singletonList(testInfo(this.fooTest)));
+    when(this.coverage.getTestsForClass(BAR)).thenReturn(
+        Collections.singletonList(testInfo(this.barTest)));
+    this.times = new HashMap<>();
+    this.times.put(this.fooTest.getName(), 10L);
+    this.times.put(this.barTest.getName(), 20L);
+  }
+
+  @Test
+  public void shouldSelectEveryTestWhenNothingIsRecorded() {
+    final TestCoverageIndex testee = loadIndex();
+    assertThat(testee.selectTests(allTests(), Collections.singleton(FOO)))
+        .containsExactly(this.fooTest, this.barTest);
+  }
+
+  @Test
+  public void shouldSelectOnlyTestsRecordedAsCoveringClasses() {
+    recordFullRun();
+
+    final TestCoverageIndex testee = loadIndex();
+    assertThat(testee.selectTests(allTests(), Collections.singleton(FOO)))
+        .containsExactly(this.fooTest);
+    assertThat(testee.selectTests(allTests(), Collections.singleton(BAR)))
+        .containsExactly(this.barTest);
+  }
+
+  @Test
+  public void shouldSelectTestsThatHaveChanged() {
+    recordFullRun();
+
+    final ClassInfo changedBarTest = test("com.example.BarTest", 3);
+    final TestCoverageIndex testee = loadIndex();
+    assertThat(
+        testee.selectTests(Arrays.asList(this.fooTest, changedBarTest),
+            Collections.singleton(FOO))).containsExactly(this.fooTest,
+        changedBarTest);
+  }
+
+  @Test
+  public void shouldKeepCoverageOfClassesNotMeasuredInLaterRun() {
+    recordFullRun();
+
+    final TestCoverageIndex partial = loadIndex();
+    partial.record(allTests(), Collections.singletonList(this.fooTest),
+        Collections.singleton(FOO), this.coverage, this.times);
+    partial.save();
+
+    final TestCoverageIndex testee = loadIndex();
+    assertThat(testee.selectTests(allTests(), Collections.singleton(BAR)))
+        .containsExactly(this.barTest);
+  }
+
+  @Test
+  public void shouldSelectTestsNotYetMeasuredAgainstAClass() {
+    final TestCoverageIndex first = loadIndex();
+    first.record(allTests(), allTests(), Collections.singleton(FOO),
+        this.coverage, this.times);
+    first.save();
+
+    final TestCoverageIndex second = loadIndex();
+    assertThat(second.selectTests(allTests(), Collections.singleton(BAR)))
+        .containsExactly(this.fooTest, this.barTest);
+    second.record(allTests(), allTests(), Collections.singleton(BAR),
+        this.coverage, this.times);
+    second.save();
+
+    final TestCoverageIndex testee = loadIndex();
+    assertThat(testee.selectTests(allTests(), Collections.singleton(BAR)))
+        .containsExactly(this.barTest);
+    assertThat(testee.selectTests(allTests(), Collections.singleton(FOO)))
+        .containsExactly(this.fooTest);
+  }
+
+  @Test
+  public void shouldKeepTimingsOfTestsBetweenRuns() {
+    recordFullRun();
+
+    final TestCoverageIndex partial = loadIndex();
+    this.times.put(this.fooTest.getName(), 15L);
+    partial.record(allTests(), Collections.singletonList(this.fooTest),
+        Collections.singleton(FOO), this.coverage, this.times);
+    partial.save();
+
+    final Map<String, Long> expected = new HashMap<>();
+    expected.put(this.fooTest.getName().asInternalName(), 15L);
+    expected.put(this.barTest.getName().asInternalName(), 20L);
+    assertThat(loadIndex().testTimings()).isEqualTo(expected);
+  }
+
+  @Test
+  public void shouldStartEmptyWhenFileIsUnreadable() throws Exception {
+    Files.write(this.file.toPath(), new byte[] { 1, 2, 3 });
+    final TestCoverageIndex testee = loadIndex();
+    assertThat(testee.selectTests(allTests(), Collections.singleton(FOO)))
+        .containsExactly(this.fooTest, this.barTest);
+  }
+
+  private void recordFullRun() {
+    final TestCoverageIndex first = loadIndex();
+    first.record(allTests(), allTests(), Arrays.asList(FOO, BAR),
+        this.coverage, this.times);
+    first.save();
+  }
+
+  private List<ClassInfo> allTests() {
+    return Arrays.asList(this.fooTest, this.barTest);
+  }
+
+  private TestCoverageIndex loadIndex() {
+    final TestCoverageIndex index = new TestCoverageIndex(
+        Option.some(this.file));
+    index.initialize();
+    return index;
+  }
+
+  private static ClassInfo test(final String name, final long hash) {
+    return ClassInfoMother.make(new ClassIdentifier(hash, ClassName
+        .fromString(name)));
+  }
+
+  private static TestInfo testInfo(final ClassInfo test) {
+    return new TestInfo(test.getName().asJavaName(), "aTest", 0,
+        Option.<ClassName> none(), 1);
+  }
+
+}
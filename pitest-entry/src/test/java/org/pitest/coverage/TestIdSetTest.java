@@ -0,0 +1,73 @@
+package org.pitest.coverage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class TestIdSetTest {
+
+  private final TestIdSet testee = new TestIdSet();
+
+  @Test
+  public void shouldBeEmptyWhenNothingAdded() {
+    assertThat(this.testee.isEmpty()).isTrue();
+    assertThat(this.testee.toArray()).isEmpty();
+  }
+
+  @Test
+  public void shouldReturnIdsInAscendingOrder() {
+    this.testee.add(7);
+    this.testee.add(2);
+    this.testee.add(5);
+    assertThat(this.testee.toArray()).containsExactly(2, 5, 7);
+  }
+
+  @Test
+  public void shouldIgnoreDuplicateIds() {
+    this.testee.add(3);
+    this.testee.add(1);
+    this.testee.add(3);
+    this.testee.add(1);
+    assertThat(this.testee.size()).isEqualTo(2);
+    assertThat(this.testee.toArray()).containsExactly(1, 3);
+  }
+
+  @Test
+  public void shouldRetainAllIdsWhenSetBecomesDense() {
+    for (int i = 0; i != 1000; i++) {
+      this.testee.add(i);
+      this.testee.add(i);
+    }
+    assertThat(this.testee.size()).isEqualTo(1000);
+    final int[] actual = this.testee.toArray();
+    assertThat(actual[0]).isEqualTo(0);
+    assertThat(actual[999]).isEqualTo(999);
+  }
+
+  @Test
+  public void shouldRetainSparseHighIds() {
+    this.testee.add(1000000);
+    this.testee.add(5);
+    this.testee.add(2000000);
+    assertThat(this.testee.toArray()).containsExactly(5, 1000000, 2000000);
+  }
+
+  @Test
+  public void shouldMergeSparseAndDenseSets() {
+    final TestIdSet dense = new TestIdSet();
+    for (int i = 0; i != 100; i++) {
+      dense.add(i);
+    }
+    final TestIdSet sparse = new TestIdSet();
+    sparse.add(50);
+    sparse.add(500);
+
+    this.testee.addAll(sparse);
+    this.testee.addAll(dense);
+    assertThat(this.testee.size()).isEqualTo(101);
+
+    dense.addAll(sparse);
+    assertThat(dense.toArray()).hasSize(101).contains(500);
+  }
+
+}
@@ -0,0 +1,83 @@
+package org.pitest.coverage.execute;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class CoverageShardsTest {
+
+  private final Map<String, Long> noTimings = Collections.emptyMap();
+
+  @Test
+  public void shouldUseSingleShardWhenOneThreadAvailable() {
+    final List<String> tests = Arrays.asList("a", "b", "c");
+    assertEquals(Collections.singletonList(tests),
+        CoverageShards.split(tests, 1, this.noTimings));
+  }
+
+  @Test
+  public void shouldUseSingleEmptyShardWhenNoTests() {
+    assertEquals(
+        Collections.singletonList(Collections.<String> emptyList()),
+        CoverageShards.split(Collections.<String> emptyList(), 4,
+            this.noTimings));
+  }
+
+  @Test
+  public void shouldNotCreateMoreShardsThanTests() {
+    assertEquals(2,
+        CoverageShards.split(Arrays.asList("a", "b"), 8, this.noTimings)
+            .size());
+  }
+
+  @Test
+  public void shouldSpreadTestsEvenlyWhenNoTimingsKnown() {
+    final List<List<String>> actual = CoverageShards.split(
+        Arrays.asList("a", "b", "c", "d", "e"), 2, this.noTimings);
+    assertEquals(Arrays.asList("a", "c", "e"), actual.get(0));
+    assertEquals(Arrays.asList("b", "d"), actual.get(1));
+  }
+
+  @Test
+  public void shouldBalanceShardsByHistoricTimings() {
+    final Map<String, Long> timings = new HashMap<>();
+    timings.put("slow", 100L);
+    timings.put("a", 30L);
+    timings.put("b", 30L);
+    timings.put("c", 30L);
+
+    final List<List<String>> actual = CoverageShards.split(
+        Arrays.asList("a", "slow", "b", "c"), 2, timings);
+
+    assertEquals(Collections.singletonList("slow"), actual.get(0));
+    assertEquals(Arrays.asList("a", "b", "c"), actual.get(1));
+  }
+
+  @Test
+  public void shouldAssumeAverageCostForTestsWithoutTimings() {
+    final Map<String, Long> timings = new HashMap<>();
+    timings.put("a", 10L);
+    timings.put("b", 50L);
+
+    final List<List<String>> actual = CoverageShards.split(
+        Arrays.asList("a", "b", "c"), 2, timings);
+
+    // c is assumed to cost 30
+    assertEquals(Collections.singletonList("b"), actual.get(0));
+    assertEquals(Arrays.asList("a", "c"), actual.get(1));
+  }
+
+  @Test
+  public void shouldProduceSameShardsForSameInput() {
+    final List<String> tests = Arrays.asList("e", "d", "c", "b", "a");
+    assertEquals(CoverageShards.split(tests, 3, this.noTimings),
+        CoverageShards.split(tests, 3, this.noTimings));
+  }
+
+}
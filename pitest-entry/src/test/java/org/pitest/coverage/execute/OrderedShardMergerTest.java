@@ -0,0 +1,65 @@
+package org.pitest.coverage.execute;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.functional.SideEffect1;
+import org.pitest.testapi.Description;
+
+public class OrderedShardMergerTest {
+
+  private final List<String>       received = new ArrayList<>();
+
+  private final OrderedShardMerger testee   = new OrderedShardMerger(
+                                                recordTo(this.received), 3);
+
+  @Test
+  public void shouldPassFirstShardResultsStraightThrough() {
+    this.testee.handlerFor(0).apply(result("a"));
+    assertEquals(Collections.singletonList("a"), this.received);
+  }
+
+  @Test
+  public void shouldHoldLaterShardResultsUntilEarlierShardsComplete() {
+    this.testee.handlerFor(2).apply(result("c"));
+    this.testee.handlerFor(1).apply(result("b"));
+    this.testee.handlerFor(0).apply(result("a"));
+    assertEquals(Collections.singletonList("a"), this.received);
+
+    this.testee.shardComplete(0);
+    assertEquals(Arrays.asList("a", "b"), this.received);
+
+    this.testee.handlerFor(1).apply(result("b2"));
+    assertEquals(Arrays.asList("a", "b", "b2"), this.received);
+
+    this.testee.shardComplete(1);
+    assertEquals(Arrays.asList("a", "b", "b2", "c"), this.received);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldRejectShardsCompletedOutOfOrder() {
+    this.testee.shardComplete(1);
+  }
+
+  private static CoverageResult result(final String test) {
+    return new CoverageResult(new Description(test), 1, true,
+        Collections.<BlockLocation> emptyList());
+  }
+
+  private static SideEffect1<CoverageResult> recordTo(final List<String> names) {
+    return new SideEffect1<CoverageResult>() {
+      @Override
+      public void apply(final CoverageResult a) {
+        names.add(a.getTestUnitDescription().getName());
+      }
+    };
+  }
+
+}
@@ -1,21 +1,26 @@
 package org.pitest.coverage.execute;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
 import org.pitest.coverage.CoverageResult;
 import org.pitest.functional.SideEffect1;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
 import org.pitest.testapi.Description;
 import org.pitest.util.Id;
 import org.pitest.util.SafeDataInputStream;
 
-import sun.pitest.CodeCoverageStore;
-
 // does this test add any value?
 public class ReceiveTest {
 
@@ -65,16 +70,51 @@ public class ReceiveTest {
     assertEquals(true, this.result.isGreenTest());
   }
 
+  @Test
+  public void shouldMapHitProbesToRegisteredBlocks() {
+    registerClass(1, "foo");
+    registerProbes(1, "a", 0, 1);
+    registerProbes(1, "b", 2, 4);
+
+    recordTestCoverage(0, 1, 3, true);
+
+    assertThat(this.result.getCoverage()).containsExactly(
+        new BlockLocation(Location.location(ClassName.fromString("foo"),
+            MethodName.fromString("b"), "()V"), 1));
+  }
+
+  @Test
+  public void shouldIgnoreHitsToUnregisteredProbes() {
+    recordTestCoverage(0, 1, 3, true);
+    assertThat(this.result.getCoverage()).isEmpty();
+  }
+
+  private void registerClass(final int classId, final String name) {
+    when(this.is.readInt()).thenReturn(classId);
+    when(this.is.readString()).thenReturn(name);
+    this.testee.apply(Id.CLAZZ, this.is);
+  }
+
+  private void registerProbes(final int classId, final String method,
+      final int first, final int last) {
+    when(this.is.readInt()).thenReturn(classId, first, last);
+    when(this.is.readString()).thenReturn(method, "()V");
+    this.testee.apply(Id.PROBES, this.is);
+  }
+
   private void recordTestCoverage(final int executionTime, final int classId,
       final int probeNumber, final boolean testPassed) {
     when(this.is.readInt()).thenReturn(classId, executionTime);
     when(this.is.readString()).thenReturn("foo");
     this.testee.apply(Id.CLAZZ, this.is);
 
-    when(this.is.read(Description.class)).thenReturn(this.description);
-    when(this.is.readInt()).thenReturn(1);
-    when(this.is.readLong()).thenReturn(1l,
-        CodeCoverageStore.encode(classId, probeNumber));
+    when(this.is.read(CoverageCodecs.DESCRIPTION)).thenReturn(this.description);
+    final boolean[] probes = new boolean[probeNumber + 2];
+    probes[0] = true;
+    probes[probeNumber + 1] = true;
+    when(this.is.read(CoverageCodecs.PROBE_HITS)).thenReturn(
+        Collections.singletonMap(classId, probes));
+    when(this.is.readInt()).thenReturn(executionTime);
     when(this.is.readBoolean()).thenReturn(testPassed);
     this.testee.apply(Id.OUTCOME, this.is);
   }
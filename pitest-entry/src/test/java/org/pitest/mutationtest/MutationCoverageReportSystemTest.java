@@ -84,6 +84,25 @@ public class MutationCoverageReportSystemTest extends ReportTestBase {
     verifyResults(KILLED);
   }
 
+  @Test
+  public void shouldGiveSameResultsWhenMinionsAreReusedAcrossUnits() {
+    this.data.setTargetClasses(predicateFor("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    this.data.setReuseMinions(true);
+    this.data.setNumberOfThreads(1);
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
+  @Test
+  public void shouldGiveSameResultsWhenMinionsShareWorkAcrossUnits() {
+    this.data.setTargetClasses(predicateFor("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    this.data.setNumberOfThreads(2);
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
   @Test
   public void shouldReportUnCoveredMutations() {
     this.data.setTargetClasses(predicateFor("com.example.PartiallyCovered*"));
@@ -0,0 +1,78 @@
+package org.pitest.mutationtest.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.bytecode.analysis.ClassTree;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+public class CachingMutaterTest {
+
+  private final ClassName    foo = ClassName.fromClass(CachingMutaterTest.class);
+
+  @Mock
+  private Mutater            child;
+
+  private CachingMutater     testee;
+
+  private MutationIdentifier id;
+
+  private Mutant             mutant;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    this.testee = new CachingMutater(this.child);
+    this.id = new MutationIdentifier(aLocation().withClass(this.foo)
+        .withMethod("setUp").build(), 0, "mutator");
+    this.mutant = new Mutant(new MutationDetails(this.id, "file", "desc", 1,
+        2), ClassloaderByteArraySource.fromContext()
+        .getBytes(this.foo.asJavaName()).value());
+    when(this.child.getMutation(this.id)).thenReturn(this.mutant);
+  }
+
+  @Test
+  public void shouldCreateEachMutantOnce() {
+    assertThat(this.testee.getMutation(this.id)).isSameAs(this.mutant);
+    assertThat(this.testee.getMutation(this.id)).isSameAs(this.mutant);
+    verify(this.child, times(1)).getMutation(this.id);
+  }
+
+  @Test
+  public void shouldParseEachMutantOnce() {
+    final ClassTree tree = CachingMutater.mutantTree(this.testee, this.id);
+    assertThat(tree.name()).isEqualTo(this.foo);
+    assertThat(CachingMutater.mutantTree(this.testee, this.id)).isSameAs(tree);
+    verify(this.child, times(1)).getMutation(this.id);
+  }
+
+  @Test
+  public void shouldParseMutantsFromOtherMutaters() {
+    final ClassTree tree = CachingMutater.mutantTree(this.child, this.id);
+    assertThat(tree.name()).isEqualTo(this.foo);
+  }
+
+  @Test
+  public void shouldDelegateSearchForMutations() {
+    final List<MutationDetails> expected = Collections.singletonList(this.mutant
+        .getDetails());
+    when(this.child.findMutations(this.foo)).thenReturn(expected);
+    assertThat(this.testee.findMutations(this.foo)).isEqualTo(expected);
+  }
+
+}
@@ -0,0 +1,158 @@
+package org.pitest.mutationtest.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.F;
+import org.pitest.functional.FCollection;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.HistoryStore;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.incremental.BinaryHistoryStore;
+
+public class HistoricKillerTestPrioritiserTest {
+
+  @Mock
+  private TestPrioritiser                                       child;
+
+  @Mock
+  private HistoryStore                                          store;
+
+  private final Map<MutationIdentifier, MutationStatusTestPair> history = new HashMap<>();
+
+  private final List<TestInfo>                                  tests   = Arrays
+      .asList(test("a"), test("b"), test("c"), test("d"));
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    when(this.child.assignTests(any(MutationDetails.class))).thenReturn(
+        this.tests);
+    when(this.store.getHistoricResults()).thenReturn(this.history);
+  }
+
+  @Test
+  public void shouldKeepOrderOfChildWhenNoHistory() {
+    assertEquals(Arrays.asList("a", "b", "c", "d"),
+        names(assign(mutation("foo", "bar", 1, "M"))));
+  }
+
+  @Test
+  public void shouldRunTestThatKilledSameMutationFirst() {
+    killed(mutation("foo", "bar", 1, "M"), "c");
+    assertEquals(Arrays.asList("c", "a", "b", "d"),
+        names(assign(mutation("foo", "bar", 1, "M"))));
+  }
+
+  @Test
+  public void shouldPreferKillersInSameMethodToKillersInSameClass() {
+    killed(mutation("foo", "other", 1, "M"), "b");
+    killed(mutation("foo", "other", 2, "M"), "b");
+    killed(mutation("foo", "bar", 2, "M"), "d");
+    assertEquals(Arrays.asList("d", "b", "a", "c"),
+        names(assign(mutation("foo", "bar", 1, "M"))));
+  }
+
+  @Test
+  public void shouldPreferKillersOfSameMutatorWithinClass() {
+    killed(mutation("foo", "baz", 1, "M"), "c");
+    killed(mutation("foo", "qux", 1, "N"), "d");
+    assertEquals(Arrays.asList("c", "d", "a", "b"),
+        names(assign(mutation("foo", "bar", 1, "M"))));
+  }
+
+  @Test
+  public void shouldIgnoreKillsInOtherClasses() {
+    killed(mutation("other", "bar", 1, "M"), "c");
+    assertEquals(Arrays.asList("a", "b", "c", "d"),
+        names(assign(mutation("foo", "bar", 1, "M"))));
+  }
+
+  @Test
+  public void shouldReadHistoryOfStoreOnlyOnce() {
+    killed(mutation("other", "bar", 1, "M"), "c");
+    final KillHistory kills = new KillHistory(this.store);
+    new HistoricKillerTestPrioritiser(this.child, kills)
+        .assignTests(mutation("foo", "bar", 1, "M"));
+    new HistoricKillerTestPrioritiser(this.child, kills)
+        .assignTests(mutation("other", "bar", 1, "M"));
+    verify(this.store).getHistoricResults();
+    verifyNoMoreInteractions(this.store);
+  }
+
+  @Test
+  public void shouldOnlyReadHistoryOfClassesBeingPrioritisedFromBinaryStore() {
+    final BinaryHistoryStore binary = mock(BinaryHistoryStore.class);
+    when(binary.getHistoricResultsFor(any(ClassName.class))).thenReturn(
+        Collections.<MutationIdentifier, MutationStatusTestPair> emptyMap());
+    final KillHistory kills = new KillHistory(binary);
+    new HistoricKillerTestPrioritiser(this.child, kills)
+        .assignTests(mutation("foo", "bar", 1, "M"));
+    new HistoricKillerTestPrioritiser(this.child, kills)
+        .assignTests(mutation("foo", "baz", 1, "M"));
+    verify(binary).getHistoricResultsFor(ClassName.fromString("foo"));
+    verifyNoMoreInteractions(binary);
+  }
+
+  @Test
+  public void shouldIgnoreMutationsThatWereNotKilled() {
+    this.history.put(mutation("foo", "bar", 1, "M").getId(),
+        new MutationStatusTestPair(1, DetectionStatus.TIMED_OUT, "c"));
+    this.history.put(mutation("foo", "bar", 2, "M").getId(),
+        new MutationStatusTestPair(1, DetectionStatus.SURVIVED));
+    assertEquals(Arrays.asList("a", "b", "c", "d"),
+        names(assign(mutation("foo", "bar", 1, "M"))));
+  }
+
+  private List<TestInfo> assign(final MutationDetails mutation) {
+    return new HistoricKillerTestPrioritiser(this.child, new KillHistory(
+        this.store)).assignTests(mutation);
+  }
+
+  private void killed(final MutationDetails mutation, final String test) {
+    this.history.put(mutation.getId(), new MutationStatusTestPair(1,
+        DetectionStatus.KILLED, test));
+  }
+
+  private static MutationDetails mutation(final String clazz,
+      final String method, final int index, final String mutator) {
+    final MutationIdentifier id = new MutationIdentifier(aLocation()
+        .withClass(ClassName.fromString(clazz)).withMethod(method).build(),
+        index, mutator);
+    return new MutationDetails(id, "file", "desc", 1, 2);
+  }
+
+  private static TestInfo test(final String name) {
+    return new TestInfo("foo", name, 1, Option.<ClassName> none(), 0);
+  }
+
+  private static List<String> names(final List<TestInfo> tests) {
+    return FCollection.map(tests, new F<TestInfo, String>() {
+      @Override
+      public String apply(final TestInfo a) {
+        return a.getName();
+      }
+    });
+  }
+
+}
@@ -7,9 +7,13 @@ import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aLocation;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -18,6 +22,7 @@ import org.mockito.MockitoAnnotations;
 import org.pitest.classinfo.ClassName;
 import org.pitest.mutationtest.NullAnalyser;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.PitError;
 
 public class MutationTestBuilderTest {
 
@@ -80,6 +85,75 @@ public class MutationTestBuilderTest {
     assertTrue(actual.get(0).priority() > actual.get(1).priority());
   }
 
+  @Test
+  public void shouldCreateSameUnitsWhenUsingSeveralSources() {
+    final List<ClassName> classes = new ArrayList<>();
+    for (int i = 0; i != 20; i++) {
+      classes.add(ClassName.fromString("com.example.Class" + i));
+    }
+    final Queue<ClassName> requested = new ConcurrentLinkedQueue<>();
+    final List<MutationSource> sources = new ArrayList<>();
+    for (int i = 0; i != 4; i++) {
+      sources.add(new StubSource(requested));
+    }
+
+    final List<MutationAnalysisUnit> serial = new MutationTestBuilder(this.wf,
+        new NullAnalyser(), new StubSource(new ConcurrentLinkedQueue<ClassName>()),
+        new DefaultGrouper(0)).createMutationTestUnits(classes);
+    final List<MutationAnalysisUnit> parallel = new MutationTestBuilder(
+        this.wf, new NullAnalyser(), sources, new DefaultGrouper(0))
+        .createMutationTestUnits(classes);
+
+    assertEquals(priorities(serial), priorities(parallel));
+    assertEquals(classes.size(), requested.size());
+    assertTrue(requested.containsAll(classes));
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldPassOnErrorsFromSourcesUsedInParallel() {
+    final MutationSource failing = new StubSource(
+        new ConcurrentLinkedQueue<ClassName>()) {
+      @Override
+      public Collection<MutationDetails> createMutations(final ClassName clazz) {
+        throw new PitError("boom");
+      }
+    };
+    new MutationTestBuilder(this.wf, new NullAnalyser(), Arrays.asList(
+        failing, failing), new DefaultGrouper(0)).createMutationTestUnits(Arrays
+        .asList(ClassName.fromString("foo"), ClassName.fromString("bar")));
+  }
+
+  private static List<Integer> priorities(
+      final List<MutationAnalysisUnit> units) {
+    final List<Integer> priorities = new ArrayList<>();
+    for (final MutationAnalysisUnit each : units) {
+      priorities.add(each.priority());
+    }
+    return priorities;
+  }
+
+  // creates one more mutation for each class than for the one before
+  private static class StubSource extends MutationSource {
+    private final Queue<ClassName> requested;
+
+    StubSource(final Queue<ClassName> requested) {
+      super(null, null, null, null);
+      this.requested = requested;
+    }
+
+    @Override
+    public Collection<MutationDetails> createMutations(final ClassName clazz) {
+      this.requested.add(clazz);
+      final int count = Integer.parseInt(clazz.getNameWithoutPackage()
+          .asJavaName().substring("Class".length())) + 1;
+      final List<MutationDetails> mutations = new ArrayList<>();
+      for (int i = 0; i != count; i++) {
+        mutations.add(createDetails(clazz.asJavaName()));
+      }
+      return mutations;
+    }
+  }
+
   private void assertCreatesOneTestUnitForTwoMutations() {
     final MutationDetails mutation1 = createDetails("foo");
     final MutationDetails mutation2 = createDetails("foo");
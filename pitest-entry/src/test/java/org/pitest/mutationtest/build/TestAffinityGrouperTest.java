@@ -0,0 +1,149 @@
+package org.pitest.mutationtest.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+public class TestAffinityGrouperTest {
+
+  private TestAffinityGrouper testee;
+  private int                 index;
+
+  @Test
+  public void shouldGroupMutationsOfDifferentClassesCoveredBySameTests() {
+    makeTestee(0, 1);
+    final MutationDetails foo = createDetails("Foo", test("FooTest", 1));
+    final MutationDetails bar = createDetails("Bar", test("FooTest", 1));
+
+    assertThat(group(foo, bar)).hasSize(1);
+  }
+
+  @Test
+  public void shouldPlaceMutationInUnitSharingMostTestClasses() {
+    makeTestee(0, 1);
+    final MutationDetails ab = createDetails("Foo", test("ATest", 1),
+        test("BTest", 1));
+    final MutationDetails cd = createDetails("Foo", test("CTest", 1),
+        test("DTest", 1));
+    final MutationDetails b = createDetails("Bar", test("BTest", 1));
+
+    final List<List<MutationDetails>> actual = group(ab, cd, b);
+    assertThat(actual).hasSize(2);
+    assertThat(unitContaining(actual, b)).contains(ab);
+  }
+
+  @Test
+  public void shouldNotCreateUnitsCostingMoreThanShareOfEachThread() {
+    makeTestee(0, 2);
+    final List<MutationDetails> mutations = new ArrayList<>();
+    for (int i = 0; i != 80; i++) {
+      mutations.add(createDetails("Foo", test("FooTest", 99)));
+    }
+
+    final List<List<MutationDetails>> actual = this.testee.groupMutations(
+        null, mutations);
+    // each mutation costs 100, split into 2 threads * 4 units
+    assertThat(actual).hasSize(2 * TestAffinityGrouper.UNITS_PER_THREAD);
+    for (final List<MutationDetails> each : actual) {
+      assertThat(each).hasSize(10);
+    }
+  }
+
+  @Test
+  public void shouldNotSplitUnitsCheaperThanLaunchingMinion() {
+    makeTestee(0, 8);
+    final List<MutationDetails> mutations = new ArrayList<>();
+    for (int i = 0; i != 80; i++) {
+      mutations.add(createDetails("Foo", test("FooTest", 0)));
+    }
+    assertThat(this.testee.groupMutations(null, mutations)).hasSize(1);
+  }
+
+  @Test
+  public void shouldRespectUnitSize() {
+    makeTestee(2, 1);
+    final List<List<MutationDetails>> actual = group(
+        createDetails("Foo", test("FooTest", 0)),
+        createDetails("Foo", test("FooTest", 0)),
+        createDetails("Foo", test("FooTest", 0)));
+    assertThat(actual).hasSize(2);
+  }
+
+  @Test
+  public void shouldKeepMutationsWithoutTestsApartFromCoveredOnes() {
+    makeTestee(0, 1);
+    final MutationDetails covered = createDetails("Foo", test("FooTest", 1));
+    final MutationDetails uncovered = createDetails("Bar");
+    final MutationDetails alsoUncovered = createDetails("Baz");
+
+    final List<List<MutationDetails>> actual = group(covered, uncovered,
+        alsoUncovered);
+    assertThat(actual).hasSize(2);
+    assertThat(unitContaining(actual, uncovered)).containsOnly(uncovered,
+        alsoUncovered);
+  }
+
+  @Test
+  public void shouldIncludeEveryMutationExactlyOnce() {
+    makeTestee(3, 4);
+    final List<MutationDetails> mutations = new ArrayList<>();
+    for (int i = 0; i != 50; i++) {
+      mutations.add(createDetails("Foo" + (i % 7), test("Test" + (i % 5), i),
+          test("Test" + (i % 3), 1)));
+    }
+
+    final List<MutationDetails> grouped = new ArrayList<>();
+    for (final List<MutationDetails> each : this.testee.groupMutations(null,
+        mutations)) {
+      assertThat(each).isNotEmpty();
+      grouped.addAll(each);
+    }
+    assertThat(grouped).hasSameSizeAs(mutations);
+    assertThat(new HashSet<>(grouped)).hasSameSizeAs(mutations);
+  }
+
+  private void makeTestee(final int unitSize, final int threads) {
+    this.testee = new TestAffinityGrouper(unitSize, threads);
+  }
+
+  private List<List<MutationDetails>> group(final MutationDetails... ms) {
+    return this.testee.groupMutations(null, Arrays.asList(ms));
+  }
+
+  private static List<MutationDetails> unitContaining(
+      final List<List<MutationDetails>> units, final MutationDetails m) {
+    for (final List<MutationDetails> each : units) {
+      if (each.contains(m)) {
+        return each;
+      }
+    }
+    throw new AssertionError(m + " not grouped");
+  }
+
+  private static TestInfo test(final String clazz, final int time) {
+    return new TestInfo(clazz, clazz + ".aTest", time,
+        Option.<ClassName> none(), 0);
+  }
+
+  private MutationDetails createDetails(final String clazz,
+      final TestInfo... tests) {
+    this.index++;
+    final MutationDetails details = new MutationDetails(aMutationId()
+        .withLocation(aLocation(clazz)).withIndex(this.index).build(), "",
+        "desc", 42, 0);
+    details.addTestsInOrder(Arrays.asList(tests));
+    return details;
+  }
+
+}
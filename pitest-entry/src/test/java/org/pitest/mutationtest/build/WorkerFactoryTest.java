@@ -0,0 +1,45 @@
+package org.pitest.mutationtest.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.MutationConfig;
+import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.mutationtest.config.TestPluginArguments;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.execute.AndroidDevicePool;
+import org.pitest.mutationtest.execute.MinionPool;
+
+public class WorkerFactoryTest {
+
+  @Test(timeout = 5000)
+  public void shouldReleaseDeviceWhenWorkerCannotBeCreated() throws Exception {
+    final AndroidDevicePool devices = new AndroidDevicePool(
+        Collections.singletonList("emulator-5554"));
+    // no config, so building the minion's arguments fails
+    final MutationConfig config = null;
+
+    final WorkerFactory testee = new WorkerFactory(new File("."),
+        mock(TestPluginArguments.class), config,
+        mock(TimeoutLengthStrategy.class), false, "",
+        Option.<MinionPool> none(), Option.some(devices));
+    try {
+      testee.createWorker(Collections.<MutationDetails> emptyList(),
+          Collections.<ClassName> emptyList());
+      fail();
+    } catch (final NullPointerException expected) {
+      // expected
+    }
+
+    // blocks until the timeout if the device was not handed back
+    assertEquals("emulator-5554", devices.acquire());
+  }
+
+}
@@ -0,0 +1,130 @@
+package org.pitest.mutationtest.build.intercept.scm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.assertj.core.api.Condition;
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.bytecode.analysis.ClassTree;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.functional.Option;
+import org.pitest.functional.predicate.True;
+import org.pitest.mutationtest.build.InterceptorType;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.gregor.GregorMutater;
+import org.pitest.mutationtest.engine.gregor.MethodInfo;
+import org.pitest.mutationtest.engine.gregor.config.Mutator;
+
+public class ChangedLinesFilterTest {
+
+  private static final String        SOURCE = "org/pitest/mutationtest/build/intercept/scm/ChangedLinesFilterTest.java";
+
+  private ClassloaderByteArraySource source;
+  private GregorMutater              mutator;
+
+  @Before
+  public void setUp() {
+    this.source = ClassloaderByteArraySource.fromContext();
+    this.mutator = new GregorMutater(this.source, True.<MethodInfo> all(),
+        Mutator.defaults());
+  }
+
+  @Test
+  public void shouldDeclareTypeAsFilter() {
+    assertThat(new ChangedLinesFilter(Option.<ChangedLines> none()).type())
+        .isEqualTo(InterceptorType.FILTER);
+  }
+
+  @Test
+  public void shouldKeepAllMutationsWhenNoChangesSupplied() {
+    final List<MutationDetails> input = this.mutator.findMutations(ClassName
+        .fromClass(TwoMethods.class));
+    assertThat(analyse(new ChangedLinesFilter(Option.<ChangedLines> none())))
+        .containsExactlyElementsOf(input);
+  }
+
+  @Test
+  public void shouldKeepWholeMethodContainingChangedLine() {
+    final ChangedLines changes = new ChangedLines();
+    changes.addLines(SOURCE, lineOfFirstMutationIn("changed"), 1);
+
+    final Collection<MutationDetails> actual = analyse(new ChangedLinesFilter(
+        Option.some(changes)));
+    assertThat(actual).haveExactly(countIn("changed"), mutantsIn("changed"));
+    assertThat(actual).doNotHave(mutantsIn("unchanged"));
+  }
+
+  @Test
+  public void shouldFilterEverythingInUnchangedFiles() {
+    final ChangedLines changes = new ChangedLines();
+    changes.addLines("com/example/Other.java", 1, 1000);
+    assertThat(analyse(new ChangedLinesFilter(Option.some(changes))))
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldKeepEverythingInWhollyChangedFiles() {
+    final ChangedLines changes = new ChangedLines();
+    changes.addFile(SOURCE);
+    assertThat(analyse(new ChangedLinesFilter(Option.some(changes))))
+        .hasSize(countIn("changed") + countIn("unchanged"));
+  }
+
+  static class TwoMethods {
+    int changed(final int i) {
+      if (i > 2) {
+        return i + 1;
+      }
+      return i;
+    }
+
+    int unchanged(final int i) {
+      return i * 2;
+    }
+  }
+
+  private Collection<MutationDetails> analyse(final ChangedLinesFilter testee) {
+    final ClassName name = ClassName.fromClass(TwoMethods.class);
+    testee.begin(ClassTree.fromBytes(this.source.getBytes(name.asJavaName())
+        .value()));
+    final Collection<MutationDetails> actual = testee.intercept(
+        this.mutator.findMutations(name), this.mutator);
+    testee.end();
+    return actual;
+  }
+
+  private int lineOfFirstMutationIn(final String method) {
+    for (final MutationDetails each : this.mutator.findMutations(ClassName
+        .fromClass(TwoMethods.class))) {
+      if (mutantsIn(method).matches(each)) {
+        return each.getLineNumber();
+      }
+    }
+    throw new AssertionError("No mutations in " + method);
+  }
+
+  private int countIn(final String method) {
+    int count = 0;
+    for (final MutationDetails each : this.mutator.findMutations(ClassName
+        .fromClass(TwoMethods.class))) {
+      if (mutantsIn(method).matches(each)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static Condition<MutationDetails> mutantsIn(final String name) {
+    return new Condition<MutationDetails>("mutants in the method " + name) {
+      @Override
+      public boolean matches(final MutationDetails value) {
+        return value.getId().getLocation().getMethodName().name().equals(name);
+      }
+    };
+  }
+
+}
@@ -0,0 +1,71 @@
+package org.pitest.mutationtest.build.intercept.scm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+public class UnifiedDiffParserTest {
+
+  private final UnifiedDiffParser testee = new UnifiedDiffParser();
+
+  @Test
+  public void shouldRecordNewSideOfEachHunk() throws IOException {
+    final ChangedLines actual = parse(
+        "diff --git a/src/main/java/Foo.java b/src/main/java/Foo.java",
+        "index 1111111..2222222 100644",
+        "--- a/src/main/java/Foo.java",
+        "+++ b/src/main/java/Foo.java",
+        "@@ -10,2 +10,3 @@ public class Foo {",
+        "@@ -40 +41 @@ public class Foo {");
+    assertThat(actual.files()).containsExactly("src/main/java/Foo.java");
+    assertThat(actual.isChanged("src/main/java/Foo.java", 9)).isFalse();
+    assertThat(actual.isChanged("src/main/java/Foo.java", 10)).isTrue();
+    assertThat(actual.isChanged("src/main/java/Foo.java", 12)).isTrue();
+    assertThat(actual.isChanged("src/main/java/Foo.java", 13)).isFalse();
+    assertThat(actual.isChanged("src/main/java/Foo.java", 41)).isTrue();
+    assertThat(actual.isWholeFileChanged("src/main/java/Foo.java")).isFalse();
+  }
+
+  @Test
+  public void shouldMarkLinesAroundRemovedLines() throws IOException {
+    final ChangedLines actual = parse("+++ b/Foo.java", "@@ -5,2 +4,0 @@");
+    assertThat(actual.isChanged("Foo.java", 4)).isTrue();
+    assertThat(actual.isChanged("Foo.java", 5)).isTrue();
+    assertThat(actual.isChanged("Foo.java", 6)).isFalse();
+  }
+
+  @Test
+  public void shouldIgnoreDeletedFiles() throws IOException {
+    final ChangedLines actual = parse("--- a/Foo.java", "+++ /dev/null",
+        "@@ -1,3 +0,0 @@");
+    assertThat(actual.files()).isEmpty();
+  }
+
+  @Test
+  public void shouldTreatRenamedFilesAsWholelyChanged() throws IOException {
+    final ChangedLines actual = parse(
+        "diff --git a/old/Foo.java b/new/Foo.java", "similarity index 100%",
+        "rename from old/Foo.java", "rename to new/Foo.java");
+    assertThat(actual.isWholeFileChanged("new/Foo.java")).isTrue();
+    assertThat(actual.isChanged("new/Foo.java", 1)).isTrue();
+  }
+
+  @Test
+  public void shouldReadQuotedPaths() throws IOException {
+    final ChangedLines actual = parse("+++ \"b/with space/Foo.java\"",
+        "@@ -1 +1 @@");
+    assertThat(actual.isChanged("with space/Foo.java", 1)).isTrue();
+  }
+
+  private ChangedLines parse(final String... lines) throws IOException {
+    final StringBuilder diff = new StringBuilder();
+    for (final String each : lines) {
+      diff.append(each).append('\n');
+    }
+    return this.testee.parse(new StringReader(diff.toString()));
+  }
+
+}
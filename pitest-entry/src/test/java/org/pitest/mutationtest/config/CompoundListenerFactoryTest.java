@@ -14,6 +14,8 @@
  */
 package org.pitest.mutationtest.config;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -30,6 +32,7 @@ import org.mockito.MockitoAnnotations;
 import org.pitest.mutationtest.ListenerArguments;
 import org.pitest.mutationtest.MutationResultListener;
 import org.pitest.mutationtest.MutationResultListenerFactory;
+import org.pitest.mutationtest.OrderedMutationResultListener;
 
 public class CompoundListenerFactoryTest {
 
@@ -63,4 +66,30 @@ public class CompoundListenerFactoryTest {
     verify(listenerTwo, times(1)).runStart();
   }
 
+  @Test
+  public void shouldCreateAnOrderedListenerWhenAnyChildNeedsOrderedResults() {
+    when(
+        this.firstChild.getListener(any(Properties.class),
+            any(ListenerArguments.class))).thenReturn(
+        mock(MutationResultListener.class));
+    when(
+        this.secondChild.getListener(any(Properties.class),
+            any(ListenerArguments.class))).thenReturn(
+        mock(OrderedMutationResultListener.class));
+    assertTrue(this.testee.getListener(null, null) instanceof OrderedMutationResultListener);
+  }
+
+  @Test
+  public void shouldCreateAnUnorderedListenerWhenNoChildNeedsOrderedResults() {
+    when(
+        this.firstChild.getListener(any(Properties.class),
+            any(ListenerArguments.class))).thenReturn(
+        mock(MutationResultListener.class));
+    when(
+        this.secondChild.getListener(any(Properties.class),
+            any(ListenerArguments.class))).thenReturn(
+        mock(MutationResultListener.class));
+    assertFalse(this.testee.getListener(null, null) instanceof OrderedMutationResultListener);
+  }
+
 }
@@ -18,6 +18,10 @@ import org.pitest.coverage.execute.CoverageOptions;
 import org.pitest.coverage.export.NullCoverageExporter;
 import org.pitest.functional.SideEffect1;
 import org.pitest.help.PitHelpError;
+import org.pitest.mutationtest.build.DefaultMutationGrouperFactory;
+import org.pitest.mutationtest.build.DefaultTestPrioritiserFactory;
+import org.pitest.mutationtest.build.HistoricKillerTestPrioritiserFactory;
+import org.pitest.mutationtest.build.TestAffinityMutationGrouperFactory;
 import org.pitest.mutationtest.engine.gregor.config.GregorEngineFactory;
 import org.pitest.plugin.Feature;
 import org.pitest.testapi.TestGroupConfig;
@@ -112,6 +116,28 @@ public class SettingsFactoryTest {
     this.testee.createCoverageOptions();
   }
 
+  @Test
+  public void shouldUseDefaultGrouperWhenNoneRequested() {
+    assertTrue(this.testee.getMutationGrouper() instanceof DefaultMutationGrouperFactory);
+  }
+
+  @Test
+  public void shouldGroupMutationsByTestsWhenRequested() {
+    this.options.setGroupMutationsByTests(true);
+    assertTrue(this.testee.getMutationGrouper() instanceof TestAffinityMutationGrouperFactory);
+  }
+
+  @Test
+  public void shouldUseDefaultTestPrioritiserWhenHistoricKillersNotRequested() {
+    assertTrue(this.testee.getTestPrioritiser(null) instanceof DefaultTestPrioritiserFactory);
+  }
+
+  @Test
+  public void shouldPrioritiseHistoricKillersWhenRequested() {
+    this.options.setPrioritiseHistoricKillers(true);
+    assertTrue(this.testee.getTestPrioritiser(null) instanceof HistoricKillerTestPrioritiserFactory);
+  }
+
   @Test
   public void shouldDescribeActiveFeatures() {
     SideEffect1<Feature> disabled = Mockito.mock(SideEffect1.class);
@@ -0,0 +1,135 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeFalse;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.util.ExitCode;
+
+public class AndroidDevicePoolTest {
+
+  @Rule
+  public TemporaryFolder    folder  = new TemporaryFolder();
+
+  private AndroidDevicePool testee  = new AndroidDevicePool(Arrays.asList(
+                                        "emulator-5554", "emulator-5556"));
+
+  @Test
+  public void shouldLeaseEachDeviceToOneMinionAtATime() throws Exception {
+    final String first = this.testee.acquire();
+    final String second = this.testee.acquire();
+    assertThat(Arrays.asList(first, second)).containsOnly("emulator-5554",
+        "emulator-5556");
+
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<String> third = executor.submit(acquire());
+      assertThat(isBlocked(third)).isTrue();
+      this.testee.release(second);
+      assertThat(third.get(5, TimeUnit.SECONDS)).isEqualTo(second);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldReportNumberOfDevices() {
+    assertThat(this.testee.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldDiscoverDevicesThatAreReady() throws IOException {
+    assumeFalse(File.separatorChar == '\\');
+    final String adb = standInAdb("List of devices attached",
+        "emulator-5554\tdevice", "emulator-5556\toffline",
+        "R58M123ABC\tdevice", "");
+    assertThat(AndroidDevicePool.discover(adb)).containsExactly(
+        "emulator-5554", "R58M123ABC");
+  }
+
+  @Test
+  public void shouldDiscoverNoDevicesWhenAdbMissing() {
+    assertThat(
+        AndroidDevicePool.discover(this.folder.getRoot() + "/missing-adb"))
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldReturnDeviceWhenMinionFinishes() throws Exception {
+    final String device = this.testee.acquire();
+    final MutationTestProcess child = mock(MutationTestProcess.class);
+    when(child.waitToDie()).thenReturn(ExitCode.OK);
+    final DeviceLeasingMutationTestProcess process = new DeviceLeasingMutationTestProcess(
+        child, this.testee, device);
+    process.start();
+    process.waitToDie();
+    this.testee.acquire();
+    assertThat(this.testee.acquire()).isEqualTo(device);
+  }
+
+  @Test
+  public void shouldReturnDeviceWhenMinionFailsToStart() throws Exception {
+    final String device = this.testee.acquire();
+    final MutationTestProcess child = mock(MutationTestProcess.class);
+    doThrow(new IOException()).when(child).start();
+    final DeviceLeasingMutationTestProcess process = new DeviceLeasingMutationTestProcess(
+        child, this.testee, device);
+    try {
+      process.start();
+    } catch (final IOException ex) {
+      // expected
+    }
+    this.testee.acquire();
+    assertThat(this.testee.acquire()).isEqualTo(device);
+  }
+
+  private Callable<String> acquire() {
+    return new Callable<String>() {
+      @Override
+      public String call() throws Exception {
+        return AndroidDevicePoolTest.this.testee.acquire();
+      }
+    };
+  }
+
+  private static boolean isBlocked(final Future<String> future)
+      throws Exception {
+    try {
+      future.get(100, TimeUnit.MILLISECONDS);
+      return false;
+    } catch (final TimeoutException ex) {
+      return true;
+    }
+  }
+
+  // stand-in for adb that prints the given device list
+  private String standInAdb(final String... lines) throws IOException {
+    final StringBuilder contents = new StringBuilder("#!/bin/sh\n");
+    for (final String each : lines) {
+      contents.append("printf '%s\\n' '").append(each).append("'\n");
+    }
+    final Path script = this.folder.getRoot().toPath().resolve("adb");
+    Files.write(script, contents.toString().getBytes(StandardCharsets.UTF_8));
+    assertThat(script.toFile().setExecutable(true)).isTrue();
+    return script.toString();
+  }
+
+}
@@ -0,0 +1,100 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.functional.F;
+import org.pitest.process.ProcessArgs;
+
+public class MinionPoolTest {
+
+  private MinionPool           testee;
+
+  private List<ReusableMinion> launched;
+
+  private ProcessArgs          args;
+
+  @Before
+  public void setUp() {
+    this.launched = new ArrayList<>();
+    this.args = ProcessArgs.withClassPath("");
+    this.testee = new MinionPool(100, fakeLauncher());
+  }
+
+  @Test
+  public void shouldLaunchMinionWhenNoneIdle() {
+    final ReusableMinion actual = this.testee.acquire(this.args);
+    assertThat(this.launched).containsExactly(actual);
+  }
+
+  @Test
+  public void shouldReuseReleasedMinion() {
+    final ReusableMinion first = this.testee.acquire(this.args);
+    makeReusable(first);
+    this.testee.release(first);
+    assertThat(this.testee.acquire(this.args)).isSameAs(first);
+    assertThat(this.launched).hasSize(1);
+  }
+
+  @Test
+  public void shouldLaunchSeparateMinionsForConcurrentUsers() {
+    final ReusableMinion first = this.testee.acquire(this.args);
+    final ReusableMinion second = this.testee.acquire(this.args);
+    assertThat(first).isNotSameAs(second);
+    assertThat(this.launched).hasSize(2);
+  }
+
+  @Test
+  public void shouldShutDownMinionsThatCannotBeReused() {
+    final ReusableMinion first = this.testee.acquire(this.args);
+    this.testee.release(first);
+    verify(first).shutdown();
+    assertThat(this.testee.acquire(this.args)).isNotSameAs(first);
+  }
+
+  @Test
+  public void shouldShutDownIdleMinionsWhenPoolShutDown() {
+    final ReusableMinion first = this.testee.acquire(this.args);
+    final ReusableMinion second = this.testee.acquire(this.args);
+    makeReusable(first);
+    this.testee.release(first);
+    this.testee.shutdown();
+    verify(first).shutdown();
+    verify(second, never()).shutdown();
+  }
+
+  @Test
+  public void shouldPassMutationBudgetToMinions() {
+    final ReusableMinion first = this.testee.acquire(this.args);
+    this.testee.release(first);
+    verify(first).isReusable(100);
+  }
+
+  private void makeReusable(final ReusableMinion... minions) {
+    for (final ReusableMinion each : Arrays.asList(minions)) {
+      when(each.isReusable(anyInt())).thenReturn(true);
+    }
+  }
+
+  private F<ProcessArgs, ReusableMinion> fakeLauncher() {
+    return new F<ProcessArgs, ReusableMinion>() {
+      @Override
+      public ReusableMinion apply(final ProcessArgs a) {
+        final ReusableMinion minion = mock(ReusableMinion.class);
+        MinionPoolTest.this.launched.add(minion);
+        return minion;
+      }
+    };
+  }
+
+}
@@ -0,0 +1,136 @@
+package org.pitest.mutationtest.execute;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationMetaData;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.OrderedMutationResultListener;
+import org.pitest.mutationtest.build.MutationAnalysisUnit;
+import org.pitest.mutationtest.engine.MutationDetailsMother;
+import org.pitest.util.PitError;
+
+public class MutationAnalysisExecutorTest {
+
+  private final CountDownLatch secondUnitReported = new CountDownLatch(1);
+
+  @Test
+  public void shouldSendResultsToUnorderedListenersAsUnitsComplete() {
+    final RecordingListener listener = new RecordingListener();
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(2,
+        Collections.<MutationResultListener> singletonList(listener));
+
+    testee.run(slowFirstUnitThenFastUnit());
+
+    assertEquals(Arrays.asList("B", "A"), listener.classes);
+  }
+
+  @Test
+  public void shouldSendResultsToOrderedListenersInSubmissionOrder() {
+    final RecordingListener unordered = new RecordingListener();
+    final RecordingListener ordered = new OrderedRecordingListener();
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(2,
+        Arrays.<MutationResultListener> asList(unordered, ordered));
+
+    testee.run(slowFirstUnitThenFastUnit());
+
+    assertEquals(Arrays.asList("B", "A"), unordered.classes);
+    assertEquals(Arrays.asList("A", "B"), ordered.classes);
+  }
+
+  @Test
+  public void shouldSignalStartAndEndOfRun() {
+    final RecordingListener listener = new RecordingListener();
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(1,
+        Collections.<MutationResultListener> singletonList(listener));
+
+    testee.run(Collections.<MutationAnalysisUnit> emptyList());
+
+    assertEquals(Arrays.asList("start", "end"), listener.events);
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldReportErrorsFromUnits() {
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(1,
+        Collections.<MutationResultListener> emptyList());
+    testee.run(Collections.<MutationAnalysisUnit> singletonList(new Unit() {
+      @Override
+      public MutationMetaData call() throws Exception {
+        throw new IllegalStateException();
+      }
+    }));
+  }
+
+  private List<MutationAnalysisUnit> slowFirstUnitThenFastUnit() {
+    final MutationAnalysisUnit slow = new Unit() {
+      @Override
+      public MutationMetaData call() throws Exception {
+        MutationAnalysisExecutorTest.this.secondUnitReported.await(10,
+            TimeUnit.SECONDS);
+        return resultFor("A");
+      }
+    };
+    final MutationAnalysisUnit fast = new Unit() {
+      @Override
+      public MutationMetaData call() throws Exception {
+        return resultFor("B");
+      }
+    };
+    return Arrays.asList(slow, fast);
+  }
+
+  private static MutationMetaData resultFor(final String clazz) {
+    return new MutationMetaData(Collections.singletonList(new MutationResult(
+        MutationDetailsMother.makeMutation(ClassName.fromString(clazz)),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED))));
+  }
+
+  private abstract static class Unit implements MutationAnalysisUnit {
+    @Override
+    public int priority() {
+      return 0;
+    }
+  }
+
+  private class RecordingListener implements MutationResultListener {
+    final List<String> classes = Collections
+        .synchronizedList(new ArrayList<String>());
+    final List<String> events  = new ArrayList<>();
+
+    @Override
+    public void runStart() {
+      this.events.add("start");
+    }
+
+    @Override
+    public void handleMutationResult(final ClassMutationResults results) {
+      final String clazz = results.getMutatedClass().asJavaName();
+      this.classes.add(clazz);
+      if (clazz.equals("B")) {
+        MutationAnalysisExecutorTest.this.secondUnitReported.countDown();
+      }
+    }
+
+    @Override
+    public void runEnd() {
+      this.events.add("end");
+    }
+  }
+
+  private class OrderedRecordingListener extends RecordingListener implements
+      OrderedMutationResultListener {
+  }
+
+}
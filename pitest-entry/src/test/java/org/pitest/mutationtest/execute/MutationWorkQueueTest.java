@@ -0,0 +1,127 @@
+package org.pitest.mutationtest.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+import static org.pitest.mutationtest.engine.MutationDetailsMother.aMutationDetail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+public class MutationWorkQueueTest {
+
+  private final MutationDetails a = aMutationDetail().withId(
+      aMutationId().withIndex(1)).build();
+  private final MutationDetails b = aMutationDetail().withId(
+      aMutationId().withIndex(2)).build();
+  private final MutationDetails c = aMutationDetail().withId(
+      aMutationId().withIndex(3)).build();
+
+  private final List<ClassName> thiefTests = Collections.singletonList(
+      ClassName.fromString("ThiefTest"));
+  private final List<ClassName> victimTests = Collections.singletonList(
+      ClassName.fromString("VictimTest"));
+  private final List<ClassName> otherTests = Collections.singletonList(
+      ClassName.fromString("OtherTest"));
+
+  @Test
+  public void shouldHandOutMutationsInBatchesInOrder() {
+    final MutationWorkQueue testee = new MutationWorkQueue(Arrays.asList(
+        this.a, this.b, this.c), 2);
+    assertEquals(Arrays.asList(this.a, this.b), testee.nextBatch());
+    assertEquals(Collections.singletonList(this.c), testee.nextBatch());
+  }
+
+  @Test
+  public void shouldReturnEmptyBatchWhenExhausted() {
+    final MutationWorkQueue testee = new MutationWorkQueue(
+        Collections.singletonList(this.a), 1);
+    testee.nextBatch();
+    final List<MutationDetails> actual = testee.nextBatch();
+    assertTrue(actual.isEmpty());
+    assertTrue(testee.isEmpty());
+  }
+
+  @Test
+  public void shouldReportWhenWorkRemains() {
+    final MutationWorkQueue testee = new MutationWorkQueue(
+        Collections.singletonList(this.a), 1);
+    assertFalse(testee.isEmpty());
+  }
+
+  @Test
+  public void shouldTakeWorkOfBusiestOtherQueueOnceOwnIsExhausted() {
+    final WorkSharing sharing = new WorkSharing();
+    final MutationWorkQueue thief = new MutationWorkQueue(
+        Collections.<MutationDetails> emptyList(), 1, this.thiefTests, sharing);
+    new MutationWorkQueue(Collections.singletonList(this.a), 1,
+        this.otherTests, sharing);
+    final MutationWorkQueue busiest = new MutationWorkQueue(Arrays.asList(
+        this.b, this.c), 1, this.victimTests, sharing);
+
+    final MutationWorkQueue.Batch actual = thief.take();
+
+    assertEquals(Collections.singletonList(this.b), actual.mutations);
+    assertEquals(this.victimTests, actual.testClasses);
+    assertEquals(1, busiest.size());
+  }
+
+  @Test
+  public void shouldNotTakeWorkOfFinishedQueues() {
+    final WorkSharing sharing = new WorkSharing();
+    final MutationWorkQueue thief = new MutationWorkQueue(
+        Collections.<MutationDetails> emptyList(), 1, this.thiefTests, sharing);
+    final MutationWorkQueue victim = new MutationWorkQueue(
+        Collections.singletonList(this.a), 1, this.victimTests, sharing);
+    victim.finish();
+
+    assertTrue(thief.take().mutations.isEmpty());
+  }
+
+  @Test
+  public void shouldPassResultsOfTakenWorkBackToItsQueue() {
+    final WorkSharing sharing = new WorkSharing();
+    final MutationWorkQueue thief = new MutationWorkQueue(
+        Collections.<MutationDetails> emptyList(), 1, this.thiefTests, sharing);
+    final MutationWorkQueue victim = new MutationWorkQueue(
+        Collections.singletonList(this.a), 1, this.victimTests, sharing);
+    final MutationStatusTestPair status = new MutationStatusTestPair(1,
+        DetectionStatus.KILLED, "foo");
+
+    thief.take();
+    thief.reported(this.a.getId(), status);
+    victim.awaitLent();
+
+    assertEquals(status, victim.lentResult(this.a.getId()));
+  }
+
+  @Test
+  public void shouldGiveBackUnreportedWorkWhenThiefFinishes() {
+    final WorkSharing sharing = new WorkSharing();
+    final MutationWorkQueue thief = new MutationWorkQueue(
+        Collections.<MutationDetails> emptyList(), 1, this.thiefTests, sharing);
+    final MutationWorkQueue victim = new MutationWorkQueue(
+        Collections.singletonList(this.a), 1, this.victimTests, sharing);
+
+    thief.take();
+    thief.finish();
+    victim.awaitLent();
+
+    assertNull(victim.lentResult(this.a.getId()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectBatchSizesBelowOne() {
+    new MutationWorkQueue(Collections.singletonList(this.a), 0);
+  }
+
+}
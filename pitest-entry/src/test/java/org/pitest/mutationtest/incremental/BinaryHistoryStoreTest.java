@@ -0,0 +1,242 @@
+package org.pitest.mutationtest.incremental;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassIdentifier;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+public class BinaryHistoryStoreTest {
+
+  private static final String COV = BigInteger.TEN.toString(16);
+
+  @Rule
+  public TemporaryFolder      folder = new TemporaryFolder();
+
+  @Mock
+  private CoverageDatabase    coverage;
+
+  private File                file;
+
+  @Before
+  public void setUp() throws IOException {
+    MockitoAnnotations.initMocks(this);
+    when(this.coverage.getCoverageIdForClass(any(ClassName.class))).thenReturn(
+        BigInteger.TEN);
+    this.file = new File(this.folder.getRoot(), "history.bin");
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveClassPath() {
+    final ClassHistory foo = new ClassHistory(new HierarchicalClassId(
+        new ClassIdentifier(1, ClassName.fromString("foo")), "a"), COV);
+    final ClassHistory bar = new ClassHistory(new HierarchicalClassId(
+        new ClassIdentifier(2, ClassName.fromString("bar")), "b"), COV);
+
+    final BinaryHistoryStore writer = writer();
+    writer.recordClassPath(Arrays.asList(foo.getId(), bar.getId()),
+        this.coverage);
+    writer.close();
+
+    final Map<ClassName, ClassHistory> expected = new HashMap<>();
+    expected.put(foo.getName(), foo);
+    expected.put(bar.getName(), bar);
+    assertEquals(expected, reader().getHistoricClassPath());
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveResults() {
+    final MutationResult foo = makeResult("foo", DetectionStatus.KILLED);
+    final MutationResult bar = makeResult("bar", DetectionStatus.SURVIVED);
+
+    final BinaryHistoryStore writer = writer();
+    writer.recordResult(foo);
+    writer.recordResult(bar);
+    writer.close();
+
+    final Map<MutationIdentifier, MutationStatusTestPair> expected = new HashMap<>();
+    expected.put(foo.getDetails().getId(), foo.getStatusTestPair());
+    expected.put(bar.getDetails().getId(), bar.getStatusTestPair());
+    assertEquals(expected, reader().getHistoricResults());
+  }
+
+  @Test
+  public void shouldLookUpResultsWithoutReadingWholeHistory() {
+    final MutationResult foo = makeResult("foo", DetectionStatus.KILLED);
+    final BinaryHistoryStore writer = writer();
+    writer.recordResult(foo);
+    writer.recordResult(makeResult("bar", DetectionStatus.SURVIVED));
+    writer.close();
+
+    final Map<MutationIdentifier, MutationStatusTestPair> actual = reader()
+        .getHistoricResults();
+
+    assertEquals(foo.getStatusTestPair(), actual.get(foo.getDetails().getId()));
+    assertNull(actual.get(makeResult("baz", DetectionStatus.KILLED)
+        .getDetails().getId()));
+  }
+
+  @Test
+  public void shouldReturnResultsForOneClass() {
+    final MutationResult foo = makeResult("foo", DetectionStatus.KILLED);
+    final BinaryHistoryStore writer = writer();
+    writer.recordResult(foo);
+    writer.recordResult(makeResult("bar", DetectionStatus.SURVIVED));
+    writer.close();
+
+    final BinaryHistoryStore testee = reader();
+    assertEquals(Collections.singletonMap(foo.getDetails().getId(),
+        foo.getStatusTestPair()),
+        testee.getHistoricResultsFor(ClassName.fromString("foo")));
+    assertThat(testee.getHistoricResultsFor(ClassName.fromString("baz")))
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldReturnEmptyHistoryWhenNoInputSupplied() {
+    final BinaryHistoryStore testee = new BinaryHistoryStore(
+        Option.<File> none(), Option.<File> none());
+    testee.initialize();
+    testee.recordResult(makeResult("foo", DetectionStatus.KILLED));
+    testee.close();
+    assertThat(testee.getHistoricResults()).isEmpty();
+    assertThat(testee.getHistoricClassPath()).isEmpty();
+  }
+
+  @Test
+  public void shouldReadRecordsBeforeATruncatedRecord() throws IOException {
+    final MutationResult foo = makeResult("foo", DetectionStatus.KILLED);
+    final BinaryHistoryStore writer = writer();
+    writer.recordResult(foo);
+    writer.recordResult(makeResult("bar", DetectionStatus.KILLED));
+    writer.close();
+
+    try (RandomAccessFile raf = new RandomAccessFile(this.file, "rw")) {
+      raf.setLength(raf.length() - 3);
+    }
+
+    final Map<MutationIdentifier, MutationStatusTestPair> actual = reader()
+        .getHistoricResults();
+    assertThat(actual).hasSize(1);
+    assertEquals(foo.getStatusTestPair(), actual.get(foo.getDetails().getId()));
+  }
+
+  @Test
+  public void shouldReadAndRewriteTheSameFile() {
+    final MutationResult foo = makeResult("foo", DetectionStatus.KILLED);
+    final BinaryHistoryStore first = writer();
+    first.recordResult(foo);
+    first.close();
+
+    final BinaryHistoryStore second = new BinaryHistoryStore(
+        Option.some(this.file), Option.some(this.file));
+    second.initialize();
+    second.recordResult(makeResult("bar", DetectionStatus.SURVIVED));
+    second.close();
+
+    assertEquals(foo.getStatusTestPair(),
+        second.getHistoricResults().get(foo.getDetails().getId()));
+    assertThat(reader().getHistoricResults()).hasSize(1);
+  }
+
+  @Test
+  public void shouldReadHistoryInXmlFormat() throws IOException {
+    final File xml = writeXmlHistory();
+    final BinaryHistoryStore testee = new BinaryHistoryStore(Option.some(xml),
+        Option.<File> none());
+    testee.initialize();
+
+    assertThat(testee.getHistoricClassPath()).containsKey(
+        ClassName.fromString("foo"));
+    assertThat(testee.getHistoricResults()).hasSize(1);
+  }
+
+  @Test
+  public void shouldConvertXmlHistoryToBinary() throws IOException {
+    final File xml = writeXmlHistory();
+
+    XmlHistoryConverter.convert(xml, this.file);
+
+    final BinaryHistoryStore actual = reader();
+    assertThat(actual.getHistoricClassPath()).containsKey(
+        ClassName.fromString("foo"));
+    assertThat(actual.getHistoricResults()).hasSize(1);
+  }
+
+  private File writeXmlHistory() throws IOException {
+    final File xml = this.folder.newFile("history.xml");
+    final PrintWriter out = new PrintWriter(new OutputStreamWriter(
+        new FileOutputStream(xml), "UTF-8"));
+    final XStreamHistoryStore store = new XStreamHistoryStore(
+        new WriterFactory() {
+          @Override
+          public PrintWriter create() {
+            return out;
+          }
+
+          @Override
+          public void close() {
+            out.close();
+          }
+        }, Option.<Reader> none());
+    store.recordClassPath(Arrays.asList(new HierarchicalClassId(
+        new ClassIdentifier(0, ClassName.fromString("foo")), "")),
+        this.coverage);
+    store.recordResult(makeResult("foo", DetectionStatus.KILLED));
+    out.close();
+    return xml;
+  }
+
+  private BinaryHistoryStore writer() {
+    return new BinaryHistoryStore(Option.<File> none(), Option.some(this.file));
+  }
+
+  private BinaryHistoryStore reader() {
+    final BinaryHistoryStore store = new BinaryHistoryStore(
+        Option.some(this.file), Option.<File> none());
+    store.initialize();
+    return store;
+  }
+
+  private static MutationResult makeResult(final String clazz,
+      final DetectionStatus status) {
+    final MutationDetails details = new MutationDetails(aMutationId()
+        .withLocation(aLocation(clazz)).build(), "file", "desc", 42, 0);
+    return new MutationResult(details, new MutationStatusTestPair(1, status,
+        "testName"));
+  }
+
+}
@@ -129,6 +129,19 @@ public class MutationStatisticsPrecursorTest {
     assertEquals(">> Ran 43 tests (21.5 tests per mutation)", actual[1]);
   }
 
+  @Test
+  public void shouldReportNumberOfTestsRunAgainstKilledMutations() {
+    this.testee.registerResults(Arrays.asList(
+        makeResult(DetectionStatus.SURVIVED, 10),
+        makeResult(DetectionStatus.KILLED, 1),
+        makeResult(DetectionStatus.KILLED, 4),
+        makeResult(DetectionStatus.KILLED, 0)));
+    final String[] actual = generateReportLines();
+    assertEquals(
+        ">> Ran 5 tests against killed mutations (2.5 tests per killed mutation)",
+        actual[2]);
+  }
+
   private F<Score, Boolean> hasResultForMutator(final String mutator) {
     return new F<Score, Boolean>() {
 
@@ -22,9 +22,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import org.antlr.stringtemplate.StringTemplate;
@@ -41,9 +49,21 @@ import org.pitest.util.FileUtil;
 import org.pitest.util.IsolationUtils;
 import org.pitest.util.Log;
 import org.pitest.util.ResultOutputStrategy;
-
+import org.pitest.util.Unchecked;
+
+/**
+ * Writes the html report. Source file pages are rendered on a small pool of
+ * threads as results arrive, each from a snapshot of the results for its file
+ * at that time. Later results for a file replace its page, so the page left
+ * on disk always reflects everything received. Package and overall totals are
+ * kept as results arrive, and the index pages are written at the end of the
+ * run.
+ */
 public class MutationHtmlReportListener implements MutationResultListener {
 
+  private static final int                RENDER_THREADS     = Math.max(1,
+      Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
   private final ResultOutputStrategy      outputStrategy;
 
   private final Collection<SourceLocator> sourceRoots;
@@ -54,6 +74,15 @@ public class MutationHtmlReportListener implements MutationResultListener {
 
   private final String                    css;
 
+  // caches compiled templates, lookups are synchronized
+  private final StringTemplateGroup       group              = new StringTemplateGroup(
+      "mutation_test");
+
+  // only accessed from the thread reporting results
+  private final Map<String, SourcePage>   pages              = new HashMap<>();
+  private final List<Future<?>>           rendering          = new ArrayList<>();
+  private final ThreadPoolExecutor        renderers;
+
   public MutationHtmlReportListener(final CoverageDatabase coverage,
       final ResultOutputStrategy outputStrategy,
       Collection<String> mutatorNames, final SourceLocator... locators) {
@@ -62,6 +91,24 @@ public class MutationHtmlReportListener implements MutationResultListener {
     this.sourceRoots = new HashSet<>(Arrays.asList(locators));
     this.mutatorNames = new HashSet<>(mutatorNames);
     this.css = loadCss();
+    // a full queue makes the reporting thread render pages itself, which
+    // stops pending snapshots piling up in memory
+    this.renderers = new ThreadPoolExecutor(RENDER_THREADS, RENDER_THREADS,
+        10, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(
+            RENDER_THREADS * 4), renderThreadFactory(),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+    this.renderers.allowCoreThreadTimeOut(true);
+  }
+
+  private static ThreadFactory renderThreadFactory() {
+    return new ThreadFactory() {
+      @Override
+      public Thread newThread(final Runnable r) {
+        final Thread t = new Thread(r, "pit-html-report");
+        t.setDaemon(true);
+        return t;
+      }
+    };
   }
 
   private String loadCss() {
@@ -76,15 +123,28 @@ public class MutationHtmlReportListener implements MutationResultListener {
 
   private void generateAnnotatedSourceFile(
       final MutationTestSummaryData mutationMetaData) {
+    final String fileName = pageName(mutationMetaData);
+    SourcePage page = this.pages.get(fileName);
+    if (page == null) {
+      page = new SourcePage(fileName);
+      this.pages.put(fileName, page);
+    }
+    if (page.offer(mutationMetaData.snapshot())) {
+      this.rendering.add(this.renderers.submit(page));
+    }
+  }
 
+  private static String pageName(final MutationTestSummaryData data) {
+    return data.getPackageName() + File.separator + data.getFileName()
+        + ".html";
+  }
 
-    final String fileName = mutationMetaData.getPackageName()
-        + File.separator + mutationMetaData.getFileName() + ".html";
+  private void writeAnnotatedSourceFile(final String fileName,
+      final MutationTestSummaryData mutationMetaData) {
 
     try (Writer writer = this.outputStrategy.createWriterForFile(fileName)) {
 
-      final StringTemplateGroup group = new StringTemplateGroup("mutation_test");
-      final StringTemplate st = group
+      final StringTemplate st = this.group
           .getInstanceOf("templates/mutation/mutation_report");
       st.setAttribute("css", this.css);
 
@@ -97,8 +157,7 @@ public class MutationHtmlReportListener implements MutationResultListener {
       st.setAttribute("sourceFile", sourceFile);
       st.setAttribute("mutatedClasses", mutationMetaData.getMutatedClasses());
 
-      writer.write(st.toString());
-
+      render(st, writer);
 
     } catch (final IOException ex) {
       Log.getLogger().log(Level.WARNING, "Error while writing report", ex);
@@ -180,8 +239,30 @@ public class MutationHtmlReportListener implements MutationResultListener {
   }
 
   public void onRunEnd() {
-    createIndexPages();
-    createCssFile();
+    runEnd();
+  }
+
+  private void render(final StringTemplate st, final Writer writer)
+      throws IOException {
+    // streams the page rather than building it as a string first
+    st.write(this.group.getStringTemplateWriter(writer));
+  }
+
+  private void awaitRendering() {
+    try {
+      for (final Future<?> each : this.rendering) {
+        each.get();
+      }
+    } catch (final InterruptedException e) {
+      throw Unchecked.translateCheckedException(e);
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw Unchecked.translateCheckedException(e.getCause());
+    } finally {
+      this.rendering.clear();
+    }
   }
 
   private void createCssFile() {
@@ -196,25 +277,22 @@ public class MutationHtmlReportListener implements MutationResultListener {
 
   private void createIndexPages() {
 
-    final StringTemplateGroup group = new StringTemplateGroup("mutation_test");
-    final StringTemplate st = group
+    final StringTemplate st = this.group
         .getInstanceOf("templates/mutation/mutation_package_index");
 
     final Writer writer = this.outputStrategy.createWriterForFile("index.html");
-    final MutationTotals totals = new MutationTotals();
 
     final List<PackageSummaryData> psd = new ArrayList<>(
         this.packageSummaryData.values());
     Collections.sort(psd);
     for (final PackageSummaryData psData : psd) {
-      totals.add(psData.getTotals());
       createPackageIndexPage(psData);
     }
 
-    st.setAttribute("totals", totals);
+    st.setAttribute("totals", this.packageSummaryData.getTotals());
     st.setAttribute("packageSummaries", psd);
     try {
-      writer.write(st.toString());
+      render(st, writer);
       writer.close();
     } catch (final IOException e) {
       e.printStackTrace();
@@ -223,15 +301,14 @@ public class MutationHtmlReportListener implements MutationResultListener {
   }
 
   private void createPackageIndexPage(final PackageSummaryData psData) {
-    final StringTemplateGroup group = new StringTemplateGroup("mutation_test");
-    final StringTemplate st = group
+    final StringTemplate st = this.group
         .getInstanceOf("templates/mutation/package_index");
 
     final Writer writer = this.outputStrategy.createWriterForFile(psData
         .getPackageDirectory() + File.separator + "index.html");
     st.setAttribute("packageData", psData);
     try {
-      writer.write(st.toString());
+      render(st, writer);
       writer.close();
     } catch (final IOException e) {
       e.printStackTrace();
@@ -247,6 +324,11 @@ public class MutationHtmlReportListener implements MutationResultListener {
 
   @Override
   public void runEnd() {
+    try {
+      awaitRendering();
+    } finally {
+      this.renderers.shutdown();
+    }
     createIndexPages();
     createCssFile();
   }
@@ -260,4 +342,53 @@ public class MutationHtmlReportListener implements MutationResultListener {
 
   }
 
-}
\ No newline at end of file
+  /**
+   * The page for one source file. Renders the latest snapshot offered to it,
+   * one render at a time, so an older snapshot can never overwrite a newer
+   * one.
+   */
+  private final class SourcePage implements Runnable {
+
+    private final String            fileName;
+    private final Object            renderLock = new Object();
+
+    // guarded by this
+    private MutationTestSummaryData latest;
+    private boolean                 queued;
+
+    SourcePage(final String fileName) {
+      this.fileName = fileName;
+    }
+
+    /**
+     * @return true if the page needs to be queued to render the data
+     */
+    synchronized boolean offer(final MutationTestSummaryData data) {
+      this.latest = data;
+      if (this.queued) {
+        return false;
+      }
+      this.queued = true;
+      return true;
+    }
+
+    private synchronized MutationTestSummaryData take() {
+      final MutationTestSummaryData data = this.latest;
+      this.latest = null;
+      this.queued = false;
+      return data;
+    }
+
+    @Override
+    public void run() {
+      synchronized (this.renderLock) {
+        final MutationTestSummaryData data = take();
+        if (data != null) {
+          writeAnnotatedSourceFile(this.fileName, data);
+        }
+      }
+    }
+
+  }
+
+}
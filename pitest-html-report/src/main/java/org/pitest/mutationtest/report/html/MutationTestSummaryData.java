@@ -34,6 +34,8 @@ public class MutationTestSummaryData {
   private final Set<ClassInfo>             classes   = new HashSet<>();
 
   private long                             numberOfCoveredLines;
+  private long                             numberOfLines;
+  private long                             numberOfMutationsDetected;
 
   public MutationTestSummaryData(final String fileName,
       final Collection<MutationResult> results,
@@ -44,18 +46,30 @@ public class MutationTestSummaryData {
     this.mutators.addAll(mutators);
     this.classes.addAll(classes);
     this.numberOfCoveredLines = numberOfCoveredLines;
+    this.numberOfLines = FCollection.fold(accumulateCodeLines(), 0,
+        this.classes);
+    this.numberOfMutationsDetected = countDetected(results);
   }
 
   public MutationTotals getTotals() {
     final MutationTotals mt = new MutationTotals();
     mt.addFiles(1);
-    mt.addMutations(this.getNumberOfMutations());
-    mt.addMutationsDetetcted(this.getNumberOfMutationsDetected());
-    mt.addLines(getNumberOfLines());
+    mt.addMutations(this.mutations.size());
+    mt.addMutationsDetetcted(this.numberOfMutationsDetected);
+    mt.addLines(this.numberOfLines);
     mt.addLinesCovered(this.numberOfCoveredLines);
     return mt;
   }
 
+  /**
+   * A copy of this data that is unaffected by results added later, so that it
+   * can be rendered on another thread.
+   */
+  public MutationTestSummaryData snapshot() {
+    return new MutationTestSummaryData(this.fileName, this.mutations,
+        this.mutators, this.classes, this.numberOfCoveredLines);
+  }
+
   public String getPackageName() {
     final String packageName = getMutatedClasses().iterator().next().getName()
         .asJavaName();
@@ -63,14 +77,33 @@ public class MutationTestSummaryData {
     return lastDot > 0 ? packageName.substring(0, lastDot) : "default";
   }
 
-  public void add(final MutationTestSummaryData data) {
+  /**
+   * Merges in further results for the same file.
+   *
+   * @return the amount by which the totals of this file grew, files excluded
+   */
+  public MutationTotals add(final MutationTestSummaryData data) {
+    final MutationTotals added = new MutationTotals();
     this.mutations.addAll(data.mutations);
+    this.numberOfMutationsDetected += data.numberOfMutationsDetected;
+    added.addMutations(data.mutations.size());
+    added.addMutationsDetetcted(data.numberOfMutationsDetected);
+
     this.mutators.addAll(data.getMutators());
-    final int classesBefore = this.classes.size();
-    this.classes.addAll(data.classes);
-    if (classesBefore < this.classes.size()) {
+
+    boolean newClasses = false;
+    for (final ClassInfo each : data.classes) {
+      if (this.classes.add(each)) {
+        newClasses = true;
+        this.numberOfLines += each.getNumberOfCodeLines();
+        added.addLines(each.getNumberOfCodeLines());
+      }
+    }
+    if (newClasses) {
       this.numberOfCoveredLines += data.numberOfCoveredLines;
+      added.addLinesCovered(data.numberOfCoveredLines);
     }
+    return added;
   }
 
   public Collection<TestInfo> getTests() {
@@ -100,10 +133,6 @@ public class MutationTestSummaryData {
     return this.classes;
   }
 
-  private int getNumberOfLines() {
-    return FCollection.fold(accumulateCodeLines(), 0, this.classes);
-  }
-
   private F2<Integer, ClassInfo, Integer> accumulateCodeLines() {
     return new F2<Integer, ClassInfo, Integer>() {
 
@@ -115,13 +144,10 @@ public class MutationTestSummaryData {
     };
   }
 
-  private long getNumberOfMutations() {
-    return this.mutations.size();
-  }
-
-  private long getNumberOfMutationsDetected() {
+  private static long countDetected(
+      final Collection<MutationResult> results) {
     int count = 0;
-    for (final MutationResult each : this.mutations) {
+    for (final MutationResult each : results) {
       if (each.getStatus().isDetected()) {
         count++;
       }
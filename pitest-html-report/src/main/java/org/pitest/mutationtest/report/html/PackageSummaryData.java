@@ -10,20 +10,27 @@ public class PackageSummaryData implements Comparable<PackageSummaryData> {
 
   private final String                               packageName;
   private final Map<String, MutationTestSummaryData> fileNameToSummaryData = new HashMap<>();
+  private final MutationTotals                       totals                = new MutationTotals();
 
   public PackageSummaryData(final String packageName) {
     this.packageName = packageName;
   }
 
-  public void addSummaryData(final MutationTestSummaryData data) {
+  /**
+   * @return the amount by which the totals of this package grew
+   */
+  public MutationTotals addSummaryData(final MutationTestSummaryData data) {
     final MutationTestSummaryData existing = this.fileNameToSummaryData
         .get(data.getFileName());
+    final MutationTotals added;
     if (existing == null) {
       this.fileNameToSummaryData.put(data.getFileName(), data);
+      added = data.getTotals();
     } else {
-      existing.add(data);
+      added = existing.add(data);
     }
-
+    this.totals.add(added);
+    return added;
   }
 
   public MutationTestSummaryData getForSourceFile(final String filename) {
@@ -32,10 +39,7 @@ public class PackageSummaryData implements Comparable<PackageSummaryData> {
 
   public MutationTotals getTotals() {
     final MutationTotals mt = new MutationTotals();
-    for (final MutationTestSummaryData each : this.fileNameToSummaryData
-        .values()) {
-      mt.add(each.getTotals());
-    }
+    mt.add(this.totals);
     return mt;
   }
 
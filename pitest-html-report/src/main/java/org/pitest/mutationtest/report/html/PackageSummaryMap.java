@@ -7,6 +7,7 @@ import java.util.TreeMap;
 public class PackageSummaryMap {
 
   private final Map<String, PackageSummaryData> packageSummaryData = new TreeMap<>();
+  private final MutationTotals                  totals             = new MutationTotals();
 
   private PackageSummaryData getPackageSummaryData(final String packageName) {
     PackageSummaryData psData;
@@ -22,10 +23,16 @@ public class PackageSummaryMap {
   public PackageSummaryData update(final String packageName,
       final MutationTestSummaryData data) {
     final PackageSummaryData psd = getPackageSummaryData(packageName);
-    psd.addSummaryData(data);
+    this.totals.add(psd.addSummaryData(data));
     return psd;
   }
 
+  public MutationTotals getTotals() {
+    final MutationTotals mt = new MutationTotals();
+    mt.add(this.totals);
+    return mt;
+  }
+
   public Collection<PackageSummaryData> values() {
     return this.packageSummaryData.values();
   }
@@ -16,9 +16,11 @@ package org.pitest.mutationtest.report.html;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
 import java.io.Reader;
 import java.io.Writer;
 import java.util.Collection;
@@ -94,7 +96,24 @@ public class MutationHtmlReportListenerTest {
         .thenReturn(Option.<Reader> none());
     this.testee.handleMutationResult(MutationTestResultMother
         .createClassResults(mr));
+    this.testee.onRunEnd();
     verify(this.sourceLocator).locate(any(Collection.class), eq(fileName));
   }
 
+  @Test
+  public void shouldWriteSourceFilePagesBeforeTheRunEnds() throws Exception {
+    final MutationResult mr = new MutationResult(
+        MutationTestResultMother.createDetails("foo.java"),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "testName"));
+    when(this.sourceLocator.locate(any(Collection.class), any(String.class)))
+        .thenReturn(Option.<Reader> none());
+    for (int i = 0; i != 20; i++) {
+      this.testee.handleMutationResult(MutationTestResultMother
+          .createClassResults(mr));
+    }
+    this.testee.onRunEnd();
+    verify(this.outputStrategy, atLeastOnce()).createWriterForFile(
+        "default" + File.separator + "foo.java.html");
+  }
+
 }
@@ -23,6 +23,15 @@ public class PackageSummaryDataTest {
 
   }
 
+  @Test
+  public void shouldTotalDataAddedForEachFile() {
+    final PackageSummaryData testee = new PackageSummaryData("foo");
+    testee.addSummaryData(makeSummaryData("a"));
+    testee.addSummaryData(makeSummaryData("a"));
+    testee.addSummaryData(makeSummaryData("b"));
+    assertEquals(2, testee.getTotals().getNumberOfFiles());
+  }
+
   @Test
   public void shouldSortByPackageName() {
     final PackageSummaryData aa = new PackageSummaryData("aa");
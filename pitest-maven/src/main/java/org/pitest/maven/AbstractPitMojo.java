@@ -88,17 +88,34 @@ public class AbstractPitMojo extends AbstractMojo {
   private File                        reportsDirectory;
 
   /**
-   * File to write history information to for incremental analysis
+   * File to write history information to for incremental analysis. History
+   * is written in a binary format, which earlier versions of pitest cannot
+   * read, so a file shared with them is not usable by them once written.
    */
   @Parameter(property = "historyOutputFile")
   private File                        historyOutputFile;
 
   /**
    * File to read history from for incremental analysis (can be same as output
-   * file)
+   * file). History in the older XML format is still read.
    */
   @Parameter(property = "historyInputFile")
   private File                        historyInputFile;
+
+  /**
+   * File in which to keep the results of analysing classes between runs, so
+   * unchanged classes are not analysed again
+   */
+  @Parameter(property = "classMetadataCacheFile")
+  private File                        classMetadataCacheFile;
+
+  /**
+   * File in which to keep the test classes that cover each class between
+   * runs, so scmMutationCoverage can skip tests that do not reach the changed
+   * classes
+   */
+  @Parameter(property = "coverageIndexFile")
+  private File                        coverageIndexFile;
   
   /**
    * Convenience flag to read and write history to a local temp file.
@@ -107,6 +124,12 @@ public class AbstractPitMojo extends AbstractMojo {
    * 
    * Where file is a file named [groupid][artifactid][version]_pitest_history.bin in the temp directory
    * 
+   * Unless classMetadataCacheFile is set, the results of analysing classes are
+   * also kept in [groupid][artifactid][version]_pitest_class_metadata.bin
+   * 
+   * Unless coverageIndexFile is set, the test classes covering each class are
+   * also kept in [groupid][artifactid][version]_pitest_coverage_index.bin
+   * 
    */
   @Parameter(defaultValue = "false", property = "withHistory")
   private boolean                     withHistory;  
@@ -125,6 +148,27 @@ public class AbstractPitMojo extends AbstractMojo {
   @Parameter(defaultValue = "1", property = "threads")
   private int                         threads;
 
+  /**
+   * Reuse minion processes between mutation test units rather than launching a
+   * new JVM for each unit. Each unit loads the classes under test afresh, so
+   * their static state is not shared between units.
+   */
+  @Parameter(defaultValue = "false", property = "reuseMinions")
+  private boolean                     reuseMinions;
+
+  /**
+   * Number of mutations a reused minion may process before it is replaced
+   */
+  @Parameter(defaultValue = "1000", property = "minionMutationBudget")
+  private int                         minionMutationBudget;
+
+  /**
+   * Percentage of its maximum heap a reused minion may fill before it is
+   * replaced
+   */
+  @Parameter(defaultValue = "70", property = "minionHeapBudget")
+  private int                         minionHeapBudget;
+
   /**
    * Mutate static initializers
    */
@@ -220,6 +264,20 @@ public class AbstractPitMojo extends AbstractMojo {
   @Parameter(property = "mutationUnitSize")
   private int                         mutationUnitSize;
 
+  /**
+   * Group mutations covered by the same test classes into analysis units,
+   * rather than mutations of the same class
+   */
+  @Parameter(defaultValue = "false", property = "groupMutationsByTests")
+  private boolean                     groupMutationsByTests;
+
+  /**
+   * Run first the tests that killed the same or nearby mutations in the
+   * history of earlier analyses
+   */
+  @Parameter(defaultValue = "false", property = "prioritiseHistoricKillers")
+  private boolean                     prioritiseHistoricKillers;
+
   /**
    * Export line coverage data
    */
@@ -474,6 +532,18 @@ public class AbstractPitMojo extends AbstractMojo {
     return this.threads;
   }
 
+  public boolean isReuseMinions() {
+    return this.reuseMinions;
+  }
+
+  public int getMinionMutationBudget() {
+    return this.minionMutationBudget;
+  }
+
+  public int getMinionHeapBudget() {
+    return this.minionHeapBudget;
+  }
+
   public boolean isMutateStaticInitializers() {
     return this.mutateStaticInitializers;
   }
@@ -534,6 +604,14 @@ public class AbstractPitMojo extends AbstractMojo {
     return this.mutationUnitSize;
   }
 
+  public boolean isGroupMutationsByTests() {
+    return this.groupMutationsByTests;
+  }
+
+  public boolean isPrioritiseHistoricKillers() {
+    return this.prioritiseHistoricKillers;
+  }
+
   public boolean isTimestampedReports() {
     return this.timestampedReports;
   }
@@ -554,6 +632,14 @@ public class AbstractPitMojo extends AbstractMojo {
     return this.historyInputFile;
   }
 
+  public File getClassMetadataCacheFile() {
+    return this.classMetadataCacheFile;
+  }
+
+  public File getCoverageIndexFile() {
+    return this.coverageIndexFile;
+  }
+
   public boolean isExportLineCoverage() {
     return this.exportLineCoverage;
   }
@@ -0,0 +1,58 @@
+package org.pitest.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.pitest.mutationtest.build.intercept.scm.ChangedLines;
+import org.pitest.mutationtest.build.intercept.scm.UnifiedDiffParser;
+
+/**
+ * Reads the lines changed in a local git repository by running git diff, so
+ * no remote is contacted. Paths are relative to the working directory.
+ */
+class GitChangedLines {
+
+  private final File workingDir;
+
+  GitChangedLines(final File workingDir) {
+    this.workingDir = workingDir;
+  }
+
+  ChangedLines read(final List<String> revisions)
+      throws MojoExecutionException {
+    final List<String> command = new ArrayList<>(Arrays.asList("git", "-c",
+        "core.quotepath=off", "diff", "--no-color", "--no-ext-diff",
+        "--relative", "-U0", "--src-prefix=a/", "--dst-prefix=b/"));
+    command.addAll(revisions);
+
+    try {
+      final Process git = new ProcessBuilder(command)
+          .directory(this.workingDir).redirectError(Redirect.INHERIT).start();
+      final ChangedLines changes;
+      try (Reader diff = new InputStreamReader(git.getInputStream(),
+          StandardCharsets.UTF_8)) {
+        changes = new UnifiedDiffParser().parse(diff);
+      }
+      final int exitCode = git.waitFor();
+      if (exitCode != 0) {
+        throw new MojoExecutionException("git diff " + revisions
+            + " exited with " + exitCode);
+      }
+      return changes;
+    } catch (final IOException e) {
+      throw new MojoExecutionException("Error while running git diff", e);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MojoExecutionException("Interrupted while running git diff", e);
+    }
+  }
+
+}
@@ -108,6 +108,9 @@ public class MojoToReportOptionsConverter {
     data.setExcludedTestClasses(globStringsToPredicates(this.mojo
         .getExcludedTestClasses()));
     data.setNumberOfThreads(this.mojo.getThreads());
+    data.setReuseMinions(this.mojo.isReuseMinions());
+    data.setMinionMutationBudget(this.mojo.getMinionMutationBudget());
+    data.setMinionHeapBudget(this.mojo.getMinionHeapBudget());
     data.setExcludedRunners(this.mojo.getExcludedRunners());
 
     data.setReportDir(this.mojo.getReportsDirectory().getAbsolutePath());
@@ -135,6 +138,8 @@ public class MojoToReportOptionsConverter {
     setTestGroups(data);
 
     data.setMutationUnitSize(this.mojo.getMutationUnitSize());
+    data.setGroupMutationsByTests(this.mojo.isGroupMutationsByTests());
+    data.setPrioritiseHistoricKillers(this.mojo.isPrioritiseHistoricKillers());
     data.setShouldCreateTimestampedReports(this.mojo.isTimestampedReports());
     data.setDetectInlinedCode(this.mojo.isDetectInlinedCode());
 
@@ -155,6 +160,8 @@ public class MojoToReportOptionsConverter {
     } else {
       data.setHistoryInputLocation(this.mojo.getHistoryInputFile());
       data.setHistoryOutputLocation(this.mojo.getHistoryOutputFile());
+      data.setClassMetadataCacheLocation(this.mojo.getClassMetadataCacheFile());
+      data.setCoverageIndexLocation(this.mojo.getCoverageIndexFile());
     }
   }
 
@@ -172,6 +179,20 @@ public class MojoToReportOptionsConverter {
     if (this.mojo.getHistoryOutputFile() == null) {
       data.setHistoryOutputLocation(historyFile);
     }
+    if (this.mojo.getClassMetadataCacheFile() == null) {
+      data.setClassMetadataCacheLocation(new File(tempDir, project.getGroupId()
+          + "." + project.getArtifactId() + "." + project.getVersion()
+          + "_pitest_class_metadata.bin"));
+    } else {
+      data.setClassMetadataCacheLocation(this.mojo.getClassMetadataCacheFile());
+    }
+    if (this.mojo.getCoverageIndexFile() == null) {
+      data.setCoverageIndexLocation(new File(tempDir, project.getGroupId()
+          + "." + project.getArtifactId() + "." + project.getVersion()
+          + "_pitest_coverage_index.bin"));
+    } else {
+      data.setCoverageIndexLocation(this.mojo.getCoverageIndexFile());
+    }
   }
   
   private ReportOptions updateFromSurefire(ReportOptions option) {
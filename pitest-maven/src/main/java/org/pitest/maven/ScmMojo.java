@@ -35,6 +35,7 @@ import org.pitest.functional.F;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.Option;
 import org.pitest.functional.predicate.Predicate;
+import org.pitest.mutationtest.build.intercept.scm.ChangedLines;
 import org.pitest.mutationtest.config.PluginServices;
 import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.tooling.CombinedStatistics;
@@ -71,6 +72,15 @@ public class ScmMojo extends AbstractPitMojo {
   private boolean analyseLastCommit;
 
 
+  /**
+   * Only mutate the methods containing lines changed in source control,
+   * rather than the whole of each changed class, and only gather coverage
+   * from tests known to reach the changed classes. Changed lines are read by
+   * running git diff against the local repository.
+   */
+  @Parameter(defaultValue = "false", property = "analyseChangedLines")
+  private boolean analyseChangedLines;
+
   @Parameter(property = "originBranch")
   private String originBranch;
 
@@ -112,7 +122,8 @@ public class ScmMojo extends AbstractPitMojo {
   @Override
   protected Option<CombinedStatistics> analyse() throws MojoExecutionException {
 
-    this.targetClasses = makeConcreteList(findModifiedClassNames());
+    final Set<String> modifiedPaths = findModifiedPaths();
+    this.targetClasses = makeConcreteList(findModifiedClassNames(modifiedPaths));
 
     if (this.targetClasses.isEmpty()) {
       this.getLog().info(
@@ -125,6 +136,9 @@ public class ScmMojo extends AbstractPitMojo {
     final ReportOptions data = new MojoToReportOptionsConverter(this,
         new SurefireConfigConverter(), filter).convert();
     data.setFailWhenNoMutations(false);
+    if (this.analyseChangedLines) {
+      data.setChangedLines(findChangedLines(modifiedPaths));
+    }
 
     return Option.some(this.goalStrategy.execute(detectBaseDir(), data,
         plugins, new HashMap<String, String>()));
@@ -144,17 +158,46 @@ public class ScmMojo extends AbstractPitMojo {
     }
   }
 
-  private List<String> findModifiedClassNames() throws MojoExecutionException {
+  private List<String> findModifiedClassNames(final Set<String> modifiedPaths) {
 
     final File sourceRoot = new File(this.project.getBuild()
         .getSourceDirectory());
 
-    final List<String> modifiedPaths = FCollection.map(findModifiedPaths(), pathByScmDir());
-    return FCollection.flatMap(modifiedPaths, new PathToJavaClassConverter(
+    final List<String> modifiedFiles = FCollection.map(modifiedPaths, pathByScmDir());
+    return FCollection.flatMap(modifiedFiles, new PathToJavaClassConverter(
             sourceRoot.getAbsolutePath()));
 
   }
 
+  private ChangedLines findChangedLines(final Set<String> modifiedPaths)
+      throws MojoExecutionException {
+    final File scmRoot = scmRoot();
+    final ChangedLines changes = new GitChangedLines(scmRoot)
+        .read(diffRevisions());
+    // files git does not track yet have no diff
+    for (final String each : modifiedPaths) {
+      if (!changes.contains(each)) {
+        changes.addFile(each);
+      }
+    }
+
+    final File sourceRoot = new File(this.project.getBuild()
+        .getSourceDirectory());
+    return changes.under(scmRoot.toURI().relativize(sourceRoot.toURI())
+        .getPath());
+  }
+
+  private List<String> diffRevisions() {
+    if (this.analyseLastCommit) {
+      return Arrays.asList("HEAD~1", "HEAD");
+    } else if (this.originBranch != null && this.destinationBranch != null) {
+      // changes on the origin branch since it left the destination
+      return Collections.singletonList(this.destinationBranch + "..."
+          + this.originBranch);
+    }
+    return Collections.singletonList("HEAD");
+  }
+
   private F<String,String> pathByScmDir() {
     return new F<String, String>() {
 
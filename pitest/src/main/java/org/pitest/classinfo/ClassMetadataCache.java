@@ -0,0 +1,402 @@
+package org.pitest.classinfo;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import org.pitest.coverage.BlockLocation;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.util.Log;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.Unchecked;
+
+/**
+ * Keeps the results of analysing class files between runs, so classes that
+ * have not changed since the last run are not visited again.
+ *
+ * <p>
+ * Entries are stored by class name along with the length and Adler32 hash of
+ * the bytes they were created from, and are only used while the class still
+ * has the same bytes. The hash is the one pitest already calculates to
+ * identify a class, so checking an entry costs no more than reading the
+ * class.
+ *
+ * <p>
+ * A cache without a file stores nothing, every lookup misses.
+ */
+public class ClassMetadataCache {
+
+  private static final Logger                   LOG        = Log.getLogger();
+
+  static final int                              MAGIC      = 0x5049544d;
+  static final byte                             VERSION    = 1;
+
+  private final Option<File>                    file;
+  private final HashFunction                    hashFunction;
+
+  private final Map<ClassName, ClassInfoEntry>  classInfos = new ConcurrentHashMap<>();
+  private final Map<ClassName, LineMapEntry>    lineMaps   = new ConcurrentHashMap<>();
+
+  private volatile boolean                      changed;
+
+  public ClassMetadataCache(final Option<File> file) {
+    this(file, new AddlerHash());
+  }
+
+  ClassMetadataCache(final Option<File> file, final HashFunction hashFunction) {
+    this.file = file;
+    this.hashFunction = hashFunction;
+  }
+
+  public static ClassMetadataCache disabled() {
+    return new ClassMetadataCache(Option.<File> none());
+  }
+
+  /**
+   * Reads the entries stored by a previous run. A missing or unreadable file
+   * leaves the cache empty.
+   */
+  public void initialize() {
+    if (this.file.hasNone() || !this.file.value().exists()) {
+      return;
+    }
+    try {
+      read(Files.readAllBytes(this.file.value().toPath()));
+    } catch (final IOException | RuntimeException ex) {
+      LOG.warning("Ignoring unreadable class metadata cache "
+          + this.file.value() + " (" + ex + ")");
+      this.classInfos.clear();
+      this.lineMaps.clear();
+    }
+  }
+
+  /**
+   * Writes all entries to the cache file, if any were added during this run.
+   */
+  public void save() {
+    if (this.file.hasNone() || !this.changed) {
+      return;
+    }
+    final File target = this.file.value();
+    if (target.getAbsoluteFile().getParentFile() != null) {
+      target.getAbsoluteFile().getParentFile().mkdirs();
+    }
+    // written next to the cache and moved into place so a run that dies
+    // while saving does not leave a truncated cache
+    final File temp = new File(target.getPath() + ".tmp");
+    try {
+      final SafeDataOutputStream out = new SafeDataOutputStream(
+          new BufferedOutputStream(new FileOutputStream(temp)));
+      try {
+        write(out);
+      } finally {
+        out.close();
+      }
+      Files.move(temp.toPath(), target.toPath(),
+          StandardCopyOption.REPLACE_EXISTING);
+      this.changed = false;
+    } catch (final IOException ex) {
+      throw Unchecked.translateCheckedException(ex);
+    }
+  }
+
+  Option<ClassInfoBuilder> getClassInfo(final ClassName name,
+      final byte[] bytes, final long hash) {
+    final ClassInfoEntry entry = this.classInfos.get(name);
+    if ((entry == null) || !entry.isFor(bytes.length, hash)) {
+      return Option.none();
+    }
+    return Option.some(entry.toBuilder(name));
+  }
+
+  void storeClassInfo(final byte[] bytes, final ClassInfoBuilder info) {
+    if (this.file.hasSome()) {
+      this.classInfos.put(info.id.getName(),
+          new ClassInfoEntry(bytes.length, info));
+      this.changed = true;
+    }
+  }
+
+  /**
+   * Block to line map of a class if one was stored for the given bytes.
+   */
+  public Option<Map<BlockLocation, Set<Integer>>> getLineMap(
+      final ClassName name, final byte[] bytes) {
+    final LineMapEntry entry = this.lineMaps.get(name);
+    if ((entry == null)
+        || !entry.isFor(bytes.length, this.hashFunction.hash(bytes))) {
+      return Option.none();
+    }
+    return Option.some(entry.toLineMap(name));
+  }
+
+  public void storeLineMap(final ClassName name, final byte[] bytes,
+      final Map<BlockLocation, Set<Integer>> lineMap) {
+    if (this.file.hasSome()) {
+      this.lineMaps.put(name, new LineMapEntry(bytes.length,
+          this.hashFunction.hash(bytes), lineMap));
+      this.changed = true;
+    }
+  }
+
+  private void read(final byte[] bytes) {
+    final SafeDataInputStream in = new SafeDataInputStream(
+        new ByteArrayInputStream(bytes));
+    if ((in.readInt() != MAGIC) || (in.readByte() != VERSION)) {
+      LOG.info("Ignoring class metadata cache written by another version");
+      return;
+    }
+
+    final int infoCount = in.readInt();
+    for (int i = 0; i != infoCount; i++) {
+      final ClassName name = ClassName.fromString(in.readString());
+      this.classInfos.put(name, ClassInfoEntry.read(in));
+    }
+
+    final int lineMapCount = in.readInt();
+    for (int i = 0; i != lineMapCount; i++) {
+      final ClassName name = ClassName.fromString(in.readString());
+      this.lineMaps.put(name, LineMapEntry.read(in));
+    }
+  }
+
+  private void write(final SafeDataOutputStream out) {
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+
+    final Map<ClassName, ClassInfoEntry> infos = new HashMap<>(
+        this.classInfos);
+    out.writeInt(infos.size());
+    for (final Entry<ClassName, ClassInfoEntry> each : infos.entrySet()) {
+      out.writeString(each.getKey().asInternalName());
+      each.getValue().write(out);
+    }
+
+    final Map<ClassName, LineMapEntry> maps = new HashMap<>(this.lineMaps);
+    out.writeInt(maps.size());
+    for (final Entry<ClassName, LineMapEntry> each : maps.entrySet()) {
+      out.writeString(each.getKey().asInternalName());
+      each.getValue().write(out);
+    }
+  }
+
+  private static void writeInts(final SafeDataOutputStream out,
+      final Set<Integer> values) {
+    out.writeInt(values.size());
+    for (final int each : values) {
+      out.writeInt(each);
+    }
+  }
+
+  private static Set<Integer> readInts(final SafeDataInputStream in) {
+    final int count = in.readInt();
+    final Set<Integer> values = new HashSet<>(count);
+    for (int i = 0; i != count; i++) {
+      values.add(in.readInt());
+    }
+    return values;
+  }
+
+  private static final class ClassInfoEntry {
+    private final int                 length;
+    private final long                hash;
+    private final int                 access;
+    private final String              outerClass;
+    private final String              superClass;
+    private final String              sourceFile;
+    private final Set<Integer>        codeLines;
+    private final Set<String>         annotations;
+    private final Map<String, Object> classAnnotationValues;
+
+    private ClassInfoEntry(final int length, final long hash,
+        final int access, final String outerClass, final String superClass,
+        final String sourceFile, final Set<Integer> codeLines,
+        final Set<String> annotations,
+        final Map<String, Object> classAnnotationValues) {
+      this.length = length;
+      this.hash = hash;
+      this.access = access;
+      this.outerClass = outerClass;
+      this.superClass = superClass;
+      this.sourceFile = sourceFile;
+      this.codeLines = codeLines;
+      this.annotations = annotations;
+      this.classAnnotationValues = classAnnotationValues;
+    }
+
+    ClassInfoEntry(final int length, final ClassInfoBuilder info) {
+      this(length, info.id.getHash(), info.access, info.outerClass,
+          info.superClass, info.sourceFile, new HashSet<>(info.codeLines),
+          new HashSet<>(info.annotations), annotationValues(info));
+    }
+
+    boolean isFor(final int length, final long hash) {
+      return (this.length == length) && (this.hash == hash);
+    }
+
+    ClassInfoBuilder toBuilder(final ClassName name) {
+      final ClassInfoBuilder info = new ClassInfoBuilder();
+      info.id = new ClassIdentifier(this.hash, name);
+      info.access = this.access;
+      info.outerClass = this.outerClass;
+      info.superClass = this.superClass;
+      info.sourceFile = this.sourceFile;
+      info.codeLines.addAll(this.codeLines);
+      info.annotations.addAll(this.annotations);
+      for (final Entry<String, Object> each : this.classAnnotationValues
+          .entrySet()) {
+        info.registerClassAnnotationValue(ClassName.fromString(each.getKey()),
+            each.getValue());
+      }
+      return info;
+    }
+
+    void write(final SafeDataOutputStream out) {
+      out.writeInt(this.length);
+      out.writeLong(this.hash);
+      out.writeInt(this.access);
+      out.writeNullableString(this.outerClass);
+      out.writeNullableString(this.superClass);
+      out.writeNullableString(this.sourceFile);
+      writeInts(out, this.codeLines);
+      out.writeInt(this.annotations.size());
+      for (final String each : this.annotations) {
+        out.writeString(each);
+      }
+      out.writeInt(this.classAnnotationValues.size());
+      for (final Entry<String, Object> each : this.classAnnotationValues
+          .entrySet()) {
+        out.writeString(each.getKey());
+        out.write(each.getValue());
+      }
+    }
+
+    static ClassInfoEntry read(final SafeDataInputStream in) {
+      final int length = in.readInt();
+      final long hash = in.readLong();
+      final int access = in.readInt();
+      final String outerClass = in.readNullableString();
+      final String superClass = in.readNullableString();
+      final String sourceFile = in.readNullableString();
+      final Set<Integer> codeLines = readInts(in);
+      final int annotationCount = in.readInt();
+      final Set<String> annotations = new HashSet<>(annotationCount);
+      for (int i = 0; i != annotationCount; i++) {
+        annotations.add(in.readString());
+      }
+      final int valueCount = in.readInt();
+      final Map<String, Object> values = new HashMap<>(valueCount);
+      for (int i = 0; i != valueCount; i++) {
+        values.put(in.readString(), in.read(Object.class));
+      }
+      return new ClassInfoEntry(length, hash, access, outerClass, superClass,
+          sourceFile, codeLines, annotations, values);
+    }
+
+    private static Map<String, Object> annotationValues(
+        final ClassInfoBuilder info) {
+      final Map<String, Object> values = new HashMap<>();
+      for (final Entry<ClassName, Object> each : info.classAnnotationValues
+          .entrySet()) {
+        values.put(each.getKey().asInternalName(), each.getValue());
+      }
+      return values;
+    }
+  }
+
+  private static final class LineMapEntry {
+    private final int              length;
+    private final long             hash;
+    private final List<BlockLines> blocks;
+
+    private LineMapEntry(final int length, final long hash,
+        final List<BlockLines> blocks) {
+      this.length = length;
+      this.hash = hash;
+      this.blocks = blocks;
+    }
+
+    LineMapEntry(final int length, final long hash,
+        final Map<BlockLocation, Set<Integer>> lineMap) {
+      this(length, hash, new ArrayList<BlockLines>(lineMap.size()));
+      for (final Entry<BlockLocation, Set<Integer>> each : lineMap
+          .entrySet()) {
+        final Location location = each.getKey().getLocation();
+        this.blocks.add(new BlockLines(location.getMethodName().name(),
+            location.getMethodDesc(), each.getKey().getBlock(),
+            new HashSet<>(each.getValue())));
+      }
+    }
+
+    boolean isFor(final int length, final long hash) {
+      return (this.length == length) && (this.hash == hash);
+    }
+
+    Map<BlockLocation, Set<Integer>> toLineMap(final ClassName name) {
+      final Map<BlockLocation, Set<Integer>> map = new HashMap<>();
+      for (final BlockLines each : this.blocks) {
+        map.put(
+            BlockLocation.blockLocation(Location.location(name,
+                MethodName.fromString(each.method), each.desc), each.block),
+            new HashSet<>(each.lines));
+      }
+      return map;
+    }
+
+    void write(final SafeDataOutputStream out) {
+      out.writeInt(this.length);
+      out.writeLong(this.hash);
+      out.writeInt(this.blocks.size());
+      for (final BlockLines each : this.blocks) {
+        out.writeString(each.method);
+        out.writeString(each.desc);
+        out.writeInt(each.block);
+        writeInts(out, each.lines);
+      }
+    }
+
+    static LineMapEntry read(final SafeDataInputStream in) {
+      final int length = in.readInt();
+      final long hash = in.readLong();
+      final int count = in.readInt();
+      final List<BlockLines> blocks = new ArrayList<>(count);
+      for (int i = 0; i != count; i++) {
+        blocks.add(new BlockLines(in.readString(), in.readString(),
+            in.readInt(), readInts(in)));
+      }
+      return new LineMapEntry(length, hash, blocks);
+    }
+  }
+
+  private static final class BlockLines {
+    private final String       method;
+    private final String       desc;
+    private final int          block;
+    private final Set<Integer> lines;
+
+    BlockLines(final String method, final String desc, final int block,
+        final Set<Integer> lines) {
+      this.method = method;
+      this.desc = desc;
+      this.block = block;
+      this.lines = lines;
+    }
+  }
+
+}
@@ -27,14 +27,26 @@ public class Repository implements ClassInfoSource {
   private final Map<ClassName, ClassInfo> knownClasses   = new HashMap<>();
   private final Set<ClassName>            unknownClasses = new HashSet<>();
   private final ClassByteArraySource      source;
+  private final ClassMetadataCache        cache;
 
   public Repository(final ClassByteArraySource source) {
-    this(source, new AddlerHash());
+    this(source, ClassMetadataCache.disabled());
+  }
+
+  public Repository(final ClassByteArraySource source,
+      final ClassMetadataCache cache) {
+    this(source, new AddlerHash(), cache);
   }
 
   Repository(final ClassByteArraySource source, final HashFunction hashFunction) {
+    this(source, hashFunction, ClassMetadataCache.disabled());
+  }
+
+  Repository(final ClassByteArraySource source,
+      final HashFunction hashFunction, final ClassMetadataCache cache) {
     this.source = source;
     this.hashFunction = hashFunction;
+    this.cache = cache;
   }
 
   public boolean hasClass(final ClassName name) {
@@ -67,14 +79,25 @@ public class Repository implements ClassInfoSource {
   private Option<ClassInfo> nameToClassInfo(final ClassName name) {
     final Option<byte[]> bytes = querySource(name);
     if (bytes.hasSome()) {
-      final ClassInfoBuilder classData = ClassInfoVisitor.getClassInfo(name,
-          bytes.value(), this.hashFunction.hash(bytes.value()));
-      return contructClassInfo(classData);
+      return contructClassInfo(analyse(name, bytes.value()));
     } else {
       return Option.none();
     }
   }
 
+  private ClassInfoBuilder analyse(final ClassName name, final byte[] bytes) {
+    final long hash = this.hashFunction.hash(bytes);
+    final Option<ClassInfoBuilder> cached = this.cache.getClassInfo(name,
+        bytes, hash);
+    if (cached.hasSome()) {
+      return cached.value();
+    }
+    final ClassInfoBuilder classData = ClassInfoVisitor.getClassInfo(name,
+        bytes, hash);
+    this.cache.storeClassInfo(bytes, classData);
+    return classData;
+  }
+
   public Option<byte[]> querySource(final ClassName name) {
     if (this.unknownClasses.contains(name)) {
       return Option.none();
@@ -14,66 +14,107 @@
  */
 package org.pitest.classpath;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.SoftReference;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
+import org.pitest.classpath.ArchiveHandleCache.ArchiveAction;
 import org.pitest.functional.Option;
 import org.pitest.util.StreamUtil;
 import org.pitest.util.Unchecked;
 
 /**
- * ClassPathRoot wrapping a jar or zip file
+ * ClassPathRoot wrapping a jar or zip file.
+ *
+ * The names of the entries in the archive are indexed the first time they are
+ * needed, so lookups for classes the archive does not contain do not touch
+ * the file. Open archives are shared between roots through a bounded cache.
  */
-public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot {
+public class ArchiveClassPathRoot implements ClassPathRoot {
+
+  private static final int                ARCHIVES_KEPT_OPEN = 256;
+  private static final ArchiveHandleCache SHARED_HANDLES     = new ArchiveHandleCache(ARCHIVES_KEPT_OPEN);
 
-  private final File file;
+  private final File                      file;
+  private final ArchiveHandleCache        handles;
+
+  private SoftReference<Set<String>>      entries;
 
   public ArchiveClassPathRoot(final File file) {
+    this(file, SHARED_HANDLES);
+  }
+
+  ArchiveClassPathRoot(final File file, final ArchiveHandleCache handles) {
     this.file = file;
+    this.handles = handles;
+  }
+
+  /**
+   * Closes the archives held open for lookups. Any archive needed afterwards
+   * is opened again.
+   */
+  public static void closeArchives() {
+    SHARED_HANDLES.closeAll();
   }
 
   @Override
   public InputStream getData(final String name) throws IOException {
-    try (ZipFile zip = getRoot()) {
-      final ZipEntry entry = zip.getEntry(name.replace('.', '/') + ".class");
-      if (entry == null) {
-        return null;
+    final String entryName = name.replace('.', '/') + ".class";
+    if (!entries().contains(entryName)) {
+      return null;
+    }
+    return withArchive(new ArchiveAction<InputStream>() {
+      @Override
+      public InputStream apply(final ZipFile zip) throws IOException {
+        final ZipEntry entry = zip.getEntry(entryName);
+        if (entry == null) {
+          return null;
+        }
+        return readEntry(zip, entry);
       }
-      return StreamUtil.copyStream(zip.getInputStream(entry));
+    });
+  }
+
+  private static InputStream readEntry(final ZipFile zip, final ZipEntry entry)
+      throws IOException {
+    try (InputStream in = zip.getInputStream(entry)) {
+      final long size = entry.getSize();
+      if (size < 0) {
+        return StreamUtil.copyStream(in);
+      }
+      final byte[] bytes = new byte[(int) size];
+      new DataInputStream(in).readFully(bytes);
+      return new ByteArrayInputStream(bytes);
     }
   }
 
   @Override
   public URL getResource(final String name) throws MalformedURLException {
-    final ZipFile zip = getRoot();
-    try {
-      final ZipEntry entry = zip.getEntry(name);
-      if (entry != null) {
-        return new URL("jar:file:" + zip.getName() + "!/" + entry.getName());
-      } else {
-        return null;
-      }
-    } finally {
-      closeQuietly(zip);
+    final Set<String> names = entries();
+    if (names.contains(name)) {
+      return toURL(name);
+    } else if (names.contains(name + "/")) {
+      return toURL(name + "/");
+    } else {
+      return null;
     }
-
   }
 
-  private static void closeQuietly(final ZipFile zip) {
-    try {
-      zip.close();
-    } catch (final IOException e) {
-      throw Unchecked.translateCheckedException(e);
-    }
+  private URL toURL(final String entryName) throws MalformedURLException {
+    return new URL("jar:file:" + this.file.getPath() + "!/" + entryName);
   }
 
   @Override
@@ -84,20 +125,12 @@ public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot {
   @Override
   public Collection<String> classNames() {
     final List<String> names = new ArrayList<>();
-    final ZipFile root = getRoot();
-    try {
-      final Enumeration<? extends ZipEntry> entries = root.entries();
-      while (entries.hasMoreElements()) {
-        final ZipEntry entry = entries.nextElement();
-        if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
-          names.add(stringToClassName(entry.getName()));
-        }
+    for (final String each : entries()) {
+      if (!each.endsWith("/") && each.endsWith(".class")) {
+        names.add(stringToClassName(each));
       }
-      return names;
-    } finally {
-      closeQuietly(root);
     }
-
+    return names;
   }
 
   private String stringToClassName(final String name) {
@@ -110,13 +143,39 @@ public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot {
     return Option.some(this.file.getAbsolutePath());
   }
 
-  private ZipFile getRoot() {
+  private synchronized Set<String> entries() {
+    if (this.entries != null) {
+      final Set<String> cached = this.entries.get();
+      if (cached != null) {
+        return cached;
+      }
+    }
+    final Set<String> names = readEntryNames();
+    this.entries = new SoftReference<>(names);
+    return names;
+  }
+
+  private Set<String> readEntryNames() {
     try {
-      return new ZipFile(this.file);
+      return withArchive(new ArchiveAction<Set<String>>() {
+        @Override
+        public Set<String> apply(final ZipFile zip) {
+          final Set<String> names = new LinkedHashSet<>();
+          final Enumeration<? extends ZipEntry> entries = zip.entries();
+          while (entries.hasMoreElements()) {
+            names.add(entries.nextElement().getName());
+          }
+          return names;
+        }
+      });
     } catch (final IOException ex) {
       throw Unchecked.translateCheckedException(ex.getMessage() + " ("
           + this.file + ")", ex);
     }
   }
 
+  private <T> T withArchive(final ArchiveAction<T> action) throws IOException {
+    return this.handles.withArchive(this.file, action);
+  }
+
 }
@@ -0,0 +1,132 @@
+package org.pitest.classpath;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.ZipFile;
+
+/**
+ * Keeps a bounded number of archives open so that lookups do not have to
+ * reopen the file and re-read its central directory each time.
+ *
+ * Archives are evicted least recently used first. An evicted archive that is
+ * still being read from is closed when the last reader releases it.
+ */
+final class ArchiveHandleCache {
+
+  interface ArchiveAction<T> {
+    T apply(ZipFile zip) throws IOException;
+  }
+
+  private final int               capacity;
+  private final Map<File, Handle> open;
+
+  ArchiveHandleCache(final int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be at least 1");
+    }
+    this.capacity = capacity;
+    this.open = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  <T> T withArchive(final File file, final ArchiveAction<T> action)
+      throws IOException {
+    final Handle handle = acquire(file);
+    try {
+      return action.apply(handle.zip);
+    } finally {
+      release(handle);
+    }
+  }
+
+  synchronized int openArchives() {
+    return this.open.size();
+  }
+
+  synchronized void closeAll() {
+    final List<Handle> handles = new ArrayList<>(this.open.values());
+    this.open.clear();
+    for (final Handle each : handles) {
+      retire(each);
+    }
+  }
+
+  private Handle acquire(final File file) throws IOException {
+    final Handle cached = acquireOpen(file);
+    if (cached != null) {
+      return cached;
+    }
+    // opening reads the central directory, so is done outside the lock to
+    // let other archives be opened at the same time
+    return acquireOpened(file, new ZipFile(file));
+  }
+
+  private synchronized Handle acquireOpen(final File file) {
+    final Handle handle = this.open.get(file);
+    if (handle != null) {
+      handle.users++;
+    }
+    return handle;
+  }
+
+  private synchronized Handle acquireOpened(final File file, final ZipFile zip) {
+    Handle handle = this.open.get(file);
+    if (handle == null) {
+      handle = new Handle(zip);
+      this.open.put(file, handle);
+      evictExcess();
+    } else {
+      // another thread opened the archive first
+      closeQuietly(zip);
+    }
+    handle.users++;
+    return handle;
+  }
+
+  private synchronized void release(final Handle handle) {
+    handle.users--;
+    if (handle.retired && (handle.users == 0)) {
+      closeQuietly(handle.zip);
+    }
+  }
+
+  private void evictExcess() {
+    final Iterator<Entry<File, Handle>> it = this.open.entrySet().iterator();
+    while ((this.open.size() > this.capacity) && it.hasNext()) {
+      final Handle eldest = it.next().getValue();
+      it.remove();
+      retire(eldest);
+    }
+  }
+
+  private static void retire(final Handle handle) {
+    handle.retired = true;
+    if (handle.users == 0) {
+      closeQuietly(handle.zip);
+    }
+  }
+
+  private static void closeQuietly(final ZipFile zip) {
+    try {
+      zip.close();
+    } catch (final IOException e) {
+      // nothing useful to do
+    }
+  }
+
+  private static final class Handle {
+    private final ZipFile zip;
+    private int           users;
+    private boolean       retired;
+
+    Handle(final ZipFile zip) {
+      this.zip = zip;
+    }
+  }
+
+}
@@ -10,6 +10,7 @@ import java.util.Set;
 
 import org.pitest.classinfo.ClassInfo;
 import org.pitest.classinfo.ClassInfoSource;
+import org.pitest.classinfo.ClassMetadataCache;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.NameToClassInfo;
 import org.pitest.classinfo.Repository;
@@ -25,16 +26,28 @@ public class CodeSource implements ClassInfoSource {
 
   private final ProjectClassPaths   classPath;
   private final Repository          classRepository;
+  private final ClassMetadataCache  metadataCache;
 
   public CodeSource(final ProjectClassPaths classPath) {
+    this(classPath, ClassMetadataCache.disabled());
+  }
+
+  public CodeSource(final ProjectClassPaths classPath,
+      final ClassMetadataCache metadataCache) {
     this(classPath, new Repository(new ClassPathByteArraySource(
-        classPath.getClassPath())));
+        classPath.getClassPath()), metadataCache), metadataCache);
   }
 
   CodeSource(final ProjectClassPaths classPath,
       final Repository classRepository) {
+    this(classPath, classRepository, ClassMetadataCache.disabled());
+  }
+
+  private CodeSource(final ProjectClassPaths classPath,
+      final Repository classRepository, final ClassMetadataCache metadataCache) {
     this.classPath = classPath;
     this.classRepository = classRepository;
+    this.metadataCache = metadataCache;
   }
 
   public Collection<ClassInfo> getCode() {
@@ -74,6 +87,13 @@ public class CodeSource implements ClassInfoSource {
     return this.classRepository.querySource(clazz);
   }
 
+  /**
+   * Cache for the results of analysing classes found by this source.
+   */
+  public ClassMetadataCache getMetadataCache() {
+    return this.metadataCache;
+  }
+
   @Override
   public Option<ClassInfo> fetchClass(final ClassName clazz) {
     return this.classRepository.fetchClass(clazz);
@@ -3,20 +3,40 @@ package org.pitest.classpath;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.SoftReference;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.pitest.functional.FCollection;
 import org.pitest.functional.Option;
+import org.pitest.util.Unchecked;
 
+/**
+ * Combines the roots of a classpath, searching them in order.
+ *
+ * <p>
+ * Class lookups use an index from class name to the first root listing the
+ * class, built the first time a class is requested. Only archives and the
+ * roots wrapped to cache their names are indexed, as they never supply a
+ * class they do not list. Any other root is still asked in classpath order
+ * before the root the index names.
+ */
 public class CompoundClassPathRoot implements ClassPathRoot,
     Iterable<ClassPathRoot> {
 
-  private final List<ClassPathRoot> roots = new ArrayList<>();
+  private final List<ClassPathRoot>  roots = new ArrayList<>();
+
+  private SoftReference<ClassIndex>  index;
 
   public CompoundClassPathRoot(final List<ClassPathRoot> roots) {
     this.roots.addAll(wrapToAvoidIOOperations(roots));
@@ -24,20 +44,28 @@ public class CompoundClassPathRoot implements ClassPathRoot,
 
   @Override
   public InputStream getData(final String name) throws IOException {
-    for (final ClassPathRoot each : this.roots) {
-      final InputStream is = each.getData(name);
+    final ClassIndex classIndex = index();
+    final int owner = classIndex.ownerOf(name);
+    for (final int each : classIndex.unindexed) {
+      if (each > owner) {
+        break;
+      }
+      final InputStream is = this.roots.get(each).getData(name);
       if (is != null) {
         return is;
       }
     }
+    if (owner < this.roots.size()) {
+      return this.roots.get(owner).getData(name);
+    }
     return null;
   }
 
   @Override
   public Collection<String> classNames() {
     final List<String> arrayList = new ArrayList<>();
-    for (final ClassPathRoot root : this.roots) {
-      arrayList.addAll(root.classNames());
+    for (final Collection<String> each : listClasses(this.roots)) {
+      arrayList.addAll(each);
     }
     return arrayList;
   }
@@ -84,5 +112,118 @@ public class CompoundClassPathRoot implements ClassPathRoot,
     return FCollection.map(roots, NameCachingRoot.toCachingRoot());
   }
 
-  
+  private synchronized ClassIndex index() {
+    if (this.index != null) {
+      final ClassIndex cached = this.index.get();
+      if (cached != null) {
+        return cached;
+      }
+    }
+    final ClassIndex classIndex = buildIndex();
+    this.index = new SoftReference<>(classIndex);
+    return classIndex;
+  }
+
+  private ClassIndex buildIndex() {
+    final List<Integer> indexed = new ArrayList<>();
+    final List<Integer> unindexed = new ArrayList<>();
+    for (int i = 0; i != this.roots.size(); i++) {
+      if (onlySuppliesListedClasses(this.roots.get(i))) {
+        indexed.add(i);
+      } else {
+        unindexed.add(i);
+      }
+    }
+
+    final List<ClassPathRoot> indexedRoots = new ArrayList<>();
+    for (final Integer each : indexed) {
+      indexedRoots.add(this.roots.get(each));
+    }
+    final List<Collection<String>> names = listClasses(indexedRoots);
+    final Map<String, Integer> owners = new HashMap<>();
+    for (int i = 0; i != indexed.size(); i++) {
+      final Integer root = indexed.get(i);
+      for (final String each : names.get(i)) {
+        // earlier roots shadow later ones
+        if (!owners.containsKey(each)) {
+          owners.put(each, root);
+        }
+      }
+    }
+    return new ClassIndex(owners, unindexed, this.roots.size());
+  }
+
+  // reading the names in an archive means reading its central directory, and
+  // in a directory means walking it, so roots are listed in parallel
+  private static List<Collection<String>> listClasses(
+      final List<ClassPathRoot> roots) {
+    final List<Collection<String>> names = new ArrayList<>(roots.size());
+    if (roots.size() < 2) {
+      for (final ClassPathRoot each : roots) {
+        names.add(each.classNames());
+      }
+      return names;
+    }
+
+    final List<Callable<Collection<String>>> tasks = new ArrayList<>();
+    for (final ClassPathRoot each : roots) {
+      tasks.add(classNamesOf(each));
+    }
+    final ForkJoinPool pool = new ForkJoinPool(Math.min(tasks.size(), Runtime
+        .getRuntime().availableProcessors()));
+    try {
+      for (final Future<Collection<String>> each : pool.invokeAll(tasks)) {
+        names.add(each.get());
+      }
+      return names;
+    } catch (final InterruptedException ex) {
+      throw Unchecked.translateCheckedException(ex);
+    } catch (final ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw Unchecked.translateCheckedException(ex.getCause());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static Callable<Collection<String>> classNamesOf(
+      final ClassPathRoot root) {
+    return new Callable<Collection<String>>() {
+      @Override
+      public Collection<String> call() {
+        return root.classNames();
+      }
+    };
+  }
+
+  private static boolean onlySuppliesListedClasses(final ClassPathRoot root) {
+    return (root instanceof NameCachingRoot)
+        || (root instanceof ArchiveClassPathRoot);
+  }
+
+  private static final class ClassIndex {
+    private final Map<String, Integer> owners;
+    private final List<Integer>        unindexed;
+    private final int                  none;
+
+    ClassIndex(final Map<String, Integer> owners,
+        final List<Integer> unindexed, final int none) {
+      this.owners = owners;
+      this.unindexed = unindexed;
+      this.none = none;
+    }
+
+    // position of the indexed root that supplies the class, or the number of
+    // roots if none does
+    int ownerOf(final String name) {
+      final Integer owner = this.owners.get(name.replace('/', '.'));
+      if (owner == null) {
+        return this.none;
+      }
+      return owner;
+    }
+  }
+
 }
\ No newline at end of file
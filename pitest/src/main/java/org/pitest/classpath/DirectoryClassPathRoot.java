@@ -6,11 +6,20 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.EnumSet;
 import java.util.List;
 
 import org.pitest.functional.Option;
+import org.pitest.util.Unchecked;
 
 /*
  * Copyright 2010 Henry Coles
@@ -59,27 +68,49 @@ public class DirectoryClassPathRoot implements ClassPathRoot, IOHeavyRoot {
 
   @Override
   public Collection<String> classNames() {
-    return classNames(this.root);
-  }
+    final Path rootPath = this.root.toPath();
+    final List<String> classNames = new ArrayList<>();
+    try {
+      // a single walk reads each directory's entries with their attributes,
+      // rather than statting every file separately. Links are followed, as
+      // they were when the tree was listed with File.
+      Files.walkFileTree(rootPath, EnumSet.of(FileVisitOption.FOLLOW_LINKS),
+          Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(final Path file,
+                final BasicFileAttributes attrs) {
+              if (attrs.isRegularFile()
+                  && file.getFileName().toString().endsWith(".class")) {
+                classNames.add(fileToClassName(rootPath.relativize(file)));
+              }
+              return FileVisitResult.CONTINUE;
+            }
 
-  private Collection<String> classNames(final File file) {
-    final List<String> classNames = new LinkedList<>();
-    for (final File f : file.listFiles()) {
-      if (f.isDirectory()) {
-        classNames.addAll(classNames(f));
-      } else if (f.getName().endsWith(".class")) {
-        classNames.add(fileToClassName(f));
-      }
+            @Override
+            public FileVisitResult visitFileFailed(final Path file,
+                final IOException ex) throws IOException {
+              // a link back to a parent directory would be walked forever
+              if (ex instanceof FileSystemLoopException) {
+                return FileVisitResult.CONTINUE;
+              }
+              throw ex;
+            }
+          });
+    } catch (final IOException ex) {
+      throw Unchecked.translateCheckedException(ex);
     }
     return classNames;
   }
 
-  private String fileToClassName(final File f) {
-    return f
-        .getAbsolutePath()
-        .substring(this.root.getAbsolutePath().length() + 1,
-            (f.getAbsolutePath().length() - ".class".length()))
-            .replace(File.separatorChar, '.');
+  private static String fileToClassName(final Path relative) {
+    final StringBuilder name = new StringBuilder();
+    for (final Path each : relative) {
+      if (name.length() != 0) {
+        name.append('.');
+      }
+      name.append(each.toString());
+    }
+    return name.substring(0, name.length() - ".class".length());
   }
 
   @Override
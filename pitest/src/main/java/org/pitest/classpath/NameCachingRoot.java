@@ -6,6 +6,8 @@ import java.lang.ref.SoftReference;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 import org.pitest.classinfo.ClassName;
 import org.pitest.functional.F;
@@ -20,7 +22,7 @@ public class NameCachingRoot implements ClassPathRoot {
   
   private final ClassPathRoot child;
   
-  private SoftReference<Collection<String>> cache;
+  private SoftReference<Set<String>> cache;
 
   public NameCachingRoot(ClassPathRoot child) {
     this.child = child;
@@ -33,6 +35,7 @@ public class NameCachingRoot implements ClassPathRoot {
 
   @Override
   public InputStream getData(String name) throws IOException {
+    // classNames is a set, so checking the name does not scan the root
     Collection<String> names = classNames();
     if (!names.contains(ClassName.fromString(name).asJavaName())) {
       return null;
@@ -43,12 +46,12 @@ public class NameCachingRoot implements ClassPathRoot {
   @Override
   public Collection<String> classNames() {
     if (cache != null) {
-      Collection<String> cachedNames = cache.get();
+      Set<String> cachedNames = cache.get();
       if (cachedNames != null) {
         return cachedNames;
       }
     }
-    Collection<String> names = child.classNames();
+    Set<String> names = new LinkedHashSet<>(child.classNames());
     cache = new SoftReference<>(names);
     return  names;
   }
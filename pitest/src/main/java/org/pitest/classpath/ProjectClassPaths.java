@@ -14,15 +14,27 @@
  */
 package org.pitest.classpath;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.pitest.classinfo.ClassName;
 import org.pitest.functional.FCollection;
+import org.pitest.functional.predicate.Predicate;
 
+/**
+ * The code and test classes of the project. Each set of names is found the
+ * first time it is asked for, and kept for the rest of the run.
+ */
 public class ProjectClassPaths {
 
   private final ClassPath   classPath;
   private final ClassFilter classFilter;
   private final PathFilter  pathFilter;
 
+  private List<ClassName>   code;
+  private List<ClassName>   test;
+
   public ProjectClassPaths(final ClassPath classPath,
       final ClassFilter classFilter, final PathFilter pathFilter) {
     this.classPath = classPath;
@@ -30,18 +42,20 @@ public class ProjectClassPaths {
     this.pathFilter = pathFilter;
   }
 
-  public Iterable<ClassName> code() {
-    return FCollection.filter(
-        this.classPath.getComponent(this.pathFilter.getCodeFilter())
-        .findClasses(this.classFilter.getCode()),
-        this.classFilter.getCode()).map(ClassName.stringToClassName());
+  public synchronized Iterable<ClassName> code() {
+    if (this.code == null) {
+      this.code = findClasses(this.pathFilter.getCodeFilter(),
+          this.classFilter.getCode());
+    }
+    return this.code;
   }
 
-  public Iterable<ClassName> test() {
-    return FCollection.filter(
-        this.classPath.getComponent(this.pathFilter.getTestFilter())
-        .findClasses(this.classFilter.getTest()),
-        this.classFilter.getTest()).map(ClassName.stringToClassName());
+  public synchronized Iterable<ClassName> test() {
+    if (this.test == null) {
+      this.test = findClasses(this.pathFilter.getTestFilter(),
+          this.classFilter.getTest());
+    }
+    return this.test;
   }
 
   public ClassPath getClassPath() {
@@ -52,4 +66,13 @@ public class ProjectClassPaths {
     return this.classFilter;
   }
 
+  private List<ClassName> findClasses(
+      final Predicate<ClassPathRoot> rootFilter,
+      final Predicate<String> nameFilter) {
+    final List<ClassName> names = new ArrayList<>();
+    FCollection.mapTo(this.classPath.getComponent(rootFilter).findClasses(
+        nameFilter), ClassName.stringToClassName(), names);
+    return Collections.unmodifiableList(names);
+  }
+
 }
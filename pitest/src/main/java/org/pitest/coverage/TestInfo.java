@@ -40,6 +40,14 @@ public final class TestInfo {
     return this.name;
   }
 
+  public String getDefiningClass() {
+    return this.definingClass;
+  }
+
+  public Option<ClassName> getTestee() {
+    return this.testee;
+  }
+
   public int getTime() {
     return this.time;
   }
@@ -8,6 +8,7 @@ import java.util.Set;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodNode;
+import org.pitest.classinfo.ClassMetadataCache;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classpath.CodeSource;
 import org.pitest.coverage.BlockLocation;
@@ -18,10 +19,16 @@ import org.pitest.mutationtest.engine.MethodName;
 
 public class LineMapper implements LineMap {
 
-  private final CodeSource source;
+  private final CodeSource         source;
+  private final ClassMetadataCache cache;
 
   public LineMapper(final CodeSource source) {
+    this(source, ClassMetadataCache.disabled());
+  }
+
+  public LineMapper(final CodeSource source, final ClassMetadataCache cache) {
     this.source = source;
+    this.cache = cache;
   }
 
   @Override
@@ -33,6 +40,12 @@ public class LineMapper implements LineMap {
     // classes generated at runtime eg by mocking frameworks
     // will be instrumented but not available on the classpath
     for (final byte[] bytes : maybeBytes) {
+      final Option<Map<BlockLocation, Set<Integer>>> cached = this.cache
+          .getLineMap(clazz, bytes);
+      if (cached.hasSome()) {
+        return cached.value();
+      }
+
       final ClassReader cr = new ClassReader(bytes);
       final ClassNode classNode = new ClassNode();
 
@@ -48,6 +61,7 @@ public class LineMapper implements LineMap {
         }
 
       }
+      this.cache.storeLineMap(clazz, bytes, map);
     }
 
     return map;
@@ -0,0 +1,100 @@
+package org.pitest.coverage.execute;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.pitest.testapi.Description;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireCodec;
+
+/**
+ * Binary codecs for the messages sent by a coverage minion.
+ */
+public final class CoverageCodecs {
+
+  public static final WireCodec<Description>             DESCRIPTION = new DescriptionCodec();
+  public static final WireCodec<Map<Integer, boolean[]>> PROBE_HITS  = new ProbeHitsCodec();
+
+  private CoverageCodecs() {
+  }
+
+  private static class DescriptionCodec implements WireCodec<Description> {
+
+    @Override
+    public void write(final SafeDataOutputStream out,
+        final Description description) {
+      out.writeNullableString(description.getName());
+      out.writeNullableString(description.getFirstTestClass());
+    }
+
+    @Override
+    public Description read(final SafeDataInputStream in) {
+      final String name = in.readNullableString();
+      return new Description(name, in.readNullableString());
+    }
+
+  }
+
+  /**
+   * Sends the probe array of each class hit by a test as a bitset, 64 probes
+   * to a long, rather than one long per probe hit.
+   */
+  private static class ProbeHitsCodec implements
+      WireCodec<Map<Integer, boolean[]>> {
+
+    private static final int PROBES_PER_WORD = 64;
+
+    @Override
+    public void write(final SafeDataOutputStream out,
+        final Map<Integer, boolean[]> hits) {
+      out.writeInt(hits.size());
+      for (final Entry<Integer, boolean[]> each : hits.entrySet()) {
+        final boolean[] probes = each.getValue();
+        out.writeInt(each.getKey());
+        out.writeInt(probes.length);
+        for (int word = 0; word < probes.length; word += PROBES_PER_WORD) {
+          out.writeLong(pack(probes, word));
+        }
+      }
+    }
+
+    @Override
+    public Map<Integer, boolean[]> read(final SafeDataInputStream in) {
+      final int classes = in.readInt();
+      final Map<Integer, boolean[]> hits = new HashMap<>(classes * 2);
+      for (int i = 0; i != classes; i++) {
+        final int classId = in.readInt();
+        final boolean[] probes = new boolean[in.readInt()];
+        for (int word = 0; word < probes.length; word += PROBES_PER_WORD) {
+          unpack(in.readLong(), probes, word);
+        }
+        hits.put(classId, probes);
+      }
+      return hits;
+    }
+
+    private static long pack(final boolean[] probes, final int from) {
+      final int to = Math.min(from + PROBES_PER_WORD, probes.length);
+      long bits = 0;
+      for (int i = from; i != to; i++) {
+        if (probes[i]) {
+          bits |= 1L << (i - from);
+        }
+      }
+      return bits;
+    }
+
+    private static void unpack(final long word, final boolean[] probes,
+        final int from) {
+      long bits = word;
+      while (bits != 0) {
+        probes[from + Long.numberOfTrailingZeros(bits)] = true;
+        bits &= bits - 1;
+      }
+    }
+
+  }
+
+}
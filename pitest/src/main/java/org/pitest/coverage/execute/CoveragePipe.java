@@ -1,7 +1,6 @@
 package org.pitest.coverage.execute;
 
 import java.io.OutputStream;
-import java.util.Collection;
 
 import org.pitest.coverage.CoverageReceiver;
 import org.pitest.testapi.Description;
@@ -27,14 +26,10 @@ public class CoveragePipe implements CoverageReceiver {
   @Override
   public synchronized void recordTestOutcome(final Description description,
       final boolean wasGreen, final int executionTime) {
-    final Collection<Long> hits = CodeCoverageStore.getHits();
-
     this.dos.writeByte(Id.OUTCOME);
-    this.dos.write(description);
-    this.dos.writeInt(hits.size());
-    for (final Long each : hits) {
-      this.dos.writeLong(each);
-    }
+    this.dos.write(description, CoverageCodecs.DESCRIPTION);
+    this.dos.write(CodeCoverageStore.getClassHits(),
+        CoverageCodecs.PROBE_HITS);
     this.dos.writeBoolean(wasGreen);
     this.dos.writeInt(executionTime);
 
@@ -0,0 +1,41 @@
+package org.pitest.junit.android;
+
+import java.util.List;
+
+/**
+ * The device/emulator instrumented tests and app installs of this process
+ * are directed to. When none has been selected adb and Gradle pick the only
+ * connected device themselves.
+ */
+public final class AndroidDevice {
+
+  private static volatile String serial = null;
+
+  private AndroidDevice() {
+  }
+
+  /**
+   * Directs following adb calls and installs to the device with the given
+   * serial, or to the default device if null.
+   */
+  public static void select(String serial) {
+    AndroidDevice.serial = serial;
+  }
+
+  public static String getSerial() {
+    return serial;
+  }
+
+  /**
+   * Adds the arguments choosing the selected device to an adb command line,
+   * just after the adb binary.
+   */
+  public static void addTo(List<String> adbParams) {
+    String current = serial;
+    if (current != null) {
+      adbParams.add(1, "-s");
+      adbParams.add(2, current);
+    }
+  }
+
+}
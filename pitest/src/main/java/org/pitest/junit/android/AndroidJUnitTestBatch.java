@@ -0,0 +1,220 @@
+package org.pitest.junit.android;
+
+import org.pitest.testapi.AbstractTestUnit;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.ResultCollector;
+import org.pitest.util.Log;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs several instrumented tests in a single 'am instrument' invocation,
+ * reporting each result as soon as the runner prints it, so that the app is
+ * started once for all of them and the run can be stopped as soon as the
+ * result collector asks to exit.
+ *
+ * Coverage is not requested, as it is only gathered test by test by
+ * AndroidJUnitTestUnit.
+ */
+public class AndroidJUnitTestBatch extends AbstractTestUnit {
+
+  private static final Logger LOG = Log.getLogger();
+
+  private static final String STATUS = "INSTRUMENTATION_STATUS: ";
+  private static final String STATUS_CODE = "INSTRUMENTATION_STATUS_CODE: ";
+  private static final String RESULT = "INSTRUMENTATION_RESULT: ";
+  private static final String FAILED = "INSTRUMENTATION_FAILED: ";
+  private static final String CODE = "INSTRUMENTATION_CODE: ";
+
+  private static final int STATUS_START = 1;
+  private static final int STATUS_OK = 0;
+
+  private final List<AndroidJUnitTestUnit> tests;
+
+  public AndroidJUnitTestBatch(List<AndroidJUnitTestUnit> tests) {
+    super(new Description("AndroidJUnitTestBatch"));
+    this.tests = tests;
+  }
+
+  public List<AndroidJUnitTestUnit> getTests() {
+    return tests;
+  }
+
+  @Override
+  public void execute(ResultCollector rc) {
+    execute(rc, AndroidJUnitTestUnit.getAdbBinary(), AndroidJUnitTestUnit.getTestAppPkgName(),
+            AndroidJUnitTestUnit.getTestRunner());
+  }
+
+  void execute(ResultCollector rc, String adbBinary, String testAppPkgName, String testRunner) {
+    // tests are matched to the runner's output by class and method name
+    Map<String, Description> pending = new LinkedHashMap<>();
+    for (AndroidJUnitTestUnit each : tests) {
+      Description d = each.getDescription();
+      pending.put(d.getFirstTestClass() + "#" + d.getName(), d);
+    }
+    if (pending.isEmpty()) {
+      return;
+    }
+
+    StringBuilder classArg = new StringBuilder();
+    for (String each : pending.keySet()) {
+      if (classArg.length() != 0) {
+        classArg.append(',');
+      }
+      classArg.append(each);
+    }
+
+    ProcessBuilder pb = new ProcessBuilder(AndroidJUnitTestUnit.instrumentParams(adbBinary,
+            classArg.toString(), false, testAppPkgName, testRunner));
+    pb.redirectErrorStream(true);
+
+    String failureCause = "Could not find test result in command output";
+    Process testProcess = null;
+    try {
+      testProcess = pb.start();
+      BufferedReader br = new BufferedReader(new InputStreamReader(testProcess.getInputStream()));
+      StatusParser parser = new StatusParser();
+      String line;
+      while ((line = br.readLine()) != null) {
+        if (!parser.parse(line)) {
+          continue;
+        }
+        if (parser.failureCause != null) {
+          failureCause = parser.failureCause;
+          continue;
+        }
+
+        Description d = pending.get(parser.testKey());
+        if (d == null) {
+          LOG.fine("Ignoring result of unknown test " + parser.testKey());
+        } else if (parser.code == STATUS_START) {
+          rc.notifyStart(d);
+        } else {
+          pending.remove(parser.testKey());
+          if (parser.code == STATUS_OK) {
+            rc.notifyEnd(d);
+          } else {
+            rc.notifyEnd(d, new Exception(parser.stack != null ? parser.stack : "Test failed"));
+          }
+          if (rc.shouldExit()) {
+            return;
+          }
+        }
+      }
+      testProcess.waitFor();
+
+    } catch (IOException e) {
+      LOG.log(Level.WARNING, "Could not run instrumented tests", e);
+      failureCause = e.toString();
+    } catch (InterruptedException e) {
+      // the tests did not fail, the run was cut short, so leave those without
+      // a result unreported
+      LOG.log(Level.WARNING, "Interrupted while running instrumented tests", e);
+      Thread.currentThread().interrupt();
+      return;
+    } finally {
+      if (testProcess != null) {
+        testProcess.destroy();
+      }
+    }
+
+    // the runner stopped (e.g. the app crashed) before reporting these tests
+    for (Description each : pending.values()) {
+      LOG.severe("No result for " + each.getQualifiedName() + ": " + failureCause);
+      rc.notifyEnd(each, new Exception(failureCause));
+      if (rc.shouldExit()) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Collects the key-value pairs of each status block printed by
+   * 'am instrument -r'.
+   */
+  private static class StatusParser {
+    private final Map<String, String> values = new LinkedHashMap<>();
+    private String lastKey = null;
+    private boolean complete = false;
+
+    int code;
+    String stack;
+    String failureCause;
+
+    /**
+     * @return true when a line completed a test status or reported that the
+     *         whole run failed
+     */
+    boolean parse(String line) {
+      failureCause = null;
+      if (complete) {
+        values.clear();
+        lastKey = null;
+        complete = false;
+      }
+      if (line.startsWith(STATUS_CODE)) {
+        code = parseCode(line.substring(STATUS_CODE.length()).trim());
+        stack = values.get("stack");
+        return finish();
+      } else if (line.startsWith(STATUS)) {
+        put(line.substring(STATUS.length()));
+      } else if (line.startsWith(RESULT)) {
+        put(line.substring(RESULT.length()));
+      } else if (line.startsWith(FAILED)) {
+        failureCause = line.substring(FAILED.length()).trim();
+        return true;
+      } else if (line.startsWith(CODE)) {
+        String shortMsg = values.get("shortMsg");
+        if (shortMsg != null) {
+          failureCause = shortMsg;
+          return true;
+        }
+      } else if (lastKey != null) {
+        // continuation of a multi-line value, such as a stack trace
+        values.put(lastKey, values.get(lastKey) + '\n' + line);
+      }
+      return false;
+    }
+
+    String testKey() {
+      String test = values.get("test");
+      // parameterised tests are reported as name[index]
+      if (test != null && test.indexOf('[') > 0) {
+        test = test.substring(0, test.indexOf('['));
+      }
+      return values.get("class") + "#" + test;
+    }
+
+    private boolean finish() {
+      complete = true;
+      return values.containsKey("test");
+    }
+
+    private void put(String keyVal) {
+      int eq = keyVal.indexOf('=');
+      if (eq == -1) {
+        return;
+      }
+      lastKey = keyVal.substring(0, eq);
+      values.put(lastKey, keyVal.substring(eq + 1));
+    }
+
+    private static int parseCode(String str) {
+      try {
+        return Integer.parseInt(str);
+      } catch (NumberFormatException ex) {
+        LOG.severe("Could not parse result string (" + str + ")");
+        return Integer.MIN_VALUE;
+      }
+    }
+  }
+
+}
@@ -5,6 +5,8 @@ import org.pitest.testapi.Description;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.util.Log;
 
+import sun.pitest.MutantSwitch;
+
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -34,6 +36,10 @@ public class AndroidJUnitTestUnit extends AbstractTestUnit {
 
   private static Path tmpDir = null;
 
+  private static JacocoCoverageReportGenerator coverageGenerator = null;
+
+  private static volatile int selectedMutant = MutantSwitch.NONE;
+
   private class InstrumentedTestRunResult {
     /** flag indicating whether execution of this test was successful (regardless of test result) */
     boolean successfullyExecuted;
@@ -59,6 +65,72 @@ public class AndroidJUnitTestUnit extends AbstractTestUnit {
     super(description);
   }
 
+  /**
+   * Chooses the mutant that following test runs switch on, in an app that
+   * was installed with mutant schemata. MutantSwitch.NONE runs the app as
+   * installed.
+   */
+  public static void selectMutant(int id) {
+    selectedMutant = id;
+  }
+
+  public static String getAdbBinary() {
+    String adb = System.getenv("PITEST_ANDROID_ADB_PATH");
+    return adb != null ? adb : ADB_BINARY;
+  }
+
+  // get tested app's package name left by Pitest Gradle plugin
+  static String getTestAppPkgName() {
+    String testAppPkgName = System.getenv("PITEST_ANDROID_PKGNAME");
+    if (testAppPkgName == null) {
+      throw new RuntimeException("No package name set");
+    }
+    return testAppPkgName;
+  }
+
+  static String getTestedAppPkgName() {
+    String testedAppPkgName = System.getenv("PITEST_ANDROID_TESTED_APP_ID");
+    if (testedAppPkgName == null) {
+      throw new RuntimeException("No test package name set");
+    }
+    return testedAppPkgName;
+  }
+
+  static String getTestRunner() {
+    String testRunner = System.getenv("PITEST_ANDROID_INSTRUMENTATION_RUNNER");
+    if (testRunner == null) {
+      testRunner = ADB_JUNIT_RUNNER;
+    }
+    return testRunner;
+  }
+
+  /**
+   * Composes the adb command running the given tests (in Class#method form,
+   * separated by commas) in a single instrumentation invocation.
+   */
+  static ArrayList<String> instrumentParams(String adbBinary, String tests, boolean coverage,
+      String testAppPkgName, String testRunner) {
+    ArrayList<String> params = new ArrayList<>();
+    params.add(adbBinary);
+//    params.add(ADB_INSTRUMENT);
+    params.add("shell");
+    params.add("am");
+    params.add("instrument");
+    params.add("-w"); // wait for completion
+    params.add("-r"); // print raw results
+    if (coverage) {
+      params.add("-e coverage true"); // generate EMMA coverage file
+      //params.add("-e coverageFile " + ADB_COVERAGE_FILE_DEV_PATH); // specify EMMA coverage file location
+    }
+    params.add("-e class " + tests);
+    if (selectedMutant != MutantSwitch.NONE) {
+      params.add("-e " + MutantSwitch.ARGUMENT + " " + selectedMutant);
+    }
+    params.add(testAppPkgName + "/" + testRunner);
+    AndroidDevice.addTo(params);
+    return params;
+  }
+
   private static Path getTmpDir() {
     if (tmpDir == null) {
       try {
@@ -70,6 +142,14 @@ public class AndroidJUnitTestUnit extends AbstractTestUnit {
     return tmpDir;
   }
 
+  // shared by all tests so that classes are analysed only once
+  private static synchronized JacocoCoverageReportGenerator getCoverageGenerator(String classFilesPath) {
+    if (coverageGenerator == null) {
+      coverageGenerator = new JacocoCoverageReportGenerator(Paths.get(classFilesPath));
+    }
+    return coverageGenerator;
+  }
+
   private InstrumentedTestRunResult parseRunnerOutput(String str) {
     if (str.contains("INSTRUMENTATION_FAILED")) {
       String cause = "<cause unknown>";
@@ -130,18 +210,19 @@ public class AndroidJUnitTestUnit extends AbstractTestUnit {
     return new InstrumentedTestRunResult("Could not find test result in command output");
   }
 
-  private void getCoverageInfo(String covFilePath, String pkgName) {
+  private void getCoverageInfo(String adbBinary, String covFilePath, String pkgName) {
 
     // get coverage file contents using 'run-as' to allow reading the file without
     // root permissions
     //Path destDir = getTmpDir().toAbsolutePath();
     ArrayList<String> covProcessParams = new ArrayList<>();
-    covProcessParams.add(ADB_BINARY);
+    covProcessParams.add(adbBinary);
     covProcessParams.add("shell");
     covProcessParams.add("run-as");
     covProcessParams.add(pkgName);
     covProcessParams.add("cat");
     covProcessParams.add(covFilePath);
+    AndroidDevice.addTo(covProcessParams);
     ProcessBuilder pb = new ProcessBuilder(covProcessParams);
     pb.redirectErrorStream(true);
 
@@ -190,8 +271,7 @@ public class AndroidJUnitTestUnit extends AbstractTestUnit {
       if (classFilesPath == null) {
         throw new RuntimeException("No class files path set");
       }
-      JacocoCoverageReportGenerator generator = new JacocoCoverageReportGenerator();
-      generator.generateReport(bis, Paths.get(classFilesPath));
+      getCoverageGenerator(classFilesPath).generateReport(bis);
 
     } catch (InterruptedException e) {
       e.printStackTrace();
@@ -206,35 +286,15 @@ public class AndroidJUnitTestUnit extends AbstractTestUnit {
 
     rc.notifyStart(this.getDescription());
 
-    // get tested app's package name left by Pitest Gradle plugin
-    // TODO make it static?
-    String testAppPkgName = System.getenv("PITEST_ANDROID_PKGNAME");
-    if (testAppPkgName == null) {
-      throw new RuntimeException("No package name set");
-    }
-
-    String testedAppPkgName = System.getenv("PITEST_ANDROID_TESTED_APP_ID");
-    if (testedAppPkgName == null) {
-      throw new RuntimeException("No test package name set");
-    }
-    String testRunner = System.getenv("PITEST_ANDROID_INSTRUMENTATION_RUNNER");
-    if (testRunner == null) {
-      testRunner = ADB_JUNIT_RUNNER;
-    }
+    execute(rc, getAdbBinary(), getTestAppPkgName(), getTestedAppPkgName(), getTestRunner());
+  }
 
+  void execute(ResultCollector rc, String adbBinary, String testAppPkgName,
+      String testedAppPkgName, String testRunner) {
     // compose parameters for adb
-    ArrayList<String> params = new ArrayList<>();
-    params.add(ADB_BINARY);
-//    params.add(ADB_INSTRUMENT);
-    params.add("shell");
-    params.add("am");
-    params.add("instrument");
-    params.add("-w"); // wait for completion
-    params.add("-r"); // print raw results
-    params.add("-e coverage true"); // generate EMMA coverage file
-    //params.add("-e coverageFile " + ADB_COVERAGE_FILE_DEV_PATH); // specify EMMA coverage file location
-    params.add("-e class " + getDescription().getFirstTestClass() + "#" + getDescription().getName());
-    params.add(testAppPkgName + "/" + testRunner);
+    ArrayList<String> params = instrumentParams(adbBinary,
+        getDescription().getFirstTestClass() + "#" + getDescription().getName(), true,
+        testAppPkgName, testRunner);
 
     ProcessBuilder pb = new ProcessBuilder(params);
     pb.redirectErrorStream(true);
@@ -254,7 +314,7 @@ public class AndroidJUnitTestUnit extends AbstractTestUnit {
       if (result.successfullyExecuted) {
 
         if (result.coverageFilePath != null) {
-          getCoverageInfo(result.coverageFilePath, testedAppPkgName);
+          getCoverageInfo(adbBinary, result.coverageFilePath, testedAppPkgName);
         } else {
           LOG.warning("Failed to get coverage info for " + getDescription().getName());
         }
@@ -1,22 +1,19 @@
 package org.pitest.junit.android;
 
 
-import org.jacoco.core.analysis.Analyzer;
-import org.jacoco.core.analysis.CoverageBuilder;
-import org.jacoco.core.analysis.IBundleCoverage;
-import org.jacoco.core.analysis.IClassCoverage;
-//import org.jacoco.core.analysis.ILine;
-import org.jacoco.core.analysis.IPackageCoverage;
-//import org.jacoco.core.analysis.ISourceFileCoverage;
-//import org.jacoco.core.internal.analysis.LineImpl;
+import org.jacoco.core.data.ExecutionData;
 import org.jacoco.core.tools.ExecFileLoader;
+import org.pitest.functional.Option;
 import org.pitest.util.Log;
 import sun.pitest.CodeCoverageStore;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Collection;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.logging.Logger;
 
 /**
@@ -26,7 +23,32 @@ public class JacocoCoverageReportGenerator {
 
   private static final Logger LOG = Log.getLogger();
 
-  private void emitCoverageInfo(String className) {
+  private final Path classFilesDir;
+
+  // probe maps of the classes seen so far, none for classes that are not
+  // part of the tested app
+  private final Map<String, Option<JacocoProbeMap>> probeMaps = new HashMap<>();
+
+  public JacocoCoverageReportGenerator(Path classFilesDir) {
+    this.classFilesDir = classFilesDir;
+  }
+
+  private Option<JacocoProbeMap> getProbeMap(String className) throws IOException {
+    Option<JacocoProbeMap> probeMap = probeMaps.get(className);
+    if (probeMap == null) {
+      Path classFile = classFilesDir.resolve(className + ".class");
+      if (Files.exists(classFile)) {
+        probeMap = Option.some(new JacocoProbeMap(className, Files.readAllBytes(classFile)));
+      } else {
+        probeMap = Option.none();
+      }
+      probeMaps.put(className, probeMap);
+    }
+    return probeMap;
+  }
+
+  private void emitCoverageInfo(ExecutionData data, JacocoProbeMap probeMap) {
+    String className = data.getName();
 
     // make sure that given class is loaded (and thus present in CodeCoverageStore)
     try {
@@ -39,9 +61,14 @@ public class JacocoCoverageReportGenerator {
     if (id != -1) {
       int probesCount = CodeCoverageStore.getProbesCount(id);
       if (probesCount != -1) {
-        boolean[] probes = new boolean[probesCount - 1]; // first probe means an overall class hit
-        for (int i = 0; i < probesCount - 1; i++) {
-          probes[i] = true;
+        boolean[] probes; // first probe means an overall class hit
+        if (data.getId() == probeMap.getClassId() && probeMap.getBlockCount() == probesCount - 1) {
+          probes = probeMap.blocksHitBy(data.getProbes());
+        } else {
+          LOG.warning("Coverage of " + className + " was recorded for another build of the class, "
+              + "treating the whole class as covered");
+          probes = new boolean[probesCount - 1];
+          Arrays.fill(probes, true);
         }
         CodeCoverageStore.visitProbes(id, 0, probes);
       } else {
@@ -53,22 +80,16 @@ public class JacocoCoverageReportGenerator {
 
   }
 
-  public void generateReport(InputStream coverageFile, Path classFilesDir) {
+  public void generateReport(InputStream coverageFile) {
     try {
       ExecFileLoader execFileLoader = new ExecFileLoader();
       execFileLoader.load(coverageFile);
 
-      CoverageBuilder coverageBuilder = new CoverageBuilder();
-      Analyzer analyzer = new Analyzer(execFileLoader.getExecutionDataStore(), coverageBuilder);
-      analyzer.analyzeAll(classFilesDir.toFile());
-      IBundleCoverage bundleCoverage = coverageBuilder.getBundle("test");
-
-      Collection<IPackageCoverage> packages = bundleCoverage.getPackages();
-      for (IPackageCoverage pc : packages) {
-        for (IClassCoverage cc : pc.getClasses()) {
-          if (cc.getInstructionCounter().getCoveredCount() > 0) {
-            LOG.fine("Emitting coverage info for " + cc.getName());
-            emitCoverageInfo(cc.getName());
+      for (ExecutionData data : execFileLoader.getExecutionDataStore().getContents()) {
+        if (data.hasHits()) {
+          for (JacocoProbeMap probeMap : getProbeMap(data.getName())) {
+            LOG.fine("Emitting coverage info for " + data.getName());
+            emitCoverageInfo(data, probeMap);
           }
         }
       }
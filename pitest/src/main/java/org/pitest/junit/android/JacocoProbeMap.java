@@ -0,0 +1,176 @@
+package org.pitest.junit.android;
+
+import org.jacoco.core.analysis.Analyzer;
+import org.jacoco.core.analysis.CoverageBuilder;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.IMethodCoverage;
+import org.jacoco.core.analysis.ISourceNode;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.internal.data.CRC64;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.pitest.coverage.analysis.Block;
+import org.pitest.coverage.analysis.ControlFlowAnalyser;
+import org.pitest.util.Unchecked;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps the probes JaCoCo inserts into a class of the tested app onto the
+ * block probes pitest's coverage instrumentation uses for the same class.
+ *
+ * A pitest block counts as hit when one of its lines has an instruction
+ * JaCoCo reports as covered in the same method. As JaCoCo covers every
+ * instruction on a path leading to a probe that fired, the lines covered by a
+ * set of probes are the union of the lines each of them covers. So each
+ * JaCoCo probe is analysed only once, the first time a test hits it, and the
+ * blocks it covers are reused for every later test.
+ */
+class JacocoProbeMap {
+
+  private final String                className;
+  private final long                  classId;
+  private final byte[]                bytes;
+  // pitest's blocks, in the order of the probes it gives them
+  private final List<MethodBlock>     blocks;
+  private final Map<Integer, BitSet>  blocksByProbe = new HashMap<>();
+
+  private static class MethodBlock {
+    final String       method;
+    final Set<Integer> lines;
+
+    MethodBlock(String method, Set<Integer> lines) {
+      this.method = method;
+      this.lines = lines;
+    }
+  }
+
+  JacocoProbeMap(String className, byte[] bytes) {
+    this.className = className;
+    this.classId = CRC64.classId(bytes);
+    this.bytes = bytes;
+    this.blocks = findBlocks(bytes);
+  }
+
+  /**
+   * JaCoCo's id for the class the map was created from. Execution data
+   * carrying another id was recorded for a different build of the class.
+   */
+  long getClassId() {
+    return classId;
+  }
+
+  int getBlockCount() {
+    return blocks.size();
+  }
+
+  /**
+   * Translates the JaCoCo probes a test hit into pitest block hits, indexed
+   * as pitest's probes for the class.
+   */
+  synchronized boolean[] blocksHitBy(boolean[] probes) {
+    BitSet hit = new BitSet(blocks.size());
+    for (int i = 0; i != probes.length; i++) {
+      if (probes[i]) {
+        hit.or(blocksHitByProbe(i, probes.length));
+      }
+    }
+
+    boolean[] result = new boolean[blocks.size()];
+    for (int i = hit.nextSetBit(0); i >= 0; i = hit.nextSetBit(i + 1)) {
+      result[i] = true;
+    }
+    return result;
+  }
+
+  private BitSet blocksHitByProbe(int probe, int probeCount) {
+    BitSet hit = blocksByProbe.get(probe);
+    if (hit == null) {
+      hit = analyse(probe, probeCount);
+      blocksByProbe.put(probe, hit);
+    }
+    return hit;
+  }
+
+  private BitSet analyse(int probe, int probeCount) {
+    boolean[] probes = new boolean[probeCount];
+    probes[probe] = true;
+    ExecutionDataStore store = new ExecutionDataStore();
+    store.put(new ExecutionData(classId, className, probes));
+
+    CoverageBuilder coverageBuilder = new CoverageBuilder();
+    try {
+      new Analyzer(store, coverageBuilder).analyzeClass(bytes, className);
+    } catch (IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+
+    BitSet hit = new BitSet(blocks.size());
+    for (IClassCoverage cc : coverageBuilder.getClasses()) {
+      Map<String, IMethodCoverage> methods = new HashMap<>();
+      for (IMethodCoverage mc : cc.getMethods()) {
+        methods.put(mc.getName() + mc.getDesc(), mc);
+      }
+
+      for (int i = 0; i != blocks.size(); i++) {
+        MethodBlock block = blocks.get(i);
+        IMethodCoverage mc = methods.get(block.method);
+        boolean covered;
+        if (mc == null) {
+          // JaCoCo filters out some synthetic methods (e.g. lambda bodies),
+          // fall back to the lines covered anywhere in the class
+          covered = coversAnyOf(cc, block.lines);
+        } else if (block.lines.isEmpty()) {
+          // no debug information
+          covered = mc.getInstructionCounter().getCoveredCount() > 0;
+        } else {
+          covered = coversAnyOf(mc, block.lines);
+        }
+        if (covered) {
+          hit.set(i);
+        }
+      }
+    }
+    return hit;
+  }
+
+  private static boolean coversAnyOf(ISourceNode node, Set<Integer> lines) {
+    for (int line : lines) {
+      if (node.getLine(line).getInstructionCounter().getCoveredCount() > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // mirrors the probes CoverageClassVisitor gives the class: one per block of
+  // each method that is not a bridge, numbered in declaration order
+  private static List<MethodBlock> findBlocks(byte[] bytes) {
+    ClassNode classNode = new ClassNode();
+    new ClassReader(bytes).accept(classNode, ClassReader.EXPAND_FRAMES);
+
+    List<MethodBlock> blocks = new ArrayList<>();
+    for (Object m : classNode.methods) {
+      MethodNode mn = (MethodNode) m;
+      if ((mn.access & Opcodes.ACC_BRIDGE) != 0) {
+        continue;
+      }
+      for (Block each : ControlFlowAnalyser.analyze(mn)) {
+        blocks.add(new MethodBlock(mn.name + mn.desc,
+            new HashSet<>(each.getLines())));
+      }
+    }
+    return blocks;
+  }
+
+}
@@ -0,0 +1,54 @@
+package org.pitest.mutationtest.engine;
+
+import java.util.Map;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.functional.Option;
+
+/**
+ * A class containing many mutants of the same class, each of which is
+ * switched on by placing its id in sun.pitest.MutantSwitch.
+ */
+public final class MutantSchema {
+
+  private final ClassName                       clazz;
+  private final byte[]                          bytes;
+  private final Map<MutationIdentifier, Integer> switches;
+
+  public MutantSchema(final ClassName clazz, final byte[] bytes,
+      final Map<MutationIdentifier, Integer> switches) {
+    this.clazz = clazz;
+    this.bytes = bytes;
+    this.switches = switches;
+  }
+
+  public ClassName getClassName() {
+    return this.clazz;
+  }
+
+  /**
+   * Returns a byte array containing the woven class
+   *
+   * @return A byte array
+   */
+  public byte[] getBytes() {
+    return this.bytes;
+  }
+
+  /**
+   * Returns the id that switches on the given mutant, if this schema contains
+   * it
+   *
+   * @param id
+   *          the mutant
+   * @return the switch id or none
+   */
+  public Option<Integer> switchFor(final MutationIdentifier id) {
+    return Option.some(this.switches.get(id));
+  }
+
+  public int size() {
+    return this.switches.size();
+  }
+
+}
@@ -191,6 +191,15 @@ public final class MutationDetails {
     return this.poison.mayPoison();
   }
 
+  /**
+   * Returns the poison status of this mutation
+   *
+   * @return the poison status
+   */
+  public PoisonStatus getPoisonStatus() {
+    return this.poison;
+  }
+
   /**
    * Indicates if this mutation is in a static initializer block
    * 
@@ -0,0 +1,35 @@
+package org.pitest.mutationtest.engine;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.functional.Option;
+
+/**
+ * A Mutater that can also combine the mutants of a class into a single class,
+ * so that moving between mutants does not require the class to be redefined.
+ */
+public interface SchemataMutater extends Mutater {
+
+  /**
+   * Creates a schema holding as many of the mutants of the given class as can
+   * be switched at runtime. Mutants missing from the schema must be created
+   * with getMutation.
+   *
+   * @param clazz
+   *          the class to mutate
+   * @return a schema, or none if no mutants could be combined
+   */
+  Option<MutantSchema> createSchema(ClassName clazz);
+
+  /**
+   * Creates a schema whose switch ids start from the given id, so that the
+   * schemata of several classes can be live at the same time.
+   *
+   * @param clazz
+   *          the class to mutate
+   * @param firstSwitch
+   *          the id of the first mutant in the schema
+   * @return a schema, or none if no mutants could be combined
+   */
+  Option<MutantSchema> createSchema(ClassName clazz, int firstSwitch);
+
+}
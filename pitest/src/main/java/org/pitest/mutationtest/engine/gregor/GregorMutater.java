@@ -25,7 +25,9 @@ import java.util.Map;
 import java.util.Set;
 
 import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.tree.ClassNode;
 import org.pitest.bytecode.FrameOptions;
 import org.pitest.bytecode.NullVisitor;
 import org.pitest.classinfo.ClassByteArraySource;
@@ -93,25 +95,44 @@ public class GregorMutater implements Mutater {
   @Override
   public Mutant getMutation(final MutationIdentifier id) {
 
-    final ClassContext context = new ClassContext();
-    context.setTargetMutation(Option.some(id));
-
     final Option<byte[]> bytes = this.byteSource.getBytes(id.getClassName()
         .asJavaName());
 
-    final ClassReader reader = new ClassReader(bytes.value());
     final ClassWriter w = new ComputeClassWriter(this.byteSource,
         this.computeCache, FrameOptions.pickFlags(bytes.value()));
-    final MutatingClassVisitor mca = new MutatingClassVisitor(w, context,
+    final MutationDetails details = mutate(id, bytes.value(), w);
+
+    return new Mutant(details, w.toByteArray());
+
+  }
+
+  /**
+   * Applies a mutation without writing out the class, so the code is exactly
+   * as the mutator left it. Code the mutation makes unreachable is kept rather
+   * than being replaced as it is in the bytes of a Mutant.
+   */
+  public ClassNode getMutatedClass(final MutationIdentifier id) {
+    final Option<byte[]> bytes = this.byteSource.getBytes(id.getClassName()
+        .asJavaName());
+    final ClassNode node = new ClassNode();
+    mutate(id, bytes.value(), node);
+    return node;
+  }
+
+  private MutationDetails mutate(final MutationIdentifier id,
+      final byte[] bytes, final ClassVisitor out) {
+    final ClassContext context = new ClassContext();
+    context.setTargetMutation(Option.some(id));
+
+    final ClassReader reader = new ClassReader(bytes);
+    final MutatingClassVisitor mca = new MutatingClassVisitor(out, context,
         filterMethods(), FCollection.filter(this.mutators,
             isMutatorFor(id)));
     reader.accept(mca, ClassReader.EXPAND_FRAMES);
 
     final List<MutationDetails> details = context.getMutationDetails(context
         .getTargetMutation().value());
-
-    return new Mutant(details.get(0), w.toByteArray());
-
+    return details.get(0);
   }
 
   private static Predicate<MethodMutatorFactory> isMutatorFor(
@@ -22,7 +22,6 @@ import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.functional.F;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.predicate.Predicate;
-import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationEngine;
 
 /**
@@ -42,7 +41,7 @@ public class GregorMutationEngine implements MutationEngine {
   }
 
   @Override
-  public Mutater createMutator(final ClassByteArraySource byteSource) {
+  public GregorMutater createMutator(final ClassByteArraySource byteSource) {
     return new GregorMutater(byteSource, this.methodFilter,
         this.mutationOperators);
   }
@@ -20,7 +20,6 @@ import org.pitest.functional.F;
 import org.pitest.functional.predicate.Predicate;
 import org.pitest.functional.prelude.Prelude;
 import org.pitest.mutationtest.MutationEngineFactory;
-import org.pitest.mutationtest.engine.MutationEngine;
 import org.pitest.mutationtest.engine.gregor.GregorMutationEngine;
 import org.pitest.mutationtest.engine.gregor.MethodInfo;
 import org.pitest.mutationtest.engine.gregor.MethodMutatorFactory;
@@ -29,14 +28,14 @@ import org.pitest.util.Glob;
 public final class GregorEngineFactory implements MutationEngineFactory {
 
   @Override
-  public MutationEngine createEngine(
+  public GregorMutationEngine createEngine(
       final Collection<String> excludedMethods,
       final Collection<String> mutators) {
     return createEngineWithMutators(excludedMethods,
            createMutatorListFromArrayOrUseDefaults(mutators));
   }
 
-  public MutationEngine createEngineWithMutators(
+  public GregorMutationEngine createEngineWithMutators(
       final Collection<String> excludedMethods,
       final Collection<? extends MethodMutatorFactory> mutators) {
 
@@ -0,0 +1,29 @@
+package org.pitest.mutationtest.engine.gregor.config;
+
+import java.util.Collection;
+
+import org.pitest.mutationtest.MutationEngineFactory;
+import org.pitest.mutationtest.engine.MutationEngine;
+import org.pitest.mutationtest.engine.schemata.SchemataMutationEngine;
+
+public final class SchemataEngineFactory implements MutationEngineFactory {
+
+  @Override
+  public MutationEngine createEngine(
+      final Collection<String> excludedMethods,
+      final Collection<String> mutators) {
+    return new SchemataMutationEngine(new GregorEngineFactory().createEngine(
+        excludedMethods, mutators));
+  }
+
+  @Override
+  public String name() {
+    return "schemata";
+  }
+
+  @Override
+  public String description() {
+    return "Gregor mutants combined into one class per mutated class, switched at runtime";
+  }
+
+}
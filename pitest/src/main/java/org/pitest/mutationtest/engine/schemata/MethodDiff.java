@@ -0,0 +1,429 @@
+package org.pitest.mutationtest.engine.schemata;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.IincInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.MultiANewArrayInsnNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+import org.objectweb.asm.tree.VarInsnNode;
+import org.pitest.functional.Option;
+
+/**
+ * Finds the single run of instructions in which a mutated method differs from
+ * the original, by trimming the instructions the two have in common at either
+ * end.
+ *
+ * Positions are indexes into the real instructions of a method, a label being
+ * at the position of the instruction that follows it. The mutated run can
+ * only be switched in if no code outside it jumps into its middle, and the
+ * jumps and exception handlers around it are the same in both methods.
+ */
+final class MethodDiff {
+
+  private final MethodNode              original;
+  private final AbstractInsnNode[]      originalInsns;
+  private final Map<LabelNode, Integer> originalLabels;
+
+  MethodDiff(final MethodNode original) {
+    this.original = original;
+    this.originalInsns = realInstructions(original.instructions);
+    this.originalLabels = labelPositions(original.instructions);
+  }
+
+  AbstractInsnNode[] originalInstructions() {
+    return this.originalInsns;
+  }
+
+  /**
+   * Compares the mutant with the original method, adding labels to the
+   * original for any jumps out of the mutated code.
+   *
+   * @return the region to switch, or none if the mutant cannot be switched
+   */
+  Option<MutantRegion> diff(final MethodNode mutant) {
+    final AbstractInsnNode[] o = this.originalInsns;
+    final AbstractInsnNode[] m = realInstructions(mutant.instructions);
+    final Map<LabelNode, Integer> mutantLabels = labelPositions(mutant.instructions);
+
+    final int shortest = Math.min(o.length, m.length);
+    int prefix = 0;
+    while ((prefix < shortest) && sameIgnoringLabels(o[prefix], m[prefix])) {
+      prefix++;
+    }
+    int suffix = 0;
+    while ((suffix < (shortest - prefix))
+        && sameIgnoringLabels(o[o.length - 1 - suffix],
+            m[m.length - 1 - suffix])) {
+      suffix++;
+    }
+
+    final Positions positions = new Positions(prefix, o.length - suffix,
+        m.length - suffix, o.length, m.length);
+
+    if (positions.unchanged()) {
+      return Option.some(MutantRegion.unchanged(o.length));
+    }
+
+    if ((prefix >= o.length)
+        || !sameTargetsOutsideRegion(o, m, mutantLabels, positions)
+        || !sameTryCatchBlocks(mutant, mutantLabels, positions)) {
+      return Option.none();
+    }
+
+    final LabelNode end = new LabelNode();
+    final Option<InsnList> replacement = copyRegion(m, mutantLabels,
+        positions, end);
+    if (replacement.hasNone()) {
+      return Option.none();
+    }
+    return Option.some(new MutantRegion(prefix, o.length - suffix,
+        replacement.value(), end));
+  }
+
+  private boolean sameTargetsOutsideRegion(final AbstractInsnNode[] o,
+      final AbstractInsnNode[] m, final Map<LabelNode, Integer> mutantLabels,
+      final Positions positions) {
+    for (int i = 0; i != positions.start; i++) {
+      if (!sameTargets(o[i], m[i], mutantLabels, positions)) {
+        return false;
+      }
+    }
+    for (int i = 0; i != (o.length - positions.originalEnd); i++) {
+      if (!sameTargets(o[positions.originalEnd + i],
+          m[positions.mutantEnd + i], mutantLabels, positions)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean sameTargets(final AbstractInsnNode o,
+      final AbstractInsnNode m, final Map<LabelNode, Integer> mutantLabels,
+      final Positions positions) {
+    final List<LabelNode> originalTargets = targetsOf(o);
+    final List<LabelNode> mutantTargets = targetsOf(m);
+    for (int i = 0; i != originalTargets.size(); i++) {
+      if (!positions.correspond(this.originalLabels.get(originalTargets.get(i)),
+          mutantLabels.get(mutantTargets.get(i)))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean sameTryCatchBlocks(final MethodNode mutant,
+      final Map<LabelNode, Integer> mutantLabels, final Positions positions) {
+    final List<TryCatchBlockNode> o = this.original.tryCatchBlocks;
+    final List<TryCatchBlockNode> m = mutant.tryCatchBlocks;
+    if (o.size() != m.size()) {
+      return false;
+    }
+    for (int i = 0; i != o.size(); i++) {
+      final TryCatchBlockNode ot = o.get(i);
+      final TryCatchBlockNode mt = m.get(i);
+      if (!equal(ot.type, mt.type)
+          || !positions.correspond(this.originalLabels.get(ot.start),
+              mutantLabels.get(mt.start))
+          || !positions.correspond(this.originalLabels.get(ot.end),
+              mutantLabels.get(mt.end))
+          || !positions.correspond(this.originalLabels.get(ot.handler),
+              mutantLabels.get(mt.handler))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Option<InsnList> copyRegion(final AbstractInsnNode[] m,
+      final Map<LabelNode, Integer> mutantLabels, final Positions positions,
+      final LabelNode end) {
+    final InsnList copy = new InsnList();
+    if (positions.mutantEnd == positions.start) {
+      return Option.some(copy);
+    }
+
+    final AbstractInsnNode first = m[positions.start];
+    final AbstractInsnNode last = m[positions.mutantEnd - 1];
+
+    final Map<LabelNode, LabelNode> labels = new HashMap<>();
+    for (AbstractInsnNode each = first; each != last.getNext(); each = each
+        .getNext()) {
+      if (each instanceof LabelNode) {
+        labels.put((LabelNode) each, new LabelNode());
+      }
+    }
+    for (AbstractInsnNode each = first; each != last.getNext(); each = each
+        .getNext()) {
+      for (final LabelNode target : targetsOf(each)) {
+        if (!labels.containsKey(target)) {
+          final int position = mutantLabels.get(target);
+          final LabelNode mapped = position == positions.mutantEnd ? end
+              : originalLabelFor(position, positions);
+          if (mapped == null) {
+            return Option.none();
+          }
+          labels.put(target, mapped);
+        }
+      }
+    }
+
+    for (AbstractInsnNode each = first; each != last.getNext(); each = each
+        .getNext()) {
+      // frames are recomputed when the schema is written
+      if (each.getType() != AbstractInsnNode.FRAME) {
+        copy.add(each.clone(labels));
+      }
+    }
+    return Option.some(copy);
+  }
+
+  /**
+   * Returns a label in the original method for a jump from the mutated code
+   * to the given position outside it.
+   */
+  private LabelNode originalLabelFor(final int mutantPosition,
+      final Positions positions) {
+    if (mutantPosition <= positions.start) {
+      return labelBefore(mutantPosition);
+    }
+    if (mutantPosition > positions.mutantEnd) {
+      final int originalPosition = positions.toOriginal(mutantPosition);
+      if (originalPosition < this.originalInsns.length) {
+        return labelBefore(originalPosition);
+      }
+    }
+    return null;
+  }
+
+  private LabelNode labelBefore(final int position) {
+    final AbstractInsnNode insn = this.originalInsns[position];
+    AbstractInsnNode previous = insn.getPrevious();
+    while ((previous != null) && (previous.getOpcode() < 0)) {
+      if (previous instanceof LabelNode) {
+        return (LabelNode) previous;
+      }
+      previous = previous.getPrevious();
+    }
+    final LabelNode label = new LabelNode();
+    this.original.instructions.insertBefore(insn, label);
+    this.originalLabels.put(label, position);
+    return label;
+  }
+
+  static AbstractInsnNode[] realInstructions(final InsnList insns) {
+    final List<AbstractInsnNode> real = new ArrayList<>(insns.size());
+    for (AbstractInsnNode each = insns.getFirst(); each != null; each = each
+        .getNext()) {
+      if (each.getOpcode() >= 0) {
+        real.add(each);
+      }
+    }
+    return real.toArray(new AbstractInsnNode[real.size()]);
+  }
+
+  private static Map<LabelNode, Integer> labelPositions(final InsnList insns) {
+    final Map<LabelNode, Integer> positions = new IdentityHashMap<>();
+    int position = 0;
+    for (AbstractInsnNode each = insns.getFirst(); each != null; each = each
+        .getNext()) {
+      if (each instanceof LabelNode) {
+        positions.put((LabelNode) each, position);
+      } else if (each.getOpcode() >= 0) {
+        position++;
+      }
+    }
+    return positions;
+  }
+
+  private static List<LabelNode> targetsOf(final AbstractInsnNode insn) {
+    if (insn instanceof JumpInsnNode) {
+      return Arrays.asList(((JumpInsnNode) insn).label);
+    }
+    if (insn instanceof TableSwitchInsnNode) {
+      final TableSwitchInsnNode s = (TableSwitchInsnNode) insn;
+      final List<LabelNode> targets = new ArrayList<>(s.labels);
+      targets.add(s.dflt);
+      return targets;
+    }
+    if (insn instanceof LookupSwitchInsnNode) {
+      final LookupSwitchInsnNode s = (LookupSwitchInsnNode) insn;
+      final List<LabelNode> targets = new ArrayList<>(s.labels);
+      targets.add(s.dflt);
+      return targets;
+    }
+    return new ArrayList<>();
+  }
+
+  static boolean sameIgnoringLabels(final AbstractInsnNode a,
+      final AbstractInsnNode b) {
+    // mutators may re-encode constants they do not change, e.g. BIPUSH as LDC
+    final Object constant = constantOf(a);
+    if (constant != null) {
+      return constant.equals(constantOf(b));
+    }
+    if ((a.getOpcode() != b.getOpcode()) || (a.getType() != b.getType())) {
+      return false;
+    }
+    switch (a.getType()) {
+    case AbstractInsnNode.INT_INSN:
+      return ((IntInsnNode) a).operand == ((IntInsnNode) b).operand;
+    case AbstractInsnNode.VAR_INSN:
+      return ((VarInsnNode) a).var == ((VarInsnNode) b).var;
+    case AbstractInsnNode.TYPE_INSN:
+      return ((TypeInsnNode) a).desc.equals(((TypeInsnNode) b).desc);
+    case AbstractInsnNode.FIELD_INSN:
+      return sameField((FieldInsnNode) a, (FieldInsnNode) b);
+    case AbstractInsnNode.METHOD_INSN:
+      return sameMethod((MethodInsnNode) a, (MethodInsnNode) b);
+    case AbstractInsnNode.INVOKE_DYNAMIC_INSN:
+      return sameInvokeDynamic((InvokeDynamicInsnNode) a,
+          (InvokeDynamicInsnNode) b);
+    case AbstractInsnNode.LDC_INSN:
+      return ((LdcInsnNode) a).cst.equals(((LdcInsnNode) b).cst);
+    case AbstractInsnNode.IINC_INSN:
+      return (((IincInsnNode) a).var == ((IincInsnNode) b).var)
+          && (((IincInsnNode) a).incr == ((IincInsnNode) b).incr);
+    case AbstractInsnNode.TABLESWITCH_INSN:
+      return (((TableSwitchInsnNode) a).min == ((TableSwitchInsnNode) b).min)
+          && (((TableSwitchInsnNode) a).max == ((TableSwitchInsnNode) b).max);
+    case AbstractInsnNode.LOOKUPSWITCH_INSN:
+      return ((LookupSwitchInsnNode) a).keys
+          .equals(((LookupSwitchInsnNode) b).keys);
+    case AbstractInsnNode.MULTIANEWARRAY_INSN:
+      return ((MultiANewArrayInsnNode) a).desc
+          .equals(((MultiANewArrayInsnNode) b).desc)
+          && (((MultiANewArrayInsnNode) a).dims == ((MultiANewArrayInsnNode) b).dims);
+    default:
+      // plain instructions and jumps, whose targets are compared separately
+      return true;
+    }
+  }
+
+  /**
+   * Returns the number pushed by a constant instruction, or null for any other
+   * instruction.
+   */
+  private static Object constantOf(final AbstractInsnNode insn) {
+    final int opcode = insn.getOpcode();
+    if ((opcode >= Opcodes.ICONST_M1) && (opcode <= Opcodes.ICONST_5)) {
+      return opcode - Opcodes.ICONST_0;
+    }
+    switch (opcode) {
+    case Opcodes.LCONST_0:
+    case Opcodes.LCONST_1:
+      return (long) (opcode - Opcodes.LCONST_0);
+    case Opcodes.FCONST_0:
+    case Opcodes.FCONST_1:
+    case Opcodes.FCONST_2:
+      return (float) (opcode - Opcodes.FCONST_0);
+    case Opcodes.DCONST_0:
+    case Opcodes.DCONST_1:
+      return (double) (opcode - Opcodes.DCONST_0);
+    case Opcodes.BIPUSH:
+    case Opcodes.SIPUSH:
+      return ((IntInsnNode) insn).operand;
+    case Opcodes.LDC:
+      final Object cst = ((LdcInsnNode) insn).cst;
+      return cst instanceof Number ? cst : null;
+    default:
+      return null;
+    }
+  }
+
+  private static boolean sameField(final FieldInsnNode a,
+      final FieldInsnNode b) {
+    return a.owner.equals(b.owner) && a.name.equals(b.name)
+        && a.desc.equals(b.desc);
+  }
+
+  private static boolean sameMethod(final MethodInsnNode a,
+      final MethodInsnNode b) {
+    return a.owner.equals(b.owner) && a.name.equals(b.name)
+        && a.desc.equals(b.desc) && (a.itf == b.itf);
+  }
+
+  private static boolean sameInvokeDynamic(final InvokeDynamicInsnNode a,
+      final InvokeDynamicInsnNode b) {
+    return a.name.equals(b.name) && a.desc.equals(b.desc)
+        && a.bsm.equals(b.bsm) && Arrays.equals(a.bsmArgs, b.bsmArgs);
+  }
+
+  private static boolean equal(final Object a, final Object b) {
+    if (a == null) {
+      return b == null;
+    }
+    return a.equals(b);
+  }
+
+  /**
+   * The mutated region is [start, originalEnd) in the original method and
+   * [start, mutantEnd) in the mutant. Everything after it is shared, shifted
+   * by the difference in length.
+   */
+  private static final class Positions {
+    private final int start;
+    private final int originalEnd;
+    private final int mutantEnd;
+    private final int originalLength;
+    private final int mutantLength;
+
+    Positions(final int start, final int originalEnd, final int mutantEnd,
+        final int originalLength, final int mutantLength) {
+      this.start = start;
+      this.originalEnd = originalEnd;
+      this.mutantEnd = mutantEnd;
+      this.originalLength = originalLength;
+      this.mutantLength = mutantLength;
+    }
+
+    boolean unchanged() {
+      return (this.start == this.originalEnd) && (this.start == this.mutantEnd);
+    }
+
+    int toOriginal(final int mutantPosition) {
+      return (mutantPosition - this.mutantLength) + this.originalLength;
+    }
+
+    /**
+     * Checks that a jump to the given original position arrives, once the
+     * switch is woven in, where the mutant's jump to the given mutant
+     * position would. A jump to the start of the region arrives before the
+     * switch, so only reaches the start of the mutated code.
+     */
+    boolean correspond(final Integer originalPosition,
+        final Integer mutantPosition) {
+      if ((originalPosition == null) || (mutantPosition == null)) {
+        return false;
+      }
+      final int o = originalPosition;
+      final int m = mutantPosition;
+      if (o <= this.start) {
+        return m == o;
+      }
+      if (o >= this.originalEnd) {
+        return m == ((o - this.originalLength) + this.mutantLength);
+      }
+      return false;
+    }
+  }
+
+}
@@ -0,0 +1,71 @@
+package org.pitest.mutationtest.engine.schemata;
+
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.LabelNode;
+
+/**
+ * The instructions a mutant replaces in a method, expressed as a half open
+ * range [start, end) over the real instructions of the original method,
+ * together with the instructions the mutant runs instead. Jumps from the
+ * replacement to the instruction after it target the end label.
+ */
+final class MutantRegion {
+
+  private final int       start;
+  private final int       end;
+  private final InsnList  replacement;
+  private final LabelNode endLabel;
+
+  MutantRegion(final int start, final int end, final InsnList replacement,
+      final LabelNode endLabel) {
+    this.start = start;
+    this.end = end;
+    this.replacement = replacement;
+    this.endLabel = endLabel;
+  }
+
+  static MutantRegion unchanged(final int length) {
+    return new MutantRegion(length, length, new InsnList(), new LabelNode());
+  }
+
+  int start() {
+    return this.start;
+  }
+
+  int end() {
+    return this.end;
+  }
+
+  InsnList replacement() {
+    return this.replacement;
+  }
+
+  LabelNode endLabel() {
+    return this.endLabel;
+  }
+
+  /**
+   * True for mutants that left the method as it was, which need no switch.
+   */
+  boolean isUnchanged() {
+    return (this.start == this.end) && (this.replacement.size() == 0);
+  }
+
+  boolean sameRangeAs(final MutantRegion other) {
+    return (this.start == other.start) && (this.end == other.end);
+  }
+
+  /**
+   * Regions conflict if they overlap, or if they begin at the same
+   * instruction without covering the same range, as the order of their
+   * switches would then matter.
+   */
+  boolean conflictsWith(final MutantRegion other) {
+    if (sameRangeAs(other)) {
+      return false;
+    }
+    return (this.start == other.start)
+        || ((this.start < other.end) && (other.start < this.end));
+  }
+
+}
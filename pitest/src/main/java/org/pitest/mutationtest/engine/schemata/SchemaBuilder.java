@@ -0,0 +1,234 @@
+package org.pitest.mutationtest.engine.schemata;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.logging.Logger;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.pitest.bytecode.FrameOptions;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.ComputeClassWriter;
+import org.pitest.functional.F;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MutantSchema;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.Log;
+
+import sun.pitest.MutantSwitch;
+
+/**
+ * Weaves the mutants of a class into one copy of it. Each mutated region of
+ * the original code is preceded by a check of sun.pitest.MutantSwitch for each
+ * mutant of that region, which runs the mutant's instructions in place of the
+ * original ones.
+ *
+ * Mutants whose change cannot be isolated, or that overlap a region already
+ * taken by another mutant, are left out of the schema.
+ */
+final class SchemaBuilder {
+
+  private static final Logger        LOG          = Log.getLogger();
+
+  private final ClassByteArraySource byteSource;
+  private final Map<String, String>  computeCache = new HashMap<>();
+
+  SchemaBuilder(final ClassByteArraySource byteSource) {
+    this.byteSource = byteSource;
+  }
+
+  Option<MutantSchema> build(final ClassName clazz, final byte[] original,
+      final int firstSwitch, final Collection<MutationIdentifier> ids,
+      final F<MutationIdentifier, ClassNode> mutate) {
+    final ClassNode target = read(original);
+    final Map<String, MethodNode> methods = methodsByKey(target);
+    final Map<String, MethodDiff> diffs = new HashMap<>();
+    final Map<String, List<Switch>> switchesByMethod = new LinkedHashMap<>();
+    final Map<MutationIdentifier, Integer> switches = new LinkedHashMap<>();
+
+    int nextSwitch = firstSwitch;
+    for (final MutationIdentifier id : ids) {
+      final String key = key(id.getLocation());
+      final MethodNode method = methods.get(key);
+      final ClassNode mutated = mutate.apply(id);
+      final MethodNode mutatedMethod = methodsByKey(mutated).get(key);
+      if ((method == null) || (mutatedMethod == null)
+          || !sameMembers(target, mutated)) {
+        continue;
+      }
+
+      MethodDiff diff = diffs.get(key);
+      if (diff == null) {
+        diff = new MethodDiff(method);
+        diffs.put(key, diff);
+        switchesByMethod.put(key, new ArrayList<Switch>());
+      }
+
+      final Option<MutantRegion> region = diff.diff(mutatedMethod);
+      if (region.hasNone()
+          || conflicts(region.value(), switchesByMethod.get(key))) {
+        continue;
+      }
+      switchesByMethod.get(key).add(new Switch(nextSwitch, region.value()));
+      switches.put(id, nextSwitch);
+      nextSwitch++;
+    }
+
+    if (switches.isEmpty()) {
+      return Option.none();
+    }
+
+    for (final Entry<String, List<Switch>> each : switchesByMethod.entrySet()) {
+      weave(methods.get(each.getKey()), diffs.get(each.getKey())
+          .originalInstructions(), each.getValue());
+    }
+
+    final Option<byte[]> bytes = write(clazz, target, original);
+    if (bytes.hasNone()) {
+      return Option.none();
+    }
+    return Option.some(new MutantSchema(clazz, bytes.value(), switches));
+  }
+
+  private static boolean conflicts(final MutantRegion region,
+      final List<Switch> accepted) {
+    for (final Switch each : accepted) {
+      if (region.conflictsWith(each.region)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void weave(final MethodNode method,
+      final AbstractInsnNode[] insns, final List<Switch> switches) {
+    final Map<MutantRegion, List<Switch>> byRange = groupByRange(switches);
+    for (final Entry<MutantRegion, List<Switch>> group : byRange.entrySet()) {
+      final MutantRegion range = group.getKey();
+      if (range.isUnchanged()) {
+        continue;
+      }
+
+      final InsnList code = new InsnList();
+      final InsnList ends = new InsnList();
+      for (final Switch each : group.getValue()) {
+        final LabelNode next = new LabelNode();
+        code.add(new MethodInsnNode(Opcodes.INVOKESTATIC,
+            MutantSwitch.CLASS_NAME, MutantSwitch.METHOD_NAME, "()I", false));
+        code.add(pushInt(each.id));
+        code.add(new JumpInsnNode(Opcodes.IF_ICMPNE, next));
+        code.add(each.region.replacement());
+        code.add(new JumpInsnNode(Opcodes.GOTO, each.region.endLabel()));
+        code.add(next);
+        ends.add(each.region.endLabel());
+      }
+
+      final AbstractInsnNode anchor = insns[range.start()];
+      method.instructions.insertBefore(anchor, code);
+      if (range.end() > range.start()) {
+        method.instructions.insert(insns[range.end() - 1], ends);
+      } else {
+        method.instructions.insertBefore(anchor, ends);
+      }
+    }
+  }
+
+  private static Map<MutantRegion, List<Switch>> groupByRange(
+      final List<Switch> switches) {
+    final Map<MutantRegion, List<Switch>> groups = new LinkedHashMap<>();
+    for (final Switch each : switches) {
+      List<Switch> group = null;
+      for (final Entry<MutantRegion, List<Switch>> existing : groups
+          .entrySet()) {
+        if (existing.getKey().sameRangeAs(each.region)) {
+          group = existing.getValue();
+        }
+      }
+      if (group == null) {
+        group = new ArrayList<>();
+        groups.put(each.region, group);
+      }
+      group.add(each);
+    }
+    return groups;
+  }
+
+  private static AbstractInsnNode pushInt(final int value) {
+    if (value <= 5) {
+      return new InsnNode(Opcodes.ICONST_0 + value);
+    }
+    if (value <= Byte.MAX_VALUE) {
+      return new IntInsnNode(Opcodes.BIPUSH, value);
+    }
+    if (value <= Short.MAX_VALUE) {
+      return new IntInsnNode(Opcodes.SIPUSH, value);
+    }
+    return new LdcInsnNode(value);
+  }
+
+  private Option<byte[]> write(final ClassName clazz, final ClassNode target,
+      final byte[] original) {
+    try {
+      final ClassWriter w = new ComputeClassWriter(this.byteSource,
+          this.computeCache, FrameOptions.pickFlags(original));
+      target.accept(w);
+      return Option.some(w.toByteArray());
+    } catch (final RuntimeException ex) {
+      // most likely a method grown past the size limit
+      LOG.fine("Could not create mutant schema for " + clazz + " " + ex);
+      return Option.none();
+    }
+  }
+
+  private static boolean sameMembers(final ClassNode a, final ClassNode b) {
+    return (a.methods.size() == b.methods.size())
+        && (a.fields.size() == b.fields.size());
+  }
+
+  private static Map<String, MethodNode> methodsByKey(final ClassNode clazz) {
+    final Map<String, MethodNode> methods = new HashMap<>();
+    for (final MethodNode each : clazz.methods) {
+      methods.put(each.name + each.desc, each);
+    }
+    return methods;
+  }
+
+  private static String key(final Location location) {
+    return location.getMethodName().name() + location.getMethodDesc();
+  }
+
+  private static ClassNode read(final byte[] bytes) {
+    final ClassNode node = new ClassNode();
+    new ClassReader(bytes).accept(node, ClassReader.SKIP_FRAMES);
+    return node;
+  }
+
+  private static final class Switch {
+    private final int          id;
+    private final MutantRegion region;
+
+    Switch(final int id, final MutantRegion region) {
+      this.id = id;
+      this.region = region;
+    }
+  }
+
+}
@@ -0,0 +1,85 @@
+package org.pitest.mutationtest.engine.schemata;
+
+import java.util.List;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.ClassName;
+import org.pitest.functional.F;
+import org.pitest.functional.FCollection;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutantSchema;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.SchemataMutater;
+import org.pitest.mutationtest.engine.gregor.GregorMutater;
+
+import sun.pitest.MutantSwitch;
+
+/**
+ * Builds schemata from the mutants created by a GregorMutater.
+ */
+class SchemaBuildingMutater implements SchemataMutater {
+
+  private final GregorMutater        child;
+  private final ClassByteArraySource byteSource;
+  private final SchemaBuilder        builder;
+
+  SchemaBuildingMutater(final GregorMutater child,
+      final ClassByteArraySource byteSource) {
+    this.child = child;
+    this.byteSource = byteSource;
+    this.builder = new SchemaBuilder(byteSource);
+  }
+
+  @Override
+  public Mutant getMutation(final MutationIdentifier id) {
+    return this.child.getMutation(id);
+  }
+
+  @Override
+  public List<MutationDetails> findMutations(final ClassName classToMutate) {
+    return this.child.findMutations(classToMutate);
+  }
+
+  @Override
+  public Option<MutantSchema> createSchema(final ClassName clazz) {
+    return createSchema(clazz, MutantSwitch.NONE + 1);
+  }
+
+  @Override
+  public Option<MutantSchema> createSchema(final ClassName clazz,
+      final int firstSwitch) {
+    final Option<byte[]> bytes = this.byteSource.getBytes(clazz.asJavaName());
+    if (bytes.hasNone()) {
+      return Option.none();
+    }
+    return this.builder.build(clazz, bytes.value(), firstSwitch,
+        FCollection.map(findMutations(clazz), toId()), mutate());
+  }
+
+  private static F<MutationDetails, MutationIdentifier> toId() {
+    return new F<MutationDetails, MutationIdentifier>() {
+      @Override
+      public MutationIdentifier apply(final MutationDetails a) {
+        return a.getId();
+      }
+    };
+  }
+
+  private F<MutationIdentifier, ClassNode> mutate() {
+    return new F<MutationIdentifier, ClassNode>() {
+      @Override
+      public ClassNode apply(final MutationIdentifier a) {
+        return SchemaBuildingMutater.this.child.getMutatedClass(a);
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    return "SchemaBuildingMutater [child=" + this.child + "]";
+  }
+
+}
@@ -0,0 +1,38 @@
+package org.pitest.mutationtest.engine.schemata;
+
+import java.util.Collection;
+
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationEngine;
+import org.pitest.mutationtest.engine.gregor.GregorMutationEngine;
+
+/**
+ * Wraps the gregor engine so that the mutants it creates for a class can be
+ * combined into a single class, in which the mutant under test is chosen by
+ * a static field rather than by redefining the class.
+ */
+public class SchemataMutationEngine implements MutationEngine {
+
+  private final GregorMutationEngine child;
+
+  public SchemataMutationEngine(final GregorMutationEngine child) {
+    this.child = child;
+  }
+
+  @Override
+  public Mutater createMutator(final ClassByteArraySource source) {
+    return new SchemaBuildingMutater(this.child.createMutator(source), source);
+  }
+
+  @Override
+  public Collection<String> getMutatorNames() {
+    return this.child.getMutatorNames();
+  }
+
+  @Override
+  public String toString() {
+    return "SchemataMutationEngine [child=" + this.child + "]";
+  }
+
+}
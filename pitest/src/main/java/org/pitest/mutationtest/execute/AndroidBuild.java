@@ -0,0 +1,169 @@
+package org.pitest.mutationtest.execute;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.junit.android.AndroidDevice;
+import org.pitest.util.Log;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The Gradle build of the Android application under test, which packages the
+ * class files left by the Pitest Gradle plugin and installs them on the
+ * device/emulator.
+ */
+public class AndroidBuild {
+
+  private static final Logger LOG = Log.getLogger();
+
+  private static final String LOCK_FILE = ".pitest-install.lock";
+
+  private final Path classesPath;
+  private final String variantName;
+  private final Path gradlewPath;
+
+  public AndroidBuild(Path classesPath, String variantName, Path gradlewPath) {
+    this.classesPath = classesPath;
+    this.variantName = variantName;
+    this.gradlewPath = gradlewPath;
+  }
+
+  public static AndroidBuild fromEnvironment() {
+    String classesPath = System.getenv("PITEST_ANDROID_CLASSFILES_PATH");
+    if (classesPath == null) {
+      throw new RuntimeException("No class files path set");
+    }
+
+    String variantName = System.getenv("PITEST_ANDROID_VARIANT_NAME");
+    if (variantName == null) {
+      variantName = "Debug";
+    }
+
+    Path gradlewPath;
+    String gradlew = System.getenv("PITEST_ANDROID_GRADLEW_PATH");
+    if (gradlew != null) {
+      gradlewPath = Paths.get(gradlew);
+    } else {
+      String cwd = System.getProperty("user.dir");
+      if (cwd == null) {
+        throw new RuntimeException("Could not determine current working directory");
+      }
+      gradlewPath = Paths.get(cwd, "../gradlew"); // fixme
+    }
+    if (Files.notExists(gradlewPath)) {
+      throw new RuntimeException("Could not find gradle wrapper in current working directory. "
+              + "Pitest should be run from app project's main directory.");
+    }
+
+    return new AndroidBuild(Paths.get(classesPath), variantName, gradlewPath);
+  }
+
+  public Path classFile(ClassName clazz) {
+    return classesPath.resolve(clazz.asInternalName() + ".class");
+  }
+
+  /**
+   * Reinstalls the app with the given class files in place of the compiled
+   * ones. The compiled class files are put back once the app is installed.
+   *
+   * Minions running in parallel against different devices share the class
+   * files, so the whole operation holds a lock on the build.
+   *
+   * @return true if the wrapper reported success
+   */
+  public boolean install(Map<ClassName, byte[]> classes) {
+    synchronized (AndroidBuild.class) {
+      try (FileChannel lockFile = FileChannel.open(classesPath.resolveSibling(LOCK_FILE),
+              StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+           FileLock lock = lockFile.lock()) {
+        Map<Path, byte[]> originals = new LinkedHashMap<>();
+        try {
+          for (Map.Entry<ClassName, byte[]> each : classes.entrySet()) {
+            Path file = classFile(each.getKey());
+            originals.put(file, Files.exists(file) ? Files.readAllBytes(file) : null);
+            Files.createDirectories(file.getParent());
+            Files.write(file, each.getValue());
+          }
+          return install();
+        } finally {
+          restore(originals);
+        }
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
+  private static void restore(Map<Path, byte[]> originals) throws IOException {
+    for (Map.Entry<Path, byte[]> each : originals.entrySet()) {
+      if (each.getValue() != null) {
+        Files.write(each.getKey(), each.getValue());
+      } else {
+        Files.deleteIfExists(each.getKey());
+      }
+    }
+  }
+
+  /**
+   * Repackages the class files and reinstalls the app, skipping compilation
+   * of java files.
+   */
+  private boolean install() {
+    // ./gradlew installDebug -x javaPreCompileDebug -x compileDebugJavaWithJavac
+    ArrayList<String> gradlewProcessParams = new ArrayList<>(Arrays.asList(
+            gradlewPath.toString(), "install" + variantName, "-x", "javaPreCompile" + variantName,
+            "-x", "compile" + variantName + "JavaWithJavac"));
+    ProcessBuilder pb = new ProcessBuilder(gradlewProcessParams);
+    pb.redirectErrorStream(true);
+    if (AndroidDevice.getSerial() != null) {
+      // otherwise the app is installed on every connected device
+      pb.environment().put("ANDROID_SERIAL", AndroidDevice.getSerial());
+    }
+
+    try {
+      LOG.info("Repackaging and reinstalling the app...");
+      Process gradlewProcess = pb.start();
+      String output = readOutput(gradlewProcess);
+      gradlewProcess.waitFor();
+
+      if (gradlewProcess.exitValue() != 0) {
+        LOG.warning("Gradle wrapper exited with code " + gradlewProcess.exitValue());
+        LOG.warning(output);
+        return false;
+      }
+      return true;
+    } catch (IOException ex) {
+      LOG.log(Level.WARNING, "Could not run gradle wrapper", ex);
+      return false;
+    } catch (InterruptedException ex) {
+      LOG.log(Level.WARNING, "Interrupted while installing the app", ex);
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static String readOutput(Process process) throws IOException {
+    // read before waiting, so a chatty build cannot fill the pipe and block
+    BufferedReader br = new BufferedReader(new InputStreamReader(process.getInputStream()));
+    StringBuilder output = new StringBuilder();
+    String line;
+    while ((line = br.readLine()) != null) {
+      output.append(line).append('\n');
+    }
+    return output.toString();
+  }
+
+}
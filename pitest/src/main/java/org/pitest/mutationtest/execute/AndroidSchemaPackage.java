@@ -0,0 +1,160 @@
+package org.pitest.mutationtest.execute;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutantSchema;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.SchemataMutater;
+import org.pitest.util.Log;
+
+import sun.pitest.MutantSwitch;
+
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Installs the app with the mutant schemata of the classes a minion mutates,
+ * so that the mutant tested on the device/emulator is chosen by an
+ * instrumentation argument instead of rebuilding the app per mutant.
+ *
+ * Enabled by setting PITEST_ANDROID_INSTALL_ONCE to true, and requires the
+ * schemata mutation engine.
+ */
+public class AndroidSchemaPackage {
+
+  private static final Logger LOG = Log.getLogger();
+
+  private final SchemataMutater mutater;
+  private final AndroidBuild build;
+
+  private final Set<ClassName> targets = new LinkedHashSet<>();
+  private final Set<ClassName> withoutSchema = new HashSet<>();
+  private final Map<ClassName, MutantSchema> schemata = new LinkedHashMap<>();
+
+  private boolean installed;
+  private boolean failed;
+
+  public AndroidSchemaPackage(SchemataMutater mutater, AndroidBuild build) {
+    this.mutater = mutater;
+    this.build = build;
+  }
+
+  public static Option<AndroidSchemaPackage> fromEnvironment(Mutater mutater) {
+    if (!Boolean.parseBoolean(System.getenv("PITEST_ANDROID_INSTALL_ONCE"))) {
+      return Option.none();
+    }
+    if (!(mutater instanceof SchemataMutater)) {
+      LOG.warning("Android install once mode requires the schemata mutation engine, "
+              + "the app will be rebuilt for each mutant");
+      return Option.none();
+    }
+    return Option.some(new AndroidSchemaPackage((SchemataMutater) mutater,
+            AndroidBuild.fromEnvironment()));
+  }
+
+  /**
+   * Adds the schemata of the given classes to the package, so that the app is
+   * installed once for all of them when their first mutant is requested.
+   */
+  public void prepare(Collection<ClassName> classes) {
+    for (ClassName each : classes) {
+      if (targets.contains(each) || withoutSchema.contains(each)) {
+        continue;
+      }
+      if (hasSchema(each)) {
+        targets.add(each);
+        installed = false;
+      } else {
+        withoutSchema.add(each);
+      }
+    }
+  }
+
+  /**
+   * Returns the id that switches on the given mutant in the installed app,
+   * building and installing the app first if required.
+   *
+   * @return the switch id, or none if the mutant must be installed on its own
+   */
+  public Option<Integer> switchFor(MutationIdentifier id) {
+    if (failed) {
+      return Option.none();
+    }
+    ClassName clazz = id.getClassName();
+    if (withoutSchema.contains(clazz)) {
+      return Option.none();
+    }
+    // a class not prepared upfront, such as one of another unit whose
+    // mutations this minion was handed, is added as its first mutant is
+    // requested, which means installing the app again
+    if (!targets.contains(clazz)) {
+      if (!hasSchema(clazz)) {
+        // the mutants of this class are rebuilt one at a time, other classes
+        // can still be switched
+        withoutSchema.add(clazz);
+        return Option.none();
+      }
+      targets.add(clazz);
+      installed = false;
+    }
+    if (!installed) {
+      installed = install();
+      if (!installed) {
+        LOG.warning("Could not install app with mutant schemata, "
+                + "the app will be rebuilt for each mutant");
+        failed = true;
+        return Option.none();
+      }
+    }
+    MutantSchema schema = schemata.get(clazz);
+    return schema != null ? schema.switchFor(id) : Option.<Integer>none();
+  }
+
+  private boolean hasSchema(ClassName clazz) {
+    return Files.exists(build.classFile(clazz))
+            && mutater.createSchema(clazz, MutantSwitch.NONE + 1).hasSome();
+  }
+
+  /**
+   * Must be called when another build has been installed on the device, so
+   * that the package is installed again when next needed.
+   */
+  public void invalidate() {
+    installed = false;
+  }
+
+  private boolean install() {
+    schemata.clear();
+    Map<ClassName, byte[]> classes = new LinkedHashMap<>();
+    int nextSwitch = MutantSwitch.NONE + 1;
+    for (ClassName each : targets) {
+      Option<MutantSchema> schema = mutater.createSchema(each, nextSwitch);
+      if (schema.hasSome() && Files.exists(build.classFile(each))) {
+        schemata.put(each, schema.value());
+        classes.put(each, schema.value().getBytes());
+        nextSwitch += schema.value().size();
+      }
+    }
+    if (schemata.isEmpty()) {
+      return false;
+    }
+
+    Option<byte[]> switchClass = ClassloaderByteArraySource.fromContext()
+            .getBytes(MutantSwitch.class.getName());
+    if (switchClass.hasNone()) {
+      return false;
+    }
+    classes.put(ClassName.fromClass(MutantSwitch.class), switchClass.value());
+
+    return build.install(classes);
+  }
+
+}
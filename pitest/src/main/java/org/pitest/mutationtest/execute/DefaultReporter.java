@@ -35,7 +35,7 @@ public class DefaultReporter implements Reporter {
   public synchronized void describe(final MutationIdentifier i)
       throws IOException {
     this.w.writeByte(Id.DESCRIBE);
-    this.w.write(i);
+    this.w.write(i, MutationCodecs.MUTATION_IDENTIFIER);
     this.w.flush();
   }
 
@@ -43,8 +43,20 @@ public class DefaultReporter implements Reporter {
   public synchronized void report(final MutationIdentifier i,
       final MutationStatusTestPair mutationDetected) throws IOException {
     this.w.writeByte(Id.REPORT);
-    this.w.write(i);
-    this.w.write(mutationDetected);
+    this.w.write(i, MutationCodecs.MUTATION_IDENTIFIER);
+    this.w.write(mutationDetected, MutationCodecs.STATUS_TEST_PAIR);
+    this.w.flush();
+  }
+
+  @Override
+  public synchronized void recycle() {
+    this.w.writeByte(Id.RECYCLE);
+    this.w.flush();
+  }
+
+  @Override
+  public synchronized void requestWork() {
+    this.w.writeByte(Id.NEXT);
     this.w.flush();
   }
 
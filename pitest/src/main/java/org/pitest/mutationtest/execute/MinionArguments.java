@@ -15,6 +15,7 @@
 package org.pitest.mutationtest.execute;
 
 import java.util.Collection;
+import java.util.LinkedHashSet;
 
 import org.pitest.classinfo.ClassName;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
@@ -30,17 +31,48 @@ public class MinionArguments {
   final TimeoutLengthStrategy       timeoutStrategy;
   final boolean                     verbose;
   final TestPluginArguments         pitConfig;
+  // serial of the Android device leased to the minion, or null
+  final String                      device;
+  // every class the unit mutates, not just those of the first batch
+  final Collection<ClassName>       mutatedClasses;
 
   public MinionArguments(final Collection<MutationDetails> mutations,
       final Collection<ClassName> tests, final MutationEngine engine,
       final TimeoutLengthStrategy timeoutStrategy, final boolean verbose,
       final TestPluginArguments pitConfig) {
+    this(mutations, tests, engine, timeoutStrategy, verbose, pitConfig, null);
+  }
+
+  public MinionArguments(final Collection<MutationDetails> mutations,
+      final Collection<ClassName> tests, final MutationEngine engine,
+      final TimeoutLengthStrategy timeoutStrategy, final boolean verbose,
+      final TestPluginArguments pitConfig, final String device) {
+    this(mutations, tests, engine, timeoutStrategy, verbose, pitConfig,
+        device, classesOf(mutations));
+  }
+
+  public MinionArguments(final Collection<MutationDetails> mutations,
+      final Collection<ClassName> tests, final MutationEngine engine,
+      final TimeoutLengthStrategy timeoutStrategy, final boolean verbose,
+      final TestPluginArguments pitConfig, final String device,
+      final Collection<ClassName> mutatedClasses) {
     this.mutations = mutations;
     this.testClasses = tests;
     this.engine = engine;
     this.timeoutStrategy = timeoutStrategy;
     this.verbose = verbose;
     this.pitConfig = pitConfig;
+    this.device = device;
+    this.mutatedClasses = mutatedClasses;
+  }
+
+  public static Collection<ClassName> classesOf(
+      final Collection<MutationDetails> mutations) {
+    final Collection<ClassName> classes = new LinkedHashSet<>();
+    for (final MutationDetails each : mutations) {
+      classes.add(each.getClassName());
+    }
+    return classes;
   }
 
   public boolean isVerbose() {
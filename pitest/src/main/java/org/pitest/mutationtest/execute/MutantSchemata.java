@@ -0,0 +1,112 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.logging.Logger;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.functional.F3;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutantSchema;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.SchemataMutater;
+import org.pitest.util.Log;
+
+import sun.pitest.MutantSwitch;
+
+/**
+ * Runs mutants by switching them on within a schema of their class, when the
+ * mutater can provide one.
+ *
+ * The schema of a class is swapped in once, through the same hotswap used for
+ * single mutants, and stays in place while consecutive mutants of that class
+ * are tested. Only the schema of the most recently mutated class is kept.
+ */
+class MutantSchemata {
+
+  private static final Logger                               LOG = Log
+                                                                    .getLogger();
+
+  private final Option<SchemataMutater>                     mutater;
+  private final F3<ClassName, ClassLoader, byte[], Boolean> hotswap;
+
+  private ClassName                                         currentClass;
+  private Option<MutantSchema>                              currentSchema;
+  private boolean                                           installed;
+
+  MutantSchemata(final Mutater mutater,
+      final F3<ClassName, ClassLoader, byte[], Boolean> hotswap) {
+    this.mutater = mutater instanceof SchemataMutater ? Option
+        .some((SchemataMutater) mutater) : Option.<SchemataMutater> none();
+    this.hotswap = hotswap;
+  }
+
+  /**
+   * Makes the given mutant live, installing its schema if required.
+   *
+   * @return false if the mutant is not part of a usable schema and must be
+   *         hotswapped in
+   */
+  boolean activate(final MutationIdentifier id, final ClassLoader loader) {
+    final Option<MutantSchema> schema = schemaFor(id.getClassName());
+    if (schema.hasNone()) {
+      return false;
+    }
+    final Option<Integer> switchId = schema.value().switchFor(id);
+    if (switchId.hasNone()) {
+      return false;
+    }
+
+    if (!this.installed) {
+      this.installed = switchVisibleTo(loader)
+          && this.hotswap.apply(id.getClassName(), loader, schema.value()
+              .getBytes());
+      if (!this.installed) {
+        LOG.fine("Could not install mutant schema for " + id.getClassName());
+        this.currentSchema = Option.none();
+        return false;
+      }
+    }
+
+    MutantSwitch.activate(switchId.value());
+    return true;
+  }
+
+  void deactivate() {
+    MutantSwitch.activate(MutantSwitch.NONE);
+  }
+
+  /**
+   * Must be called when a single mutant has been hotswapped in, as this
+   * replaces any installed schema.
+   */
+  void mutantHotSwapped() {
+    this.installed = false;
+  }
+
+  Mutant asMutant(final MutationDetails details) {
+    return new Mutant(details, this.currentSchema.value().getBytes());
+  }
+
+  private Option<MutantSchema> schemaFor(final ClassName clazz) {
+    if (this.mutater.hasNone()) {
+      return Option.none();
+    }
+    if (!clazz.equals(this.currentClass)) {
+      this.currentClass = clazz;
+      this.currentSchema = this.mutater.value().createSchema(clazz);
+      this.installed = false;
+    }
+    return this.currentSchema;
+  }
+
+  private static boolean switchVisibleTo(final ClassLoader loader) {
+    try {
+      return Class.forName(MutantSwitch.class.getName(), false, loader) == MutantSwitch.class;
+    } catch (final ClassNotFoundException ex) {
+      return false;
+    }
+  }
+
+}
@@ -0,0 +1,263 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.mutationtest.config.TestPluginArguments;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationEngine;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.PoisonStatus;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireCodec;
+
+/**
+ * Binary codecs for the messages exchanged with a mutation test minion.
+ *
+ * The engine, timeout strategy and test plugin arguments within
+ * {@link MinionArguments} may be supplied by third party plugins, so are
+ * still sent as xml.
+ */
+public final class MutationCodecs {
+
+  public static final WireCodec<MutationIdentifier>          MUTATION_IDENTIFIER = new MutationIdentifierCodec();
+  public static final WireCodec<MutationStatusTestPair>      STATUS_TEST_PAIR    = new StatusTestPairCodec();
+  public static final WireCodec<MutationDetails>             MUTATION_DETAILS    = new MutationDetailsCodec();
+  public static final WireCodec<Collection<MutationDetails>> MUTATION_BATCH      = new MutationBatchCodec();
+  public static final WireCodec<MinionArguments>             MINION_ARGUMENTS    = new MinionArgumentsCodec();
+  public static final WireCodec<Collection<ClassName>>       TEST_CLASSES        = new ClassNamesCodec();
+
+  private static final DetectionStatus[] STATUSES = DetectionStatus.values();
+  private static final PoisonStatus[]    POISON   = PoisonStatus.values();
+
+  private MutationCodecs() {
+  }
+
+  private static void writeClassName(final SafeDataOutputStream out,
+      final ClassName name) {
+    out.writeString(name.asInternalName());
+  }
+
+  private static ClassName readClassName(final SafeDataInputStream in) {
+    return ClassName.fromString(in.readString());
+  }
+
+  private static void writeClassNames(final SafeDataOutputStream out,
+      final Collection<ClassName> names) {
+    out.writeInt(names.size());
+    for (final ClassName each : names) {
+      writeClassName(out, each);
+    }
+  }
+
+  private static List<ClassName> readClassNames(final SafeDataInputStream in) {
+    final int size = in.readInt();
+    final List<ClassName> names = new ArrayList<>(size);
+    for (int i = 0; i != size; i++) {
+      names.add(readClassName(in));
+    }
+    return names;
+  }
+
+  private static void writeTestInfo(final SafeDataOutputStream out,
+      final TestInfo test) {
+    out.writeNullableString(test.getDefiningClass());
+    out.writeNullableString(test.getName());
+    out.writeInt(test.getTime());
+    out.writeInt(test.getNumberOfBlocksCovered());
+    out.writeBoolean(test.getTestee().hasSome());
+    if (test.getTestee().hasSome()) {
+      writeClassName(out, test.getTestee().value());
+    }
+  }
+
+  private static TestInfo readTestInfo(final SafeDataInputStream in) {
+    final String definingClass = in.readNullableString();
+    final String name = in.readNullableString();
+    final int time = in.readInt();
+    final int blocks = in.readInt();
+    final Option<ClassName> testee = in.readBoolean()
+        ? Option.some(readClassName(in)) : Option.<ClassName> none();
+    return new TestInfo(definingClass, name, time, testee, blocks);
+  }
+
+  private static class MutationIdentifierCodec
+      implements WireCodec<MutationIdentifier> {
+
+    @Override
+    public void write(final SafeDataOutputStream out,
+        final MutationIdentifier id) {
+      final Location location = id.getLocation();
+      writeClassName(out, location.getClassName());
+      out.writeString(location.getMethodName().name());
+      out.writeString(location.getMethodDesc());
+      final List<Integer> indexes = id.getIndexes();
+      out.writeInt(indexes.size());
+      for (final Integer each : indexes) {
+        out.writeInt(each);
+      }
+      out.writeString(id.getMutator());
+    }
+
+    @Override
+    public MutationIdentifier read(final SafeDataInputStream in) {
+      final Location location = new Location(readClassName(in),
+          MethodName.fromString(in.readString()), in.readString());
+      final int size = in.readInt();
+      final List<Integer> indexes = new ArrayList<>(size);
+      for (int i = 0; i != size; i++) {
+        indexes.add(in.readInt());
+      }
+      return new MutationIdentifier(location, indexes, in.readString());
+    }
+
+  }
+
+  private static class StatusTestPairCodec
+      implements WireCodec<MutationStatusTestPair> {
+
+    @Override
+    public void write(final SafeDataOutputStream out,
+        final MutationStatusTestPair pair) {
+      out.writeInt(pair.getNumberOfTestsRun());
+      out.writeByte((byte) pair.getStatus().ordinal());
+      out.writeNullableString(pair.getKillingTest().getOrElse(null));
+    }
+
+    @Override
+    public MutationStatusTestPair read(final SafeDataInputStream in) {
+      final int testsRun = in.readInt();
+      final DetectionStatus status = STATUSES[in.readByte()];
+      return new MutationStatusTestPair(testsRun, status,
+          in.readNullableString());
+    }
+
+  }
+
+  private static class MutationDetailsCodec
+      implements WireCodec<MutationDetails> {
+
+    @Override
+    public void write(final SafeDataOutputStream out,
+        final MutationDetails details) {
+      MUTATION_IDENTIFIER.write(out, details.getId());
+      out.writeString(details.getFilename());
+      out.writeString(details.getDescription());
+      out.writeInt(details.getLineNumber());
+      out.writeInt(details.getBlock());
+      out.writeBoolean(details.isInFinallyBlock());
+      out.writeByte((byte) details.getPoisonStatus().ordinal());
+      final List<TestInfo> tests = details.getTestsInOrder();
+      out.writeInt(tests.size());
+      for (final TestInfo each : tests) {
+        writeTestInfo(out, each);
+      }
+    }
+
+    @Override
+    public MutationDetails read(final SafeDataInputStream in) {
+      final MutationIdentifier id = MUTATION_IDENTIFIER.read(in);
+      final String filename = in.readString();
+      final String description = in.readString();
+      final int lineNumber = in.readInt();
+      final int block = in.readInt();
+      final boolean inFinallyBlock = in.readBoolean();
+      final PoisonStatus poison = POISON[in.readByte()];
+      final MutationDetails details = new MutationDetails(id, filename,
+          description, lineNumber, block, inFinallyBlock, poison);
+      final int size = in.readInt();
+      final List<TestInfo> tests = new ArrayList<>(size);
+      for (int i = 0; i != size; i++) {
+        tests.add(readTestInfo(in));
+      }
+      details.addTestsInOrder(tests);
+      return details;
+    }
+
+  }
+
+  private static class MutationBatchCodec
+      implements WireCodec<Collection<MutationDetails>> {
+
+    @Override
+    public void write(final SafeDataOutputStream out,
+        final Collection<MutationDetails> batch) {
+      out.writeInt(batch.size());
+      for (final MutationDetails each : batch) {
+        MUTATION_DETAILS.write(out, each);
+      }
+    }
+
+    @Override
+    public Collection<MutationDetails> read(final SafeDataInputStream in) {
+      final int size = in.readInt();
+      final List<MutationDetails> batch = new ArrayList<>(size);
+      for (int i = 0; i != size; i++) {
+        batch.add(MUTATION_DETAILS.read(in));
+      }
+      return batch;
+    }
+
+  }
+
+  private static class ClassNamesCodec
+      implements WireCodec<Collection<ClassName>> {
+
+    @Override
+    public void write(final SafeDataOutputStream out,
+        final Collection<ClassName> names) {
+      writeClassNames(out, names);
+    }
+
+    @Override
+    public Collection<ClassName> read(final SafeDataInputStream in) {
+      return readClassNames(in);
+    }
+
+  }
+
+  private static class MinionArgumentsCodec
+      implements WireCodec<MinionArguments> {
+
+    @Override
+    public void write(final SafeDataOutputStream out,
+        final MinionArguments args) {
+      MUTATION_BATCH.write(out, args.mutations);
+      writeClassNames(out, args.testClasses);
+      out.write(args.engine);
+      out.write(args.timeoutStrategy);
+      out.writeBoolean(args.verbose);
+      out.write(args.pitConfig);
+      out.writeNullableString(args.device);
+      writeClassNames(out, args.mutatedClasses);
+    }
+
+    @Override
+    public MinionArguments read(final SafeDataInputStream in) {
+      final Collection<MutationDetails> mutations = MUTATION_BATCH.read(in);
+      final List<ClassName> tests = readClassNames(in);
+      final MutationEngine engine = in.read(MutationEngine.class);
+      final TimeoutLengthStrategy timeoutStrategy = in
+          .read(TimeoutLengthStrategy.class);
+      final boolean verbose = in.readBoolean();
+      final TestPluginArguments pitConfig = in
+          .read(TestPluginArguments.class);
+      final String device = in.readNullableString();
+      final List<ClassName> mutatedClasses = readClassNames(in);
+      return new MinionArguments(mutations, tests, engine, timeoutStrategy,
+          verbose, pitConfig, device, mutatedClasses);
+    }
+
+  }
+
+}
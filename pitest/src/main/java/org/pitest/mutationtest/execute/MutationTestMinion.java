@@ -17,8 +17,11 @@ package org.pitest.mutationtest.execute;
 import java.io.IOException;
 import java.lang.management.MemoryNotificationInfo;
 import java.net.Socket;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,10 +33,13 @@ import org.pitest.boot.HotSwapAgent;
 import org.pitest.classinfo.CachingByteArraySource;
 import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassPath;
 import org.pitest.classpath.ClassloaderByteArraySource;
 import org.pitest.functional.F3;
 import org.pitest.functional.FCollection;
+import org.pitest.functional.SideEffect1;
 import org.pitest.functional.prelude.Prelude;
+import org.pitest.junit.android.AndroidDevice;
 import org.pitest.mutationtest.config.ClientPluginServices;
 import org.pitest.mutationtest.config.MinionSettings;
 import org.pitest.mutationtest.config.TestPluginArguments;
@@ -45,6 +51,7 @@ import org.pitest.testapi.TestUnit;
 import org.pitest.testapi.execute.FindTestUnits;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Glob;
+import org.pitest.util.Id;
 import org.pitest.util.IsolationUtils;
 import org.pitest.util.Log;
 import org.pitest.util.SafeDataInputStream;
@@ -57,9 +64,18 @@ public class MutationTestMinion {
   // Size is arbitrary but assumed to be large enough to cover likely max number of inner classes
   private static final int CACHE_SIZE = 12;
 
+  /**
+   * Heap budget (as a percentage of max heap) that can never be exceeded, for
+   * minions that will not be reused
+   */
+  public static final int  NO_HEAP_BUDGET = 100;
+
   private final SafeDataInputStream dis;
   private final Reporter            reporter;
   private final MinionSettings      plugins;
+  // reused by the tests of a mutant, and replaced before the next
+  private final ReusableTestThread  testThread = new ReusableTestThread();
+  private ClassPath                 classDirectories;
 
   public MutationTestMinion(MinionSettings plugins, final SafeDataInputStream dis,
       final Reporter reporter) {
@@ -70,12 +86,7 @@ public class MutationTestMinion {
 
   public void run() {
     try {
-      
-      final MinionArguments paramsFromParent = this.dis
-          .read(MinionArguments.class);
 
-      Log.setVerbose(paramsFromParent.isVerbose());
-      
       final ClassLoader loader = IsolationUtils.getContextClassLoader();
 
       final ClassByteArraySource byteSource = new CachingByteArraySource(new ClassloaderByteArraySource(
@@ -83,18 +94,34 @@ public class MutationTestMinion {
 
       final F3<ClassName, ClassLoader, byte[], Boolean> hotswap = new HotSwap(
           byteSource);
-      
-      final MutationTestWorker worker = new MutationTestWorker(hotswap,
-          paramsFromParent.engine.createMutator(byteSource), loader);
 
-      final List<TestUnit> tests = findTestsForTestClasses(loader,
-          paramsFromParent.testClasses, createTestPlugin(paramsFromParent.pitConfig));
-      
-      worker.run(paramsFromParent.mutations, this.reporter,
-          new TimeOutDecoratedTestSource(paramsFromParent.timeoutStrategy,
-              tests, this.reporter));
-      
-      this.reporter.done(ExitCode.OK);
+      // The parent may hand a pooled minion any number of runs. Within a run
+      // mutations are pulled from the parent until it sends an empty batch,
+      // after which we report DONE and wait for the next command.
+      byte command = this.dis.readByte();
+      while (command == Id.RUN) {
+        final MinionArguments paramsFromParent = this.dis
+            .read(MutationCodecs.MINION_ARGUMENTS);
+        final int heapBudget = this.dis.readInt();
+        final boolean isolate = this.dis.readBoolean();
+
+        if (isolate) {
+          // the hotswap is not shared either, so that it does not hold on to
+          // the classes of an earlier unit
+          runMutations(paramsFromParent, isolatedLoader(loader), byteSource,
+              new HotSwap(byteSource));
+        } else {
+          runMutations(paramsFromParent, loader, byteSource, hotswap);
+        }
+
+        if (exceedsHeapBudget(heapBudget)) {
+          this.reporter.recycle();
+        }
+        this.reporter.done(ExitCode.OK);
+
+        command = this.dis.readByte();
+      }
+
     } catch (final Throwable ex) {
       ex.printStackTrace(System.out);
       LOG.log(Level.WARNING, "Error during mutation test", ex);
@@ -102,7 +129,84 @@ public class MutationTestMinion {
     }
 
   }
-  
+
+  private void runMutations(final MinionArguments paramsFromParent,
+      final ClassLoader loader, final ClassByteArraySource byteSource,
+      final F3<ClassName, ClassLoader, byte[], Boolean> hotswap)
+      throws IOException {
+    Log.setVerbose(paramsFromParent.isVerbose());
+    AndroidDevice.select(paramsFromParent.device);
+
+    final Thread thread = Thread.currentThread();
+    final ClassLoader previous = thread.getContextClassLoader();
+    thread.setContextClassLoader(loader);
+    try {
+      final MutationTestWorker worker = new MutationTestWorker(hotswap,
+          paramsFromParent.engine.createMutator(byteSource), loader);
+
+      worker.prepare(paramsFromParent.mutatedClasses);
+
+      final Configuration testPlugin = createTestPlugin(
+          paramsFromParent.pitConfig);
+      final List<TestUnit> tests = findTestsForTestClasses(loader,
+          paramsFromParent.testClasses, testPlugin);
+      final TimeOutDecoratedTestSource testSource = new TimeOutDecoratedTestSource(
+          paramsFromParent.timeoutStrategy, tests, this.reporter,
+          this.testThread);
+
+      worker.run(new MutationsFromParent(paramsFromParent.mutations, this.dis,
+          this.reporter, addTests(loader, testPlugin, testSource,
+              new HashSet<>(paramsFromParent.testClasses))), this.reporter,
+          testSource);
+    } finally {
+      // the test thread would otherwise keep the loader of this run as its
+      // context loader
+      this.testThread.abandon();
+      thread.setContextClassLoader(previous);
+    }
+  }
+
+  /**
+   * Once the parent runs out of work for this unit it may hand over mutations
+   * of another, which need the tests of that unit
+   */
+  private static SideEffect1<Collection<ClassName>> addTests(
+      final ClassLoader loader, final Configuration testPlugin,
+      final TimeOutDecoratedTestSource testSource, final Set<ClassName> loaded) {
+    return new SideEffect1<Collection<ClassName>>() {
+      @Override
+      public void apply(final Collection<ClassName> testClasses) {
+        final List<ClassName> unseen = new ArrayList<>();
+        for (final ClassName each : testClasses) {
+          if (loaded.add(each)) {
+            unseen.add(each);
+          }
+        }
+        if (!unseen.isEmpty()) {
+          testSource.addTests(findTestsForTestClasses(loader, unseen,
+              testPlugin));
+        }
+      }
+    };
+  }
+
+  /**
+   * A pooled minion runs each unit in a loader of its own, so that static
+   * state, and the classes themselves, are not shared with other units
+   */
+  private ClassLoader isolatedLoader(final ClassLoader parent) {
+    if (this.classDirectories == null) {
+      this.classDirectories = UnitClassLoader.classDirectories();
+    }
+    return new UnitClassLoader(this.classDirectories, parent);
+  }
+
+  private static boolean exceedsHeapBudget(final int heapBudget) {
+    final Runtime runtime = Runtime.getRuntime();
+    final long used = runtime.totalMemory() - runtime.freeMemory();
+    return (used * 100) >= (runtime.maxMemory() * heapBudget);
+  }
+
   private Configuration createTestPlugin(TestPluginArguments pitConfig) {
     return plugins.getTestFrameworkPlugin(pitConfig, ClassloaderByteArraySource.fromContext());
   }
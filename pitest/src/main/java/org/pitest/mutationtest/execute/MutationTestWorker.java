@@ -27,6 +27,8 @@ import java.util.logging.Logger;
 import org.pitest.classinfo.ClassName;
 import org.pitest.extension.common.TestUnitDecorator;
 import org.pitest.functional.F3;
+import org.pitest.functional.Option;
+import org.pitest.junit.android.AndroidJUnitTestBatch;
 import org.pitest.junit.android.AndroidJUnitTestUnit;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationStatusTestPair;
@@ -45,6 +47,8 @@ import org.pitest.testapi.execute.containers.ConcreteResultCollector;
 import org.pitest.testapi.execute.containers.UnContainer;
 import org.pitest.util.Log;
 
+import sun.pitest.MutantSwitch;
+
 public class MutationTestWorker {
 
   private static final Logger                               LOG   = Log
@@ -57,16 +61,37 @@ public class MutationTestWorker {
   private final Mutater                                     mutater;
   private final ClassLoader                                 loader;
   private final F3<ClassName, ClassLoader, byte[], Boolean> hotswap;
+  private final MutantSchemata                              schemata;
+  private final Option<AndroidSchemaPackage>                androidPackage;
 
   public MutationTestWorker(
       final F3<ClassName, ClassLoader, byte[], Boolean> hotswap,
       final Mutater mutater, final ClassLoader loader) {
+    this(hotswap, mutater, loader, AndroidSchemaPackage
+        .fromEnvironment(mutater));
+  }
+
+  MutationTestWorker(final F3<ClassName, ClassLoader, byte[], Boolean> hotswap,
+      final Mutater mutater, final ClassLoader loader,
+      final Option<AndroidSchemaPackage> androidPackage) {
     this.loader = loader;
     this.mutater = mutater;
     this.hotswap = hotswap;
+    this.schemata = new MutantSchemata(mutater, hotswap);
+    this.androidPackage = androidPackage;
+  }
+
+  /**
+   * Readies the worker for mutants of the given classes, so that an Android
+   * app is installed once with the schemata of them all
+   */
+  void prepare(final Collection<ClassName> mutatedClasses) {
+    for (final AndroidSchemaPackage each : this.androidPackage) {
+      each.prepare(mutatedClasses);
+    }
   }
 
-  protected void run(final Collection<MutationDetails> range, final Reporter r,
+  protected void run(final Iterable<MutationDetails> range, final Reporter r,
       final TimeOutDecoratedTestSource testSource) throws IOException {
 
     for (final MutationDetails mutation : range) {
@@ -87,8 +112,22 @@ public class MutationTestWorker {
       final TimeOutDecoratedTestSource testSource,
       final MutationDetails mutationDetails) throws IOException {
 
+    testSource.nextMutant();
     final MutationIdentifier mutationId = mutationDetails.getId();
-    final Mutant mutatedClass = this.mutater.getMutation(mutationId);
+    final List<TestUnit> relevantTests = testSource
+        .translateTests(mutationDetails.getTestsInOrder());
+
+    // a mutant within a schema is switched on rather than swapped in. Android
+    // tests need the plain mutant unless the app was installed with schemata
+    final boolean android = hasTests(relevantTests)
+        && androidTestsPresent(relevantTests);
+    final Option<Integer> deviceSwitch = android ? deviceSwitchFor(mutationId)
+        : Option.<Integer> none();
+    final boolean switched = hasTests(relevantTests)
+        && (!android || deviceSwitch.hasSome())
+        && this.schemata.activate(mutationId, this.loader);
+    final Mutant mutatedClass = switched ? this.schemata
+        .asMutant(mutationDetails) : this.mutater.getMutation(mutationId);
 
     // For the benefit of mocking frameworks such as PowerMock
     // mess with the internals of Javassist so our mutated class
@@ -98,13 +137,14 @@ public class MutationTestWorker {
     if (DEBUG) {
       LOG.fine("mutating method " + mutatedClass.getDetails().getMethod());
     }
-    final List<TestUnit> relevantTests = testSource
-        .translateTests(mutationDetails.getTestsInOrder());
 
     r.describe(mutationId);
 
     final MutationStatusTestPair mutationDetected = handleMutation(
-        mutationDetails, mutatedClass, relevantTests);
+        mutationDetails, mutatedClass, relevantTests, switched, deviceSwitch);
+    if (switched) {
+      this.schemata.deactivate();
+    }
 
     r.report(mutationId, mutationDetected);
     if (DEBUG) {
@@ -114,16 +154,17 @@ public class MutationTestWorker {
 
   private MutationStatusTestPair handleMutation(
       final MutationDetails mutationId, final Mutant mutatedClass,
-      final List<TestUnit> relevantTests) {
+      final List<TestUnit> relevantTests, final boolean switched,
+      final Option<Integer> deviceSwitch) {
     MutationStatusTestPair mutationDetected;
-    if ((relevantTests == null) || relevantTests.isEmpty()) {
+    if (!hasTests(relevantTests)) {
       LOG.info("No test coverage for mutation  " + mutationId + " in "
           + mutatedClass.getDetails().getMethod());
       mutationDetected = new MutationStatusTestPair(0,
           DetectionStatus.RUN_ERROR);
     } else {
       mutationDetected = handleCoveredMutation(mutationId, mutatedClass,
-          relevantTests);
+          relevantTests, switched, deviceSwitch);
 
     }
     return mutationDetected;
@@ -131,7 +172,8 @@ public class MutationTestWorker {
 
   private MutationStatusTestPair handleCoveredMutation(
       final MutationDetails mutationId, final Mutant mutatedClass,
-      final List<TestUnit> relevantTests) {
+      final List<TestUnit> relevantTests, final boolean switched,
+      final Option<Integer> deviceSwitch) {
     MutationStatusTestPair mutationDetected;
     if (DEBUG) {
       LOG.fine("" + relevantTests.size() + " relevant test for "
@@ -141,25 +183,20 @@ public class MutationTestWorker {
     final Container c = createNewContainer();
     final long t0 = System.currentTimeMillis();
 
-    // if there are Android instrumented tests, compile new version of the app
+    // if there are Android instrumented tests, either switch the mutant on in
+    // the app installed with schemata, or compile new version of the app
     // with the mutant and push it to device/emulator before executing tests
-    boolean androidTestsPresent = false;
-    for (TestUnit tu : relevantTests) {
-      if (tu instanceof AndroidJUnitTestUnit
-              || (tu instanceof TestUnitDecorator
-                  && ((TestUnitDecorator)tu).child() instanceof AndroidJUnitTestUnit)) {
-        androidTestsPresent = true;
-        break;
+    final boolean androidTestsPresent = androidTestsPresent(relevantTests);
+    if (androidTestsPresent && deviceSwitch.hasSome()) {
+      AndroidJUnitTestUnit.selectMutant(deviceSwitch.value());
+    } else if (androidTestsPresent) {
+      new AndroidPackageUpdater(mutatedClass).updatePackage();
+      for (final AndroidSchemaPackage each : this.androidPackage) {
+        each.invalidate();
       }
     }
-    AndroidPackageUpdater apu = null;
-    if (androidTestsPresent) {
-      apu = new AndroidPackageUpdater(mutatedClass);
-      apu.updatePackage();
-    }
 
-    if (this.hotswap.apply(mutationId.getClassName(), this.loader,
-        mutatedClass.getBytes())) {
+    if (switched || hotSwap(mutationId, mutatedClass)) {
       if (DEBUG) {
         LOG.fine("replaced class with mutant in "
             + (System.currentTimeMillis() - t0) + " ms");
@@ -170,12 +207,41 @@ public class MutationTestWorker {
       mutationDetected = new MutationStatusTestPair(0,
           DetectionStatus.NON_VIABLE);
     }
-    if (androidTestsPresent) {
-      apu.restoreOriginalClass();
-    }
+    AndroidJUnitTestUnit.selectMutant(MutantSwitch.NONE);
     return mutationDetected;
   }
 
+  private boolean hotSwap(final MutationDetails mutationId,
+      final Mutant mutatedClass) {
+    this.schemata.mutantHotSwapped();
+    return this.hotswap.apply(mutationId.getClassName(), this.loader,
+        mutatedClass.getBytes());
+  }
+
+  private Option<Integer> deviceSwitchFor(final MutationIdentifier mutationId) {
+    for (final AndroidSchemaPackage each : this.androidPackage) {
+      return each.switchFor(mutationId);
+    }
+    return Option.none();
+  }
+
+  private static boolean hasTests(final List<TestUnit> relevantTests) {
+    return (relevantTests != null) && !relevantTests.isEmpty();
+  }
+
+  private static boolean androidTestsPresent(final List<TestUnit> relevantTests) {
+    for (TestUnit tu : relevantTests) {
+      if (tu instanceof TestUnitDecorator) {
+        tu = ((TestUnitDecorator) tu).child();
+      }
+      if (tu instanceof AndroidJUnitTestUnit
+              || tu instanceof AndroidJUnitTestBatch) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private static Container createNewContainer() {
     final Container c = new UnContainer() {
       @Override
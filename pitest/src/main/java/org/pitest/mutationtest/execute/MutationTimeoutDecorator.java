@@ -15,7 +15,7 @@
 package org.pitest.mutationtest.execute;
 
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.FutureTask;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -31,11 +31,14 @@ public final class MutationTimeoutDecorator extends TestUnitDecorator {
   private final TimeoutLengthStrategy timeOutStrategy;
   private final SideEffect            timeOutSideEffect;
   private final long                  executionTime;
+  private final ReusableTestThread    testThread;
 
   public MutationTimeoutDecorator(final TestUnit child,
       final SideEffect timeOutSideEffect,
-      final TimeoutLengthStrategy timeStrategy, final long executionTime) {
+      final TimeoutLengthStrategy timeStrategy, final long executionTime,
+      final ReusableTestThread testThread) {
     super(child);
+    this.testThread = testThread;
     this.timeOutSideEffect = timeOutSideEffect;
     this.executionTime = executionTime;
     this.timeOutStrategy = timeStrategy;
@@ -47,16 +50,17 @@ public final class MutationTimeoutDecorator extends TestUnitDecorator {
     final long maxTime = this.timeOutStrategy
         .getAllowedTime(this.executionTime);
 
-    final FutureTask<?> future = createFutureForChildTestUnit(rc);
+    final Future<?> future = this.testThread.submit(createRunnable(rc));
     executeFutureWithTimeOut(maxTime, future, rc);
     if (!future.isDone()) {
+      this.testThread.abandon();
       this.timeOutSideEffect.apply();
     }
 
   }
 
   private void executeFutureWithTimeOut(final long maxTime,
-      final FutureTask<?> future, final ResultCollector rc) {
+      final Future<?> future, final ResultCollector rc) {
     try {
       future.get(maxTime, TimeUnit.MILLISECONDS);
     } catch (final TimeoutException ex) {
@@ -68,15 +72,6 @@ public final class MutationTimeoutDecorator extends TestUnitDecorator {
     }
   }
 
-  private FutureTask<?> createFutureForChildTestUnit(final ResultCollector rc) {
-    final FutureTask<?> future = new FutureTask<>(createRunnable(rc), null);
-    final Thread thread = new Thread(future);
-    thread.setDaemon(true);
-    thread.setName("mutationTestThread");
-    thread.start();
-    return future;
-  }
-
   private Runnable createRunnable(final ResultCollector rc) {
     return new Runnable() {
 
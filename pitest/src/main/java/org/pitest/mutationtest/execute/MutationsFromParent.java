@@ -0,0 +1,84 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.functional.SideEffect1;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.SafeDataInputStream;
+
+/**
+ * The mutations a minion should analyse. Starts with the batch sent along
+ * with the minion arguments, then asks the parent for more each time a batch
+ * is exhausted, until the parent replies with an empty batch.
+ */
+class MutationsFromParent implements Iterable<MutationDetails> {
+
+  private final Collection<MutationDetails>        firstBatch;
+  private final SafeDataInputStream                dis;
+  private final Reporter                           reporter;
+  private final SideEffect1<Collection<ClassName>> testsNeeded;
+
+  /**
+   * @param testsNeeded
+   *          told the test classes of each batch pulled from the parent, which
+   *          may belong to another unit once the parent has run out of work
+   *          for this one
+   */
+  MutationsFromParent(final Collection<MutationDetails> firstBatch,
+      final SafeDataInputStream dis, final Reporter reporter,
+      final SideEffect1<Collection<ClassName>> testsNeeded) {
+    this.firstBatch = firstBatch;
+    this.dis = dis;
+    this.reporter = reporter;
+    this.testsNeeded = testsNeeded;
+  }
+
+  @Override
+  public Iterator<MutationDetails> iterator() {
+    return new Iterator<MutationDetails>() {
+
+      private Iterator<MutationDetails> batch = firstBatch.iterator();
+      private boolean                   exhausted;
+
+      @Override
+      public boolean hasNext() {
+        while (!this.batch.hasNext() && !this.exhausted) {
+          final Collection<MutationDetails> next = requestBatch();
+          this.exhausted = next.isEmpty();
+          this.batch = next.iterator();
+        }
+        return this.batch.hasNext();
+      }
+
+      @Override
+      public MutationDetails next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return this.batch.next();
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+
+    };
+  }
+
+  private Collection<MutationDetails> requestBatch() {
+    this.reporter.requestWork();
+    final Collection<ClassName> testClasses = this.dis
+        .read(MutationCodecs.TEST_CLASSES);
+    final Collection<MutationDetails> batch = this.dis
+        .read(MutationCodecs.MUTATION_BATCH);
+    if (!batch.isEmpty()) {
+      this.testsNeeded.apply(testClasses);
+    }
+    return batch;
+  }
+
+}
@@ -27,6 +27,18 @@ public interface Reporter {
   void report(MutationIdentifier i, MutationStatusTestPair mutationDetected)
       throws IOException;
 
+  /**
+   * Asks the parent process not to hand this minion any further work once the
+   * current batch of mutations is complete.
+   */
+  void recycle();
+
+  /**
+   * Asks the parent process for the next batch of mutations to analyse. The
+   * parent replies on the minion's input stream.
+   */
+  void requestWork();
+
   void done(ExitCode exitCode);
 
 }
@@ -0,0 +1,69 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs the tests of a mutant on one worker thread that is kept from test to
+ * test, rather than starting a thread for each test. The thread that submits
+ * a test acts as its watchdog. If the test overruns, the worker may never
+ * return, so it is abandoned and the next test starts a new one.
+ *
+ * <p>
+ * The context classloader and interrupt status of the worker are reset after
+ * each test. ThreadLocals cannot be cleared from outside, so the worker is
+ * also abandoned before each mutant. A value a test leaves in a ThreadLocal
+ * is then only visible to later tests of the same mutant.
+ */
+public class ReusableTestThread {
+
+  private ExecutorService worker;
+
+  public synchronized Future<?> submit(final Runnable test) {
+    if (this.worker == null) {
+      this.worker = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable r) {
+          final Thread thread = new Thread(r);
+          thread.setDaemon(true);
+          thread.setName("mutationTestThread");
+          return thread;
+        }
+      });
+    }
+    return this.worker.submit(resettingState(test));
+  }
+
+  private static Runnable resettingState(final Runnable test) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader loader = thread.getContextClassLoader();
+        try {
+          test.run();
+        } finally {
+          thread.setContextClassLoader(loader);
+          // clears the flag so the next test does not start interrupted
+          Thread.interrupted();
+        }
+      }
+    };
+  }
+
+  /**
+   * Gives up on the worker, so that the next test starts a new one. A worker
+   * still running a test that timed out is left to finish (or not) in the
+   * background as before, a minion that has timed out is not reused. An idle
+   * worker simply ends.
+   */
+  public synchronized void abandon() {
+    if (this.worker != null) {
+      this.worker.shutdown();
+      this.worker = null;
+    }
+  }
+
+}
@@ -15,14 +15,14 @@
 
 package org.pitest.mutationtest.execute;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.pitest.coverage.TestInfo;
-import org.pitest.functional.F;
-import org.pitest.functional.FCollection;
-import org.pitest.functional.Option;
+import org.pitest.junit.android.AndroidJUnitTestBatch;
+import org.pitest.junit.android.AndroidJUnitTestUnit;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
 import org.pitest.testapi.TestUnit;
 
@@ -31,13 +31,24 @@ public class TimeOutDecoratedTestSource {
   private final Map<String, TestUnit> allTests = new HashMap<>();
   private final TimeoutLengthStrategy timeoutStrategy;
   private final Reporter              r;
+  private final ReusableTestThread    testThread;
 
   public TimeOutDecoratedTestSource(
       final TimeoutLengthStrategy timeoutStrategy,
-      final List<TestUnit> allTests, final Reporter r) {
+      final List<TestUnit> allTests, final Reporter r,
+      final ReusableTestThread testThread) {
     this.timeoutStrategy = timeoutStrategy;
     mapTests(allTests);
     this.r = r;
+    this.testThread = testThread;
+  }
+
+  /**
+   * Makes further tests available, such as those of another unit whose
+   * mutations the minion has been handed
+   */
+  public void addTests(final List<TestUnit> tests) {
+    mapTests(tests);
   }
 
   private void mapTests(final List<TestUnit> tests) {
@@ -46,28 +57,43 @@ public class TimeOutDecoratedTestSource {
     }
   }
 
-  public List<TestUnit> translateTests(final List<TestInfo> testsInOrder) {
-    return FCollection.flatMap(testsInOrder, testToTestUnit());
+  /**
+   * Gives the tests of the next mutant a thread of their own, so that they do
+   * not see ThreadLocals set by the tests of earlier mutants
+   */
+  public void nextMutant() {
+    this.testThread.abandon();
   }
 
-  private F<TestInfo, Option<TestUnit>> testToTestUnit() {
-    return new F<TestInfo, Option<TestUnit>>() {
-
-      @Override
-      public Option<TestUnit> apply(final TestInfo a) {
-        final TestUnit tu = TimeOutDecoratedTestSource.this.allTests.get(a
-            .getName());
-        if (tu != null) {
-          return Option
-              .<TestUnit> some(new MutationTimeoutDecorator(tu,
-                  new TimeOutSystemExitSideEffect(
-                      TimeOutDecoratedTestSource.this.r),
-                      TimeOutDecoratedTestSource.this.timeoutStrategy, a.getTime()));
+  public List<TestUnit> translateTests(final List<TestInfo> testsInOrder) {
+    final List<TestUnit> tests = new ArrayList<>();
+    // instrumented tests are run on the device in a single invocation, placed
+    // where the first of them would have run
+    final List<AndroidJUnitTestUnit> androidTests = new ArrayList<>();
+    int androidTime = 0;
+    int androidPosition = -1;
+    for (final TestInfo each : testsInOrder) {
+      final TestUnit tu = this.allTests.get(each.getName());
+      if (tu instanceof AndroidJUnitTestUnit) {
+        if (androidTests.isEmpty()) {
+          androidPosition = tests.size();
         }
-        return Option.none();
+        androidTests.add((AndroidJUnitTestUnit) tu);
+        androidTime += each.getTime();
+      } else if (tu != null) {
+        tests.add(decorate(tu, each.getTime()));
       }
+    }
+    if (!androidTests.isEmpty()) {
+      tests.add(androidPosition,
+          decorate(new AndroidJUnitTestBatch(androidTests), androidTime));
+    }
+    return tests;
+  }
 
-    };
+  private TestUnit decorate(final TestUnit tu, final int time) {
+    return new MutationTimeoutDecorator(tu, new TimeOutSystemExitSideEffect(
+        this.r), this.timeoutStrategy, time, this.testThread);
   }
 
 }
@@ -0,0 +1,74 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.File;
+
+import org.pitest.classpath.ClassPath;
+import org.pitest.functional.F;
+import org.pitest.functional.FCollection;
+
+/**
+ * Loads the classes in the class directories of the minion's classpath (the
+ * code and tests under analysis) itself rather than asking its parent first,
+ * so that each unit run by a reused minion gets its own copies of them, with
+ * their own static state. The loader is dropped when the unit ends.
+ *
+ * Classes in archives, and pitest's own classes, are shared with the parent.
+ * A library that loads a project class by name through its own loader will
+ * still see the parent's copy.
+ */
+class UnitClassLoader extends DefaultPITClassloader {
+
+  UnitClassLoader(final ClassPath classDirectories, final ClassLoader parent) {
+    super(classDirectories, parent);
+  }
+
+  /**
+   * The class directories on the classpath of this JVM
+   */
+  static ClassPath classDirectories() {
+    return new ClassPath(FCollection.filter(
+        ClassPath.getClassPathElementsAsFiles(), isDirectory()));
+  }
+
+  @Override
+  protected Class<?> loadClass(final String name, final boolean resolve)
+      throws ClassNotFoundException {
+    synchronized (getClassLoadingLock(name)) {
+      Class<?> clazz = findLoadedClass(name);
+      if ((clazz == null) && isIsolated(name)) {
+        clazz = findUnitClass(name);
+      }
+      if (clazz == null) {
+        return super.loadClass(name, resolve);
+      }
+      if (resolve) {
+        resolveClass(clazz);
+      }
+      return clazz;
+    }
+  }
+
+  private Class<?> findUnitClass(final String name) {
+    try {
+      return findClass(name);
+    } catch (final ClassNotFoundException ex) {
+      // not in a class directory, so belongs to the parent
+      return null;
+    }
+  }
+
+  private static boolean isIsolated(final String name) {
+    return !name.startsWith("java.") && !name.startsWith("javax.")
+        && !name.startsWith("org.pitest.") && !name.startsWith("sun.pitest.");
+  }
+
+  private static F<File, Boolean> isDirectory() {
+    return new F<File, Boolean>() {
+      @Override
+      public Boolean apply(final File a) {
+        return a.isDirectory();
+      }
+    };
+  }
+
+}
@@ -45,8 +45,36 @@ public class SafeDataInputStream {
     }
   }
 
-  @SuppressWarnings("unchecked")
+  public String readNullableString() {
+    if (readBoolean()) {
+      return readString();
+    }
+    return null;
+  }
+
   public <T> T read(final Class<T> type) {
+    final byte format = readByte();
+    if (format != WireFormat.XML) {
+      throw new PitError("No binary decoder available for " + type.getName()
+          + " (wire format " + format + ")");
+    }
+    return readXml();
+  }
+
+  public <T> T read(final WireCodec<T> codec) {
+    final byte format = readByte();
+    switch (format) {
+    case WireFormat.BINARY_V1:
+      return codec.read(this);
+    case WireFormat.XML:
+      return readXml();
+    default:
+      throw new PitError("Unknown wire format " + format);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T readXml() {
     return (T) IsolationUtils.fromXml(readString());
   }
 
@@ -45,10 +45,23 @@ public class SafeDataOutputStream {
     }
   }
 
+  public void writeNullableString(final String str) {
+    writeBoolean(str != null);
+    if (str != null) {
+      writeString(str);
+    }
+  }
+
   public <T> void write(final T value) {
+    writeByte(WireFormat.XML);
     writeString(IsolationUtils.toXml(value));
   }
 
+  public <T> void write(final T value, final WireCodec<? super T> codec) {
+    writeByte(WireFormat.BINARY_V1);
+    codec.write(this, value);
+  }
+
   public void flush() {
     try {
       this.dos.flush();
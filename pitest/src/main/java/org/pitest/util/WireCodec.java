@@ -0,0 +1,14 @@
+package org.pitest.util;
+
+/**
+ * Compact binary encoding for a type sent over the minion sockets.
+ * Implementations must read back exactly the fields they write, in the same
+ * order.
+ */
+public interface WireCodec<T> {
+
+  void write(SafeDataOutputStream out, T value);
+
+  T read(SafeDataInputStream in);
+
+}
@@ -0,0 +1,10 @@
+package org.pitest.util;
+
+/**
+ * Tags written ahead of every object sent between the main process and a
+ * minion, identifying how the payload that follows is encoded.
+ */
+public abstract class WireFormat {
+  public static final byte XML       = 0;
+  public static final byte BINARY_V1 = 1;
+}
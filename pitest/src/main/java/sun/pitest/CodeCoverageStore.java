@@ -21,9 +21,10 @@
 package sun.pitest;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -43,13 +44,20 @@ public final class CodeCoverageStore {
   private static InvokeReceiver                invokeQueue;
   private static int                           classId           = 0;
 
+  private static final int                     INITIAL_CLASSES   = 1024;
+
   // array of probe hits, first slot indicates any hits to the class.
   // testing suggests boolean array with synchronization to ensure happens
   // before relationship significantly outperforms
   // both AtomicInteger array with bit per flag and integer per flag.
   // optimisation with other methods of ensuring a happens before not yet
   // investigated
-  private static final Map<Integer, boolean[]> CLASS_HITS        = new ConcurrentHashMap<>();
+  //
+  // Indexed directly by class id so instrumented code does no map lookup or
+  // boxing. Only written while holding the class lock, and the field is
+  // reassigned after every write so that readers of the volatile field see
+  // the arrays it refers to.
+  private static volatile boolean[][]          classHits         = new boolean[INITIAL_CLASSES][];
 
   // the map between currently active classes IDs and classes names
   private static final Map<String, Integer> CLASS_NAMES            = new ConcurrentHashMap<>();
@@ -62,14 +70,14 @@ public final class CodeCoverageStore {
   }
 
   public static void visitSingleProbe(final int classId, final int probe) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
+    final boolean[] bs = classHits[classId];
     bs[CLASS_HIT_INDEX] = true;
     bs[probe + 1] = true;
   }
 
   public static void visitProbes(final int classId, final int offset,
       final boolean[] probes) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
+    final boolean[] bs = classHits[classId];
     bs[CLASS_HIT_INDEX] = true;
     for (int i = 0; i != probes.length; i++) {
       if (probes[i]) {
@@ -87,7 +95,7 @@ public final class CodeCoverageStore {
 
   public static void visitProbes(final int classId, final int offset,
       final boolean p0) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
+    final boolean[] bs = classHits[classId];
     bs[CLASS_HIT_INDEX] = true;
     if (p0) {
       bs[offset + 1] = true;
@@ -96,7 +104,7 @@ public final class CodeCoverageStore {
 
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
+    final boolean[] bs = classHits[classId];
     bs[CLASS_HIT_INDEX] = true;
     if (p0) {
       bs[offset + 1] = true;
@@ -108,7 +116,7 @@ public final class CodeCoverageStore {
 
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
+    final boolean[] bs = classHits[classId];
     bs[CLASS_HIT_INDEX] = true;
     if (p0) {
       bs[offset + 1] = true;
@@ -123,7 +131,7 @@ public final class CodeCoverageStore {
 
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
+    final boolean[] bs = classHits[classId];
     bs[CLASS_HIT_INDEX] = true;
     if (p0) {
       bs[offset + 1] = true;
@@ -142,7 +150,7 @@ public final class CodeCoverageStore {
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
+    final boolean[] bs = classHits[classId];
     bs[CLASS_HIT_INDEX] = true;
     if (p0) {
       bs[offset + 1] = true;
@@ -164,7 +172,7 @@ public final class CodeCoverageStore {
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
+    final boolean[] bs = classHits[classId];
     bs[CLASS_HIT_INDEX] = true;
     if (p0) {
       bs[offset + 1] = true;
@@ -189,7 +197,7 @@ public final class CodeCoverageStore {
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
+    final boolean[] bs = classHits[classId];
     bs[CLASS_HIT_INDEX] = true;
     if (p0) {
       bs[offset + 1] = true;
@@ -217,7 +225,7 @@ public final class CodeCoverageStore {
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
+    final boolean[] bs = classHits[classId];
     bs[CLASS_HIT_INDEX] = true;
     if (p0) {
       bs[offset + 1] = true;
@@ -249,7 +257,7 @@ public final class CodeCoverageStore {
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
+    final boolean[] bs = classHits[classId];
     bs[CLASS_HIT_INDEX] = true;
     if (p0) {
       bs[offset + 1] = true;
@@ -284,7 +292,7 @@ public final class CodeCoverageStore {
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
+    final boolean[] bs = classHits[classId];
     bs[CLASS_HIT_INDEX] = true;
     if (p0) {
       bs[offset + 1] = true;
@@ -322,7 +330,7 @@ public final class CodeCoverageStore {
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
+    final boolean[] bs = classHits[classId];
     bs[CLASS_HIT_INDEX] = true;
     if (p0) {
       bs[offset + 1] = true;
@@ -363,7 +371,7 @@ public final class CodeCoverageStore {
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10, final boolean p11) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
+    final boolean[] bs = classHits[classId];
     bs[CLASS_HIT_INDEX] = true;
     if (p0) {
       bs[offset + 1] = true;
@@ -408,7 +416,7 @@ public final class CodeCoverageStore {
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10, final boolean p11,
       final boolean p12) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
+    final boolean[] bs = classHits[classId];
     bs[CLASS_HIT_INDEX] = true;
     if (p0) {
       bs[offset + 1] = true;
@@ -456,7 +464,7 @@ public final class CodeCoverageStore {
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10, final boolean p11,
       final boolean p12, final boolean p13) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
+    final boolean[] bs = classHits[classId];
     bs[CLASS_HIT_INDEX] = true;
     if (p0) {
       bs[offset + 1] = true;
@@ -507,7 +515,7 @@ public final class CodeCoverageStore {
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10, final boolean p11,
       final boolean p12, final boolean p13, final boolean p14) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
+    final boolean[] bs = classHits[classId];
     bs[CLASS_HIT_INDEX] = true;
     if (p0) {
       bs[offset + 1] = true;
@@ -557,21 +565,26 @@ public final class CodeCoverageStore {
   }
 
   public static synchronized void reset() {
-    for (final Entry<Integer, boolean[]> each : CLASS_HITS.entrySet()) {
-      CLASS_HITS.put(each.getKey(), new boolean[each.getValue().length]);
+    // only classes hit since the last reset need fresh arrays
+    final boolean[][] hits = classHits;
+    for (int id = 0; id != hits.length; id++) {
+      final boolean[] bs = hits[id];
+      if ((bs != null) && bs[CLASS_HIT_INDEX]) {
+        hits[id] = new boolean[bs.length];
+      }
     }
+    classHits = hits;
   }
 
   public static synchronized Collection<Long> getHits() {
     final Collection<Long> blockHits = new ArrayList<>();
-    for (final Entry<Integer, boolean[]> each : CLASS_HITS.entrySet()) {
-      final boolean[] bs = each.getValue();
+    final boolean[][] hits = classHits;
+    for (int classId = 0; classId != hits.length; classId++) {
+      final boolean[] bs = hits[classId];
       // first entry tracks if class has been visited at all
-      if (!bs[CLASS_HIT_INDEX]) {
+      if ((bs == null) || !bs[CLASS_HIT_INDEX]) {
         continue;
       }
-      final int classId = each.getKey();
-      // final int[] mapping = classProbeToBlockMapping.get(classId);
       for (int probeId = 1; probeId != bs.length; probeId++) {
         if (bs[probeId]) {
           blockHits.add(encode(classId, probeId - 1));
@@ -581,6 +594,23 @@ public final class CodeCoverageStore {
     return blockHits;
   }
 
+  /**
+   * Returns a copy of the probe array of each class hit since the last reset,
+   * keyed by class id. As for getHits, slot 0 records that the class was hit
+   * at all and probe n is held in slot n + 1.
+   */
+  public static synchronized Map<Integer, boolean[]> getClassHits() {
+    final Map<Integer, boolean[]> result = new HashMap<>();
+    final boolean[][] hits = classHits;
+    for (int classId = 0; classId != hits.length; classId++) {
+      final boolean[] bs = hits[classId];
+      if ((bs != null) && bs[CLASS_HIT_INDEX]) {
+        result.put(classId, bs.clone());
+      }
+    }
+    return result;
+  }
+
   public static int registerClass(final String className) {
     final int id = nextId();
     invokeQueue.registerClass(id, className);
@@ -610,8 +640,14 @@ public final class CodeCoverageStore {
     return ((long) classId << 32) | line;
   }
 
-  public static void registerClassProbes(final int classId, int probeCount) {
-    CLASS_HITS.put(classId, new boolean[probeCount + 1]);
+  public static synchronized void registerClassProbes(final int classId,
+      int probeCount) {
+    boolean[][] hits = classHits;
+    if (classId >= hits.length) {
+      hits = Arrays.copyOf(hits, Math.max(classId + 1, hits.length * 2));
+    }
+    hits[classId] = new boolean[probeCount + 1];
+    classHits = hits;
   }
 
   public static int getClassIdByName(final String className) {
@@ -620,12 +656,15 @@ public final class CodeCoverageStore {
   }
 
   public static int getProbesCount(final int id) {
-    boolean[] arr = CLASS_HITS.get(id);
-    return arr != null ? arr.length : -1;
+    final boolean[][] hits = classHits;
+    if ((id < 0) || (id >= hits.length) || (hits[id] == null)) {
+      return -1;
+    }
+    return hits[id].length;
   }
 
-  public static void resetAllStaticState() {
-    CLASS_HITS.clear();
+  public static synchronized void resetAllStaticState() {
+    classHits = new boolean[INITIAL_CLASSES][];
     CLASS_NAMES.clear();
   }
 
@@ -0,0 +1,94 @@
+// placed in a sun package so non delegating classloaders are likely
+// to still delegate it's loading
+package sun.pitest;
+
+/**
+ * Selects which mutant is live in classes woven with mutant schemata.
+ *
+ * Woven classes call current() in front of each mutated instruction and run
+ * the mutated code only when it returns that mutant's id.
+ *
+ * When packaged into an Android application the mutant is chosen for the
+ * whole instrumentation run by passing its id as an instrumentation argument
+ * named by ARGUMENT. The class may be initialised before the instrumentation
+ * has registered its arguments, in which case they are read again each time
+ * the switch is consulted until they can be.
+ */
+public final class MutantSwitch {
+
+  public static final String      CLASS_NAME  = MutantSwitch.class.getName()
+                                                  .replace('.', '/');
+  public static final String      METHOD_NAME = "current";
+  public static final String      ARGUMENT    = "pitestMutant";
+
+  public static final int         NONE        = 0;
+
+  private static final String[]   REGISTRIES  = {
+      "androidx.test.platform.app.InstrumentationRegistry",
+      "android.support.test.InstrumentationRegistry" };
+
+  public static volatile int      active      = NONE;
+
+  // true until the instrumentation arguments have been read, or are known
+  // not to exist
+  private static volatile boolean unread      = true;
+
+  static {
+    readInstrumentationArguments();
+  }
+
+  private MutantSwitch() {
+  }
+
+  public static int current() {
+    if (unread) {
+      readInstrumentationArguments();
+    }
+    return active;
+  }
+
+  public static void activate(final int id) {
+    unread = false;
+    active = id;
+  }
+
+  private static synchronized void readInstrumentationArguments() {
+    if (!unread) {
+      return;
+    }
+    for (final String each : REGISTRIES) {
+      final Class<?> registry;
+      try {
+        // the registry is packaged with the tests, so may only be visible to
+        // the loader of the thread running them
+        registry = Class.forName(each, true, Thread.currentThread()
+            .getContextClassLoader());
+      } catch (final ClassNotFoundException | LinkageError ex) {
+        continue;
+      }
+      final Object id;
+      try {
+        final Object arguments = registry.getMethod("getArguments").invoke(
+            null);
+        id = arguments.getClass().getMethod("getString", String.class)
+            .invoke(arguments, ARGUMENT);
+      } catch (final Exception ex) {
+        // the instrumentation has not registered its arguments yet
+        return;
+      }
+      if (id != null) {
+        try {
+          active = Integer.parseInt((String) id);
+        } catch (final NumberFormatException ex) {
+          throw new IllegalStateException("Unreadable mutant id " + id
+              + " passed as " + ARGUMENT, ex);
+        }
+      }
+      unread = false;
+      return;
+    }
+    // not running under instrumentation
+    unread = false;
+  }
+
+}
@@ -0,0 +1,167 @@
+package org.pitest.classinfo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.classpath.CodeSource;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.analysis.LineMapper;
+import org.pitest.functional.Option;
+import org.pitest.util.IsolationUtils;
+
+public class ClassMetadataCacheTest {
+
+  @Rule
+  public TemporaryFolder             folder = new TemporaryFolder();
+
+  private final ClassByteArraySource source = new ClassloaderByteArraySource(
+                                                IsolationUtils
+                                                    .getContextClassLoader());
+
+  private File                       file;
+
+  @Retention(RetentionPolicy.RUNTIME)
+  @interface Tags {
+    String[] value();
+  }
+
+  @Tags({ "a", "b" })
+  static class Annotated extends Number {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public int intValue() {
+      return 1;
+    }
+
+    @Override
+    public long longValue() {
+      return 1;
+    }
+
+    @Override
+    public float floatValue() {
+      return 1;
+    }
+
+    @Override
+    public double doubleValue() {
+      return 1;
+    }
+  }
+
+  @Before
+  public void setUp() {
+    this.file = new File(this.folder.getRoot(), "cache.bin");
+  }
+
+  @Test
+  public void shouldReadClassInfoSavedByPreviousRun() {
+    final ClassName name = ClassName.fromClass(Annotated.class);
+    final ClassMetadataCache first = loadCache();
+    final ClassInfo analysed = new Repository(this.source, first).fetchClass(
+        name).value();
+    first.save();
+
+    final ClassMetadataCache second = loadCache();
+    final byte[] bytes = bytesOf(Annotated.class);
+    assertThat(second.getClassInfo(name, bytes, new AddlerHash().hash(bytes))
+        .hasSome()).isTrue();
+
+    final ClassInfo cached = new Repository(this.source, second).fetchClass(
+        name).value();
+    assertThat(cached.getId()).isEqualTo(analysed.getId());
+    assertThat(cached.getNumberOfCodeLines()).isEqualTo(
+        analysed.getNumberOfCodeLines());
+    assertThat(cached.getSourceFileName()).isEqualTo(
+        analysed.getSourceFileName());
+    assertThat(cached.getSuperClass().value().getName()).isEqualTo(
+        ClassName.fromClass(Number.class));
+    assertThat(cached.getOuterClass().value().getName()).isEqualTo(
+        ClassName.fromClass(ClassMetadataCacheTest.class));
+    assertThat(cached.hasAnnotation(Tags.class)).isTrue();
+    assertThat(
+        (Object[]) cached.getClassAnnotationValue(ClassName
+            .fromClass(Tags.class))).containsExactly("a", "b");
+  }
+
+  @Test
+  public void shouldNotUseClassInfoStoredForOtherBytes() {
+    final ClassName name = ClassName.fromClass(Annotated.class);
+    final ClassMetadataCache testee = loadCache();
+    new Repository(this.source, testee).fetchClass(name);
+
+    final byte[] changed = bytesOf(Annotated.class).clone();
+    changed[changed.length - 1]++;
+    assertThat(
+        testee.getClassInfo(name, changed, new AddlerHash().hash(changed))
+            .hasSome()).isFalse();
+  }
+
+  @Test
+  public void shouldReadLineMapSavedByPreviousRun() {
+    final ClassName name = ClassName.fromClass(Annotated.class);
+    final CodeSource code = Mockito.mock(CodeSource.class);
+    Mockito.when(code.fetchClassBytes(name)).thenReturn(
+        Option.some(bytesOf(Annotated.class)));
+
+    final ClassMetadataCache first = loadCache();
+    final Map<BlockLocation, Set<Integer>> analysed = new LineMapper(code,
+        first).mapLines(name);
+    first.save();
+
+    final ClassMetadataCache second = loadCache();
+    assertThat(second.getLineMap(name, bytesOf(Annotated.class)).value())
+        .isEqualTo(analysed);
+    assertThat(new LineMapper(code, second).mapLines(name)).isEqualTo(
+        analysed);
+  }
+
+  @Test
+  public void shouldStartEmptyWhenFileIsUnreadable() throws Exception {
+    Files.write(this.file.toPath(), "not a cache".getBytes(StandardCharsets.UTF_8));
+    final ClassMetadataCache testee = loadCache();
+    final byte[] bytes = bytesOf(Annotated.class);
+    assertThat(
+        testee.getClassInfo(ClassName.fromClass(Annotated.class), bytes,
+            new AddlerHash().hash(bytes)).hasSome()).isFalse();
+  }
+
+  @Test
+  public void shouldStoreNothingWhenDisabled() {
+    final ClassName name = ClassName.fromClass(Annotated.class);
+    final ClassMetadataCache testee = ClassMetadataCache.disabled();
+    new Repository(this.source, testee).fetchClass(name);
+    testee.save();
+
+    final byte[] bytes = bytesOf(Annotated.class);
+    assertThat(testee.getClassInfo(name, bytes, new AddlerHash().hash(bytes))
+        .hasSome()).isFalse();
+    assertThat(this.file.exists()).isFalse();
+  }
+
+  private ClassMetadataCache loadCache() {
+    final ClassMetadataCache cache = new ClassMetadataCache(
+        Option.some(this.file));
+    cache.initialize();
+    return cache;
+  }
+
+  private byte[] bytesOf(final Class<?> clazz) {
+    return this.source.getBytes(clazz.getName()).value();
+  }
+
+}
@@ -81,4 +81,26 @@ public class ArchiveClassPathRootTest {
     assertNotNull(this.testee.getResource("injar/p1/P1Test.class"));
   }
 
+  @Test
+  public void getResourceShouldReturnURLForADirectoryNamedWithoutSlash()
+      throws Exception {
+    assertNotNull(this.testee.getResource("injar/p1"));
+  }
+
+  @Test
+  public void shouldReadClassesWhenArchivesAreEvictedBetweenLookups()
+      throws Exception {
+    final ArchiveHandleCache handles = new ArchiveHandleCache(1);
+    final ArchiveClassPathRoot a = new ArchiveClassPathRoot(new File(
+        "mytests.jar"), handles);
+    final ArchiveClassPathRoot b = new ArchiveClassPathRoot(new File(
+        "src/test/resources/outofcp.jar"), handles);
+    for (int i = 0; i != 3; i++) {
+      assertNotNull(a.getData("injar.p1.P1Test"));
+      assertNotNull(b.getData(b.classNames().iterator().next()));
+    }
+    assertEquals(1, handles.openArchives());
+    handles.closeAll();
+  }
+
 }
@@ -0,0 +1,107 @@
+package org.pitest.classpath;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.classpath.ArchiveHandleCache.ArchiveAction;
+
+public class ArchiveHandleCacheTest {
+
+  @Rule
+  public TemporaryFolder     folder  = new TemporaryFolder();
+
+  private ArchiveHandleCache testee = new ArchiveHandleCache(2);
+
+  @After
+  public void tearDown() {
+    this.testee.closeAll();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectCapacityBelowOne() {
+    new ArchiveHandleCache(0);
+  }
+
+  @Test
+  public void shouldReuseOpenArchive() throws IOException {
+    final File jar = makeJar("a.jar");
+    assertSame(this.testee.withArchive(jar, returnZip()),
+        this.testee.withArchive(jar, returnZip()));
+  }
+
+  @Test
+  public void shouldKeepNoMoreThanCapacityArchivesOpen() throws IOException {
+    this.testee.withArchive(makeJar("a.jar"), returnZip());
+    this.testee.withArchive(makeJar("b.jar"), returnZip());
+    this.testee.withArchive(makeJar("c.jar"), returnZip());
+    assertEquals(2, this.testee.openArchives());
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedArchive() throws IOException {
+    final File a = makeJar("a.jar");
+    final ZipFile first = this.testee.withArchive(a, returnZip());
+    this.testee.withArchive(makeJar("b.jar"), returnZip());
+    this.testee.withArchive(a, returnZip());
+    this.testee.withArchive(makeJar("c.jar"), returnZip());
+    assertSame(first, this.testee.withArchive(a, returnZip()));
+  }
+
+  @Test
+  public void shouldNotCloseEvictedArchiveWhileItIsInUse() throws IOException {
+    final File a = makeJar("a.jar");
+    final File b = makeJar("b.jar");
+    final File c = makeJar("c.jar");
+    final ZipEntry entry = this.testee.withArchive(a,
+        new ArchiveAction<ZipEntry>() {
+          @Override
+          public ZipEntry apply(final ZipFile zip) throws IOException {
+            ArchiveHandleCacheTest.this.testee.withArchive(b, returnZip());
+            ArchiveHandleCacheTest.this.testee.withArchive(c, returnZip());
+            zip.getInputStream(zip.getEntry("foo/Bar.class")).close();
+            return zip.getEntry("foo/Bar.class");
+          }
+        });
+    assertNotNull(entry);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldCloseEvictedArchiveOnceReleased() throws IOException {
+    final ZipFile zip = this.testee.withArchive(makeJar("a.jar"), returnZip());
+    this.testee.withArchive(makeJar("b.jar"), returnZip());
+    this.testee.withArchive(makeJar("c.jar"), returnZip());
+    zip.entries();
+  }
+
+  private static ArchiveAction<ZipFile> returnZip() {
+    return new ArchiveAction<ZipFile>() {
+      @Override
+      public ZipFile apply(final ZipFile zip) {
+        return zip;
+      }
+    };
+  }
+
+  private File makeJar(final String name) throws IOException {
+    final File jar = this.folder.newFile(name);
+    try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+      out.putNextEntry(new ZipEntry("foo/Bar.class"));
+      out.write(new byte[] { 1, 2, 3 });
+      out.closeEntry();
+    }
+    return jar;
+  }
+
+}
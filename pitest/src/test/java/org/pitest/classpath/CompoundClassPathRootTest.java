@@ -87,6 +87,44 @@ public class CompoundClassPathRootTest {
     verify(heavyChild).getData("Heavy");
   }
 
-}
+  @Test
+  public void shouldOnlyQueryTheFirstHeavyRootContainingAClass()
+      throws IOException {
+    final IOHeavyRoot otherHeavyChild = Mockito.mock(IOHeavyRoot.class);
+    this.testee = new CompoundClassPathRoot(Arrays.<ClassPathRoot> asList(
+        this.heavyChild, otherHeavyChild));
+    when(this.heavyChild.classNames()).thenReturn(Arrays.asList("Foo", "Bar"));
+    when(otherHeavyChild.classNames()).thenReturn(Arrays.asList("Bar", "Car"));
+    final InputStream is = Mockito.mock(InputStream.class);
+    when(this.heavyChild.getData("Bar")).thenReturn(is);
+
+    assertThat(this.testee.getData("Bar")).isSameAs(is);
+    verify(otherHeavyChild, never()).getData(any(String.class));
+
+    this.testee.getData("Car");
+    verify(this.heavyChild, never()).getData("Car");
+    verify(otherHeavyChild).getData("Car");
+  }
+
+  @Test
+  public void shouldPreferEarlierRootsThatAreNotIndexed() throws IOException {
+    when(this.heavyChild.classNames()).thenReturn(
+        Collections.singletonList("Heavy"));
+    final InputStream is = Mockito.mock(InputStream.class);
+    when(this.child1.getData("Heavy")).thenReturn(is);
+
+    assertThat(this.testee.getData("Heavy")).isSameAs(is);
+    verify(this.heavyChild, never()).getData(any(String.class));
+    verify(this.child2, never()).getData(any(String.class));
+  }
+
+  @Test
+  public void shouldFindClassesByInternalName() throws IOException {
+    when(this.heavyChild.classNames()).thenReturn(
+        Collections.singletonList("com.example.Heavy"));
+
+    this.testee.getData("com/example/Heavy");
+    verify(this.heavyChild).getData("com/example/Heavy");
+  }
 
- 
+}
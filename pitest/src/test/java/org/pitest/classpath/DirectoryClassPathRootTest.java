@@ -1,14 +1,21 @@
 package org.pitest.classpath;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.nio.file.Files;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class DirectoryClassPathRootTest {
 
+  @Rule
+  public TemporaryFolder         folder = new TemporaryFolder();
+
   private DirectoryClassPathRoot testee;
 
   @Test
@@ -26,4 +33,31 @@ public class DirectoryClassPathRootTest {
         DirectoryClassPathRootTest.class.getName()));
   }
 
+  @Test
+  public void shouldNameClassesInNestedPackagesAndIgnoreOtherFiles()
+      throws Exception {
+    this.folder.newFile("Top.class");
+    this.folder.newFolder("com", "example");
+    this.folder.newFile("com/example/Foo.class");
+    this.folder.newFile("com/example/Foo$Inner.class");
+    this.folder.newFile("com/example/notes.txt");
+    this.testee = new DirectoryClassPathRoot(this.folder.getRoot());
+    assertThat(this.testee.classNames()).containsOnly("Top",
+        "com.example.Foo", "com.example.Foo$Inner");
+  }
+
+  @Test
+  public void shouldNameClassesInSymlinkedDirectories() throws Exception {
+    final File elsewhere = this.folder.newFolder("elsewhere");
+    this.folder.newFile("elsewhere/Bar.class");
+    final File root = this.folder.newFolder("root");
+    this.folder.newFolder("root", "com");
+    Files.createSymbolicLink(new File(root, "com/example").toPath(),
+        elsewhere.toPath());
+    Files.createSymbolicLink(new File(root, "com/example/loop").toPath(),
+        root.toPath());
+    this.testee = new DirectoryClassPathRoot(root);
+    assertThat(this.testee.classNames()).containsOnly("com.example.Bar");
+  }
+
 }
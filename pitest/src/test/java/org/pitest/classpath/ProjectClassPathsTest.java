@@ -0,0 +1,51 @@
+package org.pitest.classpath;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassName;
+import org.pitest.functional.predicate.Predicate;
+import org.pitest.functional.predicate.True;
+
+public class ProjectClassPathsTest {
+
+  private ProjectClassPaths testee;
+
+  @Mock
+  private IOHeavyRoot       root;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    final Predicate<ClassPathRoot> allRoots = True.all();
+    final Predicate<String> allClasses = True.all();
+    this.testee = new ProjectClassPaths(new ClassPath(this.root),
+        new ClassFilter(allClasses, allClasses), new PathFilter(allRoots,
+            allRoots));
+    when(this.root.classNames()).thenReturn(Arrays.asList("Foo", "Bar"));
+  }
+
+  @Test
+  public void shouldFindCodeClassesOnClassPath() {
+    assertThat(this.testee.code()).containsExactly(ClassName.fromString("Foo"),
+        ClassName.fromString("Bar"));
+  }
+
+  @Test
+  public void shouldOnlyScanClassPathOnceForCodeAndTests() {
+    this.testee.code();
+    this.testee.code();
+    this.testee.test();
+    this.testee.test();
+    verify(this.root, times(1)).classNames();
+  }
+
+}
@@ -0,0 +1,70 @@
+package org.pitest.coverage.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.pitest.testapi.Description;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireCodec;
+
+public class CoverageCodecsTest {
+
+  @Test
+  public void shouldRoundTripDescriptionWithTestClass() {
+    final Description description = new Description("aTest", "com.example.Foo");
+    assertEquals(description, roundTrip(description));
+  }
+
+  @Test
+  public void shouldRoundTripDescriptionWithoutTestClass() {
+    final Description description = new Description("aTest");
+    assertEquals(description, roundTrip(description));
+  }
+
+  @Test
+  public void shouldRoundTripEmptyProbeHits() {
+    final Map<Integer, boolean[]> hits = new HashMap<>();
+    assertThat(roundTrip(hits, CoverageCodecs.PROBE_HITS)).isEmpty();
+  }
+
+  @Test
+  public void shouldRoundTripProbeHitsSpanningSeveralWords() {
+    final boolean[] wide = new boolean[130];
+    wide[0] = true;
+    wide[63] = true;
+    wide[64] = true;
+    wide[129] = true;
+    final boolean[] narrow = new boolean[] { true, false, true };
+    final Map<Integer, boolean[]> hits = new HashMap<>();
+    hits.put(7, wide);
+    hits.put(42, narrow);
+
+    final Map<Integer, boolean[]> actual = roundTrip(hits,
+        CoverageCodecs.PROBE_HITS);
+
+    assertThat(actual.keySet()).containsOnly(7, 42);
+    assertThat(actual.get(7)).isEqualTo(wide);
+    assertThat(actual.get(42)).isEqualTo(narrow);
+  }
+
+  private static Description roundTrip(final Description value) {
+    return roundTrip(value, CoverageCodecs.DESCRIPTION);
+  }
+
+  private static <T> T roundTrip(final T value, final WireCodec<T> codec) {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream out = new SafeDataOutputStream(bos);
+    out.write(value, codec);
+    out.flush();
+    return new SafeDataInputStream(new ByteArrayInputStream(bos.toByteArray()))
+        .read(codec);
+  }
+
+}
@@ -0,0 +1,226 @@
+package org.pitest.junit.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.ResultCollector;
+
+public class AndroidJUnitTestBatchTest {
+
+  private static final String RUNNER = "android.support.test.runner.AndroidJUnitRunner";
+
+  @Rule
+  public TemporaryFolder        folder = new TemporaryFolder();
+
+  @Mock
+  private ResultCollector       rc;
+
+  private Description           one;
+  private Description           two;
+  private Description           three;
+  private AndroidJUnitTestBatch testee;
+  private Path                  args;
+
+  @Before
+  public void setUp() {
+    assumeFalse(File.separatorChar == '\\');
+    MockitoAnnotations.initMocks(this);
+    this.one = new Description("one", "com.example.FooTest");
+    this.two = new Description("two", "com.example.FooTest");
+    this.three = new Description("three", "com.example.BarTest");
+    this.testee = new AndroidJUnitTestBatch(Arrays.asList(
+        new AndroidJUnitTestUnit(this.one), new AndroidJUnitTestUnit(this.two),
+        new AndroidJUnitTestUnit(this.three)));
+    this.args = this.folder.getRoot().toPath().resolve("args");
+  }
+
+  @Test
+  public void shouldRunAllTestsInOneInstrumentation() throws IOException {
+    execute(standInAdb(passed("com.example.FooTest", "one"),
+        passed("com.example.FooTest", "two"),
+        passed("com.example.BarTest", "three"), finished()));
+    final List<String> lines = Files.readAllLines(this.args,
+        StandardCharsets.UTF_8);
+    assertEquals(1, lines.size());
+    assertTrue(lines.get(0).contains(
+        "-e class com.example.FooTest#one,com.example.FooTest#two,"
+            + "com.example.BarTest#three"));
+  }
+
+  @Test
+  public void shouldNotRequestCoverage() throws IOException {
+    execute(standInAdb(finished()));
+    assertFalse(Files.readAllLines(this.args, StandardCharsets.UTF_8).get(0)
+        .contains("coverage"));
+  }
+
+  @Test
+  public void shouldRunTestsOnSelectedDevice() throws IOException {
+    AndroidDevice.select("emulator-5556");
+    try {
+      execute(standInAdb(finished()));
+    } finally {
+      AndroidDevice.select(null);
+    }
+    assertTrue(Files.readAllLines(this.args, StandardCharsets.UTF_8).get(0)
+        .startsWith("-s emulator-5556 shell am instrument"));
+  }
+
+  @Test
+  public void shouldReportEachPassingTest() {
+    execute(standInAdb(passed("com.example.FooTest", "one"),
+        passed("com.example.FooTest", "two"),
+        passed("com.example.BarTest", "three"), finished()));
+    verify(this.rc).notifyStart(this.one);
+    verify(this.rc).notifyEnd(this.one);
+    verify(this.rc).notifyEnd(this.two);
+    verify(this.rc).notifyEnd(this.three);
+    verify(this.rc, never()).notifyEnd(any(Description.class),
+        any(Throwable.class));
+  }
+
+  @Test
+  public void shouldReportFailingTest() {
+    execute(standInAdb(passed("com.example.FooTest", "one"),
+        failed("com.example.FooTest", "two"),
+        passed("com.example.BarTest", "three"), finished()));
+    verify(this.rc).notifyEnd(this.one);
+    verify(this.rc).notifyEnd(eq(this.two), any(Throwable.class));
+    verify(this.rc).notifyEnd(this.three);
+  }
+
+  @Test
+  public void shouldStopReportingWhenCollectorAsksToExit() {
+    when(this.rc.shouldExit()).thenReturn(true);
+    execute(standInAdb(failed("com.example.FooTest", "one"),
+        passed("com.example.FooTest", "two"),
+        passed("com.example.BarTest", "three"), finished()));
+    verify(this.rc).notifyEnd(eq(this.one), any(Throwable.class));
+    verify(this.rc, never()).notifyEnd(this.two);
+    verify(this.rc, never()).notifyEnd(this.three);
+  }
+
+  @Test
+  public void shouldFailTestsNotReportedBeforeAppCrashed() {
+    execute(standInAdb(passed("com.example.FooTest", "one"),
+        started("com.example.FooTest", "two"),
+        "INSTRUMENTATION_RESULT: shortMsg=Process crashed.",
+        "INSTRUMENTATION_CODE: 0"));
+    verify(this.rc).notifyEnd(this.one);
+    verify(this.rc).notifyEnd(eq(this.two), any(Exception.class));
+    verify(this.rc).notifyEnd(eq(this.three), any(Exception.class));
+  }
+
+  @Test
+  public void shouldFailAllTestsWhenInstrumentationFails() {
+    execute(standInAdb("INSTRUMENTATION_STATUS: id=ActivityManagerService",
+        "INSTRUMENTATION_STATUS: Error=Unable to find instrumentation info",
+        "INSTRUMENTATION_STATUS_CODE: -1",
+        "INSTRUMENTATION_FAILED: com.example.test/" + RUNNER));
+    verify(this.rc).notifyEnd(eq(this.one), any(Exception.class));
+    verify(this.rc).notifyEnd(eq(this.two), any(Exception.class));
+    verify(this.rc).notifyEnd(eq(this.three), any(Exception.class));
+  }
+
+  @Test
+  public void shouldNotFailTestsWithoutResultWhenInterrupted() {
+    final String adb = lingeringAdb(passed("com.example.FooTest", "one"));
+    Thread.currentThread().interrupt();
+    try {
+      execute(adb);
+    } finally {
+      assertTrue(Thread.interrupted());
+    }
+    verify(this.rc).notifyEnd(this.one);
+    verify(this.rc, never()).notifyEnd(eq(this.two), any(Throwable.class));
+    verify(this.rc, never()).notifyEnd(eq(this.three), any(Throwable.class));
+  }
+
+  private void execute(final String adb) {
+    this.testee.execute(this.rc, adb, "com.example.test", RUNNER);
+  }
+
+  private static String started(final String clazz, final String test) {
+    return "INSTRUMENTATION_STATUS: class=" + clazz + "\n"
+        + "INSTRUMENTATION_STATUS: current=1\n"
+        + "INSTRUMENTATION_STATUS: id=AndroidJUnitRunner\n"
+        + "INSTRUMENTATION_STATUS: numtests=3\n"
+        + "INSTRUMENTATION_STATUS: stream=\n"
+        + "INSTRUMENTATION_STATUS: test=" + test + "\n"
+        + "INSTRUMENTATION_STATUS_CODE: 1";
+  }
+
+  private static String passed(final String clazz, final String test) {
+    return started(clazz, test) + "\n" + "INSTRUMENTATION_STATUS: class="
+        + clazz + "\n" + "INSTRUMENTATION_STATUS: stream=.\n"
+        + "INSTRUMENTATION_STATUS: test=" + test + "\n"
+        + "INSTRUMENTATION_STATUS_CODE: 0";
+  }
+
+  private static String failed(final String clazz, final String test) {
+    return started(clazz, test) + "\n" + "INSTRUMENTATION_STATUS: class="
+        + clazz + "\n"
+        + "INSTRUMENTATION_STATUS: stack=java.lang.AssertionError: boom\n"
+        + "\tat com.example.FooTest.two(FooTest.java:12)\n"
+        + "INSTRUMENTATION_STATUS: test=" + test + "\n"
+        + "INSTRUMENTATION_STATUS_CODE: -2";
+  }
+
+  private static String finished() {
+    return "INSTRUMENTATION_RESULT: stream=\n\nTime: 0.1\n\nOK (3 tests)\n\n"
+        + "INSTRUMENTATION_CODE: -1";
+  }
+
+  // stand-in for adb that records its arguments and prints the given output
+  private String standInAdb(final String... output) {
+    return adbScript("", output);
+  }
+
+  // as above, but stays running for a while once its output is closed
+  private String lingeringAdb(final String... output) {
+    return adbScript("exec >&- 2>&-\nsleep 5\n", output);
+  }
+
+  private String adbScript(final String then, final String... output) {
+    try {
+      final Path out = this.folder.getRoot().toPath().resolve("output");
+      final StringBuilder sb = new StringBuilder();
+      for (final String each : output) {
+        sb.append(each).append('\n');
+      }
+      Files.write(out, sb.toString().getBytes(StandardCharsets.UTF_8));
+
+      final Path script = this.folder.getRoot().toPath().resolve("adb");
+      final String contents = "#!/bin/sh\n" + "echo \"$*\" >> " + this.args
+          + "\n" + "cat " + out + "\n" + then;
+      Files.write(script, contents.getBytes(StandardCharsets.UTF_8));
+      assertTrue(script.toFile().setExecutable(true));
+      return script.toString();
+    } catch (final IOException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+}
@@ -0,0 +1,93 @@
+package org.pitest.junit.android;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.ResultCollector;
+
+import sun.pitest.MutantSwitch;
+
+public class AndroidJUnitTestUnitTest {
+
+  @Rule
+  public TemporaryFolder       folder = new TemporaryFolder();
+
+  @Mock
+  private ResultCollector      rc;
+
+  private Description          description;
+  private AndroidJUnitTestUnit testee;
+  private String               adb;
+
+  @Before
+  public void setUp() throws IOException {
+    assumeFalse(File.separatorChar == '\\');
+    MockitoAnnotations.initMocks(this);
+    this.description = new Description("shouldWork", "com.example.FooTest");
+    this.testee = new AndroidJUnitTestUnit(this.description);
+    this.adb = standInAdb();
+  }
+
+  @After
+  public void tearDown() {
+    AndroidJUnitTestUnit.selectMutant(MutantSwitch.NONE);
+  }
+
+  @Test
+  public void shouldReportPassWhenInstalledAppPasses() {
+    execute();
+    verify(this.rc).notifyEnd(this.description);
+  }
+
+  @Test
+  public void shouldPassSelectedMutantToInstrumentation() {
+    AndroidJUnitTestUnit.selectMutant(3);
+    execute();
+    verify(this.rc).notifyEnd(any(Description.class), any(Throwable.class));
+  }
+
+  @Test
+  public void shouldStopPassingMutantWhenSelectionCleared() {
+    AndroidJUnitTestUnit.selectMutant(3);
+    AndroidJUnitTestUnit.selectMutant(MutantSwitch.NONE);
+    execute();
+    verify(this.rc).notifyEnd(this.description);
+  }
+
+  private void execute() {
+    this.testee.execute(this.rc, this.adb, "com.example.test", "com.example",
+        "android.support.test.runner.AndroidJUnitRunner");
+  }
+
+  // stand-in for adb whose only test fails when mutant 3 is switched on
+  private String standInAdb() throws IOException {
+    final Path script = this.folder.getRoot().toPath().resolve("adb");
+    final String contents = "#!/bin/sh\n"
+        + "echo \"INSTRUMENTATION_STATUS_CODE: 1\"\n"
+        + "case \"$*\" in\n"
+        + "  *\"-e " + MutantSwitch.ARGUMENT + " 3\"*)"
+        + " echo \"INSTRUMENTATION_STATUS_CODE: -2\" ;;\n"
+        + "  *) echo \"INSTRUMENTATION_STATUS_CODE: 0\" ;;\n"
+        + "esac\n";
+    Files.write(script, contents.getBytes(StandardCharsets.UTF_8));
+    assertTrue(script.toFile().setExecutable(true));
+    return script.toString();
+  }
+
+}
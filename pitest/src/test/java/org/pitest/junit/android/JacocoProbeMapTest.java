@@ -0,0 +1,131 @@
+package org.pitest.junit.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.data.SessionInfoStore;
+import org.jacoco.core.instr.Instrumenter;
+import org.jacoco.core.runtime.LoggerRuntime;
+import org.jacoco.core.runtime.RuntimeData;
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.util.IsolationUtils;
+
+public class JacocoProbeMapTest {
+
+  private static final String TARGET = Target.class.getName().replace('.',
+      '/');
+
+  private JacocoProbeMap testee;
+
+  public static class Target {
+    public int pick(final boolean b) {
+      if (b) {
+        return 1;
+      }
+      return 2;
+    }
+  }
+
+  @Before
+  public void setUp() {
+    this.testee = new JacocoProbeMap(TARGET, targetBytes());
+  }
+
+  @Test
+  public void shouldMapNoProbesToNoBlocks() throws Exception {
+    final boolean[] probes = jacocoProbesFor(true);
+    Arrays.fill(probes, false);
+    assertTrue(Arrays.equals(new boolean[this.testee.getBlockCount()],
+        this.testee.blocksHitBy(probes)));
+  }
+
+  @Test
+  public void shouldOnlyMarkBlocksOnExecutedPath() throws Exception {
+    final boolean[] whenTrue = this.testee.blocksHitBy(jacocoProbesFor(true));
+    final boolean[] whenFalse = this.testee
+        .blocksHitBy(jacocoProbesFor(false));
+
+    assertFalse(Arrays.equals(whenTrue, whenFalse));
+    assertFalse(allOf(whenTrue));
+    assertFalse(allOf(whenFalse));
+  }
+
+  @Test
+  public void shouldMarkEveryBlockWhenEveryProbeHit() throws Exception {
+    final boolean[] probes = jacocoProbesFor(true);
+    Arrays.fill(probes, true);
+    assertTrue(allOf(this.testee.blocksHitBy(probes)));
+  }
+
+  @Test
+  public void shouldGiveSameHitsWhenProbesAlreadyMapped() throws Exception {
+    final boolean[] probes = jacocoProbesFor(true);
+    assertTrue(Arrays.equals(this.testee.blocksHitBy(probes),
+        this.testee.blocksHitBy(probes)));
+  }
+
+  @Test
+  public void shouldUseJacocoIdOfClass() throws Exception {
+    final ExecutionDataStore store = runInstrumented(true);
+    assertEquals(1, store.getContents().size());
+    assertEquals(store.getContents().iterator().next().getId(),
+        this.testee.getClassId());
+  }
+
+  private static boolean allOf(final boolean[] values) {
+    for (final boolean each : values) {
+      if (!each) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean[] jacocoProbesFor(final boolean b) throws Exception {
+    return runInstrumented(b).get(this.testee.getClassId()).getProbes();
+  }
+
+  // runs Target.pick(b) instrumented by JaCoCo, as the tested app would run
+  // on a device
+  private static ExecutionDataStore runInstrumented(final boolean b)
+      throws Exception {
+    final LoggerRuntime runtime = new LoggerRuntime();
+    final RuntimeData data = new RuntimeData();
+    runtime.startup(data);
+    try {
+      final byte[] instrumented = new Instrumenter(runtime).instrument(
+          targetBytes(), TARGET);
+      final Class<?> clazz = new ClassLoader(null) {
+        @Override
+        protected Class<?> findClass(final String name)
+            throws ClassNotFoundException {
+          if (name.equals(Target.class.getName())) {
+            return defineClass(name, instrumented, 0, instrumented.length);
+          }
+          return IsolationUtils.getContextClassLoader().loadClass(name);
+        }
+      }.loadClass(Target.class.getName());
+      clazz.getMethod("pick", boolean.class).invoke(clazz.newInstance(), b);
+
+      final ExecutionDataStore store = new ExecutionDataStore();
+      data.collect(store, new SessionInfoStore(), false);
+      return store;
+    } finally {
+      runtime.shutdown();
+    }
+  }
+
+  private static byte[] targetBytes() {
+    final ClassByteArraySource source = new ClassloaderByteArraySource(
+        IsolationUtils.getContextClassLoader());
+    return source.getBytes(Target.class.getName()).value();
+  }
+
+}
@@ -0,0 +1,49 @@
+package org.pitest.mutationtest.engine.schemata;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.LabelNode;
+
+public class MutantRegionTest {
+
+  @Test
+  public void shouldNotConflictWithRegionOfSameRange() {
+    assertFalse(region(3, 5).conflictsWith(region(3, 5)));
+  }
+
+  @Test
+  public void shouldNotConflictWithSeparateRegion() {
+    assertFalse(region(3, 5).conflictsWith(region(5, 7)));
+    assertFalse(region(5, 7).conflictsWith(region(3, 5)));
+  }
+
+  @Test
+  public void shouldConflictWithOverlappingRegion() {
+    assertTrue(region(3, 6).conflictsWith(region(5, 7)));
+    assertTrue(region(4, 5).conflictsWith(region(3, 7)));
+  }
+
+  @Test
+  public void shouldConflictWithDifferentRegionStartingAtSameInstruction() {
+    assertTrue(region(3, 3).conflictsWith(region(3, 4)));
+    assertTrue(region(3, 4).conflictsWith(region(3, 3)));
+  }
+
+  @Test
+  public void shouldTreatEmptyRegionWithoutReplacementAsUnchanged() {
+    assertTrue(MutantRegion.unchanged(10).isUnchanged());
+    assertFalse(region(3, 3).isUnchanged());
+  }
+
+  private static MutantRegion region(final int start, final int end) {
+    final InsnList replacement = new InsnList();
+    replacement.add(new InsnNode(Opcodes.NOP));
+    return new MutantRegion(start, end, replacement, new LabelNode());
+  }
+
+}
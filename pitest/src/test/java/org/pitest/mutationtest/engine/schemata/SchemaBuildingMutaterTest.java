@@ -0,0 +1,249 @@
+package org.pitest.mutationtest.engine.schemata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.util.CheckClassAdapter;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassPathByteArraySource;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutantSchema;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.gregor.MutatorTestBase;
+import org.pitest.mutationtest.engine.gregor.config.Mutator;
+
+import sun.pitest.MutantSwitch;
+
+public class SchemaBuildingMutaterTest extends MutatorTestBase {
+
+  private SchemaBuildingMutater testee;
+
+  @Before
+  public void setUp() {
+    createTesteeWith(Mutator.all());
+    this.testee = new SchemaBuildingMutater(this.engine,
+        new ClassPathByteArraySource());
+  }
+
+  public static class NoMutations {
+
+  }
+
+  @Test
+  public void shouldNotCreateSchemaForClassWithoutMutations() {
+    assertEquals(Option.none(),
+        this.testee.createSchema(ClassName.fromClass(NoMutations.class)));
+  }
+
+  public static class Branches implements Callable<String> {
+    private int count;
+
+    @Override
+    public String call() {
+      // no loops, as mutants of a loop counter may never terminate
+      this.count = 0;
+      final StringBuilder sb = new StringBuilder();
+      step(sb, 0);
+      step(sb, 1);
+      step(sb, 3);
+      return sb.append(":").append(this.count).append(":")
+          .append(isSmall(this.count)).toString();
+    }
+
+    private void step(final StringBuilder sb, final int i) {
+      if ((i % 2) == 0) {
+        sb.append(i * 3);
+      } else if (i > 2) {
+        sb.append(-i);
+      }
+      this.count++;
+    }
+
+    private static boolean isSmall(final int i) {
+      return i <= 4;
+    }
+  }
+
+  @Test
+  public void shouldBehaveAsOriginalClassWhenNoMutantSwitchedOn() {
+    assertOriginalBehaviour(Branches.class, new Branches());
+  }
+
+  @Test
+  public void shouldBehaveAsEachMutantWhenItIsSwitchedOn() {
+    assertBehavesAsMutants(Branches.class, new Branches());
+  }
+
+  public static class Arithmetic implements Callable<String> {
+    private final long  l = 7;
+    private final float f = 2.5f;
+
+    @Override
+    public String call() {
+      int i = 3;
+      i += 2;
+      i = i * i - 1;
+      final double d = this.f / 2 + this.l;
+      return "" + i + ":" + (i >> 1) + ":" + (this.l % 3) + ":" + d + ":"
+          + negate(i) + ":" + (i | 8);
+    }
+
+    private int negate(final int i) {
+      return -i;
+    }
+  }
+
+  @Test
+  public void shouldBehaveAsEachArithmeticMutantWhenItIsSwitchedOn() {
+    assertOriginalBehaviour(Arithmetic.class, new Arithmetic());
+    assertBehavesAsMutants(Arithmetic.class, new Arithmetic());
+  }
+
+  public static class ExceptionsAndCalls implements Callable<String> {
+    @Override
+    public String call() {
+      final StringBuilder sb = new StringBuilder();
+      try {
+        sb.append(parse("12"));
+        sb.append(parse("x"));
+      } catch (final NumberFormatException ex) {
+        sb.append("nfe");
+      }
+      record(sb);
+      return sb.append(new StringBuilder("z").length()).toString();
+    }
+
+    private static int parse(final String s) {
+      return Integer.parseInt(s);
+    }
+
+    private static void record(final StringBuilder sb) {
+      sb.append("!");
+    }
+  }
+
+  @Test
+  public void shouldBehaveAsEachCallOrHandlerMutantWhenItIsSwitchedOn() {
+    assertOriginalBehaviour(ExceptionsAndCalls.class, new ExceptionsAndCalls());
+    assertBehavesAsMutants(ExceptionsAndCalls.class, new ExceptionsAndCalls());
+  }
+
+  @Test
+  public void shouldNumberSwitchesFromGivenId() {
+    final Option<MutantSchema> schema = this.testee.createSchema(
+        ClassName.fromClass(Arithmetic.class), 100);
+    final Collection<MutationDetails> mutations = findMutationsFor(
+        Arithmetic.class);
+    for (final MutationDetails each : mutations) {
+      assertThat(schema.value().switchFor(each.getId()).value())
+          .isBetween(100, 100 + mutations.size() - 1);
+    }
+  }
+
+  @Test
+  public void shouldCreateVerifiableClass() {
+    final MutantSchema schema = schemaFor(ExceptionsAndCalls.class);
+    final StringWriter sw = new StringWriter();
+    CheckClassAdapter.verify(new ClassReader(schema.getBytes()), false,
+        new PrintWriter(sw));
+    assertEquals("", sw.toString());
+  }
+
+  private MutantSchema schemaFor(final Class<?> clazz) {
+    final Option<MutantSchema> schema = this.testee.createSchema(ClassName
+        .fromClass(clazz));
+    assertTrue("No schema created", schema.hasSome());
+    return schema.value();
+  }
+
+  private void assertOriginalBehaviour(final Class<?> clazz,
+      final Callable<String> callable) {
+    final MutantSchema schema = schemaFor(clazz);
+    final String expected = outcome(callable);
+    assertEquals(expected, runSchema(schema, callable, MutantSwitch.NONE));
+  }
+
+  private void assertBehavesAsMutants(final Class<?> clazz,
+      final Callable<String> callable) {
+    final MutantSchema schema = schemaFor(clazz);
+    final Collection<MutationDetails> mutations = findMutationsFor(clazz);
+    assertThat(mutations).isNotEmpty();
+    for (final MutationDetails each : mutations) {
+      final Option<Integer> id = schema.switchFor(each.getId());
+      assertTrue("Not in schema " + each, id.hasSome());
+      final Mutant mutant = this.engine.getMutation(each.getId());
+      assertEquals(each.getDescription(),
+          outcome(new Switched(callable, MutantSwitch.NONE), mutant),
+          runSchema(schema, callable, id.value()));
+    }
+  }
+
+  private String runSchema(final MutantSchema schema,
+      final Callable<String> callable, final int switchId) {
+    return outcome(new Switched(callable, switchId), new Mutant(
+        findMutationsFor(callable.getClass()).get(0), schema.getBytes()));
+  }
+
+  private String outcome(final Callable<String> callable, final Mutant mutant) {
+    return mutateAndCall(new Outcome(callable), mutant);
+  }
+
+  private static String outcome(final Callable<String> callable) {
+    try {
+      return new Outcome(callable).call();
+    } catch (final Exception ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  /**
+   * Sets the switch seen by the class loader the callable is cloned into
+   */
+  private static class Switched implements Callable<String> {
+    private final Callable<String> child;
+    private final int              switchId;
+
+    Switched(final Callable<String> child, final int switchId) {
+      this.child = child;
+      this.switchId = switchId;
+    }
+
+    @Override
+    public String call() throws Exception {
+      MutantSwitch.activate(this.switchId);
+      try {
+        return this.child.call();
+      } finally {
+        MutantSwitch.activate(MutantSwitch.NONE);
+      }
+    }
+  }
+
+  private static class Outcome implements Callable<String> {
+    private final Callable<String> child;
+
+    Outcome(final Callable<String> child) {
+      this.child = child;
+    }
+
+    @Override
+    public String call() {
+      try {
+        return this.child.call();
+      } catch (final Throwable t) {
+        return t.getClass().getName();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,287 @@
+package org.pitest.mutationtest.execute;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.pitest.classinfo.ClassName;
+import org.pitest.functional.Option;
+import org.pitest.junit.android.AndroidDevice;
+import org.pitest.mutationtest.engine.MutantSchema;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.SchemataMutater;
+
+import sun.pitest.MutantSwitch;
+
+public class AndroidSchemaPackageTest {
+
+  private static final ClassName FOO      = ClassName
+                                              .fromString("com.example.Foo");
+  private static final ClassName BAR      = ClassName
+                                              .fromString("com.example.Bar");
+  private static final byte[]    ORIGINAL = new byte[] { 9 };
+
+  @Rule
+  public TemporaryFolder         folder   = new TemporaryFolder();
+
+  private SchemataMutater        mutater;
+  private Path                   classes;
+  private Path                   installed;
+  private Path                   log;
+  private Path                   serials;
+
+  private MutationIdentifier     fooOne;
+  private MutationIdentifier     fooTwo;
+  private MutationIdentifier     barOne;
+
+  @Before
+  public void setUp() throws IOException {
+    assumeFalse(File.separatorChar == '\\');
+    this.classes = this.folder.newFolder("classes").toPath();
+    this.installed = this.folder.getRoot().toPath().resolve("installed");
+    this.log = this.folder.getRoot().toPath().resolve("gradlew.log");
+    this.serials = this.folder.getRoot().toPath().resolve("serials.log");
+    writeClass(FOO, ORIGINAL);
+    writeClass(BAR, ORIGINAL);
+
+    this.fooOne = anId(FOO, 1);
+    this.fooTwo = anId(FOO, 2);
+    this.barOne = anId(BAR, 1);
+    this.mutater = mock(SchemataMutater.class);
+    when(this.mutater.createSchema(eq(FOO), anyInt())).thenAnswer(
+        schema(FOO, this.fooOne, this.fooTwo));
+    when(this.mutater.createSchema(eq(BAR), anyInt())).thenAnswer(
+        schema(BAR, this.barOne));
+  }
+
+  @Test
+  public void shouldInstallAppOnceForMutantsOfSameClass() throws IOException {
+    final AndroidSchemaPackage testee = testee(0);
+    testee.switchFor(this.fooOne);
+    testee.switchFor(this.fooTwo);
+    testee.switchFor(this.fooOne);
+    assertEquals(1, installs());
+  }
+
+  @Test
+  public void shouldReinstallWhenMutantOfNewClassRequested()
+      throws IOException {
+    final AndroidSchemaPackage testee = testee(0);
+    testee.switchFor(this.fooOne);
+    testee.switchFor(this.barOne);
+    testee.switchFor(this.fooTwo);
+    assertEquals(2, installs());
+    assertArrayEquals(schemaBytes(FOO), installedClass(FOO));
+    assertArrayEquals(schemaBytes(BAR), installedClass(BAR));
+  }
+
+  @Test
+  public void shouldInstallAppOnceForAllPreparedClasses() throws IOException {
+    final AndroidSchemaPackage testee = testee(0);
+    testee.prepare(Arrays.asList(FOO, BAR));
+    testee.switchFor(this.fooOne);
+    testee.switchFor(this.barOne);
+    testee.switchFor(this.fooTwo);
+    assertEquals(1, installs());
+    assertArrayEquals(schemaBytes(FOO), installedClass(FOO));
+    assertArrayEquals(schemaBytes(BAR), installedClass(BAR));
+  }
+
+  @Test
+  public void shouldGiveMutantsOfDifferentClassesDistinctSwitches() {
+    final AndroidSchemaPackage testee = testee(0);
+    testee.switchFor(this.fooOne);
+    assertEquals(Option.some(MutantSwitch.NONE + 3),
+        testee.switchFor(this.barOne));
+    assertEquals(Option.some(MutantSwitch.NONE + 1),
+        testee.switchFor(this.fooOne));
+    assertEquals(Option.some(MutantSwitch.NONE + 2),
+        testee.switchFor(this.fooTwo));
+  }
+
+  @Test
+  public void shouldInstallSchemaAndMutantSwitch() throws IOException {
+    final AndroidSchemaPackage testee = testee(0);
+    testee.switchFor(this.fooOne);
+    assertArrayEquals(schemaBytes(FOO), installedClass(FOO));
+    assertArrayEquals(ORIGINAL, installedClass(BAR));
+    assertTrue(Files.exists(installedClassFile(ClassName
+        .fromClass(MutantSwitch.class))));
+  }
+
+  @Test
+  public void shouldRestoreCompiledClassFilesOnceInstalled()
+      throws IOException {
+    final AndroidSchemaPackage testee = testee(0);
+    testee.switchFor(this.fooOne);
+    testee.switchFor(this.barOne);
+    assertArrayEquals(ORIGINAL, Files.readAllBytes(classFile(FOO)));
+    assertArrayEquals(ORIGINAL, Files.readAllBytes(classFile(BAR)));
+    assertFalse(Files.exists(classFile(ClassName.fromClass(MutantSwitch.class))));
+  }
+
+  @Test
+  public void shouldInstallOnSelectedDevice() throws IOException {
+    AndroidDevice.select("emulator-5556");
+    try {
+      testee(0).switchFor(this.fooOne);
+    } finally {
+      AndroidDevice.select(null);
+    }
+    assertEquals(Arrays.asList("emulator-5556"),
+        Files.readAllLines(this.serials, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void shouldReinstallAfterInvalidated() throws IOException {
+    final AndroidSchemaPackage testee = testee(0);
+    testee.switchFor(this.fooOne);
+    testee.invalidate();
+    testee.switchFor(this.fooTwo);
+    assertEquals(2, installs());
+  }
+
+  @Test
+  public void shouldNotSwitchMutantsMissingFromSchema() throws IOException {
+    final AndroidSchemaPackage testee = testee(0);
+    assertEquals(Option.none(), testee.switchFor(anId(FOO, 3)));
+  }
+
+  @Test
+  public void shouldKeepSwitchingOtherClassesWhenAClassHasNoSchema()
+      throws IOException {
+    when(this.mutater.createSchema(eq(BAR), anyInt())).thenReturn(
+        Option.<MutantSchema> none());
+    final AndroidSchemaPackage testee = testee(0);
+    assertEquals(Option.none(), testee.switchFor(this.barOne));
+    assertEquals(Option.some(MutantSwitch.NONE + 1),
+        testee.switchFor(this.fooOne));
+    assertEquals(Option.none(), testee.switchFor(this.barOne));
+    assertEquals(1, installs());
+  }
+
+  @Test
+  public void shouldKeepSwitchingOtherClassesWhenAClassFileIsMissing()
+      throws IOException {
+    Files.delete(classFile(BAR));
+    final AndroidSchemaPackage testee = testee(0);
+    assertEquals(Option.none(), testee.switchFor(this.barOne));
+    assertEquals(Option.some(MutantSwitch.NONE + 1),
+        testee.switchFor(this.fooOne));
+    assertEquals(1, installs());
+  }
+
+  @Test
+  public void shouldFallBackWhenAppCannotBeInstalled() throws IOException {
+    final AndroidSchemaPackage testee = testee(1);
+    assertEquals(Option.none(), testee.switchFor(this.fooOne));
+    assertEquals(Option.none(), testee.switchFor(this.fooTwo));
+    assertEquals(1, installs());
+    assertArrayEquals(ORIGINAL, Files.readAllBytes(classFile(FOO)));
+  }
+
+  private AndroidSchemaPackage testee(final int exitCode) {
+    return new AndroidSchemaPackage(this.mutater, new AndroidBuild(
+        this.classes, "Debug", gradlew(exitCode)));
+  }
+
+  // stand-in for the gradle wrapper that records each invocation and takes
+  // a copy of the class files it would have packaged
+  private Path gradlew(final int exitCode) {
+    try {
+      final Path script = this.folder.getRoot().toPath().resolve("gradlew");
+      final String contents = "#!/bin/sh\n" + "echo \"$@\" >> " + this.log
+          + "\n" + "echo \"$ANDROID_SERIAL\" >> " + this.serials + "\n"
+          + "rm -rf " + this.installed + "\n" + "cp -r " + this.classes
+          + " " + this.installed + "\n" + "exit " + exitCode + "\n";
+      Files.write(script, contents.getBytes(StandardCharsets.UTF_8));
+      assertTrue(script.toFile().setExecutable(true));
+      return script;
+    } catch (final IOException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  private int installs() throws IOException {
+    if (!Files.exists(this.log)) {
+      return 0;
+    }
+    final List<String> lines = Files.readAllLines(this.log,
+        StandardCharsets.UTF_8);
+    for (final String each : lines) {
+      assertEquals(
+          "installDebug -x javaPreCompileDebug -x compileDebugJavaWithJavac",
+          each);
+    }
+    return lines.size();
+  }
+
+  private Path classFile(final ClassName clazz) {
+    return this.classes.resolve(clazz.asInternalName() + ".class");
+  }
+
+  private Path installedClassFile(final ClassName clazz) {
+    return this.installed.resolve(clazz.asInternalName() + ".class");
+  }
+
+  private byte[] installedClass(final ClassName clazz) throws IOException {
+    return Files.readAllBytes(installedClassFile(clazz));
+  }
+
+  private void writeClass(final ClassName clazz, final byte[] bytes)
+      throws IOException {
+    Files.createDirectories(classFile(clazz).getParent());
+    Files.write(classFile(clazz), bytes);
+  }
+
+  private static byte[] schemaBytes(final ClassName clazz) {
+    return clazz.asJavaName().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static Answer<Option<MutantSchema>> schema(final ClassName clazz,
+      final MutationIdentifier... ids) {
+    return new Answer<Option<MutantSchema>>() {
+      @Override
+      public Option<MutantSchema> answer(final InvocationOnMock invocation) {
+        final int first = (Integer) invocation.getArguments()[1];
+        final Map<MutationIdentifier, Integer> switches = new HashMap<>();
+        for (int i = 0; i != ids.length; i++) {
+          switches.put(ids[i], first + i);
+        }
+        return Option.some(new MutantSchema(clazz, schemaBytes(clazz),
+            switches));
+      }
+    };
+  }
+
+  private static MutationIdentifier anId(final ClassName clazz,
+      final int index) {
+    return aMutationId().withLocation(aLocation(clazz.asJavaName()))
+        .withIndex(index).build();
+  }
+
+}
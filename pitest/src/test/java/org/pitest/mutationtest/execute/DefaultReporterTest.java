@@ -35,7 +35,7 @@ public class DefaultReporterTest {
     this.testee.describe(mi);
     final SafeDataInputStream is = resultToStream();
     assertEquals(Id.DESCRIBE, is.readByte());
-    assertEquals(is.read(MutationIdentifier.class), mi);
+    assertEquals(is.read(MutationCodecs.MUTATION_IDENTIFIER), mi);
   }
 
   @Test
@@ -47,8 +47,8 @@ public class DefaultReporterTest {
     this.testee.report(mi, ms);
     final SafeDataInputStream is = resultToStream();
     assertEquals(Id.REPORT, is.readByte());
-    assertEquals(is.read(MutationIdentifier.class), mi);
-    assertEquals(is.read(MutationStatusTestPair.class), ms);
+    assertEquals(is.read(MutationCodecs.MUTATION_IDENTIFIER), mi);
+    assertEquals(is.read(MutationCodecs.STATUS_TEST_PAIR), ms);
   }
 
   private SafeDataInputStream resultToStream() {
@@ -65,4 +65,18 @@ public class DefaultReporterTest {
     assertEquals(is.readInt(), ExitCode.TIMEOUT.getCode());
   }
 
+  @Test
+  public void shouldSendRecycleRequest() {
+    this.testee.recycle();
+    final SafeDataInputStream is = resultToStream();
+    assertEquals(Id.RECYCLE, is.readByte());
+  }
+
+  @Test
+  public void shouldSendWorkRequest() {
+    this.testee.requestWork();
+    final SafeDataInputStream is = resultToStream();
+    assertEquals(Id.NEXT, is.readByte());
+  }
+
 }
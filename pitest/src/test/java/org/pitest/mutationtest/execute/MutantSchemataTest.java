@@ -0,0 +1,152 @@
+package org.pitest.mutationtest.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassName;
+import org.pitest.functional.F3;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutantSchema;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.SchemataMutater;
+
+import sun.pitest.MutantSwitch;
+
+public class MutantSchemataTest {
+
+  private static final ClassName                      FOO = ClassName
+                                                              .fromString("foo");
+  private static final ClassName                      BAR = ClassName
+                                                              .fromString("bar");
+
+  private MutantSchemata                              testee;
+
+  @Mock
+  private SchemataMutater                             mutater;
+
+  @Mock
+  private F3<ClassName, ClassLoader, byte[], Boolean> hotswapper;
+
+  private ClassLoader                                 loader;
+  private MutationIdentifier                          fooOne;
+  private MutationIdentifier                          fooTwo;
+  private MutationIdentifier                          barOne;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    this.loader = MutantSchemataTest.class.getClassLoader();
+    this.fooOne = anId("foo", 1);
+    this.fooTwo = anId("foo", 2);
+    this.barOne = anId("bar", 1);
+    when(this.hotswapper.apply(any(ClassName.class), any(ClassLoader.class),
+        any(byte[].class))).thenReturn(true);
+    when(this.mutater.createSchema(FOO)).thenReturn(
+        Option.some(schema(FOO, this.fooOne, this.fooTwo)));
+    when(this.mutater.createSchema(BAR)).thenReturn(
+        Option.some(schema(BAR, this.barOne)));
+    this.testee = new MutantSchemata(this.mutater, this.hotswapper);
+  }
+
+  @After
+  public void tearDown() {
+    MutantSwitch.activate(MutantSwitch.NONE);
+  }
+
+  @Test
+  public void shouldNotActivateMutantsWhenMutaterCannotCreateSchemata() {
+    final Mutater plain = mock(Mutater.class);
+    this.testee = new MutantSchemata(plain, this.hotswapper);
+    assertFalse(this.testee.activate(this.fooOne, this.loader));
+    verify(this.hotswapper, never()).apply(any(ClassName.class),
+        any(ClassLoader.class), any(byte[].class));
+  }
+
+  @Test
+  public void shouldSwitchOnActivatedMutant() {
+    assertTrue(this.testee.activate(this.fooTwo, this.loader));
+    assertEquals(2, MutantSwitch.active);
+  }
+
+  @Test
+  public void shouldSwitchOffMutantWhenDeactivated() {
+    this.testee.activate(this.fooTwo, this.loader);
+    this.testee.deactivate();
+    assertEquals(MutantSwitch.NONE, MutantSwitch.active);
+  }
+
+  @Test
+  public void shouldInstallSchemaOnceForMutantsOfSameClass() {
+    this.testee.activate(this.fooOne, this.loader);
+    this.testee.deactivate();
+    this.testee.activate(this.fooTwo, this.loader);
+    verify(this.hotswapper, times(1)).apply(any(ClassName.class),
+        any(ClassLoader.class), any(byte[].class));
+    verify(this.mutater, times(1)).createSchema(FOO);
+  }
+
+  @Test
+  public void shouldInstallNewSchemaWhenMutatedClassChanges() {
+    this.testee.activate(this.fooOne, this.loader);
+    this.testee.activate(this.barOne, this.loader);
+    verify(this.hotswapper).apply(FOO, this.loader, new byte[] { 1 });
+    verify(this.hotswapper).apply(BAR, this.loader, new byte[] { 1 });
+  }
+
+  @Test
+  public void shouldReinstallSchemaAfterMutantHotSwapped() {
+    this.testee.activate(this.fooOne, this.loader);
+    this.testee.mutantHotSwapped();
+    this.testee.activate(this.fooTwo, this.loader);
+    verify(this.hotswapper, times(2)).apply(any(ClassName.class),
+        any(ClassLoader.class), any(byte[].class));
+  }
+
+  @Test
+  public void shouldNotActivateMutantMissingFromSchema() {
+    assertFalse(this.testee.activate(anId("foo", 3), this.loader));
+  }
+
+  @Test
+  public void shouldStopUsingSchemaThatCouldNotBeInstalled() {
+    when(this.hotswapper.apply(any(ClassName.class), any(ClassLoader.class),
+        any(byte[].class))).thenReturn(false);
+    assertFalse(this.testee.activate(this.fooOne, this.loader));
+    assertFalse(this.testee.activate(this.fooTwo, this.loader));
+    verify(this.hotswapper, times(1)).apply(any(ClassName.class),
+        any(ClassLoader.class), any(byte[].class));
+  }
+
+  private static MutationIdentifier anId(final String clazz, final int index) {
+    return aMutationId().withLocation(aLocation(clazz)).withIndex(index)
+        .build();
+  }
+
+  private static MutantSchema schema(final ClassName clazz,
+      final MutationIdentifier... ids) {
+    final Map<MutationIdentifier, Integer> switches = new HashMap<>();
+    for (int i = 0; i != ids.length; i++) {
+      switches.put(ids[i], i + 1);
+    }
+    return new MutantSchema(clazz, new byte[] { 1 }, switches);
+  }
+
+}
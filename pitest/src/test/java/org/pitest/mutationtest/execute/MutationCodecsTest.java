@@ -0,0 +1,137 @@
+package org.pitest.mutationtest.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+import static org.pitest.mutationtest.engine.MutationDetailsMother.aMutationDetail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.Option;
+import org.pitest.functional.predicate.True;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.build.PercentAndConstantTimeoutStrategy;
+import org.pitest.mutationtest.config.TestPluginArguments;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.PoisonStatus;
+import org.pitest.mutationtest.engine.gregor.GregorMutationEngine;
+import org.pitest.mutationtest.engine.gregor.MethodInfo;
+import org.pitest.mutationtest.engine.gregor.config.DefaultMutationEngineConfiguration;
+import org.pitest.mutationtest.engine.gregor.config.Mutator;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireCodec;
+
+public class MutationCodecsTest {
+
+  @Test
+  public void shouldRoundTripMutationIdentifiers() {
+    final MutationIdentifier id = new MutationIdentifier(aMutationId()
+        .build().getLocation(), Arrays.asList(1, 7, 42), "aMutator");
+    final MutationIdentifier actual = roundTrip(
+        MutationCodecs.MUTATION_IDENTIFIER, id);
+    assertEquals(id, actual);
+    assertEquals(id.getLocation().getMethodDesc(), actual.getLocation()
+        .getMethodDesc());
+  }
+
+  @Test
+  public void shouldRoundTripStatusWithKillingTest() {
+    final MutationStatusTestPair pair = new MutationStatusTestPair(3,
+        DetectionStatus.KILLED, "aTest");
+    assertEquals(pair, roundTrip(MutationCodecs.STATUS_TEST_PAIR, pair));
+  }
+
+  @Test
+  public void shouldRoundTripStatusWithoutKillingTest() {
+    final MutationStatusTestPair pair = new MutationStatusTestPair(0,
+        DetectionStatus.TIMED_OUT);
+    final MutationStatusTestPair actual = roundTrip(
+        MutationCodecs.STATUS_TEST_PAIR, pair);
+    assertEquals(pair, actual);
+    assertTrue(actual.getKillingTest().hasNone());
+  }
+
+  @Test
+  public void shouldRoundTripAllMutationDetailFields() {
+    final TestInfo directTest = new TestInfo("com.example.FooTest", "test1",
+        12, Option.some(ClassName.fromString("com.example.Foo")), 3);
+    final TestInfo indirectTest = new TestInfo(null, "test2", 1,
+        Option.<ClassName> none(), 0);
+    final MutationDetails details = aMutationDetail().withBlock(4)
+        .withLineNumber(21).withFilename("Foo.java")
+        .withDescription("replaced return").withIsInFinallyBlock(true)
+        .withPoison(PoisonStatus.IS_STATIC_INITIALIZER_CODE)
+        .withTestsInOrder(Arrays.asList(directTest, indirectTest)).build();
+
+    final MutationDetails actual = roundTrip(MutationCodecs.MUTATION_DETAILS,
+        details);
+
+    assertEquals(details.getId(), actual.getId());
+    assertEquals(4, actual.getBlock());
+    assertEquals(21, actual.getLineNumber());
+    assertEquals("Foo.java", actual.getFilename());
+    assertEquals("replaced return", actual.getDescription());
+    assertTrue(actual.isInFinallyBlock());
+    assertEquals(PoisonStatus.IS_STATIC_INITIALIZER_CODE,
+        actual.getPoisonStatus());
+    assertEquals(details.getTestsInOrder(), actual.getTestsInOrder());
+
+    final TestInfo actualDirect = actual.getTestsInOrder().get(0);
+    assertEquals(12, actualDirect.getTime());
+    assertEquals(3, actualDirect.getNumberOfBlocksCovered());
+    assertTrue(actualDirect.directlyHits(ClassName.fromString("com.example.Foo")));
+    assertFalse(actual.getTestsInOrder().get(1).getTestee().hasSome());
+  }
+
+  @Test
+  public void shouldRoundTripMinionArguments() {
+    final List<MutationDetails> mutations = new ArrayList<>();
+    mutations.add(aMutationDetail().withId(aMutationId().withIndex(1)).build());
+    mutations.add(aMutationDetail().withId(aMutationId().withIndex(2)).build());
+    final List<ClassName> tests = Arrays.asList(ClassName.fromString("a.Test"),
+        ClassName.fromString("b.Test"));
+    final GregorMutationEngine engine = new GregorMutationEngine(
+        new DefaultMutationEngineConfiguration(True.<MethodInfo> all(),
+            Mutator.fromStrings(Collections.singleton("MATH"))));
+    final MinionArguments args = new MinionArguments(mutations, tests, engine,
+        new PercentAndConstantTimeoutStrategy(1.5f, 2000), true,
+        TestPluginArguments.defaults(), "emulator-5554", Arrays.asList(
+            ClassName.fromString("a.Foo"), ClassName.fromString("b.Bar")));
+
+    final MinionArguments actual = roundTrip(MutationCodecs.MINION_ARGUMENTS,
+        args);
+
+    assertEquals(mutations, new ArrayList<>(actual.mutations));
+    assertEquals(tests, new ArrayList<>(actual.testClasses));
+    assertEquals(engine.getMutatorNames(), actual.engine.getMutatorNames());
+    assertEquals(3500, actual.timeoutStrategy.getAllowedTime(1000));
+    assertTrue(actual.isVerbose());
+    assertEquals("emulator-5554", actual.device);
+    assertEquals(
+        Arrays.asList(ClassName.fromString("a.Foo"),
+            ClassName.fromString("b.Bar")),
+        new ArrayList<>(actual.mutatedClasses));
+  }
+
+  private static <T> T roundTrip(final WireCodec<T> codec, final T value) {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream out = new SafeDataOutputStream(bos);
+    out.write(value, codec);
+    out.flush();
+    return new SafeDataInputStream(new ByteArrayInputStream(bos.toByteArray()))
+        .read(codec);
+  }
+
+}
@@ -1,12 +1,15 @@
 package org.pitest.mutationtest.execute;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -25,6 +28,7 @@ import org.pitest.mutationtest.engine.MutationEngine;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.testapi.Configuration;
 import org.pitest.util.ExitCode;
+import org.pitest.util.Id;
 import org.pitest.util.PitError;
 import org.pitest.util.SafeDataInputStream;
 
@@ -68,7 +72,13 @@ public class MutationTestMinionTest {
     this.args = new MinionArguments(this.mutations, this.tests,  this.engine,
         this.timeoutStrategy, false, TestPluginArguments.defaults());
 
-    when(this.is.read(MinionArguments.class)).thenReturn(this.args);
+    when(this.is.readByte()).thenReturn(Id.RUN, Id.DONE);
+    when(this.is.read(MutationCodecs.MINION_ARGUMENTS)).thenReturn(this.args);
+    when(this.is.readInt()).thenReturn(MutationTestMinion.NO_HEAP_BUDGET);
+    when(this.is.read(MutationCodecs.MUTATION_BATCH)).thenReturn(
+        Collections.<MutationDetails> emptyList());
+    when(this.is.read(MutationCodecs.TEST_CLASSES)).thenReturn(
+        Collections.<ClassName> emptyList());
     when(this.engine.createMutator(any(ClassByteArraySource.class)))
     .thenReturn(this.mutater);
     
@@ -96,4 +106,52 @@ public class MutationTestMinionTest {
     verify(this.reporter).done(ExitCode.UNKNOWN_ERROR);
   }
 
+  @Test
+  public void shouldAskParentForMoreWorkUntilEmptyBatchReceived() {
+    final Collection<MutationDetails> pulled = Collections.singletonList(
+        new MutationDetails(aMutationId().withIndex(0).withMutator("foo")
+            .build(), "file", "desc", 0, 0));
+    when(this.is.read(MutationCodecs.MUTATION_BATCH)).thenReturn(pulled,
+        Collections.<MutationDetails> emptyList());
+    when(this.mutater.getMutation(any(MutationIdentifier.class))).thenThrow(
+        new PitError("foo"));
+    this.testee.run();
+    verify(this.reporter).requestWork();
+    verify(this.reporter).done(ExitCode.UNKNOWN_ERROR);
+  }
+
+  @Test
+  public void shouldRequestWorkOnceWhenParentHasNoneToGive() {
+    this.testee.run();
+    verify(this.reporter).requestWork();
+    verify(this.reporter).done(ExitCode.OK);
+  }
+
+  @Test
+  public void shouldRunEachBatchSentByParent() {
+    when(this.is.readByte()).thenReturn(Id.RUN, Id.RUN, Id.RUN, Id.DONE);
+    this.testee.run();
+    verify(this.reporter, times(3)).done(ExitCode.OK);
+  }
+
+  @Test
+  public void shouldNotRunAnythingWhenParentSendsNoWork() {
+    when(this.is.readByte()).thenReturn(Id.DONE);
+    this.testee.run();
+    verify(this.reporter, never()).done(ExitCode.OK);
+  }
+
+  @Test
+  public void shouldRequestRecyclingWhenHeapBudgetExceeded() {
+    when(this.is.readInt()).thenReturn(0);
+    this.testee.run();
+    verify(this.reporter).recycle();
+  }
+
+  @Test
+  public void shouldNotRequestRecyclingWhenNoHeapBudgetSet() {
+    this.testee.run();
+    verify(this.reporter, never()).recycle();
+  }
+
 }
@@ -1,6 +1,7 @@
 package org.pitest.mutationtest.execute;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aLocation;
@@ -68,6 +69,14 @@ public class MutationTestWorkerTest {
     verify(this.reporter).describe(mutantTwo.getId());
   }
 
+  @Test
+  public void shouldGiveTestsOfEachMutantAFreshThread() throws IOException {
+    final Collection<MutationDetails> range = Arrays.asList(
+        makeMutant("foo", 1), makeMutant("foo", 2));
+    this.testee.run(range, this.reporter, this.testSource);
+    verify(this.testSource, times(2)).nextMutant();
+  }
+
   @Test
   @Ignore("disabled while checking coverage issue")
   public void shouldReportNoCoverageForMutationWithNoTestCoverage()
@@ -14,12 +14,16 @@
  */
 package org.pitest.mutationtest.execute;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -47,13 +51,15 @@ public class MutationTimeoutDecoratorTest {
   @Mock
   private ResultCollector          rc;
 
+  private final ReusableTestThread testThread       = new ReusableTestThread();
+
   private static final long        NORMAL_EXECUTION = 1;
 
   @Before
   public void setUp() {
     MockitoAnnotations.initMocks(this);
     this.testee = new MutationTimeoutDecorator(this.child, this.sideEffect,
-        this.timeoutStrategy, NORMAL_EXECUTION);
+        this.timeoutStrategy, NORMAL_EXECUTION, this.testThread);
   }
 
   @Test
@@ -81,4 +87,54 @@ public class MutationTimeoutDecoratorTest {
     verify(this.child).execute(any(ResultCollector.class));
     verify(this.sideEffect).apply();
   }
+
+  @Test
+  public void shouldRunSuccessiveTestsOnSameThread() {
+    when(this.timeoutStrategy.getAllowedTime(NORMAL_EXECUTION)).thenReturn(
+        1000l);
+    final List<Thread> threads = recordThreads();
+
+    this.testee.execute(this.rc);
+    this.testee.execute(this.rc);
+
+    assertThat(threads).hasSize(2);
+    assertThat(threads.get(0)).isSameAs(threads.get(1));
+    assertThat(threads.get(0)).isNotSameAs(Thread.currentThread());
+  }
+
+  @Test
+  public void shouldRunNextTestOnNewThreadWhenTestTimesOut() {
+    when(this.timeoutStrategy.getAllowedTime(NORMAL_EXECUTION)).thenReturn(
+        50l, 1000l);
+    final List<Thread> threads = new CopyOnWriteArrayList<>();
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(final InvocationOnMock invocation) throws Throwable {
+        threads.add(Thread.currentThread());
+        if (threads.size() == 1) {
+          Thread.sleep(200);
+        }
+        return null;
+      }
+    }).when(this.child).execute(any(ResultCollector.class));
+
+    this.testee.execute(this.rc);
+    this.testee.execute(this.rc);
+
+    verify(this.sideEffect).apply();
+    assertThat(threads).hasSize(2);
+    assertThat(threads.get(0)).isNotSameAs(threads.get(1));
+  }
+
+  private List<Thread> recordThreads() {
+    final List<Thread> threads = new CopyOnWriteArrayList<>();
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(final InvocationOnMock invocation) throws Throwable {
+        threads.add(Thread.currentThread());
+        return null;
+      }
+    }).when(this.child).execute(any(ResultCollector.class));
+    return threads;
+  }
 }
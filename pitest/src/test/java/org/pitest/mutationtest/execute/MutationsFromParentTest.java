@@ -0,0 +1,117 @@
+package org.pitest.mutationtest.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+import static org.pitest.mutationtest.engine.MutationDetailsMother.aMutationDetail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassName;
+import org.pitest.functional.SideEffect1;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.SafeDataInputStream;
+
+public class MutationsFromParentTest {
+
+  @Mock
+  private SafeDataInputStream                is;
+
+  @Mock
+  private Reporter                           reporter;
+
+  @Mock
+  private SideEffect1<Collection<ClassName>> testsNeeded;
+
+  private final MutationDetails first  = aMutationDetail().withId(
+      aMutationId().withIndex(1)).build();
+  private final MutationDetails second = aMutationDetail().withId(
+      aMutationId().withIndex(2)).build();
+  private final MutationDetails third  = aMutationDetail().withId(
+      aMutationId().withIndex(3)).build();
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    when(this.is.read(MutationCodecs.MUTATION_BATCH)).thenReturn(
+        Collections.<MutationDetails> emptyList());
+    when(this.is.read(MutationCodecs.TEST_CLASSES)).thenReturn(
+        Collections.<ClassName> emptyList());
+  }
+
+  @Test
+  public void shouldReturnFirstBatchThenPulledBatches() {
+    when(this.is.read(MutationCodecs.MUTATION_BATCH)).thenReturn(
+        batch(this.second), batch(this.third), batch());
+
+    final MutationsFromParent testee = new MutationsFromParent(
+        batch(this.first), this.is, this.reporter, this.testsNeeded);
+
+    assertEquals(Arrays.asList(this.first, this.second, this.third),
+        drain(testee));
+    verify(this.reporter, times(3)).requestWork();
+  }
+
+  @Test
+  public void shouldNotAskForWorkUntilFirstBatchConsumed() {
+    final MutationsFromParent testee = new MutationsFromParent(
+        batch(this.first), this.is, this.reporter, this.testsNeeded);
+    testee.iterator().next();
+    verify(this.reporter, never()).requestWork();
+  }
+
+  @Test
+  public void shouldStopAskingOnceParentSendsEmptyBatch() {
+    final MutationsFromParent testee = new MutationsFromParent(batch(),
+        this.is, this.reporter, this.testsNeeded);
+    final Iterator<MutationDetails> it = testee.iterator();
+    assertFalse(it.hasNext());
+    assertFalse(it.hasNext());
+    verify(this.reporter, times(1)).requestWork();
+  }
+
+  @Test
+  public void shouldAskForTestsOfEachPulledBatch() {
+    final Collection<ClassName> otherUnitsTests = Collections
+        .singletonList(ClassName.fromString("OtherTest"));
+    when(this.is.read(MutationCodecs.TEST_CLASSES)).thenReturn(
+        otherUnitsTests, Collections.<ClassName> emptyList());
+    when(this.is.read(MutationCodecs.MUTATION_BATCH)).thenReturn(
+        batch(this.second), batch());
+
+    drain(new MutationsFromParent(batch(this.first), this.is, this.reporter,
+        this.testsNeeded));
+
+    verify(this.testsNeeded).apply(otherUnitsTests);
+    verifyNoMoreInteractions(this.testsNeeded);
+  }
+
+  private static Collection<MutationDetails> batch(
+      final MutationDetails... mutations) {
+    return Arrays.asList(mutations);
+  }
+
+  private static List<MutationDetails> drain(
+      final Iterable<MutationDetails> mutations) {
+    final List<MutationDetails> actual = new ArrayList<>();
+    for (final MutationDetails each : mutations) {
+      actual.add(each);
+    }
+    return actual;
+  }
+
+}
@@ -0,0 +1,89 @@
+package org.pitest.mutationtest.execute;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ReusableTestThreadTest {
+
+  private final ReusableTestThread testee = new ReusableTestThread();
+
+  @After
+  public void tearDown() {
+    this.testee.abandon();
+  }
+
+  @Test
+  public void shouldRestoreContextClassLoaderAfterEachTest() throws Exception {
+    final AtomicReference<ClassLoader> original = new AtomicReference<>();
+    this.testee.submit(new Runnable() {
+      @Override
+      public void run() {
+        original.set(Thread.currentThread().getContextClassLoader());
+        Thread.currentThread().setContextClassLoader(
+            new URLClassLoader(new URL[0]));
+      }
+    }).get();
+
+    final AtomicReference<ClassLoader> seen = new AtomicReference<>();
+    this.testee.submit(new Runnable() {
+      @Override
+      public void run() {
+        seen.set(Thread.currentThread().getContextClassLoader());
+      }
+    }).get();
+
+    assertSame(original.get(), seen.get());
+  }
+
+  @Test
+  public void shouldClearInterruptStatusAfterEachTest() throws Exception {
+    this.testee.submit(new Runnable() {
+      @Override
+      public void run() {
+        Thread.currentThread().interrupt();
+      }
+    }).get();
+
+    final AtomicBoolean interrupted = new AtomicBoolean(true);
+    this.testee.submit(new Runnable() {
+      @Override
+      public void run() {
+        interrupted.set(Thread.currentThread().isInterrupted());
+      }
+    }).get();
+
+    assertFalse(interrupted.get());
+  }
+
+  @Test
+  public void shouldStartNewWorkerOnceAbandoned() throws Exception {
+    final ThreadLocal<String> local = new ThreadLocal<>();
+    this.testee.submit(new Runnable() {
+      @Override
+      public void run() {
+        local.set("left by an earlier mutant");
+      }
+    }).get();
+    this.testee.abandon();
+
+    final AtomicReference<String> seen = new AtomicReference<>();
+    this.testee.submit(new Runnable() {
+      @Override
+      public void run() {
+        seen.set(local.get());
+      }
+    }).get();
+
+    assertNull(seen.get());
+  }
+
+}
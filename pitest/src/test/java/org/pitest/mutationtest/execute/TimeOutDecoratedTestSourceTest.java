@@ -28,6 +28,8 @@ import org.mockito.MockitoAnnotations;
 import org.pitest.classinfo.ClassName;
 import org.pitest.coverage.TestInfo;
 import org.pitest.functional.Option;
+import org.pitest.junit.android.AndroidJUnitTestBatch;
+import org.pitest.junit.android.AndroidJUnitTestUnit;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
 import org.pitest.testapi.Description;
 import org.pitest.testapi.ResultCollector;
@@ -48,7 +50,8 @@ public class TimeOutDecoratedTestSourceTest {
     MockitoAnnotations.initMocks(this);
 
     this.testee = new TimeOutDecoratedTestSource(this.timeoutStrategy,
-        Arrays.asList(makeTestUnit("one"), makeTestUnit("two")), this.reporter);
+        Arrays.asList(makeTestUnit("one"), makeTestUnit("two")), this.reporter,
+        new ReusableTestThread());
   }
 
   @Test
@@ -71,6 +74,25 @@ public class TimeOutDecoratedTestSourceTest {
     assertEquals(1, actual.size());
   }
 
+  @Test
+  public void shouldRunAndroidTestsInOneBatch() {
+    final AndroidJUnitTestUnit androidOne = new AndroidJUnitTestUnit(
+        new Description("a", "FooTest"));
+    final AndroidJUnitTestUnit androidTwo = new AndroidJUnitTestUnit(
+        new Description("b", "FooTest"));
+    this.testee = new TimeOutDecoratedTestSource(this.timeoutStrategy,
+        Arrays.asList(makeTestUnit("one"), androidOne, androidTwo),
+        this.reporter, new ReusableTestThread());
+    final List<TestUnit> actual = this.testee.translateTests(Arrays.asList(
+        new TestInfo("FooTest", "FooTest.a", 42, Option.<ClassName> none(), 0),
+        new TestInfo("foo", "one", 42, Option.<ClassName> none(), 0),
+        new TestInfo("FooTest", "FooTest.b", 42, Option.<ClassName> none(), 0)));
+    assertEquals(2, actual.size());
+    final TestUnit batch = ((MutationTimeoutDecorator) actual.get(0)).child();
+    assertEquals(Arrays.asList(androidOne, androidTwo),
+        ((AndroidJUnitTestBatch) batch).getTests());
+  }
+
   private TestUnit makeTestUnit(final String name) {
     return new TestUnit() {
       private final Description description = new Description(name);
@@ -0,0 +1,43 @@
+package org.pitest.mutationtest.execute;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+
+import org.junit.Test;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.DirectoryClassPathRoot;
+
+import com.example.CoveredByABeforeAfterClass;
+
+public class UnitClassLoaderTest {
+
+  private final ClassPath classes = new ClassPath(new DirectoryClassPathRoot(
+                                      new File("target/test-classes")));
+
+  @Test
+  public void shouldLoadOwnCopyOfClassesInClassDirectories() throws Exception {
+    final String name = CoveredByABeforeAfterClass.class.getName();
+    final Class<?> first = loader().loadClass(name);
+    final Class<?> second = loader().loadClass(name);
+    assertNotSame(CoveredByABeforeAfterClass.class, first);
+    assertNotSame(first, second);
+  }
+
+  @Test
+  public void shouldShareClassesOfPitest() throws Exception {
+    assertSame(UnitClassLoaderTest.class,
+        loader().loadClass(UnitClassLoaderTest.class.getName()));
+  }
+
+  @Test
+  public void shouldShareClassesNotInClassDirectories() throws Exception {
+    assertSame(Test.class, loader().loadClass(Test.class.getName()));
+  }
+
+  private UnitClassLoader loader() {
+    return new UnitClassLoader(this.classes, getClass().getClassLoader());
+  }
+
+}
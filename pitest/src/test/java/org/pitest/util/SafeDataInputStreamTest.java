@@ -15,6 +15,7 @@
 package org.pitest.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -43,4 +44,71 @@ public class SafeDataInputStreamTest {
 
   }
 
+  @Test
+  public void shouldReadNullableStrings() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeNullableString(null);
+    dos.writeNullableString("foo");
+
+    final SafeDataInputStream dis = toInput(o);
+    assertNull(dis.readNullableString());
+    assertEquals("foo", dis.readNullableString());
+  }
+
+  @Test
+  public void shouldReadXmlEncodedValuesWhenDecoderExpected() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.write("foo");
+
+    assertEquals("foo", toInput(o).read(new StringCodec()));
+  }
+
+  @Test
+  public void shouldReadBinaryEncodedValues() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.write("foo", new StringCodec());
+
+    assertEquals("foo", toInput(o).read(new StringCodec()));
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldFailWhenBinaryValueReadWithoutDecoder() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.write("foo", new StringCodec());
+
+    toInput(o).read(String.class);
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldFailOnUnknownWireFormat() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeByte((byte) 99);
+    dos.writeString("foo");
+
+    toInput(o).read(new StringCodec());
+  }
+
+  private static SafeDataInputStream toInput(final ByteArrayOutputStream o) {
+    return new SafeDataInputStream(new ByteArrayInputStream(o.toByteArray()));
+  }
+
+  private static class StringCodec implements WireCodec<String> {
+
+    @Override
+    public void write(final SafeDataOutputStream out, final String value) {
+      out.writeString(value);
+    }
+
+    @Override
+    public String read(final SafeDataInputStream in) {
+      return in.readString();
+    }
+
+  }
+
 }
@@ -23,6 +23,7 @@ import static org.mockito.Mockito.verify;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -99,6 +100,50 @@ public class CodeCoverageStoreTest {
     assertEquals(Collections.emptyList(), actual);
   }
 
+  @Test
+  public void shouldReturnProbeArraysOfHitClassesOnly() {
+    final int hit = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.registerClassProbes(hit, 3);
+    final int notHit = CodeCoverageStore.registerClass("bar");
+    CodeCoverageStore.registerClassProbes(notHit, 3);
+
+    CodeCoverageStore.visitProbes(hit, 0, new boolean[] { false, true, false });
+
+    final Map<Integer, boolean[]> actual = CodeCoverageStore.getClassHits();
+    assertThat(actual.keySet()).containsExactly(hit);
+    assertThat(actual.get(hit)).containsExactly(true, false, true, false);
+  }
+
+  @Test
+  public void shouldNotShareProbeArraysWithCaller() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.registerClassProbes(classId, 1);
+    CodeCoverageStore.visitProbes(classId, 0, new boolean[] { true });
+
+    CodeCoverageStore.getClassHits().get(classId)[1] = false;
+
+    assertThat(CodeCoverageStore.getClassHits().get(classId)).containsExactly(
+        true, true);
+  }
+
+  @Test
+  public void shouldRecordHitsForClassIdsBeyondInitialCapacity() {
+    final int classId = 100000;
+    CodeCoverageStore.registerClassProbes(classId, 2);
+
+    CodeCoverageStore.visitSingleProbe(classId, 1);
+
+    assertThat(CodeCoverageStore.getHits()).containsExactly(
+        CodeCoverageStore.encode(classId, 1));
+    assertEquals(3, CodeCoverageStore.getProbesCount(classId));
+  }
+
+  @Test
+  public void shouldReportNoProbesForUnregisteredClass() {
+    assertEquals(-1, CodeCoverageStore.getProbesCount(42));
+    assertEquals(-1, CodeCoverageStore.getProbesCount(Integer.MAX_VALUE));
+  }
+
   @Test
   public void shouldBeSafeToAccessAcrossMultipleThreads()
       throws InterruptedException, ExecutionException {